@@ -26,10 +26,12 @@ import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationListener;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionTableEvaluationListener;
 import org.camunda.bpm.dmn.engine.impl.el.DefaultScriptEngineResolver;
 import org.camunda.bpm.dmn.engine.impl.el.JuelElProvider;
+import org.camunda.bpm.dmn.engine.impl.index.DecisionTableIndexTransformListener;
 import org.camunda.bpm.dmn.engine.impl.metrics.DefaultEngineMetricCollector;
 import org.camunda.bpm.dmn.engine.impl.metrics.DmnEngineMetricCollectorWrapper;
 import org.camunda.bpm.dmn.engine.impl.spi.el.DmnScriptEngineResolver;
 import org.camunda.bpm.dmn.engine.impl.spi.el.ElProvider;
+import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformListener;
 import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformer;
 import org.camunda.bpm.dmn.engine.impl.transform.DefaultDmnTransformer;
 import org.camunda.bpm.dmn.engine.spi.DmnEngineMetricCollector;
@@ -68,6 +70,8 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
 
   protected DmnTransformer transformer = new DefaultDmnTransformer();
 
+  protected boolean enableDecisionTableIndex = false;
+
   @Override
   public DmnEngine buildEngine() {
     init();
@@ -81,6 +85,7 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     initScriptEngineResolver();
     initElProvider();
     initFeelEngine();
+    initDecisionTableIndex();
   }
 
   protected void initMetricCollector() {
@@ -149,6 +154,19 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     }
   }
 
+  protected void initDecisionTableIndex() {
+    if (enableDecisionTableIndex) {
+      List<DmnTransformListener> transformListeners = transformer.getTransformListeners();
+      for (DmnTransformListener transformListener : transformListeners) {
+        if (transformListener instanceof DecisionTableIndexTransformListener) {
+          transformListeners.remove(transformListener);
+          break;
+        }
+      }
+      transformListeners.add(new DecisionTableIndexTransformListener(this));
+    }
+  }
+
   @Override
   public DmnEngineMetricCollector getEngineMetricCollector() {
     return engineMetricCollector;
@@ -497,4 +515,37 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     return this;
   }
 
+  /**
+   * @return true if decision tables are compiled into an index at transform time
+   */
+  public boolean isEnableDecisionTableIndex() {
+    return enableDecisionTableIndex;
+  }
+
+  /**
+   * Enable to compile the input entries of decision tables into an index at
+   * transform time. Inputs whose input entries are simple FEEL unary tests
+   * (string and number literals, comparisons, intervals, lists and <code>-</code>)
+   * are matched by hash and interval lookups instead of evaluating the input
+   * entry of every rule. All other inputs are evaluated as before.
+   *
+   * @param enableDecisionTableIndex true to compile decision tables into an index
+   */
+  public void setEnableDecisionTableIndex(boolean enableDecisionTableIndex) {
+    this.enableDecisionTableIndex = enableDecisionTableIndex;
+  }
+
+  /**
+   * Enable to compile the input entries of decision tables into an index at
+   * transform time.
+   *
+   * @param enableDecisionTableIndex true to compile decision tables into an index
+   * @return this configuration
+   * @see #setEnableDecisionTableIndex(boolean)
+   */
+  public DefaultDmnEngineConfiguration enableDecisionTableIndex(boolean enableDecisionTableIndex) {
+    setEnableDecisionTableIndex(enableDecisionTableIndex);
+    return this;
+  }
+
 }
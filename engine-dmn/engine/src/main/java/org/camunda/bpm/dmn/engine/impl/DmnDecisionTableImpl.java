@@ -21,6 +21,7 @@ import java.util.List;
 
 import org.camunda.bpm.dmn.engine.DmnDecisionLogic;
 import org.camunda.bpm.dmn.engine.impl.hitpolicy.DefaultHitPolicyHandlerRegistry;
+import org.camunda.bpm.dmn.engine.impl.index.DecisionTableIndex;
 import org.camunda.bpm.dmn.engine.impl.spi.hitpolicy.DmnHitPolicyHandler;
 import org.camunda.bpm.model.dmn.BuiltinAggregator;
 import org.camunda.bpm.model.dmn.HitPolicy;
@@ -33,6 +34,8 @@ public class DmnDecisionTableImpl implements DmnDecisionLogic {
   protected List<DmnDecisionTableOutputImpl> outputs = new ArrayList<DmnDecisionTableOutputImpl>();
   protected List<DmnDecisionTableRuleImpl> rules = new ArrayList<DmnDecisionTableRuleImpl>();
 
+  protected DecisionTableIndex index;
+
   public DmnHitPolicyHandler getHitPolicyHandler() {
     return hitPolicyHandler;
   }
@@ -65,6 +68,14 @@ public class DmnDecisionTableImpl implements DmnDecisionLogic {
     this.rules = rules;
   }
 
+  public DecisionTableIndex getIndex() {
+    return index;
+  }
+
+  public void setIndex(DecisionTableIndex index) {
+    this.index = index;
+  }
+
   @Override
   public String toString() {
     return "DmnDecisionTableImpl{" +
@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * Compiled index of a decision table which allows to determine the
+ * matching rules of an input by set operations instead of evaluating
+ * the input entry of every rule.
+ *
+ * <p>Inputs which could not be indexed (e.g. because their input entries
+ * contain complex expressions) have no {@link DecisionTableInputIndex}
+ * and have to be evaluated rule by rule.</p>
+ */
+public class DecisionTableIndex {
+
+  protected final int ruleCount;
+  protected final List<DecisionTableInputIndex> inputIndexes;
+
+  public DecisionTableIndex(int ruleCount, List<DecisionTableInputIndex> inputIndexes) {
+    this.ruleCount = ruleCount;
+    this.inputIndexes = inputIndexes;
+  }
+
+  public int getRuleCount() {
+    return ruleCount;
+  }
+
+  public List<DecisionTableInputIndex> getInputIndexes() {
+    return inputIndexes;
+  }
+
+  public boolean isInputIndexed(int inputIdx) {
+    return inputIndexes.get(inputIdx) != null;
+  }
+
+  /**
+   * @return the indices of all rules whose input entry matches the given value
+   * or <code>null</code> if the input is not indexed or the value cannot be
+   * matched by the index
+   */
+  public BitSet findMatchingRules(int inputIdx, TypedValue value) {
+    DecisionTableInputIndex inputIndex = inputIndexes.get(inputIdx);
+    if (inputIndex != null && value != null) {
+      return inputIndex.findMatchingRules(value.getValue());
+    }
+    else {
+      return null;
+    }
+  }
+
+}
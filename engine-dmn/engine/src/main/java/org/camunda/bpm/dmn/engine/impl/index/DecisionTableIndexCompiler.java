@@ -0,0 +1,300 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+import org.camunda.bpm.dmn.engine.impl.evaluation.ExpressionEvaluationHandler;
+import org.camunda.bpm.dmn.engine.impl.index.DecisionTableInputIndex.ValueKind;
+import org.camunda.bpm.dmn.engine.impl.index.IntervalIndex.Interval;
+import org.camunda.bpm.dmn.engine.impl.index.IntervalIndex.IntervalIndexBuilder;
+
+/**
+ * Compiles the input entries of a decision table into a {@link DecisionTableIndex}.
+ *
+ * <p>Only FEEL simple unary tests which consist of string or number literals,
+ * comparisons (<code>&lt; 5</code>), intervals (<code>[1..5]</code>), lists of
+ * them and <code>-</code> are recognized. An input with any other input entry
+ * is not indexed and evaluated as before.</p>
+ */
+public class DecisionTableIndexCompiler {
+
+  // regex to split by comma which ignores commas enclosed in quotes, same as the FEEL list transformer
+  public static final String COMMA_SEPARATOR_REGEX = ",(?=([^\"]*\"[^\"]*\")*[^\"]*$)";
+
+  public static final Pattern STRING_LITERAL_PATTERN = Pattern.compile("^\"([^\"\\\\]*)\"$");
+  public static final Pattern INTEGER_LITERAL_PATTERN = Pattern.compile("^-?\\d+$");
+  public static final Pattern DECIMAL_LITERAL_PATTERN = Pattern.compile("^-?\\d+\\.\\d+$");
+  public static final Pattern INTERVAL_PATTERN = Pattern.compile("^(\\(|\\[|\\])(.*[^\\.])\\.\\.(.+)(\\)|\\]|\\[)$");
+  public static final Pattern COMPARISON_PATTERN = Pattern.compile("^(<=|>=|<|>)([^=].*)$");
+
+  protected final ExpressionEvaluationHandler expressionEvaluationHandler;
+  protected final String inputEntryExpressionLanguage;
+
+  public DecisionTableIndexCompiler(DefaultDmnEngineConfiguration configuration) {
+    expressionEvaluationHandler = new ExpressionEvaluationHandler(configuration);
+    inputEntryExpressionLanguage = configuration.getDefaultInputEntryExpressionLanguage();
+  }
+
+  public DecisionTableIndex compile(DmnDecisionTableImpl decisionTable) {
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    int inputSize = decisionTable.getInputs().size();
+
+    List<DecisionTableInputIndex> inputIndexes = new ArrayList<DecisionTableInputIndex>();
+    boolean anyInputIndexed = false;
+    for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
+      DecisionTableInputIndex inputIndex = compileInput(inputIdx, rules);
+      inputIndexes.add(inputIndex);
+      anyInputIndexed |= inputIndex != null;
+    }
+
+    if (anyInputIndexed) {
+      return new DecisionTableIndex(rules.size(), inputIndexes);
+    }
+    else {
+      return null;
+    }
+  }
+
+  protected DecisionTableInputIndex compileInput(int inputIdx, List<DmnDecisionTableRuleImpl> rules) {
+    List<List<UnaryTest>> testsPerRule = new ArrayList<List<UnaryTest>>();
+    for (DmnDecisionTableRuleImpl rule : rules) {
+      List<UnaryTest> tests = parseInputEntry(rule.getConditions().get(inputIdx));
+      if (tests == null) {
+        return null;
+      }
+      testsPerRule.add(tests);
+    }
+
+    ValueKind valueKind = ValueKind.ANY;
+    boolean compareAsDouble = false;
+    for (List<UnaryTest> tests : testsPerRule) {
+      for (UnaryTest test : tests) {
+        for (Object literal : test.getLiterals()) {
+          ValueKind literalKind = literal instanceof String ? ValueKind.STRING : ValueKind.NUMBER;
+          if (valueKind == ValueKind.ANY) {
+            valueKind = literalKind;
+          }
+          else if (valueKind != literalKind) {
+            // mixed literal types are left to the expression language coercion rules
+            return null;
+          }
+          compareAsDouble |= literal instanceof Double;
+        }
+      }
+    }
+
+    BitSet wildcardRules = new BitSet(rules.size());
+    Map<Object, BitSet> equalityIndex = new HashMap<Object, BitSet>();
+    IntervalIndexBuilder intervalIndexBuilder = IntervalIndex.builder();
+
+    for (int ruleIdx = 0; ruleIdx < testsPerRule.size(); ruleIdx++) {
+      for (UnaryTest test : testsPerRule.get(ruleIdx)) {
+        if (test.isWildcard()) {
+          wildcardRules.set(ruleIdx);
+        }
+        else if (test.isInterval()) {
+          intervalIndexBuilder.interval(new Interval(ruleIdx,
+            toNumberKey(test.lowerEndpoint, compareAsDouble), test.lowerInclusive,
+            toNumberKey(test.upperEndpoint, compareAsDouble), test.upperInclusive));
+        }
+        else {
+          Object key = valueKind == ValueKind.STRING ? test.value : toNumberKey(test.value, compareAsDouble);
+          BitSet equalRules = equalityIndex.get(key);
+          if (equalRules == null) {
+            equalRules = new BitSet(rules.size());
+            equalityIndex.put(key, equalRules);
+          }
+          equalRules.set(ruleIdx);
+        }
+      }
+    }
+
+    IntervalIndex intervalIndex = intervalIndexBuilder.isEmpty() ? null : intervalIndexBuilder.build();
+    return new DecisionTableInputIndex(valueKind, wildcardRules, equalityIndex, intervalIndex, compareAsDouble);
+  }
+
+  /**
+   * @return the parsed unary tests or <code>null</code> if the input entry cannot be indexed
+   */
+  protected List<UnaryTest> parseInputEntry(DmnExpressionImpl condition) {
+    List<UnaryTest> tests = new ArrayList<UnaryTest>();
+
+    if (condition == null || condition.getExpression() == null || condition.getExpression().trim().isEmpty()) {
+      tests.add(UnaryTest.wildcard());
+      return tests;
+    }
+
+    String expressionLanguage = condition.getExpressionLanguage();
+    if (expressionLanguage == null) {
+      expressionLanguage = inputEntryExpressionLanguage;
+    }
+    if (!expressionEvaluationHandler.isFeelExpressionLanguage(expressionLanguage)) {
+      return null;
+    }
+
+    String expression = condition.getExpression().trim();
+    if (expression.equals("-")) {
+      tests.add(UnaryTest.wildcard());
+      return tests;
+    }
+
+    for (String item : expression.split(COMMA_SEPARATOR_REGEX, -1)) {
+      UnaryTest test = parseUnaryTest(item.trim());
+      if (test == null) {
+        return null;
+      }
+      tests.add(test);
+    }
+    return tests;
+  }
+
+  protected UnaryTest parseUnaryTest(String expression) {
+    Matcher intervalMatcher = INTERVAL_PATTERN.matcher(expression);
+    if (intervalMatcher.matches()) {
+      Object lowerEndpoint = parseNumberLiteral(intervalMatcher.group(2).trim());
+      Object upperEndpoint = parseNumberLiteral(intervalMatcher.group(3).trim());
+      if (lowerEndpoint == null || upperEndpoint == null) {
+        return null;
+      }
+      return UnaryTest.interval(lowerEndpoint, intervalMatcher.group(1).equals("["), upperEndpoint, intervalMatcher.group(4).equals("]"));
+    }
+
+    Matcher comparisonMatcher = COMPARISON_PATTERN.matcher(expression);
+    if (comparisonMatcher.matches()) {
+      Object endpoint = parseNumberLiteral(comparisonMatcher.group(2).trim());
+      if (endpoint == null) {
+        return null;
+      }
+      String operator = comparisonMatcher.group(1);
+      boolean inclusive = operator.endsWith("=");
+      if (operator.startsWith("<")) {
+        return UnaryTest.interval(null, false, endpoint, inclusive);
+      }
+      else {
+        return UnaryTest.interval(endpoint, inclusive, null, false);
+      }
+    }
+
+    Matcher stringMatcher = STRING_LITERAL_PATTERN.matcher(expression);
+    if (stringMatcher.matches()) {
+      return UnaryTest.equal(stringMatcher.group(1));
+    }
+
+    Object number = parseNumberLiteral(expression);
+    if (number != null) {
+      return UnaryTest.equal(number);
+    }
+
+    // variables, functions, dates, negations...
+    return null;
+  }
+
+  /**
+   * @return a {@link Long} or {@link Double} as the expression language would
+   * parse the literal or <code>null</code> if it is not a number literal
+   */
+  protected Object parseNumberLiteral(String literal) {
+    try {
+      if (INTEGER_LITERAL_PATTERN.matcher(literal).matches()) {
+        return Long.parseLong(literal);
+      }
+      else if (DECIMAL_LITERAL_PATTERN.matcher(literal).matches()) {
+        return Double.parseDouble(literal);
+      }
+      else {
+        return null;
+      }
+    }
+    catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  protected BigDecimal toNumberKey(Object literal, boolean compareAsDouble) {
+    if (literal == null) {
+      return null;
+    }
+    else if (literal instanceof Long && !compareAsDouble) {
+      return DecisionTableInputIndex.normalize(BigDecimal.valueOf((Long) literal));
+    }
+    else {
+      return DecisionTableInputIndex.normalize(new BigDecimal(((Number) literal).doubleValue()));
+    }
+  }
+
+  protected static class UnaryTest {
+
+    protected Object value;
+    protected Object lowerEndpoint;
+    protected boolean lowerInclusive;
+    protected Object upperEndpoint;
+    protected boolean upperInclusive;
+    protected boolean interval;
+
+    public static UnaryTest wildcard() {
+      return new UnaryTest();
+    }
+
+    public static UnaryTest equal(Object value) {
+      UnaryTest test = new UnaryTest();
+      test.value = value;
+      return test;
+    }
+
+    public static UnaryTest interval(Object lowerEndpoint, boolean lowerInclusive, Object upperEndpoint, boolean upperInclusive) {
+      UnaryTest test = new UnaryTest();
+      test.interval = true;
+      test.lowerEndpoint = lowerEndpoint;
+      test.lowerInclusive = lowerInclusive;
+      test.upperEndpoint = upperEndpoint;
+      test.upperInclusive = upperInclusive;
+      return test;
+    }
+
+    public boolean isWildcard() {
+      return !interval && value == null;
+    }
+
+    public boolean isInterval() {
+      return interval;
+    }
+
+    public List<Object> getLiterals() {
+      List<Object> literals = new ArrayList<Object>();
+      for (Object literal : new Object[] { value, lowerEndpoint, upperEndpoint }) {
+        if (literal != null) {
+          literals.add(literal);
+        }
+      }
+      return literals;
+    }
+
+  }
+
+}
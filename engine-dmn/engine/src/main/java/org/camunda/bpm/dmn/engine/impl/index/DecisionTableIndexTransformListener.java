@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionLogic;
+import org.camunda.bpm.dmn.engine.DmnDecisionRequirementsGraph;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableInputImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableOutputImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformListener;
+import org.camunda.bpm.model.dmn.instance.Decision;
+import org.camunda.bpm.model.dmn.instance.Definitions;
+import org.camunda.bpm.model.dmn.instance.Input;
+import org.camunda.bpm.model.dmn.instance.Output;
+import org.camunda.bpm.model.dmn.instance.Rule;
+
+/**
+ * Transform listener which compiles a {@link DecisionTableIndex} for every
+ * transformed decision table.
+ */
+public class DecisionTableIndexTransformListener implements DmnTransformListener {
+
+  protected final DecisionTableIndexCompiler compiler;
+
+  public DecisionTableIndexTransformListener(DefaultDmnEngineConfiguration configuration) {
+    compiler = new DecisionTableIndexCompiler(configuration);
+  }
+
+  public void transformDecision(Decision decision, DmnDecision dmnDecision) {
+    DmnDecisionLogic decisionLogic = dmnDecision.getDecisionLogic();
+    if (decisionLogic instanceof DmnDecisionTableImpl) {
+      DmnDecisionTableImpl decisionTable = (DmnDecisionTableImpl) decisionLogic;
+      decisionTable.setIndex(compiler.compile(decisionTable));
+    }
+  }
+
+  public void transformDecisionTableInput(Input input, DmnDecisionTableInputImpl dmnInput) {
+    // nothing to do
+  }
+
+  public void transformDecisionTableOutput(Output output, DmnDecisionTableOutputImpl dmnOutput) {
+    // nothing to do
+  }
+
+  public void transformDecisionTableRule(Rule rule, DmnDecisionTableRuleImpl dmnRule) {
+    // nothing to do
+  }
+
+  public void transformDecisionRequirementsGraph(Definitions definitions, DmnDecisionRequirementsGraph dmnDecisionRequirementsGraph) {
+    // nothing to do
+  }
+
+}
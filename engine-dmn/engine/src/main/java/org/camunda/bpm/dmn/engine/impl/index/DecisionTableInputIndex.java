@@ -0,0 +1,133 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of the input entries of a single decision table input. Equality
+ * tests are stored in a hash index, comparisons and intervals in an
+ * {@link IntervalIndex} and rules with an empty or <code>-</code> input
+ * entry match every value.
+ */
+public class DecisionTableInputIndex {
+
+  public enum ValueKind {
+    /** all input entries are empty or <code>-</code> */
+    ANY,
+    STRING,
+    NUMBER
+  }
+
+  protected final ValueKind valueKind;
+  protected final BitSet wildcardRules;
+  protected final Map<Object, BitSet> equalityIndex;
+  protected final IntervalIndex intervalIndex;
+
+  /**
+   * if true numeric values are compared as doubles, like the expression
+   * language does as soon as a decimal literal is involved
+   */
+  protected final boolean compareAsDouble;
+
+  public DecisionTableInputIndex(ValueKind valueKind, BitSet wildcardRules, Map<Object, BitSet> equalityIndex, IntervalIndex intervalIndex, boolean compareAsDouble) {
+    this.valueKind = valueKind;
+    this.wildcardRules = wildcardRules;
+    this.equalityIndex = equalityIndex != null ? equalityIndex : new HashMap<Object, BitSet>();
+    this.intervalIndex = intervalIndex;
+    this.compareAsDouble = compareAsDouble;
+  }
+
+  public ValueKind getValueKind() {
+    return valueKind;
+  }
+
+  /**
+   * @return the indices of all matching rules or <code>null</code> if the value
+   * is not of the kind this index was built for
+   */
+  public BitSet findMatchingRules(Object value) {
+    Object key;
+    switch (valueKind) {
+      case ANY:
+        return wildcardRules;
+      case STRING:
+        key = value instanceof String ? value : null;
+        break;
+      default:
+        key = toNumberKey(value);
+    }
+
+    if (key == null) {
+      return null;
+    }
+
+    BitSet matchingRules = (BitSet) wildcardRules.clone();
+
+    BitSet equalRules = equalityIndex.get(key);
+    if (equalRules != null) {
+      matchingRules.or(equalRules);
+    }
+
+    if (intervalIndex != null) {
+      BitSet intervalRules = intervalIndex.findMatchingRules((BigDecimal) key);
+      if (intervalRules != null) {
+        matchingRules.or(intervalRules);
+      }
+    }
+
+    return matchingRules;
+  }
+
+  protected BigDecimal toNumberKey(Object value) {
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      long longValue = ((Number) value).longValue();
+      if (compareAsDouble) {
+        return normalize(new BigDecimal((double) longValue));
+      }
+      else {
+        return normalize(BigDecimal.valueOf(longValue));
+      }
+    }
+    else if (value instanceof Double || value instanceof Float) {
+      double doubleValue = ((Number) value).doubleValue();
+      if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+        return null;
+      }
+      else {
+        return normalize(new BigDecimal(doubleValue));
+      }
+    }
+    else {
+      // strings, big numbers and other types use the expression language coercion rules
+      return null;
+    }
+  }
+
+  public static BigDecimal normalize(BigDecimal value) {
+    if (value.signum() == 0) {
+      return BigDecimal.ZERO;
+    }
+    else {
+      return value.stripTrailingZeros();
+    }
+  }
+
+}
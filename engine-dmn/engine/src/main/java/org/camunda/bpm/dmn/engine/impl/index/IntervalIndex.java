@@ -0,0 +1,131 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Interval index over numeric input entries. The distinct endpoints of all
+ * intervals split the number line into elementary slots (the endpoints
+ * themselves and the open ranges between them). For every slot the rules
+ * covering it are precomputed, so a lookup is a binary search.
+ */
+public class IntervalIndex {
+
+  protected final BigDecimal[] endpoints;
+  protected final BitSet[] slots;
+
+  protected IntervalIndex(BigDecimal[] endpoints, BitSet[] slots) {
+    this.endpoints = endpoints;
+    this.slots = slots;
+  }
+
+  public BitSet findMatchingRules(BigDecimal value) {
+    int position = Arrays.binarySearch(endpoints, value);
+    int slot;
+    if (position >= 0) {
+      slot = 2 * position + 1;
+    }
+    else {
+      slot = 2 * (-position - 1);
+    }
+    return slots[slot];
+  }
+
+  public static IntervalIndexBuilder builder() {
+    return new IntervalIndexBuilder();
+  }
+
+  public static class Interval {
+
+    protected final int ruleIdx;
+    protected final BigDecimal lowerEndpoint;
+    protected final boolean lowerInclusive;
+    protected final BigDecimal upperEndpoint;
+    protected final boolean upperInclusive;
+
+    /**
+     * @param lowerEndpoint the lower endpoint or <code>null</code> if unbounded
+     * @param upperEndpoint the upper endpoint or <code>null</code> if unbounded
+     */
+    public Interval(int ruleIdx, BigDecimal lowerEndpoint, boolean lowerInclusive, BigDecimal upperEndpoint, boolean upperInclusive) {
+      this.ruleIdx = ruleIdx;
+      this.lowerEndpoint = lowerEndpoint;
+      this.lowerInclusive = lowerInclusive;
+      this.upperEndpoint = upperEndpoint;
+      this.upperInclusive = upperInclusive;
+    }
+
+  }
+
+  public static class IntervalIndexBuilder {
+
+    protected final List<Interval> intervals = new ArrayList<Interval>();
+
+    public IntervalIndexBuilder interval(Interval interval) {
+      intervals.add(interval);
+      return this;
+    }
+
+    public boolean isEmpty() {
+      return intervals.isEmpty();
+    }
+
+    public IntervalIndex build() {
+      TreeSet<BigDecimal> distinctEndpoints = new TreeSet<BigDecimal>();
+      for (Interval interval : intervals) {
+        if (interval.lowerEndpoint != null) {
+          distinctEndpoints.add(interval.lowerEndpoint);
+        }
+        if (interval.upperEndpoint != null) {
+          distinctEndpoints.add(interval.upperEndpoint);
+        }
+      }
+
+      BigDecimal[] endpoints = distinctEndpoints.toArray(new BigDecimal[0]);
+      BitSet[] slots = new BitSet[2 * endpoints.length + 1];
+      for (int i = 0; i < slots.length; i++) {
+        slots[i] = new BitSet();
+      }
+
+      for (Interval interval : intervals) {
+        int firstSlot = 0;
+        if (interval.lowerEndpoint != null) {
+          firstSlot = 2 * Arrays.binarySearch(endpoints, interval.lowerEndpoint) + (interval.lowerInclusive ? 1 : 2);
+        }
+
+        int lastSlot = slots.length - 1;
+        if (interval.upperEndpoint != null) {
+          lastSlot = 2 * Arrays.binarySearch(endpoints, interval.upperEndpoint) + (interval.upperInclusive ? 1 : 0);
+        }
+
+        for (int slot = firstSlot; slot <= lastSlot; slot++) {
+          slots[slot].set(interval.ruleIdx);
+        }
+      }
+
+      return new IntervalIndex(endpoints, slots);
+    }
+
+  }
+
+}
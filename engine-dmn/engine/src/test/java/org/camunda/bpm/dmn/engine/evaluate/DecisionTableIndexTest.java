@@ -0,0 +1,111 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.evaluate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.index.DecisionTableIndex;
+import org.camunda.bpm.dmn.engine.test.DecisionResource;
+import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.commons.utils.IoUtil;
+import org.junit.Test;
+
+public class DecisionTableIndexTest extends DmnEngineTest {
+
+  public static final String DMN = "org/camunda/bpm/dmn/engine/evaluate/DecisionTableIndexTest.dmn";
+
+  @Override
+  public DmnEngineConfiguration getDmnEngineConfiguration() {
+    return new DefaultDmnEngineConfiguration()
+      .enableDecisionTableIndex(true);
+  }
+
+  @Test
+  @DecisionResource(resource = DMN)
+  public void shouldCompileIndexForSimpleUnaryTests() {
+    DecisionTableIndex index = ((DmnDecisionTableImpl) decision.getDecisionLogic()).getIndex();
+
+    assertThat(index).isNotNull();
+    assertThat(index.getRuleCount()).isEqualTo(8);
+    assertThat(index.isInputIndexed(0)).isTrue();
+    assertThat(index.isInputIndexed(1)).isTrue();
+    // negation is not supported by the index
+    assertThat(index.isInputIndexed(2)).isFalse();
+  }
+
+  @Test
+  public void shouldNotCompileIndexIfDisabled() {
+    DmnEngine engine = DmnEngineConfiguration.createDefaultDmnEngineConfiguration().buildEngine();
+    DmnDecision decision = engine.parseDecision("decision", IoUtil.fileAsStream(DMN));
+
+    assertThat(((DmnDecisionTableImpl) decision.getDecisionLogic()).getIndex()).isNull();
+  }
+
+  @Test
+  @DecisionResource(resource = DMN)
+  public void shouldMatchSameRulesAsWithoutIndex() {
+    DmnEngine engineWithoutIndex = DmnEngineConfiguration.createDefaultDmnEngineConfiguration().buildEngine();
+    DmnDecision decisionWithoutIndex = engineWithoutIndex.parseDecision("decision", IoUtil.fileAsStream(DMN));
+
+    List<String> regions = Arrays.asList("EU", "US", "APAC", "", "unknown");
+    List<Object> amounts = Arrays.<Object>asList(50, 99.5, 99.6, 100, 150L, 200, 300, 300.0, 500, 1000, 1001, 5000.0, -1);
+    List<String> categories = Arrays.asList("A", "B");
+
+    for (String region : regions) {
+      for (Object amount : amounts) {
+        for (String category : categories) {
+          VariableMap variables = Variables.createVariables()
+            .putValue("region", region)
+            .putValue("amount", amount)
+            .putValue("category", category);
+
+          DmnDecisionTableResult expected = engineWithoutIndex.evaluateDecisionTable(decisionWithoutIndex, variables);
+          DmnDecisionTableResult actual = dmnEngine.evaluateDecisionTable(decision, variables);
+
+          assertThat(actual.collectEntries("result"))
+            .as("region=%s, amount=%s, category=%s", region, amount, category)
+            .isEqualTo(expected.collectEntries("result"));
+        }
+      }
+    }
+  }
+
+  @Test
+  @DecisionResource(resource = DMN)
+  public void shouldFallBackToExpressionEvaluationForOtherValueTypes() {
+    // a string amount is not handled by the index but coerced by the expression language
+    variables.putValue("region", "EU")
+      .putValue("amount", "50")
+      .putValue("category", "A");
+
+    List<Object> results = evaluateDecisionTable().collectEntries("result");
+
+    assertThat(results).containsExactly("rule1", "rule7", "rule8");
+  }
+
+}
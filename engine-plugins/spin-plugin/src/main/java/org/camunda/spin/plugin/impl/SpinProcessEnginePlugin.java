@@ -36,6 +36,13 @@ import org.camunda.spin.DataFormats;
  */
 public class SpinProcessEnginePlugin extends AbstractProcessEnginePlugin {
 
+  /**
+   * If true, JSON and XML variable values are parsed on first access instead
+   * of when the variable is read. Errors in the serialized value then surface
+   * when the value is accessed.
+   */
+  protected boolean isSpinValueParsingDeferred = false;
+
   @Override
   public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
     // use classloader which loaded the plugin
@@ -76,9 +83,23 @@ public class SpinProcessEnginePlugin extends AbstractProcessEnginePlugin {
         SpinVariableSerializers.createObjectValueSerializers(globalFormats);
     serializers.addAll(SpinVariableSerializers.createSpinValueSerializers(globalFormats));
 
+    for (TypedValueSerializer<?> serializer : serializers) {
+      if (serializer instanceof SpinValueSerializer) {
+        ((SpinValueSerializer) serializer).setParsingDeferred(isSpinValueParsingDeferred);
+      }
+    }
+
     return serializers;
   }
 
+  public boolean isSpinValueParsingDeferred() {
+    return isSpinValueParsingDeferred;
+  }
+
+  public void setSpinValueParsingDeferred(boolean isSpinValueParsingDeferred) {
+    this.isSpinValueParsingDeferred = isSpinValueParsingDeferred;
+  }
+
   protected void registerScriptResolver(ProcessEngineConfigurationImpl processEngineConfiguration) {
     processEngineConfiguration.getEnvScriptResolvers().add(new SpinScriptEnvResolver());
   }
@@ -42,6 +42,13 @@ public abstract class SpinValueSerializer extends AbstractSerializableValueSeria
   protected DataFormat<?> dataFormat;
   protected String name;
 
+  /**
+   * If true, values are not parsed when they are read but on first access.
+   * Reading a variable then only costs its serialized representation until
+   * the value is actually used.
+   */
+  protected boolean isParsingDeferred;
+
   public SpinValueSerializer(SerializableValueType type, DataFormat<?> dataFormat, String name) {
     super(type, dataFormat.getName());
     this.dataFormat = dataFormat;
@@ -52,6 +59,39 @@ public abstract class SpinValueSerializer extends AbstractSerializableValueSeria
     return name;
   }
 
+  public boolean isParsingDeferred() {
+    return isParsingDeferred;
+  }
+
+  public void setParsingDeferred(boolean isParsingDeferred) {
+    this.isParsingDeferred = isParsingDeferred;
+  }
+
+  public SpinValue readValue(ValueFields valueFields, boolean deserializeObjectValue, boolean asTransientValue) {
+    if (deserializeObjectValue && isParsingDeferred) {
+      SpinValue serializedValue = super.readValue(valueFields, false, asTransientValue);
+      if (serializedValue.getValueSerialized() != null) {
+        ((SpinValueImpl) serializedValue).deferParsing(dataFormat);
+        return serializedValue;
+      }
+    }
+
+    return super.readValue(valueFields, deserializeObjectValue, asTransientValue);
+  }
+
+  public void writeValue(SpinValue value, ValueFields valueFields) {
+    if (value instanceof SpinValueImpl && ((SpinValueImpl) value).isParsingDeferred()) {
+      // the value has not been accessed since it was read, so there is no need
+      // to parse and serialize it again
+      String serializedStringValue = value.getValueSerialized();
+      writeToValueFields(value, valueFields, getSerializedBytesValue(serializedStringValue));
+      updateTypedValue(value, serializedStringValue);
+    }
+    else {
+      super.writeValue(value, valueFields);
+    }
+  }
+
   protected void writeToValueFields(SpinValue value, ValueFields valueFields, byte[] serializedValue) {
     valueFields.setByteArrayValue(serializedValue);
   }
@@ -18,6 +18,8 @@ package org.camunda.spin.plugin.variable.value.impl;
 
 import static org.camunda.spin.Spin.S;
 
+import java.io.StringReader;
+
 import org.camunda.bpm.engine.variable.impl.value.AbstractTypedValue;
 import org.camunda.bpm.engine.variable.type.ValueType;
 import org.camunda.spin.DataFormats;
@@ -37,6 +39,13 @@ public abstract class SpinValueImpl extends AbstractTypedValue<Spin<?>> implemen
   protected boolean isDeserialized;
   protected String dataFormatName;
 
+  /**
+   * true if the value counts as deserialized but the serialized value
+   * is only parsed on the first call to {@link #getValue()}
+   */
+  protected boolean isParsingDeferred;
+  protected transient DataFormat<?> deferredDataFormat;
+
   public SpinValueImpl(
       Spin<?> value,
       String serializedValue,
@@ -55,6 +64,11 @@ public abstract class SpinValueImpl extends AbstractTypedValue<Spin<?>> implemen
 
   public Spin<?> getValue() {
     if(isDeserialized) {
+      if (isParsingDeferred) {
+        value = parseDeferredValue();
+        isParsingDeferred = false;
+        deferredDataFormat = null;
+      }
       return super.getValue();
     }
     else {
@@ -69,6 +83,30 @@ public abstract class SpinValueImpl extends AbstractTypedValue<Spin<?>> implemen
     }
   }
 
+  /**
+   * Marks the serialized value as deserialized without parsing it. It is parsed
+   * with the given data format once the value is accessed.
+   */
+  public void deferParsing(DataFormat<?> dataFormat) {
+    this.isDeserialized = true;
+    this.isParsingDeferred = true;
+    this.deferredDataFormat = dataFormat;
+  }
+
+  public boolean isParsingDeferred() {
+    return isParsingDeferred;
+  }
+
+  protected Spin<?> parseDeferredValue() {
+    if (deferredDataFormat == null) {
+      return S(getValueSerialized(), getSerializationDataFormat());
+    }
+    else {
+      Object input = deferredDataFormat.getReader().readInput(new StringReader(getValueSerialized()));
+      return deferredDataFormat.createWrapperInstance(input);
+    }
+  }
+
   public SpinValueType getType() {
     return (SpinValueType) super.getType();
   }
@@ -0,0 +1,136 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.spin.plugin.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.spin.plugin.variable.SpinValues.jsonValue;
+import static org.junit.Assert.fail;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.spin.SpinRuntimeException;
+import org.camunda.spin.json.SpinJsonNode;
+import org.camunda.spin.plugin.impl.SpinProcessEnginePlugin;
+import org.camunda.spin.plugin.variable.value.JsonValue;
+import org.camunda.spin.plugin.variable.value.impl.SpinValueImpl;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class JsonValueDeferredParsingTest {
+
+  protected static final String JSON_STRING = "{\"foo\": \"bar\"}";
+  protected static final String BROKEN_JSON_STRING = "{\"foo: \"bar\"}";
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      for (ProcessEnginePlugin plugin : configuration.getProcessEnginePlugins()) {
+        if (plugin instanceof SpinProcessEnginePlugin) {
+          ((SpinProcessEnginePlugin) plugin).setSpinValueParsingDeferred(true);
+        }
+      }
+      return configuration.setJdbcUrl("jdbc:h2:mem:deferredParsing");
+    }
+  };
+
+  @Rule
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+
+  protected RuntimeService runtimeService;
+  protected String processInstanceId;
+
+  @Before
+  public void setUp() {
+    engineRule.manageDeployment(engineRule.getRepositoryService().createDeployment()
+        .addModelInstance("process.bpmn", Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done())
+        .deploy());
+    runtimeService = engineRule.getRuntimeService();
+    processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+  }
+
+  @Test
+  public void shouldParseValueOnFirstAccess() {
+    // given
+    runtimeService.setVariable(processInstanceId, "x", jsonValue(JSON_STRING).create());
+
+    // when
+    JsonValue typedValue = runtimeService.getVariableTyped(processInstanceId, "x");
+
+    // then
+    assertThat(typedValue.isDeserialized()).isTrue();
+    assertThat(((SpinValueImpl) typedValue).isParsingDeferred()).isTrue();
+
+    SpinJsonNode value = typedValue.getValue();
+    assertThat(value.prop("foo").stringValue()).isEqualTo("bar");
+    assertThat(((SpinValueImpl) typedValue).isParsingDeferred()).isFalse();
+    assertThat(typedValue.getValueSerialized()).isEqualTo(JSON_STRING);
+  }
+
+  @Test
+  public void shouldReturnParsedValue() {
+    // given
+    runtimeService.setVariable(processInstanceId, "x", jsonValue(JSON_STRING).create());
+
+    // when
+    SpinJsonNode value = (SpinJsonNode) runtimeService.getVariable(processInstanceId, "x");
+
+    // then
+    assertThat(value.prop("foo").stringValue()).isEqualTo("bar");
+  }
+
+  @Test
+  public void shouldKeepUnaccessedValueOnUpdate() {
+    // given
+    runtimeService.setVariable(processInstanceId, "x", jsonValue(JSON_STRING).create());
+    JsonValue typedValue = runtimeService.getVariableTyped(processInstanceId, "x");
+
+    // when the value is written back without being accessed
+    runtimeService.setVariables(processInstanceId, Variables.createVariables().putValueTyped("y", typedValue));
+
+    // then
+    JsonValue copy = runtimeService.getVariableTyped(processInstanceId, "y");
+    assertThat(copy.getValueSerialized()).isEqualTo(JSON_STRING);
+    assertThat(copy.getValue().prop("foo").stringValue()).isEqualTo("bar");
+  }
+
+  @Test
+  public void shouldFailOnAccessOfBrokenValue() {
+    // given
+    runtimeService.setVariable(processInstanceId, "x", jsonValue(BROKEN_JSON_STRING).create());
+
+    // when
+    JsonValue typedValue = runtimeService.getVariableTyped(processInstanceId, "x");
+
+    // then
+    try {
+      typedValue.getValue();
+      fail("exception expected");
+    } catch (SpinRuntimeException e) {
+      // expected
+    }
+  }
+
+}
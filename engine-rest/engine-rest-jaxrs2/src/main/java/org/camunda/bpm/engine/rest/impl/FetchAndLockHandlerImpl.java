@@ -17,10 +17,14 @@
 package org.camunda.bpm.engine.rest.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,9 +38,11 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskTopicListener;
 import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto.FetchExternalTaskTopicDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.LockedExternalTaskDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
@@ -48,7 +54,7 @@ import org.camunda.bpm.engine.rest.util.EngineUtil;
 /**
  * @author Tassilo Weidner
  */
-public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
+public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler, ExternalTaskTopicListener {
 
   private final static Logger LOG = Logger.getLogger(FetchAndLockHandlerImpl.class.getName());
 
@@ -70,6 +76,17 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
   protected boolean isUniqueWorkerRequest = false;
 
+  /**
+   * If enabled, pending requests are only re-evaluated when tasks for one of their topics
+   * became available, when they expire or when the periodic fetch interval has elapsed.
+   */
+  protected boolean isTopicNotificationEnabled = false;
+
+  protected Set<String> notifiedTopics = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  protected volatile boolean isUnknownTopicNotified = false;
+
+  protected long lastFetchAllTimestamp = 0;
+
   public FetchAndLockHandlerImpl() {
     this.condition = new SingleConsumerCondition(handlerThread);
   }
@@ -104,6 +121,20 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
     LOG.log(Level.FINEST, "Number of pending requests {0}", pendingRequests.size());
 
+    // drain the notifications after the new requests, so that no notification
+    // which arrived after their initial fetch can be missed
+    Set<String> availableTopics = drainNotifiedTopics();
+
+    long currentTime = ClockUtil.getCurrentTime().getTime();
+    boolean fetchAll = !isTopicNotificationEnabled
+      || isUnknownTopicNotified
+      || currentTime - lastFetchAllTimestamp >= PENDING_REQUEST_FETCH_INTERVAL;
+
+    if (fetchAll) {
+      isUnknownTopicNotified = false;
+      lastFetchAllTimestamp = currentTime;
+    }
+
     long backoffTime = MAX_BACK_OFF_TIME; //timestamp
 
     Iterator<FetchAndLockRequest> iterator = pendingRequests.iterator();
@@ -111,6 +142,12 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       FetchAndLockRequest pendingRequest = iterator.next();
 
+      if (!fetchAll && !isExpired(pendingRequest) && !hasAvailableTopic(pendingRequest, availableTopics)) {
+        final long msUntilTimeout = pendingRequest.getTimeoutTimestamp() - currentTime;
+        backoffTime = Math.min(backoffTime, msUntilTimeout);
+        continue;
+      }
+
       LOG.log(Level.FINEST, "Fetching tasks for request {0}", pendingRequest);
 
       FetchAndLockResult result = tryFetchAndLock(pendingRequest);
@@ -153,8 +190,51 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     else {
       // if there are pending requests, try fetch periodically to ensure tasks created on other
       // cluster nodes and tasks with expired timeouts can be fetched in a timely manner
-      suspend(Math.min(PENDING_REQUEST_FETCH_INTERVAL, waitTime));
+      long msUntilFetchAll = PENDING_REQUEST_FETCH_INTERVAL;
+      if (isTopicNotificationEnabled) {
+        msUntilFetchAll = Math.max(0, lastFetchAllTimestamp + PENDING_REQUEST_FETCH_INTERVAL - currentTime);
+      }
+      suspend(Math.min(msUntilFetchAll, waitTime));
+    }
+  }
+
+  protected Set<String> drainNotifiedTopics() {
+    Set<String> topics = new HashSet<>();
+
+    Iterator<String> iterator = notifiedTopics.iterator();
+    while (iterator.hasNext()) {
+      topics.add(iterator.next());
+      iterator.remove();
     }
+
+    return topics;
+  }
+
+  protected boolean hasAvailableTopic(FetchAndLockRequest request, Set<String> availableTopics) {
+    List<FetchExternalTaskTopicDto> topics = request.getDto().getTopics();
+    if (topics == null || availableTopics.isEmpty()) {
+      return false;
+    }
+
+    for (FetchExternalTaskTopicDto topic : topics) {
+      if (availableTopics.contains(topic.getTopicName())) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  @Override
+  public void onTopicsAvailable(Set<String> topicNames) {
+    if (topicNames.isEmpty()) {
+      isUnknownTopicNotified = true;
+    }
+    else {
+      notifiedTopics.addAll(topicNames);
+    }
+
+    condition.signal();
   }
 
   protected void removeDuplicates() {
@@ -181,15 +261,18 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
 
     isRunning = true;
+    isTopicNotificationEnabled = true;
     handlerThread.start();
 
     ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_TOPIC_NOTIFIER.addListener(this);
   }
 
   @Override
   public void shutdown() {
     try {
       ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+      ProcessEngineImpl.EXT_TASK_TOPIC_NOTIFIER.removeListener(this);
     }
     finally {
       isRunning = false;
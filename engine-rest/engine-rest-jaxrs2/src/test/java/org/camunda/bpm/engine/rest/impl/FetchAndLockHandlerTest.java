@@ -416,11 +416,101 @@ public class FetchAndLockHandlerTest {
     assertThat(argumentCaptor.getValue().getMessage(), is("Request rejected due to shutdown of application server."));
   }
 
+  @Test
+  public void shouldOnlyFetchRequestsWithNotifiedTopics() {
+    // given
+    handler.isTopicNotificationEnabled = true;
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    AsyncResponse otherAsyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L, "aWorkerId", "aTopicName"), asyncResponse, processEngine);
+    handler.addPendingRequest(createDto(5000L, "anotherWorkerId", "anotherTopicName"), otherAsyncResponse, processEngine);
+    handler.acquire();
+
+    // assume
+    assertThat(handler.getPendingRequests().size(), is(2));
+    verify(fetchTopicBuilder, times(4)).execute();
+
+    List<LockedExternalTask> tasks = new ArrayList<LockedExternalTask>();
+    tasks.add(lockedExternalTaskMock);
+    doReturn(tasks).when(fetchTopicBuilder).execute();
+
+    addSecondsToClock(1);
+
+    // when
+    handler.onTopicsAvailable(Collections.singleton("aTopicName"));
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(5)).execute();
+    verify(asyncResponse).resume(argThat(IsCollectionWithSize.hasSize(1)));
+    verify(otherAsyncResponse, never()).resume(any());
+    assertThat(handler.getPendingRequests().size(), is(1));
+    verify(handler).suspend(4000L);
+  }
+
+  @Test
+  public void shouldFetchAllRequestsWhenUnknownTopicNotified() {
+    // given
+    handler.isTopicNotificationEnabled = true;
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L, "aWorkerId", "aTopicName"), asyncResponse, processEngine);
+    handler.addPendingRequest(createDto(5000L, "anotherWorkerId", "anotherTopicName"), asyncResponse, processEngine);
+    handler.acquire();
+
+    addSecondsToClock(1);
+
+    // when
+    handler.onTopicsAvailable(Collections.<String>emptySet());
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(6)).execute();
+    assertThat(handler.getPendingRequests().size(), is(2));
+  }
+
+  @Test
+  public void shouldFetchAllRequestsPeriodicallyWhenTopicNotificationEnabled() {
+    // given
+    handler.isTopicNotificationEnabled = true;
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT), asyncResponse, processEngine);
+    handler.acquire();
+
+    // assume
+    verify(handler).suspend(FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL);
+
+    // when woken up without notification
+    addSecondsToClock(10);
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(2)).execute();
+    verify(handler).suspend(FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL - 10000L);
+
+    // when the fetch interval has elapsed
+    addSecondsToClock(20);
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(3)).execute();
+    verify(handler, times(2)).suspend(FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL);
+  }
+
   protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId) {
+    return createDto(responseTimeout, workerId, "aTopicName");
+  }
+
+  protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId, String topicName) {
     FetchExternalTasksExtendedDto externalTask = new FetchExternalTasksExtendedDto();
 
     FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto topic = new FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto();
-    topic.setTopicName("aTopicName");
+    topic.setTopicName(topicName);
     topic.setLockDuration(12354L);
 
     externalTask.setMaxTasks(5);
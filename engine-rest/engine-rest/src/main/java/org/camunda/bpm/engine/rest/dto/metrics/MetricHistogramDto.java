@@ -0,0 +1,109 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.metrics;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.management.MetricHistogram;
+
+public class MetricHistogramDto {
+
+  protected String name;
+  protected Date startTime;
+  protected Date endTime;
+  protected long count;
+  protected long min;
+  protected long max;
+  protected double mean;
+  protected long p50;
+  protected long p75;
+  protected long p90;
+  protected long p95;
+  protected long p99;
+  protected long p999;
+
+  public static MetricHistogramDto fromMetricHistogram(MetricHistogram histogram) {
+    MetricHistogramDto dto = new MetricHistogramDto();
+    dto.name = histogram.getName();
+    dto.startTime = histogram.getStartTime();
+    dto.endTime = histogram.getEndTime();
+    dto.count = histogram.getCount();
+    dto.min = histogram.getMin();
+    dto.max = histogram.getMax();
+    dto.mean = histogram.getMean();
+    dto.p50 = histogram.getValueAtPercentile(50);
+    dto.p75 = histogram.getValueAtPercentile(75);
+    dto.p90 = histogram.getValueAtPercentile(90);
+    dto.p95 = histogram.getValueAtPercentile(95);
+    dto.p99 = histogram.getValueAtPercentile(99);
+    dto.p999 = histogram.getValueAtPercentile(99.9);
+    return dto;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Date getStartTime() {
+    return startTime;
+  }
+
+  public Date getEndTime() {
+    return endTime;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getMin() {
+    return min;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public double getMean() {
+    return mean;
+  }
+
+  public long getP50() {
+    return p50;
+  }
+
+  public long getP75() {
+    return p75;
+  }
+
+  public long getP90() {
+    return p90;
+  }
+
+  public long getP95() {
+    return p95;
+  }
+
+  public long getP99() {
+    return p99;
+  }
+
+  public long getP999() {
+    return p999;
+  }
+
+}
@@ -23,6 +23,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
 
+import org.camunda.bpm.engine.rest.dto.metrics.MetricHistogramDto;
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsResultDto;
 
 /**
@@ -35,4 +36,9 @@ public interface MetricsResource {
   @Produces(MediaType.APPLICATION_JSON)
   @Path("/sum")
   MetricsResultDto sum(@Context UriInfo uriInfo);
+
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @Path("/histogram")
+  MetricHistogramDto histogram();
 }
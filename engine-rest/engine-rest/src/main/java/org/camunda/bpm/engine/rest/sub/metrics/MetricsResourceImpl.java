@@ -18,13 +18,18 @@ package org.camunda.bpm.engine.rest.sub.metrics;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Date;
+import java.util.List;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.management.MetricHistogram;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.dto.converter.DateConverter;
+import org.camunda.bpm.engine.rest.dto.metrics.MetricHistogramDto;
 import org.camunda.bpm.engine.rest.dto.metrics.MetricsResultDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 
 
 /**
@@ -54,6 +59,19 @@ public class MetricsResourceImpl implements MetricsResource {
     return new MetricsResultDto(query.sum());
   }
 
+  @Override
+  public MetricHistogramDto histogram() {
+    List<MetricHistogram> histograms = processEngine.getManagementService().getMetricHistograms();
+
+    for (MetricHistogram histogram : histograms) {
+      if (histogram.getName().equals(metricsName)) {
+        return MetricHistogramDto.fromMetricHistogram(histogram);
+      }
+    }
+
+    throw new InvalidRequestException(Status.NOT_FOUND, "No histogram recorded for metric " + metricsName);
+  }
+
   protected void applyQueryParams(MetricsQuery query, UriInfo uriInfo) {
     MultivaluedMap<String, String> queryParameters = uriInfo.getQueryParameters();
 
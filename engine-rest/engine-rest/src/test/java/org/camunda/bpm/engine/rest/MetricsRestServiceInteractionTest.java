@@ -27,11 +27,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.Date;
 import javax.ws.rs.core.Response.Status;
 
 
 import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.management.MetricHistogram;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -51,6 +53,7 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
   public static final String METRICS_URL = TEST_RESOURCE_ROOT_PATH + MetricsRestService.PATH;
   public static final String SINGLE_METER_URL = METRICS_URL + "/{name}";
   public static final String SUM_URL = SINGLE_METER_URL + "/sum";
+  public static final String HISTOGRAM_URL = SINGLE_METER_URL + "/histogram";
 
   protected ManagementService managementServiceMock;
   private MetricsQuery meterQueryMock;
@@ -318,5 +321,42 @@ public class MetricsRestServiceInteractionTest extends AbstractRestServiceTest {
 
   }
 
+  @Test
+  public void testGetHistogram() {
+    MetricHistogram histogram = mock(MetricHistogram.class);
+    when(histogram.getName()).thenReturn(Metrics.COMMAND_EXECUTION_TIME);
+    when(histogram.getCount()).thenReturn(100L);
+    when(histogram.getMin()).thenReturn(10L);
+    when(histogram.getMax()).thenReturn(2000L);
+    when(histogram.getValueAtPercentile(50)).thenReturn(120L);
+    when(histogram.getValueAtPercentile(99)).thenReturn(1500L);
+    when(managementServiceMock.getMetricHistograms()).thenReturn(Collections.singletonList(histogram));
+
+    given()
+      .pathParam("name", Metrics.COMMAND_EXECUTION_TIME)
+    .then().expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("name", equalTo(Metrics.COMMAND_EXECUTION_TIME))
+      .body("count", equalTo(100))
+      .body("min", equalTo(10))
+      .body("max", equalTo(2000))
+      .body("p50", equalTo(120))
+      .body("p99", equalTo(1500))
+    .when()
+      .get(HISTOGRAM_URL);
+  }
+
+  @Test
+  public void testGetHistogramNotRecorded() {
+    when(managementServiceMock.getMetricHistograms()).thenReturn(Collections.<MetricHistogram>emptyList());
+
+    given()
+      .pathParam("name", Metrics.COMMAND_EXECUTION_TIME)
+    .then().expect()
+      .statusCode(Status.NOT_FOUND.getStatusCode())
+      .body("message", equalTo("No histogram recorded for metric " + Metrics.COMMAND_EXECUTION_TIME))
+    .when()
+      .get(HISTOGRAM_URL);
+  }
 
 }
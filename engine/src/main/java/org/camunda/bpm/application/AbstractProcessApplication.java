@@ -75,6 +75,11 @@ public abstract class AbstractProcessApplication implements ProcessApplicationIn
       // delegate stopping of the process application to the runtime container.
       RuntimeContainerDelegate.INSTANCE.get().undeployProcessApplication(this);
       isDeployed = false;
+
+      // the threads of the runtime container outlive the process application
+      if (processApplicationScriptEnvironment != null) {
+        processApplicationScriptEnvironment.clearThreadConfinedScriptEngines();
+      }
     }
   }
 
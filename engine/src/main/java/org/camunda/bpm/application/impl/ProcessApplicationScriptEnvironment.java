@@ -24,6 +24,8 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 
 import org.camunda.bpm.application.ProcessApplicationInterface;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
 
@@ -58,13 +60,30 @@ public class ProcessApplicationScriptEnvironment {
     if(processApplicationScriptEngineResolver == null) {
       synchronized (this) {
         if(processApplicationScriptEngineResolver == null) {
-          processApplicationScriptEngineResolver = new ScriptEngineResolver(new ScriptEngineManager(getProcessApplicationClassloader()));
+          ScriptEngineResolver scriptEngineResolver = new ScriptEngineResolver(new ScriptEngineManager(getProcessApplicationClassloader()));
+
+          ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+          if (processEngineConfiguration != null) {
+            scriptEngineResolver.setEnableThreadConfinement(processEngineConfiguration.isEnableScriptEngineThreadConfinement());
+          }
+
+          processApplicationScriptEngineResolver = scriptEngineResolver;
         }
       }
     }
     return processApplicationScriptEngineResolver.getScriptEngine(scriptEngineName, cache);
   }
 
+  /**
+   * Releases the script engines which are cached per thread, see
+   * {@link ScriptEngineResolver#clearThreadConfinedEngines()}.
+   */
+  public void clearThreadConfinedScriptEngines() {
+    if (processApplicationScriptEngineResolver != null) {
+      processApplicationScriptEngineResolver.clearThreadConfinedEngines();
+    }
+  }
+
   /**
    * Returns a map of cached environment scripts per script language.
    */
@@ -39,6 +39,7 @@ import org.camunda.bpm.engine.management.ActivityStatisticsQuery;
 import org.camunda.bpm.engine.management.DeploymentStatisticsQuery;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.management.JobDefinitionQuery;
+import org.camunda.bpm.engine.management.MetricHistogram;
 import org.camunda.bpm.engine.management.MetricsQuery;
 import org.camunda.bpm.engine.management.ProcessDefinitionStatisticsQuery;
 import org.camunda.bpm.engine.management.SchemaLogQuery;
@@ -1271,6 +1272,16 @@ public interface ManagementService {
    */
   void reportDbMetricsNow();
 
+  /**
+   * Returns the latency histograms which this engine node recorded within the last
+   * completed reporting interval of the metrics reporter. Histograms are only recorded
+   * if enabled in the process engine configuration.
+   *
+   * @return the histograms of the last reporting interval; empty if
+   *   no histograms are recorded or no interval was completed yet
+   */
+  List<MetricHistogram> getMetricHistograms();
+
   /**
    * Creates a query to search for {@link org.camunda.bpm.engine.batch.Batch} instances.
    *
@@ -22,6 +22,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
@@ -29,12 +33,14 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.Properties;
+import org.camunda.bpm.engine.impl.core.model.PropertyKey;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
 
 /**
  * {@link Deployer} responsible to parse resource files and create the proper entities.
@@ -67,6 +73,19 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
   }
 
   protected List<DefinitionEntity> parseDefinitionResources(DeploymentEntity deployment, Properties properties) {
+    if (isParallelParsingSupported() && getProcessEngineConfiguration().isParallelDeploymentParsingEnabled()) {
+      List<ResourceEntity> resources = new ArrayList<ResourceEntity>();
+      for (ResourceEntity resource : deployment.getResources().values()) {
+        if (isResourceHandled(resource)) {
+          resources.add(resource);
+        }
+      }
+
+      if (resources.size() > 1) {
+        return parseDefinitionResourcesInParallel(deployment, resources, properties);
+      }
+    }
+
     List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
     for (ResourceEntity resource : deployment.getResources().values()) {
       LOG.debugProcessingResource(resource.getName());
@@ -77,6 +96,109 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
     return definitions;
   }
 
+  /**
+   * Transforms the given resources concurrently on the deployment parsing pool. Every resource
+   * is transformed with its own properties, which are merged afterwards. The definitions are
+   * returned in the order of the given resources, so that they are registered in the same order
+   * as if the resources were transformed one after another.
+   */
+  protected List<DefinitionEntity> parseDefinitionResourcesInParallel(final DeploymentEntity deployment, List<ResourceEntity> resources, Properties properties) {
+    final ProcessEngineConfigurationImpl processEngineConfiguration = getProcessEngineConfiguration();
+    final ClassLoader contextClassLoader = ClassLoaderUtil.getContextClassloader();
+
+    ForkJoinPool pool = processEngineConfiguration.getDeploymentParsingPool();
+    if (pool == null) {
+      pool = ForkJoinPool.commonPool();
+    }
+
+    List<ForkJoinTask<ResourceTransformation>> tasks = new ArrayList<ForkJoinTask<ResourceTransformation>>();
+
+    for (final ResourceEntity resource : resources) {
+      tasks.add(pool.submit(new Callable<ResourceTransformation>() {
+        public ResourceTransformation call() {
+          ClassLoader workerClassLoader = ClassLoaderUtil.getContextClassloader();
+          ClassLoaderUtil.setContextClassloader(contextClassLoader);
+          Context.setProcessEngineConfiguration(processEngineConfiguration);
+          try {
+            LOG.debugProcessingResource(resource.getName());
+            ResourceTransformation transformation = new ResourceTransformation();
+            transformation.definitions = transformResource(deployment, resource, transformation.properties);
+            return transformation;
+          }
+          finally {
+            Context.removeProcessEngineConfiguration();
+            ClassLoaderUtil.setContextClassloader(workerClassLoader);
+          }
+        }
+      }));
+    }
+
+    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    for (int i = 0; i < tasks.size(); i++) {
+      ResourceTransformation transformation = awaitTransformation(tasks, i);
+      mergeProperties(properties, transformation.properties);
+      definitions.addAll(transformation.definitions);
+    }
+    return definitions;
+  }
+
+  protected ResourceTransformation awaitTransformation(List<ForkJoinTask<ResourceTransformation>> tasks, int index) {
+    try {
+      return tasks.get(index).get();
+    }
+    catch (ExecutionException e) {
+      // the transformation of one resource failed, the others are not needed anymore
+      for (int i = index + 1; i < tasks.size(); i++) {
+        tasks.get(i).cancel(false);
+      }
+
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ProcessEngineException(cause);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProcessEngineException("Interrupted while parsing resources of deployment", e);
+    }
+  }
+
+  /**
+   * Adds the properties of a single transformed resource to the properties of the deployment.
+   * Values of list and map properties are appended, other values are replaced.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  protected void mergeProperties(Properties target, Properties source) {
+    Map<String, Object> targetMap = target.toMap();
+
+    for (Map.Entry<String, Object> entry : source.toMap().entrySet()) {
+      Object targetValue = targetMap.get(entry.getKey());
+      Object value = entry.getValue();
+
+      if (targetValue instanceof Map && value instanceof Map) {
+        ((Map) targetValue).putAll((Map) value);
+      }
+      else if (targetValue instanceof List && value instanceof List) {
+        ((List) targetValue).addAll((List) value);
+      }
+      else {
+        target.set(new PropertyKey<Object>(entry.getKey()), value);
+      }
+    }
+  }
+
+  /**
+   * @return true if {@link #transformDefinitions(DeploymentEntity, ResourceEntity, Properties)}
+   *   does not change shared state and may thus be invoked for several resources concurrently
+   */
+  protected boolean isParallelParsingSupported() {
+    return false;
+  }
+
   protected boolean isResourceHandled(ResourceEntity resource) {
     String resourceName = resource.getName();
 
@@ -362,4 +484,12 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
     return getProcessEngineConfiguration().getDeploymentCache();
   }
 
+  /**
+   * Result of transforming a single resource in parallel.
+   */
+  protected class ResourceTransformation {
+    protected Collection<DefinitionEntity> definitions;
+    protected Properties properties = new Properties();
+  }
+
 }
@@ -25,6 +25,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.EverLivingJobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 
 /**
  * @author Nikola Koevski
@@ -44,9 +45,26 @@ public class BootstrapEngineCommand implements ProcessEngineBootstrapCommand {
       createHistoryCleanupJob(commandContext);
     }
 
+    if (isLatestDefinitionIndexEnabled(commandContext)) {
+      createDefinitionRevisionProperty(commandContext);
+    }
+
     return null;
   }
 
+  protected void createDefinitionRevisionProperty(CommandContext commandContext) {
+    PropertyManager propertyManager = commandContext.getPropertyManager();
+
+    if (propertyManager.findDefinitionRevision() == null) {
+      propertyManager.acquireExclusiveLockForStartup();
+
+      if (propertyManager.findDefinitionRevision() == null) {
+        LOG.creatingDefinitionRevisionPropertyInDatabase();
+        commandContext.getDbEntityManager().insert(new PropertyEntity("definition.revision", "0"));
+      }
+    }
+  }
+
   protected void createHistoryCleanupJob(CommandContext commandContext) {
     if (Context.getProcessEngineConfiguration().getManagementService().getTableMetaData("ACT_RU_JOB") != null) {
       // CAM-9671: avoid transaction rollback due to the OLE being caught in CommandContext#close
@@ -85,4 +103,9 @@ public class BootstrapEngineCommand implements ProcessEngineBootstrapCommand {
         .isHistoryCleanupEnabled();
   }
 
+  protected boolean isLatestDefinitionIndexEnabled(CommandContext commandContext) {
+    return commandContext.getProcessEngineConfiguration()
+        .isLatestDefinitionIndexEnabled();
+  }
+
 }
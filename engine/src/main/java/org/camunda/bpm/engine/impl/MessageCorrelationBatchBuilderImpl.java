@@ -0,0 +1,138 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureGreaterThanOrEqual;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.cmd.CorrelateMessagesCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBatchResultImpl;
+import org.camunda.bpm.engine.impl.runtime.PrefetchingCorrelationHandler;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+
+public class MessageCorrelationBatchBuilderImpl implements MessageCorrelationBatchBuilder {
+
+  protected CommandExecutor commandExecutor;
+
+  protected List<MessageCorrelationBuilderImpl> correlations = new ArrayList<MessageCorrelationBuilderImpl>();
+  protected int transactionSize = 100;
+
+  public MessageCorrelationBatchBuilderImpl(CommandExecutor commandExecutor) {
+    ensureNotNull("commandExecutor", commandExecutor);
+    this.commandExecutor = commandExecutor;
+  }
+
+  public MessageCorrelationBatchBuilder correlation(MessageCorrelationBuilder correlation) {
+    ensureNotNull("correlation", correlation);
+    correlations.add((MessageCorrelationBuilderImpl) correlation);
+    return this;
+  }
+
+  public MessageCorrelationBatchBuilder correlations(List<MessageCorrelationBuilder> correlations) {
+    ensureNotNull("correlations", correlations);
+    for (MessageCorrelationBuilder correlation : correlations) {
+      correlation(correlation);
+    }
+    return this;
+  }
+
+  public MessageCorrelationBatchBuilder transactionSize(int transactionSize) {
+    ensureGreaterThanOrEqual("transactionSize", transactionSize, 1);
+    this.transactionSize = transactionSize;
+    return this;
+  }
+
+  public List<MessageCorrelationBatchResult> correlate() {
+    List<MessageCorrelationBatchResult> results = new ArrayList<MessageCorrelationBatchResult>(correlations.size());
+
+    List<MessageCorrelationBuilderImpl> chunk = new ArrayList<MessageCorrelationBuilderImpl>();
+    Set<String> chunkBusinessKeys = new HashSet<String>();
+
+    for (MessageCorrelationBuilderImpl correlation : correlations) {
+      String businessKey = correlation.getBusinessKey();
+
+      // a message which is not correlated by business key can trigger any process instance,
+      // so it is correlated in a transaction of its own to keep the prefetched executions
+      // of the other messages valid
+      if (!PrefetchingCorrelationHandler.isPrefetchable(correlation)) {
+        if (!chunk.isEmpty()) {
+          results.addAll(correlateChunk(chunk));
+          chunk = new ArrayList<MessageCorrelationBuilderImpl>();
+          chunkBusinessKeys.clear();
+        }
+        results.addAll(correlateChunk(Collections.singletonList(correlation)));
+        continue;
+      }
+
+      // messages for the same process instance are correlated in separate transactions
+      // so that a message does not match an execution which was triggered before
+      if (chunk.size() >= transactionSize || (businessKey != null && chunkBusinessKeys.contains(businessKey))) {
+        results.addAll(correlateChunk(chunk));
+        chunk = new ArrayList<MessageCorrelationBuilderImpl>();
+        chunkBusinessKeys.clear();
+      }
+
+      chunk.add(correlation);
+      if (businessKey != null) {
+        chunkBusinessKeys.add(businessKey);
+      }
+    }
+
+    if (!chunk.isEmpty()) {
+      results.addAll(correlateChunk(chunk));
+    }
+
+    return results;
+  }
+
+  protected List<MessageCorrelationBatchResultImpl> correlateChunk(List<MessageCorrelationBuilderImpl> chunk) {
+    try {
+      return commandExecutor.execute(new CorrelateMessagesCmd(chunk));
+    }
+    catch (RuntimeException e) {
+      if (chunk.size() == 1) {
+        return Collections.singletonList(MessageCorrelationBatchResultImpl.failed(chunk.get(0), e));
+      }
+    }
+
+    // the transaction was rolled back, correlate the messages one by one
+    // to determine the outcome of every message
+    List<MessageCorrelationBatchResultImpl> results = new ArrayList<MessageCorrelationBatchResultImpl>(chunk.size());
+    for (MessageCorrelationBuilderImpl correlation : chunk) {
+      results.addAll(correlateChunk(Collections.singletonList(correlation)));
+    }
+    return results;
+  }
+
+  public List<MessageCorrelationBuilderImpl> getCorrelations() {
+    return correlations;
+  }
+
+  public int getTransactionSize() {
+    return transactionSize;
+  }
+
+}
@@ -36,8 +36,10 @@ import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskTopicNotifier;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.SimpleIpBasedProvider;
+import org.camunda.bpm.engine.impl.history.handler.AsyncDbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
@@ -52,6 +54,9 @@ public class ProcessEngineImpl implements ProcessEngine {
   /** external task conditions used to signal long polling in rest API */
   public static final CompositeCondition EXT_TASK_CONDITIONS = new CompositeCondition();
 
+  /** external task topic notifications used to selectively wake up long polling in rest API */
+  public static final ExternalTaskTopicNotifier EXT_TASK_TOPIC_NOTIFIER = new ExternalTaskTopicNotifier();
+
   private final static ProcessEngineLogger LOG = ProcessEngineLogger.INSTANCE;
 
   protected String name;
@@ -120,6 +125,11 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.registerProcessEngine(this);
     }
 
+    AsyncDbHistoryEventHandler asyncHistoryEventHandler = processEngineConfiguration.getAsyncDbHistoryEventHandler();
+    if (asyncHistoryEventHandler != null) {
+      asyncHistoryEventHandler.start(processEngineConfiguration.getCommandExecutorTxRequiresNew());
+    }
+
     if (processEngineConfiguration.isMetricsEnabled()) {
       String reporterId;
       // only use a deprecated, custom MetricsReporterIdProvider,
@@ -166,6 +176,12 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.unregisterProcessEngine(this);
     }
 
+    AsyncDbHistoryEventHandler asyncHistoryEventHandler = processEngineConfiguration.getAsyncDbHistoryEventHandler();
+    if (asyncHistoryEventHandler != null) {
+      // write all pending history events before the engine goes away
+      asyncHistoryEventHandler.stop();
+    }
+
     commandExecutorSchemaOperations.execute(new SchemaOperationProcessEngineClose());
 
     processEngineConfiguration.close();
@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl.batch;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
@@ -26,8 +27,10 @@ import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
 import org.camunda.bpm.engine.impl.util.JsonUtil;
-import com.google.gson.JsonElement;
+import org.camunda.bpm.engine.repository.ResourceTypes;
+import com.google.gson.JsonObject;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -37,6 +40,9 @@ import java.util.List;
  */
 public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> implements BatchJobHandler<T> {
 
+  public static final String ID_CHUNK_IDS = "idChunkIds";
+  public static final String IDS = "ids";
+
   public abstract JobDeclaration<BatchJobContext, MessageEntity> getJobDeclaration();
 
   @Override
@@ -46,6 +52,7 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
     JobManager jobManager = commandContext.getJobManager();
 
     T configuration = readConfiguration(batch.getConfigurationBytes());
+    prepareIdsForSeed(batch, configuration);
 
     int batchJobsPerSeed = batch.getBatchJobsPerSeed();
     int invocationsPerBatchJob = batch.getInvocationsPerBatchJob();
@@ -78,7 +85,63 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
     // update batch configuration
     batch.setConfigurationBytes(writeConfiguration(configuration));
 
-    return ids.isEmpty();
+    return isCompleted(configuration);
+  }
+
+  /**
+   * Makes the ids of the configuration contain the ids to process by the current seed job
+   * invocation. If {@link ProcessEngineConfigurationImpl#isBatchIdChunkingEnabled() id chunking}
+   * is enabled, the ids beyond the current invocation are moved to byte arrays of one
+   * invocation each, so that a seed job invocation only rewrites its own ids.
+   */
+  protected void prepareIdsForSeed(BatchEntity batch, T configuration) {
+    List<String> ids = configuration.getIds();
+
+    if (ids.isEmpty() && configuration.hasIdChunks()) {
+      String idChunkId = configuration.getIdChunkIds().remove(0);
+      configuration.setIds(readIdChunk(idChunkId));
+
+    } else if (Context.getProcessEngineConfiguration().isBatchIdChunkingEnabled() && !configuration.hasIdChunks()) {
+      int idsPerSeed = batch.getBatchJobsPerSeed() * batch.getInvocationsPerBatchJob();
+      if (idsPerSeed > 0 && ids.size() > idsPerSeed) {
+        writeIdChunks(configuration, idsPerSeed);
+      }
+    }
+  }
+
+  protected void writeIdChunks(T configuration, int idsPerChunk) {
+    ByteArrayManager byteArrayManager = Context.getCommandContext().getByteArrayManager();
+    List<String> ids = configuration.getIds();
+
+    List<String> idChunkIds = new ArrayList<String>();
+    for (int i = idsPerChunk; i < ids.size(); i += idsPerChunk) {
+      List<String> idsForChunk = ids.subList(i, Math.min(i + idsPerChunk, ids.size()));
+
+      JsonObject json = JsonUtil.createObject();
+      JsonUtil.addListField(json, IDS, idsForChunk);
+
+      ByteArrayEntity idChunk = new ByteArrayEntity(JsonUtil.asBytes(json), ResourceTypes.RUNTIME);
+      byteArrayManager.insert(idChunk);
+
+      idChunkIds.add(idChunk.getId());
+    }
+
+    configuration.setIds(new ArrayList<String>(ids.subList(0, idsPerChunk)));
+    configuration.setIdChunkIds(idChunkIds);
+  }
+
+  protected List<String> readIdChunk(String idChunkId) {
+    CommandContext commandContext = Context.getCommandContext();
+    ByteArrayEntity idChunk = commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, idChunkId);
+
+    JsonObject json = JsonUtil.asObject(idChunk.getBytes());
+    commandContext.getByteArrayManager().delete(idChunk);
+
+    return new ArrayList<String>(JsonUtil.asStringList(JsonUtil.getArray(json, IDS)));
+  }
+
+  protected boolean isCompleted(T configuration) {
+    return configuration.getIds().isEmpty() && !configuration.hasIdChunks();
   }
 
   protected abstract T createJobConfiguration(T configuration, List<String> processIdsForJob);
@@ -102,6 +165,19 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
     for (JobEntity job : jobs) {
       job.delete();
     }
+
+    deleteIdChunks(batch);
+  }
+
+  protected void deleteIdChunks(BatchEntity batch) {
+    T configuration = readConfiguration(batch.getConfigurationBytes());
+
+    if (configuration.hasIdChunks()) {
+      ByteArrayManager byteArrayManager = Context.getCommandContext().getByteArrayManager();
+      for (String idChunkId : configuration.getIdChunkIds()) {
+        byteArrayManager.deleteByteArrayById(idChunkId);
+      }
+    }
   }
 
   @Override
@@ -127,14 +203,26 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
 
   @Override
   public byte[] writeConfiguration(T configuration) {
-    JsonElement jsonObject = getJsonConverterInstance().toJsonObject(configuration);
+    JsonObject jsonObject = getJsonConverterInstance().toJsonObject(configuration);
+
+    if (configuration.hasIdChunks()) {
+      JsonUtil.addListField(jsonObject, ID_CHUNK_IDS, configuration.getIdChunkIds());
+    }
 
     return JsonUtil.asBytes(jsonObject);
   }
 
   @Override
   public T readConfiguration(byte[] serializedConfiguration) {
-    return getJsonConverterInstance().toObject(JsonUtil.asObject(serializedConfiguration));
+    JsonObject jsonObject = JsonUtil.asObject(serializedConfiguration);
+    T configuration = getJsonConverterInstance().toObject(jsonObject);
+
+    if (jsonObject.has(ID_CHUNK_IDS)) {
+      List<String> idChunkIds = JsonUtil.asStringList(JsonUtil.getArray(jsonObject, ID_CHUNK_IDS));
+      configuration.setIdChunkIds(new ArrayList<String>(idChunkIds));
+    }
+
+    return configuration;
   }
 
   protected abstract JsonObjectConverter<T> getJsonConverterInstance();
@@ -24,6 +24,12 @@ public class BatchConfiguration {
   protected List<String> ids;
   protected boolean failIfNotExists;
 
+  /**
+   * Ids of the byte arrays which hold the ids that are not yet
+   * loaded into {@link #ids}, see {@link AbstractBatchJobHandler}
+   */
+  protected List<String> idChunkIds;
+
   public BatchConfiguration(List<String> ids) {
     this(ids, true);
   }
@@ -41,6 +47,18 @@ public class BatchConfiguration {
     this.ids = ids;
   }
 
+  public List<String> getIdChunkIds() {
+    return idChunkIds;
+  }
+
+  public void setIdChunkIds(List<String> idChunkIds) {
+    this.idChunkIds = idChunkIds;
+  }
+
+  public boolean hasIdChunks() {
+    return idChunkIds != null && !idChunkIds.isEmpty();
+  }
+
   public boolean isFailIfNotExists() {
     return failIfNotExists;
   }
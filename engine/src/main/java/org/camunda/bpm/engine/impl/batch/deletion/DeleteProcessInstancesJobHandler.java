@@ -93,6 +93,7 @@ public class DeleteProcessInstancesJobHandler extends AbstractBatchJobHandler<De
   @Override
   public boolean createJobs(BatchEntity batch) {
     DeleteProcessInstanceBatchConfiguration configuration = readConfiguration(batch.getConfigurationBytes());
+    prepareIdsForSeed(batch, configuration);
 
     List<String> ids = configuration.getIds();
     final CommandContext commandContext = Context.getCommandContext();
@@ -132,7 +133,7 @@ public class DeleteProcessInstancesJobHandler extends AbstractBatchJobHandler<De
       createJobEntities(batch, configuration, null, processIds, invocationsPerBatchJob);
     }
 
-    return ids.isEmpty();
+    return isCompleted(configuration);
   }
 
   protected void createJobEntities(BatchEntity batch, DeleteProcessInstanceBatchConfiguration configuration, String deploymentId,
@@ -87,6 +87,11 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     return BPMN_RESOURCE_SUFFIXES;
   }
 
+  @Override
+  protected boolean isParallelParsingSupported() {
+    return true;
+  }
+
   @Override
   protected List<ProcessDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
     byte[] bytes = resource.getBytes();
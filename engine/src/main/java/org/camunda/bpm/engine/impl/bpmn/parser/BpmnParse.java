@@ -227,6 +227,7 @@ public class BpmnParse extends Parse {
   protected Map<String, XMLImporter> importers = new HashMap<String, XMLImporter>();
   protected Map<String, String> prefixs = new HashMap<String, String>();
   protected String targetNamespace;
+  protected boolean skipDiagramInterchange;
 
   private Map<String, String> eventLinkTargets = new HashMap<String, String>();
   private Map<String, String> eventLinkSources = new HashMap<String, String>();
@@ -240,6 +241,7 @@ public class BpmnParse extends Parse {
     this.parseListeners = parser.getParseListeners();
     setSchemaResource(ReflectUtil.getResourceUrlAsString(BpmnParser.BPMN_20_SCHEMA_LOCATION));
     setEnableXxeProcessing(Context.getProcessEngineConfiguration().isEnableXxeProcessing());
+    this.skipDiagramInterchange = Context.getProcessEngineConfiguration().isSkipBpmnDiagramInterchange();
   }
 
   public BpmnParse deployment(DeploymentEntity deployment) {
@@ -247,6 +249,11 @@ public class BpmnParse extends Parse {
     return this;
   }
 
+  @Override
+  protected boolean isSkippedElement(String uri, String localName) {
+    return skipDiagramInterchange && BpmnParser.BPMN_DI_NS.equals(uri);
+  }
+
   @Override
   public BpmnParse execute() {
     super.execute(); // schema validation
@@ -40,6 +40,7 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ForkJoinPool;
 import javax.naming.InitialContext;
 import javax.sql.DataSource;
 
@@ -135,6 +136,8 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
@@ -154,6 +157,7 @@ import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDef
 import org.camunda.bpm.engine.impl.el.CommandContextFunctionMapper;
 import org.camunda.bpm.engine.impl.el.DateTimeFunctionMapper;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.el.VariableScopeTreeCompiler;
 import org.camunda.bpm.engine.impl.event.CompensationEventHandler;
 import org.camunda.bpm.engine.impl.event.ConditionalEventHandler;
 import org.camunda.bpm.engine.impl.event.EventHandler;
@@ -183,6 +187,7 @@ import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.HistoryRemovalTimeProvider;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
 import org.camunda.bpm.engine.impl.history.event.HostnameProvider;
+import org.camunda.bpm.engine.impl.history.handler.AsyncDbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.CompositeDbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
@@ -451,12 +456,45 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<Deployer> deployers;
   protected DeploymentCache deploymentCache;
 
+  /**
+   * If true, the resources of a deployment are parsed concurrently on the
+   * {@link #deploymentParsingPool} (or the common fork-join pool if not set).
+   * Parse listeners must not access the command context in this mode.
+   */
+  protected boolean parallelDeploymentParsingEnabled = false;
+  protected ForkJoinPool deploymentParsingPool;
+
+  /**
+   * If true, BPMN diagram interchange (BPMNDI) elements are skipped when
+   * parsing process definitions and when loading BPMN model instances into
+   * the model instance cache. Activities then carry no diagram bounds, process
+   * definitions report no graphical notation (so no diagram image is created
+   * on deploy) and cached model instances contain no shapes or edges. The
+   * diagram layout API reads the resource itself and is not affected.
+   */
+  protected boolean skipBpmnDiagramInterchange = false;
+
   // CACHE ////////////////////////////////////////////////////////////////////
 
   protected CacheFactory cacheFactory;
   protected int cacheCapacity = 1000;
   protected boolean enableFetchProcessDefinitionDescription = true;
 
+  /**
+   * If true, the deployment cache indexes the latest process and decision
+   * definition by key, so that e.g. starting a process instance by key does
+   * not query the definition table.
+   */
+  protected boolean latestDefinitionIndexEnabled = false;
+
+  /**
+   * Interval in milliseconds in which the latest definition index is validated
+   * against the definition revision property. This is the maximum time
+   * until a definition deployed, deleted or suspended by another process engine
+   * of a cluster is considered. 0 validates the index on every lookup.
+   */
+  protected long latestDefinitionIndexCheckInterval = 1000;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -465,6 +503,27 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected PriorityProvider<JobDeclaration<?, ?>> jobPriorityProvider;
 
+  /**
+   * If true, the job acquisition skips jobs locked by the acquisition of another node
+   * (<code>FOR UPDATE SKIP LOCKED</code>) on databases supporting it, i.e. PostgreSQL,
+   * SQL Server and MySQL as of version 8 (see {@link #databaseMajorVersion}). On other
+   * databases, each node prefers the jobs of its acquisition slot if
+   * {@link #jobExecutorAcquisitionSlotCount} is configured.
+   */
+  protected boolean jobExecutorAcquireSkipLocked = false;
+
+  /**
+   * The number of slots jobs are partitioned into if skipping locked jobs is not supported
+   * by the database, usually the number of nodes. Values lower than two disable partitioning.
+   */
+  protected int jobExecutorAcquisitionSlotCount = 0;
+
+  /**
+   * The acquisition slot of this node, between zero and the slot count. If negative, the slot
+   * is derived from the lock owner of the job executor.
+   */
+  protected int jobExecutorAcquisitionSlot = -1;
+
   // EXTERNAL TASK /////////////////////////////////////////////////////////////
   protected PriorityProvider<ExternalTaskActivityBehavior> externalTaskPriorityProvider;
 
@@ -473,12 +532,30 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected SqlSessionFactory sqlSessionFactory;
   protected TransactionFactory transactionFactory;
 
+  /**
+   * The major version of the database. It is determined together with the database type,
+   * so it is <code>null</code> if the database type is configured and the version is not.
+   */
+  protected Integer databaseMajorVersion;
+
 
   // ID GENERATOR /////////////////////////////////////////////////////////////
   protected IdGenerator idGenerator;
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * If true, a {@link PrefetchingDbIdGenerator} hands out ids without locking
+   * and fetches the next id block in the background.
+   */
+  protected boolean idBlockPrefetching = false;
+
+  /**
+   * The upper bound for the id block size of the {@link PrefetchingDbIdGenerator}.
+   * If greater than the id block size, the block size adapts to the rate of id generation.
+   */
+  protected int maxIdBlockSize = 0;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -505,6 +582,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected Map<String, Integer> invocationsPerBatchJobByBatchType;
 
+  /**
+   * If true, the ids of a batch which are not yet processed by the seed job
+   * are stored in chunks of one seed job invocation each instead of rewriting
+   * the complete list of remaining ids on every seed job invocation.
+   */
+  protected boolean batchIdChunkingEnabled = false;
+
   /**
    * seconds to wait between polling for batch completion
    */
@@ -534,6 +618,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected Charset defaultCharset = null;
 
   protected ExpressionManager expressionManager;
+
+  /**
+   * If true, parsed expressions are compiled into a tree of specialized nodes which
+   * resolve variables directly from the variable scope and evaluate arithmetic and
+   * comparisons of simple numbers without type conversion. Assumes that the EL resolver
+   * of the expression manager resolves variables of the scope first.
+   */
+  protected boolean expressionCompilationEnabled = false;
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
   protected ScriptingEnvironment scriptingEnvironment;
@@ -542,6 +634,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean autoStoreScriptVariables = false;
   protected boolean enableScriptCompilation = true;
   protected boolean enableScriptEngineCaching = true;
+
+  /**
+   * If true, script engines which are not thread-safe (e.g. the JavaScript engine)
+   * are cached per thread instead of being created for every script evaluation,
+   * and scripts are compiled once per thread for such engines.
+   * Only applies if {@link #enableScriptEngineCaching} is true.
+   */
+  protected boolean enableScriptEngineThreadConfinement = false;
   protected boolean enableFetchScriptEngineFromProcessApplication = true;
 
   protected boolean cmmnEnabled = true;
@@ -661,10 +761,39 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableDefaultDbHistoryEventHandler = true;
 
+  /**
+   * If true, the default {@link DbHistoryEventHandler} is replaced by an
+   * {@link AsyncDbHistoryEventHandler} which writes history events on a dedicated
+   * thread after the producing transaction has committed. History data then becomes
+   * visible with a delay.
+   */
+  protected boolean asyncHistoryEventHandlerEnabled = false;
+
+  /** the maximum number of history events waiting to be written asynchronously */
+  protected int asyncHistoryEventQueueCapacity = 10000;
+
+  /**
+   * the maximum time in milliseconds a committed transaction waits for the
+   * asynchronous history writer while the queue holds more events than its capacity
+   */
+  protected long asyncHistoryEventQueueTimeout = 10000;
+
+  /** the maximum number of history events written asynchronously in one transaction */
+  protected int asyncHistoryEventBatchSize = 500;
+
+  protected AsyncDbHistoryEventHandler asyncDbHistoryEventHandler;
+
   protected PermissionProvider permissionProvider;
 
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /**
+   * If true, fetching an execution tree (see {@link #isExecutionTreePrefetchEnabled})
+   * also fetches the variables of all executions in the tree in a single query instead
+   * of one query per execution whose variables are accessed.
+   */
+  protected boolean isExecutionTreeVariablePrefetchEnabled = false;
+
   /**
    * If true the process engine will attempt to acquire an exclusive lock before
    * creating a deployment.
@@ -682,6 +811,29 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean isDbEntityCacheReuseEnabled = false;
 
+  /**
+   * If true, the entity cache detects modified entities which track their changes
+   * themselves (see {@link org.camunda.bpm.engine.impl.db.HasDbModificationStamp})
+   * by a modification stamp instead of comparing their persistent state. This
+   * avoids building the persistent state of every cached entity on load and flush.
+   */
+  protected boolean isDbEntityModificationTrackingEnabled = false;
+
+  /**
+   * The maximum number of database operations which are sent to the database
+   * in one batch when flushing. With JDBC batch processing, consecutive inserts
+   * of the same entity type are sent as one JDBC batch; drivers like the
+   * PostgreSQL (reWriteBatchedInserts) or MySQL (rewriteBatchedStatements)
+   * ones can rewrite such a batch into a multi-row insert.
+   */
+  protected int dbFlushBatchSize = DbEntityManager.BATCH_SIZE;
+
+  /**
+   * Overrides the {@link #dbFlushBatchSize} for entity types (and their subclasses).
+   * A flush batch never exceeds the batch size of any entity type it contains.
+   */
+  protected Map<Class<?>, Integer> dbFlushBatchSizePerEntityType = new HashMap<>();
+
   protected boolean isInvokeCustomVariableListeners = true;
 
   /**
@@ -706,6 +858,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean isMetricsEnabled = true;
   protected boolean isDbMetricsReporterActivate = true;
 
+  /**
+   * If true (and metrics are enabled), latency histograms of command execution,
+   * job execution and decision evaluation are recorded.
+   */
+  protected boolean isMetricsHistogramsEnabled = false;
+
   protected MetricsReporterIdProvider metricsReporterIdProvider;
 
   /**
@@ -821,6 +979,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   private boolean historyCleanupMetricsEnabled = true;
 
+  /**
+   * Target duration in milliseconds of a single removal-time based history cleanup run. If greater than zero,
+   * the batch size is adapted after each run to the measured delete latency, starting from
+   * {@link #historyCleanupBatchSize} and bounded by {@link #historyCleanupMaxAdaptiveBatchSize}.
+   */
+  protected long historyCleanupBatchLatencyTarget = 0;
+
+  /**
+   * Upper bound for the batch size adapted by the history cleanup, see {@link #historyCleanupBatchLatencyTarget}.
+   */
+  protected int historyCleanupMaxAdaptiveBatchSize = 5000;
+
+  /**
+   * Indicates whether the history cleanup reports the number of removed rows per table as metrics.
+   */
+  protected boolean historyCleanupTableMetricsEnabled = false;
+
   /**
    * Controls whether engine participates in history cleanup or not.
    */
@@ -985,6 +1160,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
           "History cleanup batch threshold cannot be negative.");
     }
 
+    if (historyCleanupBatchLatencyTarget < 0) {
+      throw LOG.invalidPropertyValue("historyCleanupBatchLatencyTarget", String.valueOf(historyCleanupBatchLatencyTarget),
+          "History cleanup batch latency target cannot be negative.");
+    }
+
+    if (historyCleanupBatchLatencyTarget > 0 && historyCleanupMaxAdaptiveBatchSize < historyCleanupBatchSize) {
+      throw LOG.invalidPropertyValue("historyCleanupMaxAdaptiveBatchSize", String.valueOf(historyCleanupMaxAdaptiveBatchSize),
+          "value for max adaptive batch size should not be less than historyCleanupBatchSize");
+    }
+
     initHistoryTimeToLive();
 
     initBatchOperationsHistoryTimeToLive();
@@ -1424,6 +1609,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       databaseType = databaseTypeMappings.getProperty(databaseProductName);
       ensureNotNull("couldn't deduct database type from database product name '" + databaseProductName + "'", "databaseType", databaseType);
       LOG.debugDatabaseType(databaseType);
+      databaseMajorVersion = determineDatabaseMajorVersion(databaseMetaData);
 
     } catch (SQLException e) {
       LOG.databaseConnectionAccessException(e);
@@ -1438,6 +1624,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected Integer determineDatabaseMajorVersion(DatabaseMetaData databaseMetaData) {
+    try {
+      return databaseMetaData.getDatabaseMajorVersion();
+    } catch (SQLException ignore) {
+      return null;
+    }
+  }
+
   /**
    * The product name of mariadb is still 'MySQL'. This method
    * tries if it can find some evidence for mariadb. If it is successful
@@ -1549,6 +1743,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       properties.put("limitBetween", DbSqlSessionFactory.databaseSpecificLimitBetweenStatements.get(databaseType));
       properties.put("limitBetweenFilter", DbSqlSessionFactory.databaseSpecificLimitBetweenFilterStatements.get(databaseType));
       properties.put("limitBetweenAcquisition", DbSqlSessionFactory.databaseSpecificLimitBetweenAcquisitionStatements.get(databaseType));
+      properties.put("skipLockedTableHint", getOrEmpty(DbSqlSessionFactory.databaseSpecificSkipLockedTableHint, databaseType));
+      properties.put("skipLockedClause", getOrEmpty(DbSqlSessionFactory.databaseSpecificSkipLockedClause, databaseType));
+      properties.put("jobAcquisitionSlot", DbSqlSessionFactory.databaseSpecificJobAcquisitionSlot.get(databaseType));
       properties.put("orderBy", DbSqlSessionFactory.databaseSpecificOrderByStatements.get(databaseType));
       properties.put("limitBeforeNativeQuery", DbSqlSessionFactory.databaseSpecificLimitBeforeNativeQueryStatements.get(databaseType));
       properties.put("distinct", DbSqlSessionFactory.databaseSpecificDistinct.get(databaseType));
@@ -1584,6 +1781,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected static String getOrEmpty(Map<String, String> databaseSpecificStatements, String databaseType) {
+    String statement = databaseSpecificStatements.get(databaseType);
+    return statement != null ? statement : "";
+  }
+
   protected InputStream getMyBatisXmlConfigurationSteam() {
     return ReflectUtil.getResourceAsStream(DEFAULT_MYBATIS_MAPPING_FILE);
   }
@@ -1665,6 +1867,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
 
     }
+    if (asyncDbHistoryEventHandler != null) {
+      addSessionFactory(asyncDbHistoryEventHandler.createSessionFactory());
+    }
     if (customSessionFactories != null) {
       for (SessionFactory sessionFactory : customSessionFactories) {
         addSessionFactory(sessionFactory);
@@ -1811,6 +2016,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       initCacheFactory();
       deploymentCache = new DeploymentCache(cacheFactory, cacheCapacity);
       deploymentCache.setDeployers(deployers);
+      if (latestDefinitionIndexEnabled) {
+        deploymentCache.enableLatestDefinitionIndex(latestDefinitionIndexCheckInterval);
+      }
     }
   }
 
@@ -2084,7 +2292,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
+      DbIdGenerator dbIdGenerator;
+      if (idBlockPrefetching) {
+        PrefetchingDbIdGenerator prefetchingIdGenerator = new PrefetchingDbIdGenerator();
+        prefetchingIdGenerator.setMaxIdBlockSize(maxIdBlockSize);
+        dbIdGenerator = prefetchingIdGenerator;
+      } else {
+        dbIdGenerator = new DbIdGenerator();
+      }
       dbIdGenerator.setIdBlockSize(idBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       idGenerator = dbIdGenerator;
@@ -2158,6 +2373,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_EXECUTION_REJECTED);
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    if (isMetricsHistogramsEnabled) {
+      metricsRegistry.createHistogram(Metrics.COMMAND_EXECUTION_TIME);
+      metricsRegistry.createHistogram(Metrics.JOB_EXECUTION_TIME);
+      metricsRegistry.createHistogram(Metrics.DECISION_EVALUATION_TIME);
+      metricsRegistry.createHistogram(Metrics.HISTORY_CLEANUP_EXECUTION_TIME);
+    }
   }
 
   protected void initSerialization() {
@@ -2253,6 +2475,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (scriptingEngines == null) {
       scriptingEngines = new ScriptingEngines(new ScriptBindingsFactory(resolverFactories));
       scriptingEngines.setEnableScriptEngineCaching(enableScriptEngineCaching);
+      scriptingEngines.setEnableScriptEngineThreadConfinement(enableScriptEngineThreadConfinement);
     }
     if (scriptFactory == null) {
       scriptFactory = new ScriptFactory();
@@ -2290,6 +2513,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       expressionManager = new ExpressionManager(beans);
     }
 
+    if (expressionCompilationEnabled && expressionManager.getTreeCompiler() == null) {
+      expressionManager.setTreeCompiler(new VariableScopeTreeCompiler());
+    }
+
     // add function mapper for command context (eg currentUser(), currentUserGroups())
     expressionManager.addFunctionMapper(new CommandContextFunctionMapper());
     // add function mapper for date time (eg now(), dateTime())
@@ -2431,7 +2658,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initHistoryEventHandler() {
     if (historyEventHandler == null) {
-      if (enableDefaultDbHistoryEventHandler) {
+      if (enableDefaultDbHistoryEventHandler && asyncHistoryEventHandlerEnabled) {
+        asyncDbHistoryEventHandler = new AsyncDbHistoryEventHandler(asyncHistoryEventQueueCapacity, asyncHistoryEventBatchSize);
+        asyncDbHistoryEventHandler.setQueueTimeout(asyncHistoryEventQueueTimeout);
+        CompositeHistoryEventHandler compositeHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
+        compositeHandler.add(asyncDbHistoryEventHandler);
+        historyEventHandler = compositeHandler;
+      } else if (enableDefaultDbHistoryEventHandler) {
         historyEventHandler = new CompositeDbHistoryEventHandler(customHistoryEventHandlers);
       } else {
         historyEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
@@ -2743,6 +2976,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isParallelDeploymentParsingEnabled() {
+    return parallelDeploymentParsingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setParallelDeploymentParsingEnabled(boolean parallelDeploymentParsingEnabled) {
+    this.parallelDeploymentParsingEnabled = parallelDeploymentParsingEnabled;
+    return this;
+  }
+
+  public ForkJoinPool getDeploymentParsingPool() {
+    return deploymentParsingPool;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParsingPool(ForkJoinPool deploymentParsingPool) {
+    this.deploymentParsingPool = deploymentParsingPool;
+    return this;
+  }
+
+  public boolean isSkipBpmnDiagramInterchange() {
+    return skipBpmnDiagramInterchange;
+  }
+
+  public ProcessEngineConfigurationImpl setSkipBpmnDiagramInterchange(boolean skipBpmnDiagramInterchange) {
+    this.skipBpmnDiagramInterchange = skipBpmnDiagramInterchange;
+    return this;
+  }
+
   public JobExecutor getJobExecutor() {
     return jobExecutor;
   }
@@ -2752,6 +3012,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isJobExecutorAcquireSkipLocked() {
+    return jobExecutorAcquireSkipLocked;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorAcquireSkipLocked(boolean jobExecutorAcquireSkipLocked) {
+    this.jobExecutorAcquireSkipLocked = jobExecutorAcquireSkipLocked;
+    return this;
+  }
+
+  public int getJobExecutorAcquisitionSlotCount() {
+    return jobExecutorAcquisitionSlotCount;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorAcquisitionSlotCount(int jobExecutorAcquisitionSlotCount) {
+    this.jobExecutorAcquisitionSlotCount = jobExecutorAcquisitionSlotCount;
+    return this;
+  }
+
+  public int getJobExecutorAcquisitionSlot() {
+    return jobExecutorAcquisitionSlot;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorAcquisitionSlot(int jobExecutorAcquisitionSlot) {
+    this.jobExecutorAcquisitionSlot = jobExecutorAcquisitionSlot;
+    return this;
+  }
+
   public PriorityProvider<JobDeclaration<?, ?>> getJobPriorityProvider() {
     return jobPriorityProvider;
   }
@@ -2839,6 +3126,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isExpressionCompilationEnabled() {
+    return expressionCompilationEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionCompilationEnabled(boolean expressionCompilationEnabled) {
+    this.expressionCompilationEnabled = expressionCompilationEnabled;
+    return this;
+  }
+
   public BusinessCalendarManager getBusinessCalendarManager() {
     return businessCalendarManager;
   }
@@ -2904,6 +3200,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this.enableFetchProcessDefinitionDescription;
   }
 
+  public boolean isLatestDefinitionIndexEnabled() {
+    return latestDefinitionIndexEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setLatestDefinitionIndexEnabled(boolean latestDefinitionIndexEnabled) {
+    this.latestDefinitionIndexEnabled = latestDefinitionIndexEnabled;
+    return this;
+  }
+
+  public long getLatestDefinitionIndexCheckInterval() {
+    return latestDefinitionIndexCheckInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setLatestDefinitionIndexCheckInterval(long latestDefinitionIndexCheckInterval) {
+    this.latestDefinitionIndexCheckInterval = latestDefinitionIndexCheckInterval;
+    return this;
+  }
+
   public Permission getDefaultUserPermissionForTask() {
     return defaultUserPermissionForTask;
   }
@@ -2934,6 +3248,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public Integer getDatabaseMajorVersion() {
+    return databaseMajorVersion;
+  }
+
+  public ProcessEngineConfigurationImpl setDatabaseMajorVersion(Integer databaseMajorVersion) {
+    this.databaseMajorVersion = databaseMajorVersion;
+    return this;
+  }
+
 
   public DbSqlSessionFactory getDbSqlSessionFactory() {
     return dbSqlSessionFactory;
@@ -3395,6 +3718,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.idGeneratorDataSourceJndiName = idGeneratorDataSourceJndiName;
   }
 
+  public boolean isIdBlockPrefetching() {
+    return idBlockPrefetching;
+  }
+
+  public ProcessEngineConfigurationImpl setIdBlockPrefetching(boolean idBlockPrefetching) {
+    this.idBlockPrefetching = idBlockPrefetching;
+    return this;
+  }
+
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public ProcessEngineConfigurationImpl setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+    return this;
+  }
+
   public ProcessApplicationManager getProcessApplicationManager() {
     return processApplicationManager;
   }
@@ -3444,6 +3785,50 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.enableDefaultDbHistoryEventHandler = enableDefaultDbHistoryEventHandler;
   }
 
+  public boolean isAsyncHistoryEventHandlerEnabled() {
+    return asyncHistoryEventHandlerEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventHandlerEnabled(boolean asyncHistoryEventHandlerEnabled) {
+    this.asyncHistoryEventHandlerEnabled = asyncHistoryEventHandlerEnabled;
+    return this;
+  }
+
+  public int getAsyncHistoryEventQueueCapacity() {
+    return asyncHistoryEventQueueCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventQueueCapacity(int asyncHistoryEventQueueCapacity) {
+    this.asyncHistoryEventQueueCapacity = asyncHistoryEventQueueCapacity;
+    return this;
+  }
+
+  public long getAsyncHistoryEventQueueTimeout() {
+    return asyncHistoryEventQueueTimeout;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventQueueTimeout(long asyncHistoryEventQueueTimeout) {
+    this.asyncHistoryEventQueueTimeout = asyncHistoryEventQueueTimeout;
+    return this;
+  }
+
+  public int getAsyncHistoryEventBatchSize() {
+    return asyncHistoryEventBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEventBatchSize(int asyncHistoryEventBatchSize) {
+    this.asyncHistoryEventBatchSize = asyncHistoryEventBatchSize;
+    return this;
+  }
+
+  /**
+   * @return the asynchronous history event handler or null if asynchronous
+   * history writing is not enabled
+   */
+  public AsyncDbHistoryEventHandler getAsyncDbHistoryEventHandler() {
+    return asyncDbHistoryEventHandler;
+  }
+
   public List<HistoryEventHandler> getCustomHistoryEventHandlers() {
     return customHistoryEventHandlers;
   }
@@ -3513,6 +3898,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.invocationsPerBatchJob = invocationsPerBatchJob;
   }
 
+  public boolean isBatchIdChunkingEnabled() {
+    return batchIdChunkingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchIdChunkingEnabled(boolean batchIdChunkingEnabled) {
+    this.batchIdChunkingEnabled = batchIdChunkingEnabled;
+    return this;
+  }
+
   public int getBatchPollTime() {
     return batchPollTime;
   }
@@ -3652,6 +4046,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public boolean isExecutionTreeVariablePrefetchEnabled() {
+    return isExecutionTreeVariablePrefetchEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setExecutionTreeVariablePrefetchEnabled(boolean isExecutionTreeVariablePrefetchEnabled) {
+    this.isExecutionTreeVariablePrefetchEnabled = isExecutionTreeVariablePrefetchEnabled;
+    return this;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -3825,6 +4228,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isDbEntityModificationTrackingEnabled() {
+    return isDbEntityModificationTrackingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDbEntityModificationTrackingEnabled(boolean isDbEntityModificationTrackingEnabled) {
+    this.isDbEntityModificationTrackingEnabled = isDbEntityModificationTrackingEnabled;
+    return this;
+  }
+
+  public int getDbFlushBatchSize() {
+    return dbFlushBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setDbFlushBatchSize(int dbFlushBatchSize) {
+    this.dbFlushBatchSize = dbFlushBatchSize;
+    return this;
+  }
+
+  public Map<Class<?>, Integer> getDbFlushBatchSizePerEntityType() {
+    return dbFlushBatchSizePerEntityType;
+  }
+
+  public ProcessEngineConfigurationImpl setDbFlushBatchSizePerEntityType(Map<Class<?>, Integer> dbFlushBatchSizePerEntityType) {
+    this.dbFlushBatchSizePerEntityType = dbFlushBatchSizePerEntityType;
+    return this;
+  }
+
   public DbEntityCacheKeyMapping getDbEntityCacheKeyMapping() {
     return dbEntityCacheKeyMapping;
   }
@@ -3883,6 +4313,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return isMetricsEnabled;
   }
 
+  public boolean isMetricsHistogramsEnabled() {
+    return isMetricsHistogramsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsHistogramsEnabled(boolean isMetricsHistogramsEnabled) {
+    this.isMetricsHistogramsEnabled = isMetricsHistogramsEnabled;
+    return this;
+  }
+
   public DbMetricsReporter getDbMetricsReporter() {
     return dbMetricsReporter;
   }
@@ -3945,6 +4384,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableScriptEngineThreadConfinement() {
+    return enableScriptEngineThreadConfinement;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableScriptEngineThreadConfinement(boolean enableScriptEngineThreadConfinement) {
+    this.enableScriptEngineThreadConfinement = enableScriptEngineThreadConfinement;
+    return this;
+  }
+
   public boolean isEnableFetchScriptEngineFromProcessApplication() {
     return enableFetchScriptEngineFromProcessApplication;
   }
@@ -4350,6 +4798,37 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.historyCleanupMetricsEnabled = historyCleanupMetricsEnabled;
   }
 
+  public long getHistoryCleanupBatchLatencyTarget() {
+    return historyCleanupBatchLatencyTarget;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchLatencyTarget(long historyCleanupBatchLatencyTarget) {
+    this.historyCleanupBatchLatencyTarget = historyCleanupBatchLatencyTarget;
+    return this;
+  }
+
+  public boolean isHistoryCleanupBatchSizeAdaptive() {
+    return historyCleanupBatchLatencyTarget > 0;
+  }
+
+  public int getHistoryCleanupMaxAdaptiveBatchSize() {
+    return historyCleanupMaxAdaptiveBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupMaxAdaptiveBatchSize(int historyCleanupMaxAdaptiveBatchSize) {
+    this.historyCleanupMaxAdaptiveBatchSize = historyCleanupMaxAdaptiveBatchSize;
+    return this;
+  }
+
+  public boolean isHistoryCleanupTableMetricsEnabled() {
+    return historyCleanupTableMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupTableMetricsEnabled(boolean historyCleanupTableMetricsEnabled) {
+    this.historyCleanupTableMetricsEnabled = historyCleanupTableMetricsEnabled;
+    return this;
+  }
+
   public boolean isHistoryCleanupEnabled() {
     return historyCleanupEnabled;
   }
@@ -101,6 +101,12 @@ public abstract class AbstractSetProcessDefinitionStateCmd extends AbstractSetSt
       processDefinitionManager.updateProcessDefinitionSuspensionStateByKey(processDefinitionKey, suspensionState);
     }
 
+    // suspension state of the cached definitions is refreshed on the next lookup by key
+    commandContext.getPropertyManager().incrementDefinitionRevision();
+    commandContext.getProcessEngineConfiguration()
+      .getDeploymentCache()
+      .invalidateLatestProcessDefinitionIndex();
+
     commandContext.runWithoutAuthorization(new Callable<Void>() {
       public Void call() throws Exception {
         UpdateJobDefinitionSuspensionStateBuilderImpl jobDefinitionSuspensionStateBuilder = createJobDefinitionCommandBuilder();
@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobBatch;
 import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
@@ -59,26 +60,28 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
       .getJobManager()
       .findNextJobsToExecute(new Page(0, numJobsToAcquire));
 
-    Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<String, List<String>>();
+    Map<String, AcquiredJobBatch> exclusiveJobsByProcessInstance = new HashMap<String, AcquiredJobBatch>();
 
     for (AcquirableJobEntity job : jobs) {
 
       lockJob(job);
 
       if(job.isExclusive()) {
-        List<String> list = exclusiveJobsByProcessInstance.get(job.getProcessInstanceId());
-        if (list == null) {
-          list = new ArrayList<String>();
-          exclusiveJobsByProcessInstance.put(job.getProcessInstanceId(), list);
+        AcquiredJobBatch batch = exclusiveJobsByProcessInstance.get(job.getProcessInstanceId());
+        if (batch == null) {
+          batch = new AcquiredJobBatch();
+          exclusiveJobsByProcessInstance.put(job.getProcessInstanceId(), batch);
         }
-        list.add(job.getId());
+        batch.addJob(job);
       }
       else {
-        acquiredJobs.addJobIdBatch(job.getId());
+        AcquiredJobBatch batch = new AcquiredJobBatch();
+        batch.addJob(job);
+        acquiredJobs.addJobIdBatch(batch);
       }
     }
 
-    for (List<String> jobIds : exclusiveJobsByProcessInstance.values()) {
+    for (AcquiredJobBatch jobIds : exclusiveJobsByProcessInstance.values()) {
       acquiredJobs.addJobIdBatch(jobIds);
     }
 
@@ -45,6 +45,8 @@ public class CorrelateMessageCmd extends AbstractCorrelateMessageCmd implements
 
   protected boolean startMessageOnly;
 
+  protected CorrelationHandler correlationHandler;
+
   /**
    * Initialize the command with a builder
    *
@@ -55,12 +57,30 @@ public class CorrelateMessageCmd extends AbstractCorrelateMessageCmd implements
     this.startMessageOnly = startMessageOnly;
   }
 
+  /**
+   * Initialize the command with a builder and the handler to resolve the correlation with
+   */
+  public CorrelateMessageCmd(MessageCorrelationBuilderImpl messageCorrelationBuilderImpl, boolean collectVariables, boolean deserializeVariableValues, boolean startMessageOnly, CorrelationHandler correlationHandler) {
+    this(messageCorrelationBuilderImpl, collectVariables, deserializeVariableValues, startMessageOnly);
+    this.correlationHandler = correlationHandler;
+  }
+
   public MessageCorrelationResultImpl execute(final CommandContext commandContext) {
+    CorrelationHandlerResult correlationResult = correlate(commandContext);
+
+    return createMessageCorrelationResult(commandContext, correlationResult);
+  }
+
+  /**
+   * Resolves the execution or process definition the message correlates to
+   * without triggering it.
+   */
+  protected CorrelationHandlerResult correlate(final CommandContext commandContext) {
     ensureAtLeastOneNotNull(
         "At least one of the following correlation criteria has to be present: " + "messageName, businessKey, correlationKeys, processInstanceId", messageName,
         builder.getBusinessKey(), builder.getCorrelationProcessInstanceVariables(), builder.getProcessInstanceId());
 
-    final CorrelationHandler correlationHandler = Context.getProcessEngineConfiguration().getCorrelationHandler();
+    final CorrelationHandler correlationHandler = getCorrelationHandler();
     final CorrelationSet correlationSet = new CorrelationSet(builder);
 
     CorrelationHandlerResult correlationResult = null;
@@ -92,6 +112,14 @@ public class CorrelateMessageCmd extends AbstractCorrelateMessageCmd implements
     // check authorization
     checkAuthorization(correlationResult);
 
-    return createMessageCorrelationResult(commandContext, correlationResult);
+    return correlationResult;
+  }
+
+  protected CorrelationHandler getCorrelationHandler() {
+    if (correlationHandler != null) {
+      return correlationHandler;
+    } else {
+      return Context.getProcessEngineConfiguration().getCorrelationHandler();
+    }
   }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandlerResult;
+import org.camunda.bpm.engine.impl.runtime.DefaultCorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBatchResultImpl;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationResultImpl;
+import org.camunda.bpm.engine.impl.runtime.PrefetchingCorrelationHandler;
+
+/**
+ * <p>Correlates a list of messages in one transaction. Each message is correlated to a
+ * single execution or process definition.</p>
+ *
+ * <p>A message which does not match any or more than one execution or process definition is
+ * reported as failed result. An exception while triggering the matching execution or process
+ * definition fails the whole command.</p>
+ */
+public class CorrelateMessagesCmd implements Command<List<MessageCorrelationBatchResultImpl>> {
+
+  protected List<MessageCorrelationBuilderImpl> correlations;
+
+  public CorrelateMessagesCmd(List<MessageCorrelationBuilderImpl> correlations) {
+    this.correlations = correlations;
+  }
+
+  public List<MessageCorrelationBatchResultImpl> execute(final CommandContext commandContext) {
+    final CorrelationHandler correlationHandler = createCorrelationHandler(commandContext);
+
+    List<MessageCorrelationBatchResultImpl> results = new ArrayList<MessageCorrelationBatchResultImpl>();
+
+    for (MessageCorrelationBuilderImpl correlation : correlations) {
+      CorrelateMessageCmd command = new CorrelateMessageCmd(correlation, false, false, correlation.isStartMessagesOnly(), correlationHandler);
+
+      CorrelationHandlerResult handlerResult = null;
+      try {
+        correlation.ensureCorrelationCriteriaValid();
+        handlerResult = command.correlate(commandContext);
+      }
+      catch (ProcessEngineException e) {
+        // nothing was changed yet, so the other messages can be correlated anyway
+        results.add(MessageCorrelationBatchResultImpl.failed(correlation, e));
+        continue;
+      }
+
+      MessageCorrelationResultImpl result = command.createMessageCorrelationResult(commandContext, handlerResult);
+      results.add(MessageCorrelationBatchResultImpl.correlated(correlation, result));
+    }
+
+    return results;
+  }
+
+  protected CorrelationHandler createCorrelationHandler(final CommandContext commandContext) {
+    CorrelationHandler correlationHandler = commandContext.getProcessEngineConfiguration().getCorrelationHandler();
+
+    if (correlations.size() > 1 && correlationHandler instanceof DefaultCorrelationHandler) {
+      final PrefetchingCorrelationHandler prefetchingHandler = new PrefetchingCorrelationHandler(correlationHandler);
+
+      commandContext.runWithoutAuthorization(new Callable<Void>() {
+        public Void call() throws Exception {
+          prefetchingHandler.prefetch(commandContext, correlations);
+          return null;
+        }
+      });
+
+      return prefetchingHandler;
+    }
+    else {
+      return correlationHandler;
+    }
+  }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.management.MetricHistogram;
+
+/**
+ * Returns the histograms of the last completed reporting interval.
+ */
+public class GetMetricHistogramsCmd implements Command<List<MetricHistogram>>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public List<MetricHistogram> execute(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl engineConfiguration = commandContext.getProcessEngineConfiguration();
+
+    List<MetricHistogram> result = new ArrayList<MetricHistogram>();
+
+    if (engineConfiguration.isMetricsEnabled() && engineConfiguration.getMetricsRegistry() != null) {
+      for (Histogram histogram : engineConfiguration.getMetricsRegistry().getHistograms().values()) {
+        MetricHistogram lastInterval = histogram.getLastInterval();
+        if (lastInterval != null) {
+          result.add(lastInterval);
+        }
+      }
+    }
+
+    return result;
+  }
+
+}
@@ -58,6 +58,12 @@ public class UpdateDecisionDefinitionHistoryTimeToLiveCmd implements Command<Voi
     logUserOperation(commandContext, decisionDefinitionEntity);
     decisionDefinitionEntity.setHistoryTimeToLive(historyTimeToLive);
 
+    // the history time to live of the cached definitions is refreshed on the next lookup by key
+    commandContext.getPropertyManager().incrementDefinitionRevision();
+    commandContext.getProcessEngineConfiguration()
+      .getDeploymentCache()
+      .invalidateLatestDecisionDefinitionIndex();
+
     return null;
   }
 
@@ -54,6 +54,12 @@ public class UpdateProcessDefinitionHistoryTimeToLiveCmd implements Command<Void
     logUserOperation(commandContext, processDefinitionEntity);
     processDefinitionEntity.setHistoryTimeToLive(historyTimeToLive);
 
+    // the history time to live of the cached definitions is refreshed on the next lookup by key
+    commandContext.getPropertyManager().incrementDefinitionRevision();
+    commandContext.getProcessEngineConfiguration()
+      .getDeploymentCache()
+      .invalidateLatestProcessDefinitionIndex();
+
     return null;
   }
 
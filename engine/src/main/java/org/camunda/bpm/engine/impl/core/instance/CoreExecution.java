@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.impl.core.instance;
 
+import java.util.Objects;
+
 import org.camunda.bpm.engine.delegate.BaseDelegateExecution;
 import org.camunda.bpm.engine.delegate.DelegateListener;
 import org.camunda.bpm.engine.impl.core.CoreLogger;
@@ -101,6 +103,15 @@ public abstract class CoreExecution extends AbstractVariableScope implements Bas
     listener.notify(this);
   }
 
+  /**
+   * Invoked whenever a field which is part of the persistent state of the
+   * execution changes its value. Persistent executions use it to track
+   * modifications without comparing their complete state.
+   */
+  protected void persistentStateChanged() {
+    // nothing to do by default
+  }
+
   // getters / setters /////////////////////////////////////////////////
 
   public String getId() {
@@ -116,7 +127,10 @@ public abstract class CoreExecution extends AbstractVariableScope implements Bas
   }
 
   public void setBusinessKey(String businessKey) {
-    this.businessKey = businessKey;
+    if (!Objects.equals(this.businessKey, businessKey)) {
+      this.businessKey = businessKey;
+      persistentStateChanged();
+    }
     this.businessKeyWithoutCascade = businessKey;
   }
 
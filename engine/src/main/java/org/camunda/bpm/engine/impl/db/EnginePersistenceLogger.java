@@ -743,4 +743,34 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
         + "Failed operation: {}",
         operation));
   }
+
+  public void debugIdBlockPrefetchFailed(Throwable cause) {
+    logDebug(
+        "090",
+        "Prefetching the next id block failed, fetching it synchronously: {}", cause.getMessage());
+  }
+
+  public void exceptionWhileWritingHistoryEvent(String eventType, String id, Throwable cause) {
+    logError(
+        "091",
+        "Exception while writing history event '{}' with id '{}' asynchronously, the event is discarded: {}", eventType, id, cause.getMessage(), cause);
+  }
+
+  public void creatingDefinitionRevisionPropertyInDatabase() {
+    logInfo(
+        "092", "Creating definition revision property in database");
+  }
+
+  public void retryWritingHistoryEvents(int count, int attempt, Throwable cause) {
+    logWarn(
+        "093",
+        "Exception while writing {} history events asynchronously, retry {}: {}", count, attempt, cause.getMessage(), cause);
+  }
+
+  public void historyEventQueueCapacityExceeded(int queuedEvents, int queueCapacity, long timeout) {
+    logWarn(
+        "094",
+        "{} history events are waiting to be written asynchronously, more than the capacity of {} after waiting {} ms", queuedEvents, queueCapacity, timeout);
+  }
+
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+/**
+ * Implemented by {@link DbEntity entities} which track the modifications of
+ * their persistent state themselves. This allows the entity cache to detect
+ * dirty entities without building and comparing the
+ * {@link DbEntity#getPersistentState() persistent state}.
+ *
+ * <p>The stamp must change whenever a value which is part of the persistent
+ * state changes. It may also change if a value is changed and then reset to
+ * its original value, which results in a redundant update.</p>
+ *
+ * @see org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isDbEntityModificationTrackingEnabled()
+ */
+public interface HasDbModificationStamp {
+
+  long getModificationStamp();
+
+}
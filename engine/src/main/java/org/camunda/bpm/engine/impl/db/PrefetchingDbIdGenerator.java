@@ -0,0 +1,258 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+
+/**
+ * <p>{@link DbIdGenerator} which hands out ids without locking.</p>
+ *
+ * <p>Ids of the current block are handed out through an atomic counter. Once the
+ * remaining ids of the block fall below the prefetch threshold, the next block is
+ * fetched in the background so that threads do not wait for the database when the
+ * current block is exhausted.</p>
+ *
+ * <p>If a maximum block size greater than the id block size is configured, the block size
+ * adapts to the observed rate: it doubles if a block was used up faster than the target
+ * block duration and is halved again if the ids are consumed slowly.</p>
+ */
+public class PrefetchingDbIdGenerator extends DbIdGenerator {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected int maxIdBlockSize;
+  protected float prefetchThreshold = 0.5f;
+  protected long targetBlockDurationMillis = 1000;
+
+  protected AtomicReference<IdRange> currentRange;
+  protected final Object blockLock = new Object();
+
+  // guarded by blockLock
+  protected Future<IdBlock> prefetchedBlock;
+  protected int currentBlockSize;
+  protected long currentBlockStartNanos;
+
+  protected ThreadPoolExecutor prefetchExecutor;
+
+  public PrefetchingDbIdGenerator() {
+    currentRange = new AtomicReference<IdRange>(createEmptyRange());
+    currentBlockSize = idBlockSize;
+    prefetchExecutor = createPrefetchExecutor();
+  }
+
+  public String getNextId() {
+    while (true) {
+      IdRange range = currentRange.get();
+      long id = range.nextId.getAndIncrement();
+
+      if (id <= range.lastId) {
+        if (id == range.prefetchId) {
+          prefetchNextBlock(range);
+        }
+        return Long.toString(id);
+      }
+
+      switchToNextBlock(range);
+    }
+  }
+
+  protected void prefetchNextBlock(IdRange range) {
+    synchronized (blockLock) {
+      if (prefetchedBlock == null && currentRange.get() == range) {
+        final int blockSize = currentBlockSize;
+        prefetchedBlock = prefetchExecutor.submit(new Callable<IdBlock>() {
+          public IdBlock call() throws Exception {
+            return fetchBlock(blockSize);
+          }
+        });
+      }
+    }
+  }
+
+  protected void switchToNextBlock(IdRange exhaustedRange) {
+    synchronized (blockLock) {
+      if (currentRange.get() != exhaustedRange) {
+        // another thread switched to the next block already
+        return;
+      }
+
+      if (!exhaustedRange.isEmpty()) {
+        adaptBlockSize();
+      }
+
+      IdBlock idBlock = takePrefetchedBlock();
+      if (idBlock == null) {
+        idBlock = fetchBlock(currentBlockSize);
+      }
+
+      currentRange.set(createRange(idBlock));
+      currentBlockStartNanos = System.nanoTime();
+    }
+  }
+
+  protected IdBlock takePrefetchedBlock() {
+    Future<IdBlock> future = prefetchedBlock;
+    prefetchedBlock = null;
+
+    if (future == null) {
+      return null;
+    }
+
+    try {
+      return future.get();
+    }
+    catch (ExecutionException e) {
+      // fetch the block synchronously, propagating the failure if it persists
+      LOG.debugIdBlockPrefetchFailed(e.getCause());
+      return null;
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  protected IdBlock fetchBlock(int blockSize) {
+    return commandExecutor.execute(new GetNextIdBlockCmd(blockSize));
+  }
+
+  protected IdRange createRange(IdBlock idBlock) {
+    long blockSize = idBlock.getLastId() - idBlock.getNextId() + 1;
+    long prefetchId = idBlock.getLastId() - (long) (blockSize * prefetchThreshold);
+    prefetchId = Math.max(idBlock.getNextId(), prefetchId);
+    return new IdRange(idBlock.getNextId(), idBlock.getLastId(), prefetchId);
+  }
+
+  protected IdRange createEmptyRange() {
+    return new IdRange(0, -1, -1);
+  }
+
+  protected void adaptBlockSize() {
+    if (maxIdBlockSize <= idBlockSize) {
+      currentBlockSize = idBlockSize;
+      return;
+    }
+
+    long blockDurationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - currentBlockStartNanos);
+    if (blockDurationMillis < targetBlockDurationMillis / 2) {
+      currentBlockSize = Math.min(maxIdBlockSize, currentBlockSize * 2);
+    }
+    else if (blockDurationMillis > targetBlockDurationMillis * 4) {
+      currentBlockSize = Math.max(idBlockSize, currentBlockSize / 2);
+    }
+  }
+
+  protected ThreadPoolExecutor createPrefetchExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "camunda-id-block-prefetch");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+
+    // called by the super constructor before the fields are initialized
+    if (currentRange != null) {
+      synchronized (blockLock) {
+        if (prefetchedBlock != null) {
+          prefetchedBlock.cancel(false);
+          prefetchedBlock = null;
+        }
+        currentBlockSize = idBlockSize;
+        currentRange.set(createEmptyRange());
+      }
+    }
+  }
+
+  @Override
+  public void setIdBlockSize(int idBlockSize) {
+    super.setIdBlockSize(idBlockSize);
+    synchronized (blockLock) {
+      currentBlockSize = idBlockSize;
+    }
+  }
+
+  public int getCurrentBlockSize() {
+    synchronized (blockLock) {
+      return currentBlockSize;
+    }
+  }
+
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public void setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+  }
+
+  public float getPrefetchThreshold() {
+    return prefetchThreshold;
+  }
+
+  /**
+   * @param prefetchThreshold the share of the current block that is still unused
+   * when the next block is fetched, e.g. 0.5 to prefetch when half of the ids are used
+   */
+  public void setPrefetchThreshold(float prefetchThreshold) {
+    this.prefetchThreshold = prefetchThreshold;
+  }
+
+  public long getTargetBlockDurationMillis() {
+    return targetBlockDurationMillis;
+  }
+
+  public void setTargetBlockDurationMillis(long targetBlockDurationMillis) {
+    this.targetBlockDurationMillis = targetBlockDurationMillis;
+  }
+
+  protected static class IdRange {
+
+    protected final AtomicLong nextId;
+    protected final long lastId;
+    protected final long prefetchId;
+
+    public IdRange(long nextId, long lastId, long prefetchId) {
+      this.nextId = new AtomicLong(nextId);
+      this.lastId = lastId;
+      this.prefetchId = prefetchId;
+    }
+
+    public boolean isEmpty() {
+      return lastId < 0;
+    }
+  }
+
+}
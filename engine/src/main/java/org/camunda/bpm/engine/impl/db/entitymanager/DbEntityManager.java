@@ -31,6 +31,7 @@ import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -76,7 +77,6 @@ import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
-import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 import org.camunda.bpm.engine.repository.ResourceTypes;
 
@@ -103,6 +103,9 @@ public class DbEntityManager implements Session, EntityLoadListener {
   protected PersistenceSession persistenceSession;
   protected boolean isIgnoreForeignKeysForNextFlush;
 
+  protected int flushBatchSize = BATCH_SIZE;
+  protected Map<Class<?>, Integer> flushBatchSizePerEntityType = Collections.emptyMap();
+
   public DbEntityManager(IdGenerator idGenerator, PersistenceSession persistenceSession) {
     this.idGenerator = idGenerator;
     this.persistenceSession = persistenceSession;
@@ -111,6 +114,15 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
     initializeEntityCache();
     initializeOperationManager();
+    initializeFlushBatchSizes();
+  }
+
+  protected void initializeFlushBatchSizes() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null) {
+      flushBatchSize = processEngineConfiguration.getDbFlushBatchSize();
+      flushBatchSizePerEntityType = processEngineConfiguration.getDbFlushBatchSizePerEntityType();
+    }
   }
 
   protected void initializeOperationManager() {
@@ -141,6 +153,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
       }
     }
 
+    if (processEngineConfiguration != null) {
+      dbEntityCache.setModificationTracking(processEngineConfiguration.isDbEntityModificationTrackingEnabled());
+    }
+
   }
 
   // selects /////////////////////////////////////////////////
@@ -317,7 +333,7 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
 
     try {
-      final List<List<DbOperation>> batches = CollectionUtil.partition(operationsToFlush, BATCH_SIZE);
+      final List<List<DbOperation>> batches = partitionForFlush(operationsToFlush);
       for (List<DbOperation> batch : batches) {
         flushDbOperations(batch, operationsToFlush);
       }
@@ -330,6 +346,55 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
   }
 
+  /**
+   * Splits the ordered operations into the batches which are handed to the
+   * persistence session one after another. A batch never grows beyond the
+   * flush batch size of any entity type it contains, so types with a larger
+   * batch size (typically insert heavy history entities) are sent in
+   * larger JDBC batches. The order of the operations is preserved.
+   */
+  protected List<List<DbOperation>> partitionForFlush(List<DbOperation> operations) {
+    List<List<DbOperation>> batches = new ArrayList<>();
+    List<DbOperation> currentBatch = new ArrayList<>();
+    int currentBatchLimit = Integer.MAX_VALUE;
+
+    for (DbOperation operation : operations) {
+      int operationBatchSize = getFlushBatchSize(operation.getEntityType());
+      int batchLimit = Math.min(currentBatchLimit, operationBatchSize);
+
+      if (!currentBatch.isEmpty() && currentBatch.size() >= batchLimit) {
+        batches.add(currentBatch);
+        currentBatch = new ArrayList<>();
+        batchLimit = operationBatchSize;
+      }
+
+      currentBatch.add(operation);
+      currentBatchLimit = batchLimit;
+    }
+
+    if (!currentBatch.isEmpty()) {
+      batches.add(currentBatch);
+    }
+
+    return batches;
+  }
+
+  /**
+   * @return the batch size configured for the entity type or its closest super class,
+   * or the default flush batch size
+   */
+  protected int getFlushBatchSize(Class<?> entityType) {
+    Class<?> type = entityType;
+    while (type != null) {
+      Integer batchSize = flushBatchSizePerEntityType.get(type);
+      if (batchSize != null) {
+        return Math.max(1, batchSize);
+      }
+      type = type.getSuperclass();
+    }
+    return Math.max(1, flushBatchSize);
+  }
+
   protected void flushDbOperations(List<DbOperation> operationsToFlush, List<DbOperation> allOperations) {
 
     // execute the flush
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.Set;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbModificationStamp;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.entitymanager.Recyclable;
 
@@ -31,10 +32,21 @@ import org.camunda.bpm.engine.impl.db.entitymanager.Recyclable;
  */
 public class CachedDbEntity implements Recyclable {
 
+  /** marks a copy which is represented by the {@link #copyStamp} */
+  protected static final Object MODIFICATION_STAMP = new Object();
+
   protected DbEntity dbEntity;
 
   protected Object copy;
 
+  /**
+   * Modification stamp of the entity at the time of the copy, used instead of
+   * the persistent state if modification tracking is enabled
+   */
+  protected long copyStamp;
+
+  protected boolean isModificationTracking;
+
   protected DbEntityState entityState;
 
   /**
@@ -46,6 +58,8 @@ public class CachedDbEntity implements Recyclable {
     // clean out state
     dbEntity = null;
     copy = null;
+    copyStamp = 0;
+    isModificationTracking = false;
     entityState = null;
   }
 
@@ -54,7 +68,12 @@ public class CachedDbEntity implements Recyclable {
    * @return true if the entity is dirty (state has changed since it was put into the cache)
    */
   public boolean isDirty() {
-    return !dbEntity.getPersistentState().equals(copy);
+    if (copy == MODIFICATION_STAMP) {
+      return ((HasDbModificationStamp) dbEntity).getModificationStamp() != copyStamp;
+    }
+    else {
+      return !dbEntity.getPersistentState().equals(copy);
+    }
   }
 
   public void forceSetDirty() {
@@ -63,7 +82,13 @@ public class CachedDbEntity implements Recyclable {
   }
 
   public void makeCopy() {
-    copy = dbEntity.getPersistentState();
+    if (isModificationTracking && dbEntity instanceof HasDbModificationStamp) {
+      copy = MODIFICATION_STAMP;
+      copyStamp = ((HasDbModificationStamp) dbEntity).getModificationStamp();
+    }
+    else {
+      copy = dbEntity.getPersistentState();
+    }
   }
 
   public String toString() {
@@ -97,6 +122,18 @@ public class CachedDbEntity implements Recyclable {
     this.dbEntity = dbEntity;
   }
 
+  public boolean isModificationTracking() {
+    return isModificationTracking;
+  }
+
+  /**
+   * @param isModificationTracking if true, the dirty check of entities implementing
+   * {@link HasDbModificationStamp} is based on their modification stamp
+   */
+  public void setModificationTracking(boolean isModificationTracking) {
+    this.isModificationTracking = isModificationTracking;
+  }
+
   public DbEntityState getEntityState() {
     return entityState;
   }
@@ -59,6 +59,8 @@ public class DbEntityCache {
 
   protected DbEntityCacheKeyMapping cacheKeyMapping;
 
+  protected boolean isModificationTracking = false;
+
   public DbEntityCache() {
     this.cacheKeyMapping = DbEntityCacheKeyMapping.emptyMapping();
   }
@@ -151,7 +153,7 @@ public class DbEntityCache {
    * @param e the object to put into the cache
    */
   public void putTransient(DbEntity e) {
-    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    CachedDbEntity cachedDbEntity = createCachedEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(TRANSIENT);
     putInternal(cachedDbEntity);
@@ -163,7 +165,7 @@ public class DbEntityCache {
    * @param e the object to put into the cache
    */
   public void putPersistent(DbEntity e) {
-    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    CachedDbEntity cachedDbEntity = createCachedEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(PERSISTENT);
     cachedDbEntity.determineEntityReferences();
@@ -178,7 +180,7 @@ public class DbEntityCache {
    * @param e the object to put into the cache
    */
   public void putMerged(DbEntity e) {
-    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    CachedDbEntity cachedDbEntity = createCachedEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(MERGED);
     cachedDbEntity.determineEntityReferences();
@@ -187,6 +189,12 @@ public class DbEntityCache {
     putInternal(cachedDbEntity);
   }
 
+  protected CachedDbEntity createCachedEntity() {
+    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    cachedDbEntity.setModificationTracking(isModificationTracking);
+    return cachedDbEntity;
+  }
+
   protected void putInternal(CachedDbEntity entityToAdd) {
     Class<? extends DbEntity> type = entityToAdd.getEntity().getClass();
     Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(type);
@@ -372,7 +380,7 @@ public class DbEntityCache {
       }
     } else {
       // put a deleted merged into the cache
-      CachedDbEntity cachedDbEntity = new CachedDbEntity();
+      CachedDbEntity cachedDbEntity = createCachedEntity();
       cachedDbEntity.setEntity(dbEntity);
       cachedDbEntity.setEntityState(DELETED_MERGED);
       putInternal(cachedDbEntity);
@@ -390,4 +398,16 @@ public class DbEntityCache {
     }
   }
 
+  public boolean isModificationTracking() {
+    return isModificationTracking;
+  }
+
+  /**
+   * @param isModificationTracking if true, entities put into the cache from now on
+   * are checked for modifications by their {@link org.camunda.bpm.engine.impl.db.HasDbModificationStamp modification stamp}
+   */
+  public void setModificationTracking(boolean isModificationTracking) {
+    this.isModificationTracking = isModificationTracking;
+  }
+
 }
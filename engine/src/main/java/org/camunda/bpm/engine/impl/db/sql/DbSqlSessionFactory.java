@@ -56,6 +56,12 @@ public class DbSqlSessionFactory implements SessionFactory {
   public static final Map<String, String> databaseSpecificLimitBetweenStatements = new HashMap<>();
   public static final Map<String, String> databaseSpecificLimitBetweenFilterStatements = new HashMap<>();
   public static final Map<String, String> databaseSpecificLimitBetweenAcquisitionStatements = new HashMap<>();
+  // skip rows locked by other transactions, only present for databases supporting it
+  public static final Map<String, String> databaseSpecificSkipLockedTableHint = new HashMap<>();
+  public static final Map<String, String> databaseSpecificSkipLockedClause = new HashMap<>();
+  public static final Map<String, Integer> databaseSpecificSkipLockedMinimumMajorVersion = new HashMap<>();
+  // slot of a job for partitioned job acquisition
+  public static final Map<String, String> databaseSpecificJobAcquisitionSlot = new HashMap<>();
   // count distinct statements
   public static final Map<String, String> databaseSpecificCountDistinctBeforeStart = new HashMap<>();
   public static final Map<String, String> databaseSpecificCountDistinctBeforeEnd = new HashMap<>();
@@ -108,6 +114,11 @@ public class DbSqlSessionFactory implements SessionFactory {
     String defaultDistinctCountBeforeEnd = ")";
     String defaultDistinctCountAfterEnd = "";
 
+    // combines the last two characters of the process instance id (or job id) to a number
+    String defaultJobPartitionKey = "ASCII(RIGHT(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_), 1))"
+        + " + 10 * ASCII(RIGHT(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_), 2))";
+    String defaultJobAcquisitionSlot = "MOD(" + defaultJobPartitionKey + ", #{parameter.acquisitionSlotCount})";
+
     // h2
     databaseSpecificLimitBeforeStatements.put(H2, "");
     optimizeDatabaseSpecificLimitBeforeWithoutOffsetStatements.put(H2, "");
@@ -145,6 +156,8 @@ public class DbSqlSessionFactory implements SessionFactory {
 
     databaseSpecificCollationForCaseSensitivity.put(H2, "");
 
+    databaseSpecificJobAcquisitionSlot.put(H2, defaultJobAcquisitionSlot);
+
     HashMap<String, String> constants = new HashMap<>();
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "NEW_VALUE_ || '_|_' || PROPERTY_");
@@ -198,6 +211,8 @@ public class DbSqlSessionFactory implements SessionFactory {
 
       databaseSpecificCollationForCaseSensitivity.put(mysqlLikeDatabase, "");
 
+      databaseSpecificJobAcquisitionSlot.put(mysqlLikeDatabase, defaultJobAcquisitionSlot);
+
       addDatabaseSpecificStatement(mysqlLikeDatabase, "toggleForeignKey", "toggleForeignKey_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "selectProcessDefinitionsByQueryCriteria", "selectProcessDefinitionsByQueryCriteria_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "selectProcessDefinitionCountByQueryCriteria", "selectProcessDefinitionCountByQueryCriteria_mysql");
@@ -251,6 +266,9 @@ public class DbSqlSessionFactory implements SessionFactory {
       dbSpecificConstants.put(mysqlLikeDatabase, constants);
     }
 
+    databaseSpecificSkipLockedClause.put(MYSQL, "FOR UPDATE SKIP LOCKED");
+    databaseSpecificSkipLockedMinimumMajorVersion.put(MYSQL, 8);
+
     // postgres specific
     databaseSpecificLimitBeforeStatements.put(POSTGRES, "");
     optimizeDatabaseSpecificLimitBeforeWithoutOffsetStatements.put(POSTGRES, "");
@@ -288,6 +306,9 @@ public class DbSqlSessionFactory implements SessionFactory {
 
     databaseSpecificCollationForCaseSensitivity.put(POSTGRES, "");
 
+    databaseSpecificSkipLockedClause.put(POSTGRES, "FOR UPDATE SKIP LOCKED");
+    databaseSpecificJobAcquisitionSlot.put(POSTGRES, defaultJobAcquisitionSlot);
+
     addDatabaseSpecificStatement(POSTGRES, "insertByteArray", "insertByteArray_postgres");
     addDatabaseSpecificStatement(POSTGRES, "updateByteArray", "updateByteArray_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectByteArray", "selectByteArray_postgres");
@@ -381,6 +402,9 @@ public class DbSqlSessionFactory implements SessionFactory {
 
     databaseSpecificCollationForCaseSensitivity.put(ORACLE, "");
 
+    databaseSpecificJobAcquisitionSlot.put(ORACLE, "MOD(ASCII(SUBSTR(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_), -1))"
+        + " + 10 * ASCII(SUBSTR(COALESCE(RES.PROCESS_INSTANCE_ID_, RES.ID_), -2)), #{parameter.acquisitionSlotCount})");
+
     addDatabaseSpecificStatement(ORACLE, "selectHistoricProcessInstanceDurationReport", "selectHistoricProcessInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceDurationReport", "selectHistoricTaskInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceCountByTaskNameReport", "selectHistoricTaskInstanceCountByTaskNameReport_oracle");
@@ -460,6 +484,8 @@ public class DbSqlSessionFactory implements SessionFactory {
 
     databaseSpecificCollationForCaseSensitivity.put(DB2, "");
 
+    databaseSpecificJobAcquisitionSlot.put(DB2, defaultJobAcquisitionSlot);
+
     addDatabaseSpecificStatement(DB2, "selectMeterLogAggregatedByTimeInterval", "selectMeterLogAggregatedByTimeInterval_db2_or_mssql");
     addDatabaseSpecificStatement(DB2, "selectExecutionByNativeQuery", "selectExecutionByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(DB2, "selectHistoricActivityInstanceByNativeQuery", "selectHistoricActivityInstanceByNativeQuery_mssql_or_db2");
@@ -543,6 +569,9 @@ public class DbSqlSessionFactory implements SessionFactory {
 
     databaseSpecificCollationForCaseSensitivity.put(MSSQL, "COLLATE Latin1_General_CS_AS");
 
+    databaseSpecificSkipLockedTableHint.put(MSSQL, "WITH (UPDLOCK, READPAST, ROWLOCK)");
+    databaseSpecificJobAcquisitionSlot.put(MSSQL, "(" + defaultJobPartitionKey + ") % #{parameter.acquisitionSlotCount}");
+
     addDatabaseSpecificStatement(MSSQL, "selectMeterLogAggregatedByTimeInterval", "selectMeterLogAggregatedByTimeInterval_db2_or_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectExecutionByNativeQuery", "selectExecutionByNativeQuery_mssql_or_db2");
     addDatabaseSpecificStatement(MSSQL, "selectHistoricActivityInstanceByNativeQuery", "selectHistoricActivityInstanceByNativeQuery_mssql_or_db2");
@@ -559,6 +588,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(MSSQL, "selectEventSubscriptionsByNameAndExecution", "selectEventSubscriptionsByNameAndExecution_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectEventSubscriptionsByExecutionAndType", "selectEventSubscriptionsByExecutionAndType_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectHistoricDecisionInstancesByNativeQuery", "selectHistoricDecisionInstancesByNativeQuery_mssql_or_db2");
+    addDatabaseSpecificStatement(MSSQL, "selectNextJobsToExecute", "selectNextJobsToExecute_mssql");
 
     constants = new HashMap<>();
     constants.put("constant.event", "'event'");
@@ -688,6 +718,21 @@ public class DbSqlSessionFactory implements SessionFactory {
   }
 
 
+  /**
+   * @param databaseMajorVersion the major version of the database or <code>null</code> if it is unknown
+   * @return true if the given database can skip rows locked by other transactions
+   */
+  public static boolean isSkipLockedSupported(String databaseType, Integer databaseMajorVersion) {
+    if (!databaseSpecificSkipLockedClause.containsKey(databaseType)
+        && !databaseSpecificSkipLockedTableHint.containsKey(databaseType)) {
+      return false;
+    }
+
+    Integer minimumMajorVersion = databaseSpecificSkipLockedMinimumMajorVersion.get(databaseType);
+    return minimumMajorVersion == null
+        || (databaseMajorVersion != null && databaseMajorVersion >= minimumMajorVersion);
+  }
+
   public String getDatabaseType() {
     return databaseType;
   }
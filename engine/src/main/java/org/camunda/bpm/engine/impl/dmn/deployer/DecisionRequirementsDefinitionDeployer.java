@@ -50,6 +50,11 @@ public class DecisionRequirementsDefinitionDeployer extends AbstractDefinitionDe
     return DecisionDefinitionDeployer.DMN_RESOURCE_SUFFIXES;
   }
 
+  @Override
+  protected boolean isParallelParsingSupported() {
+    return true;
+  }
+
   @Override
   protected List<DecisionRequirementsDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
     byte[] bytes = resource.getBytes();
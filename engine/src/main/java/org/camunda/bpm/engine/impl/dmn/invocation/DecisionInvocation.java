@@ -19,9 +19,11 @@ package org.camunda.bpm.engine.impl.dmn.invocation;
 import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.variable.context.VariableContext;
 
@@ -51,10 +53,22 @@ public class DecisionInvocation extends DelegateInvocation {
 
   @Override
   protected void invoke() throws Exception {
-    final DmnEngine dmnEngine = Context.getProcessEngineConfiguration()
-      .getDmnEngine();
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    final DmnEngine dmnEngine = configuration.getDmnEngine();
 
-    invocationResult = dmnEngine.evaluateDecision((DmnDecision) decisionDefinition, variableContext);
+    if (!configuration.isMetricsEnabled() || !configuration.isMetricsHistogramsEnabled()) {
+      invocationResult = dmnEngine.evaluateDecision((DmnDecision) decisionDefinition, variableContext);
+      return;
+    }
+
+    long startTime = System.nanoTime();
+    try {
+      invocationResult = dmnEngine.evaluateDecision((DmnDecision) decisionDefinition, variableContext);
+    }
+    finally {
+      long durationInMicros = (System.nanoTime() - startTime) / 1000;
+      configuration.getMetricsRegistry().recordValue(Metrics.DECISION_EVALUATION_TIME, durationInMicros);
+    }
   }
 
   @Override
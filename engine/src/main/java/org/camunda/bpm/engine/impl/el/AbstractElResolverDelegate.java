@@ -30,8 +30,15 @@ public abstract class AbstractElResolverDelegate extends ELResolver {
 
   protected abstract ELResolver getElResolverDelegate();
 
+  /**
+   * @param base the base object of the resolution, may be null
+   */
+  protected ELResolver getElResolverDelegate(Object base) {
+    return getElResolverDelegate();
+  }
+
   public Class<?> getCommonPropertyType(ELContext context, Object base) {
-    ELResolver delegate = getElResolverDelegate();
+    ELResolver delegate = getElResolverDelegate(base);
     if(delegate == null) {
       return null;
     } else {
@@ -40,7 +47,7 @@ public abstract class AbstractElResolverDelegate extends ELResolver {
   }
 
   public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
-    ELResolver delegate = getElResolverDelegate();
+    ELResolver delegate = getElResolverDelegate(base);
     if(delegate == null) {
       return Collections.<FeatureDescriptor>emptySet().iterator();
     } else {
@@ -51,7 +58,7 @@ public abstract class AbstractElResolverDelegate extends ELResolver {
 
   public Class<?> getType(ELContext context, Object base, Object property) {
     context.setPropertyResolved(false);
-    ELResolver delegate = getElResolverDelegate();
+    ELResolver delegate = getElResolverDelegate(base);
     if(delegate == null) {
       return null;
     } else {
@@ -62,7 +69,7 @@ public abstract class AbstractElResolverDelegate extends ELResolver {
 
   public Object getValue(ELContext context, Object base, Object property) {
     context.setPropertyResolved(false);
-    ELResolver delegate = getElResolverDelegate();
+    ELResolver delegate = getElResolverDelegate(base);
     if(delegate == null) {
       return null;
     } else {
@@ -72,7 +79,7 @@ public abstract class AbstractElResolverDelegate extends ELResolver {
 
   public boolean isReadOnly(ELContext context, Object base, Object property) {
     context.setPropertyResolved(false);
-    ELResolver delegate = getElResolverDelegate();
+    ELResolver delegate = getElResolverDelegate(base);
     if(delegate == null) {
       return true;
     } else {
@@ -82,7 +89,7 @@ public abstract class AbstractElResolverDelegate extends ELResolver {
 
   public void setValue(ELContext context, Object base, Object property, Object value) {
     context.setPropertyResolved(false);
-    ELResolver delegate = getElResolverDelegate();
+    ELResolver delegate = getElResolverDelegate(base);
     if(delegate != null) {
       delegate.setValue(context, base, property, value);
     }
@@ -90,7 +97,7 @@ public abstract class AbstractElResolverDelegate extends ELResolver {
 
   public Object invoke(ELContext context, Object base, Object method, Class<?>[] paramTypes, Object[] params) {
     context.setPropertyResolved(false);
-    ELResolver delegate = getElResolverDelegate();
+    ELResolver delegate = getElResolverDelegate(base);
     if(delegate == null) {
       return null;
     } else {
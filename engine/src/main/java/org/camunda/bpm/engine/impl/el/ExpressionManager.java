@@ -32,6 +32,7 @@ import org.camunda.bpm.engine.impl.javax.el.ListELResolver;
 import org.camunda.bpm.engine.impl.javax.el.MapELResolver;
 import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
 import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.TreeCompiler;
 import org.camunda.bpm.engine.test.mock.MockElResolver;
 import org.camunda.bpm.engine.variable.context.VariableContext;
 
@@ -62,6 +63,8 @@ public class ExpressionManager {
   protected ELContext parsingElContext = new ProcessEngineElContext(functionMappers);
   protected Map<Object, Object> beans;
   protected ELResolver elResolver;
+  /** compiles parsed expressions, if set */
+  protected TreeCompiler treeCompiler;
 
   public ExpressionManager() {
     this(null);
@@ -79,7 +82,19 @@ public class ExpressionManager {
   }
 
   public ValueExpression createValueExpression(String expression) {
-    return expressionFactory.createValueExpression(parsingElContext, expression, Object.class);
+    ValueExpression valueExpression = expressionFactory.createValueExpression(parsingElContext, expression, Object.class);
+    if (treeCompiler != null) {
+      valueExpression = treeCompiler.compile(valueExpression);
+    }
+    return valueExpression;
+  }
+
+  public TreeCompiler getTreeCompiler() {
+    return treeCompiler;
+  }
+
+  public void setTreeCompiler(TreeCompiler treeCompiler) {
+    this.treeCompiler = treeCompiler;
   }
 
   public void setExpressionFactory(ExpressionFactory expressionFactory) {
@@ -31,13 +31,24 @@ import org.camunda.bpm.engine.impl.javax.el.ELResolver;
  * involved in expressions.</p>
  *
  * <p>If resolution is attempted outside the context of a process application,
- * then always a new resolver instance is returned (i.e. no caching in these cases).</p>
+ * then a resolver per class of the base object is returned. These resolvers are
+ * attached to the classes, so they do not prevent the classes from being unloaded.</p>
  *
  * @author Thorben Lindhauer
  */
 public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolverDelegate {
 
+  protected final ClassValue<BeanELResolver> beanElResolvers = new ClassValue<BeanELResolver>() {
+    protected BeanELResolver computeValue(Class<?> type) {
+      return new BeanELResolver();
+    }
+  };
+
   protected ELResolver getElResolverDelegate() {
+    return getElResolverDelegate(null);
+  }
+
+  protected ELResolver getElResolverDelegate(Object base) {
 
     ProcessApplicationReference processApplicationReference = Context.getCurrentProcessApplication();
     if(processApplicationReference != null) {
@@ -50,6 +61,9 @@ public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolver
         throw new ProcessEngineException("Cannot access process application '"+processApplicationReference.getName()+"'", e);
       }
 
+    } else if (base != null) {
+      return beanElResolvers.get(base.getClass());
+
     } else {
       return new BeanELResolver();
     }
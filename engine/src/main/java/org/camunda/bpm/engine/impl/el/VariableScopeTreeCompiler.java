@@ -0,0 +1,74 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.juel.AstIdentifier;
+import org.camunda.bpm.engine.impl.juel.Bindings;
+import org.camunda.bpm.engine.impl.juel.CompiledNode;
+import org.camunda.bpm.engine.impl.juel.TreeCompiler;
+
+/**
+ * {@link TreeCompiler} which resolves identifiers directly from the variables of the
+ * {@link VariableScope} of the {@link ELContext}, as the {@link VariableScopeElResolver}
+ * would do as first resolver of the chain. Identifiers which are no variables of the
+ * scope (e.g. <code>execution</code> or beans) are resolved by the {@link ELContext}.
+ */
+public class VariableScopeTreeCompiler extends TreeCompiler {
+
+  @Override
+  protected CompiledNode compileIdentifier(AstIdentifier node) {
+    String name = node.getName();
+    if (isReservedName(name)) {
+      return super.compileIdentifier(node);
+    }
+    return new VariableNode(node);
+  }
+
+  protected boolean isReservedName(String name) {
+    return VariableScopeElResolver.EXECUTION_KEY.equals(name)
+        || VariableScopeElResolver.CASE_EXECUTION_KEY.equals(name)
+        || VariableScopeElResolver.TASK_KEY.equals(name)
+        || VariableScopeElResolver.LOGGED_IN_USER_KEY.equals(name);
+  }
+
+  public static class VariableNode extends CompiledNode {
+
+    protected final AstIdentifier node;
+    protected final String name;
+
+    public VariableNode(AstIdentifier node) {
+      this.node = node;
+      this.name = node.getName();
+    }
+
+    public Object eval(Bindings bindings, ELContext context) {
+      if (!bindings.isVariableBound(node.getIndex())) {
+        Object variableScope = context.getContext(VariableScope.class);
+        if (variableScope != null) {
+          Object value = ((VariableScope) variableScope).getVariable(name);
+          if (value != null || ((VariableScope) variableScope).hasVariable(name)) {
+            return value;
+          }
+        }
+      }
+      return node.eval(bindings, context);
+    }
+  }
+
+}
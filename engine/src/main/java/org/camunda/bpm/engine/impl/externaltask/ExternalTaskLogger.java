@@ -40,4 +40,10 @@ public class ExternalTaskLogger extends ProcessEngineLogger {
         "Could not determine priority for external task created in context of execution {}. Using default priority {}",
         execution, value, e);
   }
+
+  public void exceptionWhileNotifyingTopicListener(ExternalTaskTopicListener listener, Exception e) {
+    logWarn(
+        "002",
+        "Exception while notifying external task topic listener {}", listener, e);
+  }
 }
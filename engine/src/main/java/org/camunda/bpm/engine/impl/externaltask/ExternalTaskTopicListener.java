@@ -0,0 +1,39 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.Set;
+
+/**
+ * Listener which is notified when external tasks become available for fetching
+ * in this process engine, e.g. because they have been created or unlocked.
+ *
+ * <p>Listeners are invoked after the transaction which made the tasks available
+ * has been committed, in the thread which executed the command. Implementations
+ * must therefore return quickly and must not execute engine commands themselves.</p>
+ *
+ * @see ExternalTaskTopicNotifier
+ */
+public interface ExternalTaskTopicListener {
+
+  /**
+   * @param topicNames the names of the topics for which new tasks are available;
+   *   an empty set indicates that tasks of unknown topics are available
+   */
+  void onTopicsAvailable(Set<String> topicNames);
+
+}
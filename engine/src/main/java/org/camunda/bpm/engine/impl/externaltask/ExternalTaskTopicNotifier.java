@@ -0,0 +1,58 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * Dispatches topic based notifications about available external tasks
+ * to all subscribed {@link ExternalTaskTopicListener}s.
+ */
+public class ExternalTaskTopicNotifier {
+
+  protected static final ExternalTaskLogger LOG = ProcessEngineLogger.EXTERNAL_TASK_LOGGER;
+
+  protected CopyOnWriteArrayList<ExternalTaskTopicListener> listeners = new CopyOnWriteArrayList<ExternalTaskTopicListener>();
+
+  public void addListener(ExternalTaskTopicListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(ExternalTaskTopicListener listener) {
+    listeners.remove(listener);
+  }
+
+  public boolean hasListeners() {
+    return !listeners.isEmpty();
+  }
+
+  public void notifyListeners(Set<String> topicNames) {
+    for (ExternalTaskTopicListener listener : listeners) {
+      try {
+        listener.onTopicsAvailable(topicNames);
+      }
+      catch (RuntimeException e) {
+        // the transaction is already committed; a failing listener must not affect the others
+        LOG.exceptionWhileNotifyingTopicListener(listener, e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,671 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.batch.history.HistoricBatchEntity;
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+
+/**
+ * <p>History event handler that writes history events to the process engine
+ * database asynchronously, outside of the transaction that produced them.</p>
+ *
+ * <p>The events of a command are buffered until the command flushes. At that point
+ * they are reserved a place in a queue and become visible to a dedicated
+ * writer thread once the transaction has committed; the events of rolled back
+ * transactions are discarded. The writer thread writes the events of many
+ * transactions in a single transaction of its own, using up to
+ * {@link #getBatchSize()} events per transaction.</p>
+ *
+ * <p>Events are written in the order in which the producing transactions flushed.
+ * Since a transaction that observes the changes of another transaction flushes
+ * after that transaction, the events of a process instance are always written in
+ * the order in which they were produced. If the queue holds more than
+ * {@link #getQueueCapacity()} events, committed transactions wait for the writer
+ * thread to catch up, for at most {@link #getQueueTimeout()} milliseconds. They never
+ * wait before they have completed, since they may hold locks the writer thread
+ * needs. When the handler is stopped, all
+ * queued events are written before {@link #stop()} returns; events produced after
+ * that are written synchronously.</p>
+ *
+ * <p>If a transaction of the writer thread fails, the events of every producing
+ * transaction are written separately and retried up to {@link #getRetries()} times.
+ * Events that still cannot be written are written one by one and the events which
+ * fail are logged and discarded. Since the root process instance of an event may
+ * not have been written when the event was produced, the removal time of the root
+ * process instance is applied again when the events are written.</p>
+ *
+ * <p>Note that history data becomes visible with a delay and that events are lost if
+ * the JVM terminates after a transaction committed but before its events were written.</p>
+ */
+public class AsyncDbHistoryEventHandler implements HistoryEventHandler {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected final int queueCapacity;
+  protected final int batchSize;
+
+  protected long queueTimeout = 10000;
+  protected int retries = 3;
+  protected long retryWaitTime = 500;
+
+  protected final ReentrantLock lock = new ReentrantLock();
+  protected final Condition queueChanged = lock.newCondition();
+  protected final Deque<PendingEvents> queue = new ArrayDeque<>();
+  protected int queuedEvents;
+  protected boolean isWriting;
+
+  protected DbHistoryEventHandler writeHandler = new CoalescingDbHistoryEventHandler();
+
+  protected CommandExecutor commandExecutor;
+  protected Thread writerThread;
+  protected volatile boolean isActive;
+
+  public AsyncDbHistoryEventHandler(int queueCapacity, int batchSize) {
+    this.queueCapacity = Math.max(1, queueCapacity);
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (isActive && commandContext != null) {
+      commandContext.getSession(HistoryEventBuffer.class).add(historyEvent);
+    } else {
+      writeHandler.handleEvent(historyEvent);
+    }
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    for (HistoryEvent historyEvent : historyEvents) {
+      handleEvent(historyEvent);
+    }
+  }
+
+  /**
+   * Starts the writer thread. The given command executor must open a new
+   * transaction for every command.
+   */
+  public void start(CommandExecutor commandExecutor) {
+    lock.lock();
+    try {
+      if (isActive) {
+        return;
+      }
+      this.commandExecutor = commandExecutor;
+      isActive = true;
+      writerThread = new Thread(new Runnable() {
+        public void run() {
+          writeEvents();
+        }
+      }, "Camunda History Writer");
+      writerThread.setDaemon(true);
+      writerThread.start();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Stops the writer thread after all queued events have been written.
+   */
+  public void stop() {
+    Thread thread;
+    lock.lock();
+    try {
+      if (!isActive) {
+        return;
+      }
+      isActive = false;
+      thread = writerThread;
+      writerThread = null;
+      queueChanged.signalAll();
+    } finally {
+      lock.unlock();
+    }
+
+    boolean interrupted = false;
+    while (thread.isAlive()) {
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Waits until all events of committed transactions that are currently queued
+   * have been written.
+   *
+   * @return false if the timeout elapsed before the queue was drained
+   */
+  public boolean awaitWritten(long timeout, TimeUnit unit) throws InterruptedException {
+    long remaining = unit.toNanos(timeout);
+    lock.lock();
+    try {
+      while (isWriting || hasCompletedEvents()) {
+        if (remaining <= 0) {
+          return false;
+        }
+        remaining = queueChanged.awaitNanos(remaining);
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public boolean isActive() {
+    return isActive;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public long getQueueTimeout() {
+    return queueTimeout;
+  }
+
+  /**
+   * Sets the maximum time in milliseconds a committed transaction waits
+   * for the writer thread if the queue holds too many events.
+   */
+  public void setQueueTimeout(long queueTimeout) {
+    this.queueTimeout = Math.max(0, queueTimeout);
+  }
+
+  public int getRetries() {
+    return retries;
+  }
+
+  /**
+   * Sets how often the events of a transaction are written again after writing them failed.
+   */
+  public void setRetries(int retries) {
+    this.retries = Math.max(0, retries);
+  }
+
+  public long getRetryWaitTime() {
+    return retryWaitTime;
+  }
+
+  /**
+   * Sets the time in milliseconds to wait before the first retry; the wait time grows
+   * linearly with every further retry.
+   */
+  public void setRetryWaitTime(long retryWaitTime) {
+    this.retryWaitTime = Math.max(0, retryWaitTime);
+  }
+
+  public SessionFactory createSessionFactory() {
+    return new SessionFactory() {
+      public Class<?> getSessionType() {
+        return HistoryEventBuffer.class;
+      }
+      public Session openSession() {
+        return new HistoryEventBuffer();
+      }
+    };
+  }
+
+  // queue //////////////////////////////////////////////////////////////////////
+
+  /**
+   * Reserves a place in the queue for the events of the current transaction.
+   * Never blocks, since the transaction or an outer transaction may hold locks
+   * the writer thread needs to write the queued events.
+   *
+   * @return false if the writer thread is not running
+   */
+  protected boolean enqueue(List<HistoryEvent> events) {
+    final PendingEvents pendingEvents = new PendingEvents(events);
+    lock.lock();
+    try {
+      if (!isActive) {
+        return false;
+      }
+      queue.add(pendingEvents);
+      queuedEvents += events.size();
+    } finally {
+      lock.unlock();
+    }
+
+    TransactionContext transactionContext = Context.getCommandContext().getTransactionContext();
+    transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        complete(pendingEvents, TransactionState.COMMITTED);
+        awaitQueueCapacity();
+      }
+    });
+    transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        complete(pendingEvents, TransactionState.ROLLED_BACK);
+      }
+    });
+
+    return true;
+  }
+
+  protected void complete(PendingEvents pendingEvents, TransactionState state) {
+    lock.lock();
+    try {
+      // a failing committed listener may cause a rollback notification after the commit
+      if (pendingEvents.state == null) {
+        pendingEvents.state = state;
+        queueChanged.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits until the queue holds no more events than its capacity, but at
+   * most {@link #getQueueTimeout()} milliseconds.
+   */
+  protected void awaitQueueCapacity() {
+    lock.lock();
+    try {
+      long remaining = TimeUnit.MILLISECONDS.toNanos(queueTimeout);
+      while (isActive && queuedEvents > queueCapacity) {
+        if (remaining <= 0) {
+          LOG.historyEventQueueCapacityExceeded(queuedEvents, queueCapacity, queueTimeout);
+          return;
+        }
+        remaining = queueChanged.awaitNanos(remaining);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  protected boolean hasCompletedEvents() {
+    PendingEvents head = queue.peek();
+    return head != null && head.state != null;
+  }
+
+  // writer thread //////////////////////////////////////////////////////////////
+
+  protected void writeEvents() {
+    List<PendingEvents> batch = new ArrayList<>();
+    int polledEvents = 0;
+
+    while (true) {
+      lock.lock();
+      try {
+        queuedEvents -= polledEvents;
+        polledEvents = 0;
+        isWriting = false;
+        queueChanged.signalAll();
+
+        while (!hasCompletedEvents()) {
+          if (!isActive && queue.isEmpty()) {
+            return;
+          }
+          queueChanged.awaitUninterruptibly();
+        }
+
+        int batchedEvents = 0;
+        while (hasCompletedEvents() && (batch.isEmpty() || batchedEvents < batchSize)) {
+          PendingEvents pendingEvents = queue.poll();
+          polledEvents += pendingEvents.events.size();
+          if (pendingEvents.state == TransactionState.COMMITTED) {
+            batch.add(pendingEvents);
+            batchedEvents += pendingEvents.events.size();
+          }
+        }
+        isWriting = true;
+      } finally {
+        lock.unlock();
+      }
+
+      try {
+        if (!batch.isEmpty()) {
+          write(batch);
+        }
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  protected void write(List<PendingEvents> batch) {
+    List<HistoryEvent> events = new ArrayList<>();
+    for (PendingEvents pendingEvents : batch) {
+      events.addAll(pendingEvents.events);
+    }
+
+    try {
+      commandExecutor.execute(new WriteHistoryEventsCmd(events));
+
+    } catch (RuntimeException e) {
+      // write the events of every transaction separately so that
+      // a single failing transaction does not affect the whole batch
+      for (PendingEvents pendingEvents : batch) {
+        writeWithRetries(pendingEvents.events);
+      }
+    }
+  }
+
+  protected void writeWithRetries(List<HistoryEvent> events) {
+    int attempt = 0;
+    while (true) {
+      try {
+        commandExecutor.execute(new WriteHistoryEventsCmd(events));
+        return;
+
+      } catch (RuntimeException e) {
+        if (attempt >= retries) {
+          writeOneByOne(events);
+          return;
+        }
+        attempt++;
+        LOG.retryWritingHistoryEvents(events.size(), attempt, e);
+        waitBeforeRetry(attempt);
+      }
+    }
+  }
+
+  /**
+   * Writes every event in a transaction of its own so that only
+   * the events which cannot be written at all are discarded.
+   */
+  protected void writeOneByOne(List<HistoryEvent> events) {
+    for (HistoryEvent event : events) {
+      try {
+        commandExecutor.execute(new WriteHistoryEventsCmd(Collections.singletonList(event)));
+      } catch (RuntimeException e) {
+        LOG.exceptionWhileWritingHistoryEvent(event.getEventType(), event.getId(), e);
+      }
+    }
+  }
+
+  protected void waitBeforeRetry(int attempt) {
+    try {
+      Thread.sleep(retryWaitTime * attempt);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  protected class WriteHistoryEventsCmd implements Command<Void> {
+
+    protected final List<HistoryEvent> events;
+
+    public WriteHistoryEventsCmd(List<HistoryEvent> events) {
+      this.events = events;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      String removalTimeStrategy = commandContext.getProcessEngineConfiguration().getHistoryRemovalTimeStrategy();
+
+      if (ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_START.equals(removalTimeStrategy)) {
+        writeEventsWithRemovalTime(commandContext);
+      } else {
+        writeHandler.handleEvents(events);
+      }
+
+      if (ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END.equals(removalTimeStrategy)) {
+        addRemovalTimeOfEndedInstances(commandContext);
+      }
+
+      return null;
+    }
+
+    /**
+     * An event produced before its root process instance was written lacks
+     * the removal time of the root process instance, which is provided here.
+     */
+    protected void writeEventsWithRemovalTime(CommandContext commandContext) {
+      Map<String, Date> removalTimes = new HashMap<>();
+      Map<String, Date> decisionRemovalTimes = new HashMap<>();
+
+      for (HistoryEvent event : events) {
+        if (event instanceof HistoricDecisionEvaluationEvent) {
+          HistoricDecisionInstanceEntity rootDecisionInstance = ((HistoricDecisionEvaluationEvent) event).getRootHistoricDecisionInstance();
+          Date removalTime = findMissingRemovalTime(commandContext, rootDecisionInstance, removalTimes);
+          if (removalTime != null) {
+            // also covers the required decisions and the inputs and outputs
+            decisionRemovalTimes.put(rootDecisionInstance.getRootProcessInstanceId(), removalTime);
+          }
+
+        } else {
+          Date removalTime = findMissingRemovalTime(commandContext, event, removalTimes);
+          if (removalTime != null) {
+            event.setRemovalTime(removalTime);
+          }
+        }
+
+        writeHandler.handleEvent(event);
+      }
+
+      HistoricDecisionInstanceManager historicDecisionInstanceManager = commandContext.getHistoricDecisionInstanceManager();
+      for (Map.Entry<String, Date> decisionRemovalTime : decisionRemovalTimes.entrySet()) {
+        historicDecisionInstanceManager.addRemovalTimeToDecisionsByRootProcessInstanceId(decisionRemovalTime.getKey(), decisionRemovalTime.getValue());
+      }
+    }
+
+    /**
+     * @return the removal time of the root process instance if the event lacks it, otherwise null
+     */
+    protected Date findMissingRemovalTime(CommandContext commandContext, HistoryEvent event, Map<String, Date> removalTimes) {
+      String rootProcessInstanceId = event.getRootProcessInstanceId();
+      if (event.getRemovalTime() != null || rootProcessInstanceId == null || rootProcessInstanceId.equals(event.getId())) {
+        return null;
+      }
+
+      if (!removalTimes.containsKey(rootProcessInstanceId)) {
+        // finds the root process instance as well if it is inserted by this batch
+        HistoricProcessInstanceEventEntity rootProcessInstance = commandContext.getDbEntityManager()
+            .selectById(HistoricProcessInstanceEventEntity.class, rootProcessInstanceId);
+        removalTimes.put(rootProcessInstanceId, rootProcessInstance != null ? rootProcessInstance.getRemovalTime() : null);
+      }
+
+      return removalTimes.get(rootProcessInstanceId);
+    }
+
+    /**
+     * The removal time of an ended root process instance or batch is added to the rows
+     * written before it ended; this adds it to the rows written by the writer thread since.
+     */
+    protected void addRemovalTimeOfEndedInstances(CommandContext commandContext) {
+      for (HistoryEvent event : events) {
+        Date removalTime = event.getRemovalTime();
+        if (removalTime == null) {
+          continue;
+        }
+
+        if (event instanceof HistoricProcessInstanceEventEntity
+            && event.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)
+            && event.getId().equals(event.getRootProcessInstanceId())) {
+          commandContext.getHistoricProcessInstanceManager()
+            .addRemovalTimeToProcessInstancesByRootProcessInstanceId(event.getId(), removalTime);
+
+          if (commandContext.getProcessEngineConfiguration().isDmnEnabled()) {
+            commandContext.getHistoricDecisionInstanceManager()
+              .addRemovalTimeToDecisionsByRootProcessInstanceId(event.getId(), removalTime);
+          }
+
+        } else if (event instanceof HistoricBatchEntity && event.isEventOfType(HistoryEventTypes.BATCH_END)) {
+          commandContext.getHistoricJobLogManager().addRemovalTimeToJobLogByBatchId(event.getId(), removalTime);
+          commandContext.getHistoricIncidentManager().addRemovalTimeToHistoricIncidentsByBatchId(event.getId(), removalTime);
+        }
+      }
+    }
+  }
+
+  /**
+   * The events of a single transaction, guarded by the handler's lock.
+   */
+  protected static class PendingEvents {
+
+    protected final List<HistoryEvent> events;
+
+    /** null as long as the transaction has not completed */
+    protected TransactionState state;
+
+    public PendingEvents(List<HistoryEvent> events) {
+      this.events = events;
+    }
+  }
+
+  /**
+   * Collects the history events of a command.
+   */
+  protected class HistoryEventBuffer implements Session {
+
+    protected List<HistoryEvent> events = new ArrayList<>();
+
+    public HistoryEventBuffer() {
+      // make sure the entity manager is flushed after this session so that
+      // events can be written synchronously if the writer thread is not running
+      Context.getCommandContext().getDbEntityManager();
+    }
+
+    public void add(HistoryEvent historyEvent) {
+      events.add(historyEvent);
+    }
+
+    public void flush() {
+      if (events.isEmpty()) {
+        return;
+      }
+
+      List<HistoryEvent> flushedEvents = events;
+      events = new ArrayList<>();
+
+      if (!enqueue(flushedEvents)) {
+        writeHandler.handleEvents(flushedEvents);
+      }
+    }
+
+    public void close() {
+    }
+  }
+
+  /**
+   * Writes events produced by different transactions in a single transaction.
+   * Events are not created from the cached entities of earlier events, so a
+   * later event may refer to an entity that an earlier event of the same batch
+   * already wrote. In that case, the later event is applied by an update:
+   * <ul>
+   *   <li>if the entity is inserted by this batch, the insert keeps the state of the
+   *   initial event, which holds the columns that are never updated (e.g. the start
+   *   user), and the later event is written by an update after the insert</li>
+   *   <li>otherwise the later event replaces the state to be flushed</li>
+   * </ul>
+   */
+  protected static class CoalescingDbHistoryEventHandler extends DbHistoryEventHandler {
+
+    protected void insertOrUpdate(HistoryEvent historyEvent) {
+      if (!isInitialEvent(historyEvent) && historyEvent.getId() != null) {
+        DbEntityManager dbEntityManager = getDbEntityManager();
+        CachedDbEntity cachedEntity = dbEntityManager
+            .getDbEntityCache()
+            .getCachedEntity(historyEvent.getClass(), historyEvent.getId());
+
+        if (cachedEntity != null && cachedEntity.getEntity() != historyEvent) {
+          provideStartTime(historyEvent, cachedEntity.getEntity());
+
+          if (cachedEntity.getEntityState() == DbEntityState.TRANSIENT) {
+            addUpdate(dbEntityManager, historyEvent);
+          } else {
+            cachedEntity.setEntity(historyEvent);
+            cachedEntity.determineEntityReferences();
+          }
+          return;
+        }
+      }
+
+      super.insertOrUpdate(historyEvent);
+    }
+
+    protected void provideStartTime(HistoryEvent historyEvent, DbEntity existingEvent) {
+      if (historyEvent instanceof HistoricScopeInstanceEvent && existingEvent instanceof HistoricScopeInstanceEvent) {
+        // the start time is only known to the event that started the scope
+        HistoricScopeInstanceEvent existingScopeEvent = (HistoricScopeInstanceEvent) existingEvent;
+        if (existingScopeEvent.getStartTime() != null) {
+          ((HistoricScopeInstanceEvent) historyEvent).setStartTime(existingScopeEvent.getStartTime());
+        }
+      }
+    }
+
+    protected void addUpdate(DbEntityManager dbEntityManager, HistoryEvent historyEvent) {
+      DbEntityOperation updateOperation = new DbEntityOperation();
+      updateOperation.setEntity(historyEvent);
+      updateOperation.setOperationType(DbOperationType.UPDATE);
+
+      DbOperationManager dbOperationManager = dbEntityManager.getDbOperationManager();
+
+      // the update operations of an entity type are sorted by id,
+      // so the update of a later event replaces the one of an earlier event
+      SortedSet<DbEntityOperation> updates = dbOperationManager.updates.get(historyEvent.getClass());
+      if (updates != null) {
+        updates.remove(updateOperation);
+      }
+      dbOperationManager.addOperation(updateOperation);
+    }
+  }
+
+}
@@ -609,6 +609,7 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
       Date removalTime = calculateRemovalTime(evt);
 
       if (removalTime != null) {
+        evt.setRemovalTime(removalTime);
         addRemovalTimeToHistoricProcessInstances(evt.getRootProcessInstanceId(), removalTime);
 
         if (isDmnEnabled()) {
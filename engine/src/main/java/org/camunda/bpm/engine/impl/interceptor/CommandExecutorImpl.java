@@ -16,7 +16,9 @@
  */
 package org.camunda.bpm.engine.impl.interceptor;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.management.Metrics;
 
 
 /**
@@ -25,6 +27,20 @@ import org.camunda.bpm.engine.impl.context.Context;
 public class CommandExecutorImpl extends CommandInterceptor {
 
   public <T> T execute(Command<T> command) {
-    return command.execute(Context.getCommandContext());
+    CommandContext commandContext = Context.getCommandContext();
+    ProcessEngineConfigurationImpl configuration = commandContext.getProcessEngineConfiguration();
+
+    if (!configuration.isMetricsEnabled() || !configuration.isMetricsHistogramsEnabled()) {
+      return command.execute(commandContext);
+    }
+
+    long startTime = System.nanoTime();
+    try {
+      return command.execute(commandContext);
+    }
+    finally {
+      long durationInMicros = (System.nanoTime() - startTime) / 1000;
+      configuration.getMetricsRegistry().recordValue(Metrics.COMMAND_EXECUTION_TIME, durationInMicros);
+    }
   }
 }
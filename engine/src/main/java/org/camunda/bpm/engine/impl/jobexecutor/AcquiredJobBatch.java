@@ -0,0 +1,79 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+
+/**
+ * <p>Batch of acquired job ids that additionally keeps the process instance, the highest
+ * priority and the earliest due date of its jobs, so that a {@link JobExecutor} can order
+ * and route batches without reading the jobs again.</p>
+ *
+ * <p>Since the batch is a list of job ids, it is passed on unchanged when it is rejected
+ * and resubmitted in a later acquisition cycle.</p>
+ */
+public class AcquiredJobBatch extends ArrayList<String> {
+
+  private static final long serialVersionUID = 1L;
+
+  protected long priority = DefaultJobPriorityProvider.DEFAULT_PRIORITY;
+  protected Date duedate;
+  protected String processInstanceId;
+
+  public void addJob(AcquirableJobEntity job) {
+    if (isEmpty()) {
+      processInstanceId = job.getProcessInstanceId();
+      priority = job.getPriority();
+      duedate = job.getDuedate();
+    }
+    else {
+      priority = Math.max(priority, job.getPriority());
+      if (duedate != null && (job.getDuedate() == null || job.getDuedate().before(duedate))) {
+        duedate = job.getDuedate();
+      }
+    }
+
+    add(job.getId());
+  }
+
+  /**
+   * @return the process instance of the first job in this batch; all jobs of an
+   * exclusive batch belong to this process instance
+   */
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  /**
+   * @return the highest priority of the jobs in this batch
+   */
+  public long getPriority() {
+    return priority;
+  }
+
+  /**
+   * @return the earliest due date of the jobs in this batch or <code>null</code>
+   * if one of the jobs is due immediately
+   */
+  public Date getDuedate() {
+    return duedate;
+  }
+
+}
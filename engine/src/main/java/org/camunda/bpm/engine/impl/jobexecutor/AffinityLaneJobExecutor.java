@@ -0,0 +1,148 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>{@link JobExecutor} that executes job batches on a fixed number of lanes. Every lane
+ * has a single execution thread and its own bounded queue.</p>
+ *
+ * <p>A batch is routed to a lane by the hash of its process instance id. All jobs of a
+ * process instance acquired by this job executor are therefore executed sequentially by the
+ * same thread, even across acquisition cycles, and do not contend with each other for the
+ * executions of the process instance. Batches without a process instance are routed by the
+ * id of their first job.</p>
+ *
+ * <p>A batch whose lane queue is full is passed to the {@link RejectedJobsHandler}. To keep
+ * the jobs of a process instance on the same node of a cluster, combine this job executor with
+ * acquisition slots (see
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setJobExecutorAcquisitionSlotCount(int)}).</p>
+ */
+public class AffinityLaneJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected int laneCount = 4;
+  protected int laneQueueSize = 3;
+
+  protected volatile ThreadPoolExecutor[] lanes;
+
+  protected void startExecutingJobs() {
+    if (lanes == null) {
+      lanes = new ThreadPoolExecutor[laneCount];
+      for (int i = 0; i < laneCount; i++) {
+        lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(laneQueueSize));
+        lanes[i].setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+      }
+    }
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+    stopJobAcquisitionThread();
+
+    // Ask the lanes to finish and exit
+    for (ThreadPoolExecutor lane : lanes) {
+      lane.shutdown();
+    }
+
+    // Waits for 1 minute to finish all currently executing jobs
+    long deadline = System.currentTimeMillis() + 60000L;
+    try {
+      for (ThreadPoolExecutor lane : lanes) {
+        long timeout = Math.max(0, deadline - System.currentTimeMillis());
+        if (!lane.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+          LOG.timeoutDuringShutdown();
+          break;
+        }
+      }
+    } catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+
+    lanes = null;
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    ThreadPoolExecutor[] lanes = this.lanes;
+    if (lanes == null) {
+      // the job executor was stopped while the acquisition thread was still finishing
+      rejectJobs(jobIds, processEngine);
+      return;
+    }
+
+    try {
+      ThreadPoolExecutor lane = lanes[getLane(jobIds)];
+      lane.execute(getExecuteJobsRunnable(jobIds, processEngine));
+
+    } catch (RejectedExecutionException e) {
+      rejectJobs(jobIds, processEngine);
+    }
+  }
+
+  protected void rejectJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    logRejectedExecution(processEngine, jobIds.size());
+    rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+  }
+
+  /**
+   * @return the index of the lane that executes the given batch
+   */
+  public int getLane(List<String> jobIds) {
+    String routingKey = null;
+    if (jobIds instanceof AcquiredJobBatch) {
+      routingKey = ((AcquiredJobBatch) jobIds).getProcessInstanceId();
+    }
+    if (routingKey == null) {
+      routingKey = jobIds.get(0);
+    }
+
+    return Math.abs(routingKey.hashCode() % laneCount);
+  }
+
+  // getters / setters
+
+  public int getLaneCount() {
+    return laneCount;
+  }
+
+  public void setLaneCount(int laneCount) {
+    this.laneCount = laneCount;
+  }
+
+  public int getLaneQueueSize() {
+    return laneQueueSize;
+  }
+
+  public void setLaneQueueSize(int laneQueueSize) {
+    this.laneQueueSize = laneQueueSize;
+  }
+
+  public ThreadPoolExecutor[] getLanes() {
+    return lanes;
+  }
+
+}
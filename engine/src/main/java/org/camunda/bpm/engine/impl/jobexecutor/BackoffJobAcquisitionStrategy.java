@@ -164,7 +164,15 @@ public class BackoffJobAcquisitionStrategy implements JobAcquisitionStrategy {
     reconfigureIdleLevel(context);
     reconfigureBackoffLevel(context);
     reconfigureNumberOfJobsToAcquire(context);
-    executionSaturated = allSubmittedJobsRejected(context);
+    executionSaturated = isExecutionSaturated(context);
+  }
+
+  /**
+   * @return true, if the execution resources are saturated, so that the
+   * acquisition waits for {@link #executionSaturationWaitTime} before the next cycle
+   */
+  protected boolean isExecutionSaturated(JobAcquisitionContext context) {
+    return allSubmittedJobsRejected(context);
   }
 
   /**
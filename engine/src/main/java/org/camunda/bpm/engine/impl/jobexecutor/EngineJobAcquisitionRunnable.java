@@ -0,0 +1,54 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+
+/**
+ * <p>{@link SequentialJobAcquisitionRunnable} that acquires jobs for a single process engine only.</p>
+ *
+ * <p>Used by the {@link ParallelJobAcquisitionRunnable} so that every engine has its own
+ * acquisition thread, {@link JobAcquisitionContext} and {@link JobAcquisitionStrategy}.</p>
+ */
+public class EngineJobAcquisitionRunnable extends SequentialJobAcquisitionRunnable {
+
+  protected final ProcessEngineImpl processEngine;
+
+  public EngineJobAcquisitionRunnable(JobExecutor jobExecutor, ProcessEngineImpl processEngine) {
+    super(jobExecutor);
+    this.processEngine = processEngine;
+  }
+
+  @Override
+  public synchronized void run() {
+    LOG.startingToAcquireJobsForEngine(jobExecutor.getName(), processEngine.getName());
+    super.run();
+  }
+
+  @Override
+  protected Iterator<ProcessEngineImpl> engineIterator() {
+    return Collections.singletonList(processEngine).iterator();
+  }
+
+  public ProcessEngineImpl getProcessEngine() {
+    return processEngine;
+  }
+
+}
@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.ProcessDataLoggingContext;
+import org.camunda.bpm.engine.management.Metrics;
 
 public class ExecuteJobHelper {
 
@@ -53,6 +54,7 @@ public class ExecuteJobHelper {
 
   public static void executeJob(String nextJobId, CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector, Command<Void> cmd,
       ProcessEngineConfigurationImpl configuration) {
+    long startTime = System.nanoTime();
     try {
       commandExecutor.execute(cmd);
     } catch (RuntimeException exception) {
@@ -64,6 +66,8 @@ public class ExecuteJobHelper {
       // wrap the exception and throw it to indicate the ExecuteJobCmd failed
       throw LOG.wrapJobExecutionFailure(jobFailureCollector, exception);
     } finally {
+      recordJobExecutionTime(configuration, startTime);
+
       // preserve MDC properties before listener invocation and clear MDC for job listener
       ProcessDataLoggingContext loggingContext = null;
       if (configuration != null) {
@@ -84,6 +88,13 @@ public class ExecuteJobHelper {
     }
   }
 
+  protected static void recordJobExecutionTime(ProcessEngineConfigurationImpl configuration, long startTime) {
+    if (configuration != null && configuration.isMetricsEnabled() && configuration.isMetricsHistogramsEnabled()) {
+      long durationInMicros = (System.nanoTime() - startTime) / 1000;
+      configuration.getMetricsRegistry().recordValue(Metrics.JOB_EXECUTION_TIME, durationInMicros);
+    }
+  }
+
   protected static void invokeJobListener(CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector) {
     if(jobFailureCollector.getJobId() != null) {
       if (jobFailureCollector.getFailure() != null) {
@@ -0,0 +1,127 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+
+/**
+ * <p>Admits job batches of multiple process engines to a shared execution thread pool
+ * according to a fair share of the pool's capacity.</p>
+ *
+ * <p>Every registered engine is guaranteed <code>capacity / number of engines</code>
+ * concurrently submitted batches. An engine may use more than its share as long as the
+ * capacity that is not reserved for the other engines' unused shares is not exhausted.
+ * A batch that is not admitted is handed to the {@link RejectedJobsHandler}, so that the
+ * engine's acquisition backs off instead of the other engines.</p>
+ */
+public class FairShareJobExecutionAdmission {
+
+  protected final JobExecutor jobExecutor;
+  protected final int capacity;
+
+  protected final Map<String, Integer> submittedBatchesByEngine = new HashMap<String, Integer>();
+  protected int submittedBatches = 0;
+
+  public FairShareJobExecutionAdmission(JobExecutor jobExecutor, int capacity) {
+    this.jobExecutor = jobExecutor;
+    this.capacity = capacity;
+  }
+
+  /**
+   * @return true if a batch of the given engine may be submitted for execution.
+   * In that case {@link #release(String)} must be called once the batch was executed
+   * or could not be submitted.
+   */
+  public synchronized boolean tryAdmit(String engineName) {
+    int engineShare = getEngineShare();
+    int engineBatches = getSubmittedBatches(engineName);
+
+    boolean admitted;
+    if (engineBatches < engineShare) {
+      admitted = true;
+    }
+    else {
+      // capacity that is still reserved for other engines which do not use their full share
+      int reservedCapacity = 0;
+      for (ProcessEngineImpl processEngine : jobExecutor.getProcessEngines()) {
+        String otherEngineName = processEngine.getName();
+        if (!otherEngineName.equals(engineName)) {
+          reservedCapacity += Math.max(0, engineShare - getSubmittedBatches(otherEngineName));
+        }
+      }
+
+      admitted = submittedBatches + reservedCapacity < capacity;
+    }
+
+    if (admitted) {
+      submittedBatchesByEngine.put(engineName, engineBatches + 1);
+      submittedBatches++;
+    }
+
+    return admitted;
+  }
+
+  public synchronized void release(String engineName) {
+    int engineBatches = getSubmittedBatches(engineName);
+    if (engineBatches <= 1) {
+      submittedBatchesByEngine.remove(engineName);
+    }
+    else {
+      submittedBatchesByEngine.put(engineName, engineBatches - 1);
+    }
+    submittedBatches = Math.max(0, submittedBatches - 1);
+  }
+
+  /**
+   * Wraps the runnable of an admitted batch so that the admission is released
+   * after the execution.
+   */
+  public Runnable wrap(final String engineName, final Runnable executeJobsRunnable) {
+    return new Runnable() {
+      public void run() {
+        try {
+          executeJobsRunnable.run();
+        }
+        finally {
+          release(engineName);
+        }
+      }
+    };
+  }
+
+  protected int getEngineShare() {
+    int numEngines = Math.max(1, jobExecutor.getProcessEngines().size());
+    return Math.max(1, capacity / numEngines);
+  }
+
+  protected int getSubmittedBatches(String engineName) {
+    Integer engineBatches = submittedBatchesByEngine.get(engineName);
+    return engineBatches != null ? engineBatches : 0;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public synchronized int getSubmittedBatches() {
+    return submittedBatches;
+  }
+
+}
@@ -71,6 +71,12 @@ public abstract class JobExecutor {
    */
   protected int backoffDecreaseThreshold = 100;
 
+  /**
+   * If true, jobs are acquired for every registered process engine
+   * on a separate thread, see {@link ParallelJobAcquisitionRunnable}.
+   */
+  protected boolean parallelEngineAcquisition = false;
+
   protected String lockOwner = UUID.randomUUID().toString();
   protected int lockTimeInMillis = 5 * 60 * 1000;
 
@@ -97,7 +103,12 @@ public abstract class JobExecutor {
 
   protected void ensureInitialization() {
     acquireJobsCmdFactory = new DefaultAcquireJobsCommandFactory(this);
-    acquireJobsRunnable = new SequentialJobAcquisitionRunnable(this);
+    if (parallelEngineAcquisition) {
+      acquireJobsRunnable = new ParallelJobAcquisitionRunnable(this);
+    }
+    else {
+      acquireJobsRunnable = new SequentialJobAcquisitionRunnable(this);
+    }
   }
 
   protected void ensureCleanup() {
@@ -302,6 +313,14 @@ public abstract class JobExecutor {
     this.backoffDecreaseThreshold = backoffDecreaseThreshold;
   }
 
+  public boolean isParallelEngineAcquisition() {
+    return parallelEngineAcquisition;
+  }
+
+  public void setParallelEngineAcquisition(boolean parallelEngineAcquisition) {
+    this.parallelEngineAcquisition = parallelEngineAcquisition;
+  }
+
   public String getName() {
     return name;
   }
@@ -351,6 +370,14 @@ public abstract class JobExecutor {
     return acquireJobsRunnable;
   }
 
+  /**
+   * @return the strategy that determines the number of jobs to acquire and the time to wait
+   * between two acquisition cycles
+   */
+  public JobAcquisitionStrategy createJobAcquisitionStrategy() {
+    return new BackoffJobAcquisitionStrategy(this);
+  }
+
   public Runnable getExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine) {
     return new ExecuteJobsRunnable(jobIds, processEngine);
   }
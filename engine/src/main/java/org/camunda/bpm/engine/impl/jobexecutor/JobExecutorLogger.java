@@ -136,6 +136,11 @@ public class JobExecutorLogger extends ProcessEngineLogger {
         "019", "Exception during job acquisition {}", e.getMessage(), e);
   }
 
+  public void startingToAcquireJobsForEngine(String name, String engineName) {
+    logInfo(
+        "029", "{} starting to acquire jobs for process engine '{}'", name, engineName);
+  }
+
   public void stoppedJobAcquisition(String name) {
     logInfo(
         "020", "{} stopped job acquisition", name);
@@ -192,4 +197,15 @@ public class JobExecutorLogger extends ProcessEngineLogger {
       "Batch window for history cleanup was not calculated. History cleanup job(s) will be suspended.");
   }
 
+  public void virtualThreadsNotSupported(String name) {
+    logWarn(
+      "030",
+      "Virtual threads are not supported by the running JVM. {} falls back to platform threads.", name);
+  }
+
+  public ProcessEngineException exceptionWhileCreatingVirtualThreadExecutor(Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "031", "Exception while creating virtual thread executor: {}", cause.getMessage()), cause);
+  }
+
 }
@@ -29,6 +29,10 @@ public class NotifyAcquisitionRejectedJobsHandler implements RejectedJobsHandler
   @Override
   public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
     AcquireJobsRunnable acquireJobsRunnable = jobExecutor.getAcquireJobsRunnable();
+    if (acquireJobsRunnable instanceof ParallelJobAcquisitionRunnable) {
+      acquireJobsRunnable = ((ParallelJobAcquisitionRunnable) acquireJobsRunnable).getEngineAcquisitionRunnable(processEngine.getName());
+    }
+
     if (acquireJobsRunnable instanceof SequentialJobAcquisitionRunnable) {
       JobAcquisitionContext context = ((SequentialJobAcquisitionRunnable) acquireJobsRunnable).getAcquisitionContext();
       context.submitRejectedBatch(processEngine.getName(), jobIds);
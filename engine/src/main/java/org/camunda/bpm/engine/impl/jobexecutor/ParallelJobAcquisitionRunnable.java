@@ -0,0 +1,148 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>{@link AcquireJobsRunnable} that acquires jobs for every registered process engine
+ * on a dedicated thread.</p>
+ *
+ * <p>
+ *   Unlike the {@link SequentialJobAcquisitionRunnable}, a slow acquisition for one engine
+ *   does not delay the acquisition for the other engines. This runnable only supervises one
+ *   {@link EngineJobAcquisitionRunnable} per engine: it starts them when engines are registered,
+ *   stops them when engines are unregistered and forwards job added notifications.
+ *   Every engine runnable keeps its own {@link JobAcquisitionContext} and backoff state.
+ * </p>
+ */
+public class ParallelJobAcquisitionRunnable extends AcquireJobsRunnable {
+
+  protected final JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  /**
+   * Time to wait between checks for registered and unregistered engines.
+   */
+  public static long ENGINE_REGISTRATION_CHECK_INTERVAL = 1000;
+
+  protected final Map<String, EngineJobAcquisitionRunnable> engineAcquisitionRunnables = new ConcurrentHashMap<String, EngineJobAcquisitionRunnable>();
+  protected final Map<String, Thread> engineAcquisitionThreads = new ConcurrentHashMap<String, Thread>();
+
+  public ParallelJobAcquisitionRunnable(JobExecutor jobExecutor) {
+    super(jobExecutor);
+  }
+
+  public synchronized void run() {
+    LOG.startingToAcquireJobs(jobExecutor.getName());
+
+    while (!isInterrupted) {
+      synchronizeEngineAcquisitions();
+      suspendAcquisition(ENGINE_REGISTRATION_CHECK_INTERVAL);
+    }
+
+    for (String engineName : new HashSet<String>(engineAcquisitionRunnables.keySet())) {
+      stopEngineAcquisition(engineName);
+    }
+
+    LOG.stoppedJobAcquisition(jobExecutor.getName());
+  }
+
+  protected void synchronizeEngineAcquisitions() {
+    Set<String> registeredEngineNames = new HashSet<String>();
+
+    Iterator<ProcessEngineImpl> engineIterator = jobExecutor.engineIterator();
+    while (engineIterator.hasNext()) {
+      ProcessEngineImpl processEngine = engineIterator.next();
+      registeredEngineNames.add(processEngine.getName());
+
+      if (!engineAcquisitionRunnables.containsKey(processEngine.getName())) {
+        startEngineAcquisition(processEngine);
+      }
+    }
+
+    for (String engineName : new HashSet<String>(engineAcquisitionRunnables.keySet())) {
+      if (!registeredEngineNames.contains(engineName)) {
+        stopEngineAcquisition(engineName);
+      }
+    }
+  }
+
+  protected void startEngineAcquisition(ProcessEngineImpl processEngine) {
+    EngineJobAcquisitionRunnable acquisitionRunnable = createEngineAcquisitionRunnable(processEngine);
+    Thread acquisitionThread = new Thread(acquisitionRunnable, jobExecutor.getName() + "[" + processEngine.getName() + "]");
+
+    engineAcquisitionRunnables.put(processEngine.getName(), acquisitionRunnable);
+    engineAcquisitionThreads.put(processEngine.getName(), acquisitionThread);
+
+    acquisitionThread.start();
+  }
+
+  protected EngineJobAcquisitionRunnable createEngineAcquisitionRunnable(ProcessEngineImpl processEngine) {
+    return new EngineJobAcquisitionRunnable(jobExecutor, processEngine);
+  }
+
+  protected void stopEngineAcquisition(String engineName) {
+    EngineJobAcquisitionRunnable acquisitionRunnable = engineAcquisitionRunnables.remove(engineName);
+    Thread acquisitionThread = engineAcquisitionThreads.remove(engineName);
+
+    if (acquisitionRunnable != null) {
+      acquisitionRunnable.stop();
+    }
+
+    if (acquisitionThread != null) {
+      try {
+        acquisitionThread.join();
+      }
+      catch (InterruptedException e) {
+        LOG.interruptedWhileShuttingDownjobExecutor(e);
+      }
+    }
+  }
+
+  @Override
+  public void jobWasAdded() {
+    for (EngineJobAcquisitionRunnable acquisitionRunnable : engineAcquisitionRunnables.values()) {
+      acquisitionRunnable.jobWasAdded();
+    }
+  }
+
+  @Override
+  public boolean isJobAdded() {
+    for (EngineJobAcquisitionRunnable acquisitionRunnable : engineAcquisitionRunnables.values()) {
+      if (acquisitionRunnable.isJobAdded()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the acquisition runnable of the given engine or <code>null</code> if
+   * no acquisition has been started for the engine
+   */
+  public EngineJobAcquisitionRunnable getEngineAcquisitionRunnable(String engineName) {
+    return engineAcquisitionRunnables.get(engineName);
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+/**
+ * <p>{@link BackoffJobAcquisitionStrategy} for the {@link PriorityQueueJobExecutor}.</p>
+ *
+ * <p>Instead of deducting the number of rejected job batches of the previous cycle,
+ * the number of jobs to acquire is limited by the remaining capacity of the executor's queue.
+ * The execution is considered saturated as long as the queue has no capacity left.</p>
+ */
+public class PriorityQueueJobAcquisitionStrategy extends BackoffJobAcquisitionStrategy {
+
+  protected PriorityQueueJobExecutor jobExecutor;
+
+  public PriorityQueueJobAcquisitionStrategy(PriorityQueueJobExecutor jobExecutor) {
+    super(jobExecutor);
+    this.jobExecutor = jobExecutor;
+  }
+
+  @Override
+  protected void reconfigureNumberOfJobsToAcquire(JobAcquisitionContext context) {
+    jobsToAcquire.clear();
+
+    int remainingCapacity = jobExecutor.getRemainingCapacity();
+    int numJobsToAcquire = (int) (baseNumJobsToAcquire * Math.pow(backoffIncreaseFactor, backoffLevel));
+
+    for (String engineName : context.getAcquiredJobsByEngine().keySet()) {
+      jobsToAcquire.put(engineName, Math.min(numJobsToAcquire, remainingCapacity));
+    }
+  }
+
+  @Override
+  protected boolean isExecutionSaturated(JobAcquisitionContext context) {
+    return jobExecutor.getRemainingCapacity() == 0;
+  }
+
+}
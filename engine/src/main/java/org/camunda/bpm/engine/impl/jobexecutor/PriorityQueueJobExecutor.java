@@ -0,0 +1,234 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>{@link JobExecutor} that queues acquired job batches in a bounded priority queue
+ * in front of a fixed number of execution threads.</p>
+ *
+ * <p>Batches are ordered by the highest priority of their jobs (descending), then by
+ * the earliest due date (ascending) and finally by submission order. Priorities are only
+ * meaningful if jobs are acquired by priority (see
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setJobExecutorAcquireByPriority(boolean)}),
+ * otherwise all batches have the default priority.</p>
+ *
+ * <p>When the queue is full, a batch that outranks the lowest ranked queued batch replaces it
+ * and the replaced batch is passed to the {@link RejectedJobsHandler} instead. That way, high
+ * priority jobs never wait behind lower priority jobs that were acquired earlier.</p>
+ *
+ * <p>The job acquisition reads the remaining capacity of the queue directly to
+ * determine how many jobs to acquire, see {@link PriorityQueueJobAcquisitionStrategy}.</p>
+ */
+public class PriorityQueueJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected int queueSize = 10;
+  protected int poolSize = 3;
+
+  protected ThreadPoolExecutor threadPoolExecutor;
+  protected PriorityBlockingQueue<Runnable> jobBatchQueue;
+
+  protected final AtomicLong submissionCounter = new AtomicLong();
+
+  protected void startExecutingJobs() {
+    if (threadPoolExecutor == null || threadPoolExecutor.isShutdown()) {
+      jobBatchQueue = new PriorityBlockingQueue<Runnable>(queueSize);
+      threadPoolExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, jobBatchQueue);
+    }
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+    stopJobAcquisitionThread();
+
+    // Ask the thread pool to finish and exit
+    threadPoolExecutor.shutdown();
+
+    // Waits for 1 minute to finish all currently executing jobs
+    try {
+      if (!threadPoolExecutor.awaitTermination(60L, TimeUnit.SECONDS)) {
+        LOG.timeoutDuringShutdown();
+      }
+    } catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    PrioritizedJobBatch jobBatch = new PrioritizedJobBatch(jobIds, processEngine, getExecuteJobsRunnable(jobIds, processEngine));
+
+    List<PrioritizedJobBatch> rejectedBatches = new ArrayList<PrioritizedJobBatch>();
+
+    synchronized (jobBatchQueue) {
+      if (jobBatchQueue.size() >= queueSize) {
+        PrioritizedJobBatch lowestRankedBatch = findLowestRankedBatch();
+
+        if (lowestRankedBatch != null && jobBatch.compareTo(lowestRankedBatch) < 0 && jobBatchQueue.remove(lowestRankedBatch)) {
+          rejectedBatches.add(lowestRankedBatch);
+        }
+        else {
+          rejectedBatches.add(jobBatch);
+        }
+      }
+
+      if (!rejectedBatches.contains(jobBatch)) {
+        try {
+          threadPoolExecutor.execute(jobBatch);
+        }
+        catch (RejectedExecutionException e) {
+          rejectedBatches.add(jobBatch);
+        }
+      }
+    }
+
+    for (PrioritizedJobBatch rejectedBatch : rejectedBatches) {
+      logRejectedExecution(rejectedBatch.processEngine, rejectedBatch.jobIds.size());
+      rejectedJobsHandler.jobsRejected(rejectedBatch.jobIds, rejectedBatch.processEngine, this);
+    }
+  }
+
+  protected PrioritizedJobBatch findLowestRankedBatch() {
+    PrioritizedJobBatch lowestRankedBatch = null;
+    for (Runnable queuedRunnable : jobBatchQueue) {
+      PrioritizedJobBatch queuedBatch = (PrioritizedJobBatch) queuedRunnable;
+      if (lowestRankedBatch == null || queuedBatch.compareTo(lowestRankedBatch) > 0) {
+        lowestRankedBatch = queuedBatch;
+      }
+    }
+    return lowestRankedBatch;
+  }
+
+  /**
+   * @return the number of job batches waiting for an execution thread
+   */
+  public int getQueueDepth() {
+    PriorityBlockingQueue<Runnable> queue = jobBatchQueue;
+    return queue != null ? queue.size() : 0;
+  }
+
+  /**
+   * @return the number of job batches that can be submitted before the queue is full
+   * (free queue slots and idle execution threads)
+   */
+  public int getRemainingCapacity() {
+    ThreadPoolExecutor executor = threadPoolExecutor;
+    if (executor == null) {
+      return queueSize + poolSize;
+    }
+
+    int idleThreads = Math.max(0, poolSize - executor.getActiveCount());
+    return Math.max(0, queueSize - getQueueDepth()) + idleThreads;
+  }
+
+  public JobAcquisitionStrategy createJobAcquisitionStrategy() {
+    return new PriorityQueueJobAcquisitionStrategy(this);
+  }
+
+  // getters / setters
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public void setQueueSize(int queueSize) {
+    this.queueSize = queueSize;
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  public void setPoolSize(int poolSize) {
+    this.poolSize = poolSize;
+  }
+
+  public ThreadPoolExecutor getThreadPoolExecutor() {
+    return threadPoolExecutor;
+  }
+
+  /**
+   * Queued job batch, ordered by descending priority, ascending due date
+   * (batches that are due immediately first) and submission order.
+   */
+  protected class PrioritizedJobBatch implements Runnable, Comparable<PrioritizedJobBatch> {
+
+    protected final List<String> jobIds;
+    protected final ProcessEngineImpl processEngine;
+    protected final Runnable executeJobsRunnable;
+
+    protected final long priority;
+    protected final Date duedate;
+    protected final long submissionNumber;
+
+    public PrioritizedJobBatch(List<String> jobIds, ProcessEngineImpl processEngine, Runnable executeJobsRunnable) {
+      this.jobIds = jobIds;
+      this.processEngine = processEngine;
+      this.executeJobsRunnable = executeJobsRunnable;
+      this.submissionNumber = submissionCounter.getAndIncrement();
+
+      if (jobIds instanceof AcquiredJobBatch) {
+        AcquiredJobBatch acquiredJobBatch = (AcquiredJobBatch) jobIds;
+        this.priority = acquiredJobBatch.getPriority();
+        this.duedate = acquiredJobBatch.getDuedate();
+      }
+      else {
+        this.priority = DefaultJobPriorityProvider.DEFAULT_PRIORITY;
+        this.duedate = null;
+      }
+    }
+
+    public void run() {
+      executeJobsRunnable.run();
+    }
+
+    public int compareTo(PrioritizedJobBatch other) {
+      if (priority != other.priority) {
+        return priority > other.priority ? -1 : 1;
+      }
+
+      if (duedate == null || other.duedate == null) {
+        if (duedate != other.duedate) {
+          return duedate == null ? -1 : 1;
+        }
+      }
+      else {
+        int duedateComparison = duedate.compareTo(other.duedate);
+        if (duedateComparison != 0) {
+          return duedateComparison;
+        }
+      }
+
+      return submissionNumber < other.submissionNumber ? -1 : (submissionNumber == other.submissionNumber ? 0 : 1);
+    }
+
+  }
+
+}
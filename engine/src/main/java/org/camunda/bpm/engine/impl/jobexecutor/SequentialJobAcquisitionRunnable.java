@@ -63,7 +63,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
       acquisitionContext.setAcquisitionTime(System.currentTimeMillis());
 
 
-      Iterator<ProcessEngineImpl> engineIterator = jobExecutor.engineIterator();
+      Iterator<ProcessEngineImpl> engineIterator = engineIterator();
 
       try {
         while (engineIterator.hasNext()) {
@@ -101,6 +101,13 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     LOG.stoppedJobAcquisition(jobExecutor.getName());
   }
 
+  /**
+   * @return the process engines to acquire jobs for in one acquisition cycle
+   */
+  protected Iterator<ProcessEngineImpl> engineIterator() {
+    return jobExecutor.engineIterator();
+  }
+
   protected JobAcquisitionContext initializeAcquisitionContext() {
     return new JobAcquisitionContext();
   }
@@ -115,7 +122,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
   }
 
   protected JobAcquisitionStrategy initializeAcquisitionStrategy() {
-    return new BackoffJobAcquisitionStrategy(jobExecutor);
+    return jobExecutor.createJobAcquisitionStrategy();
   }
 
   public JobAcquisitionContext getAcquisitionContext() {
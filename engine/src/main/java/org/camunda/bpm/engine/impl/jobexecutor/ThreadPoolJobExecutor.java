@@ -30,26 +30,64 @@ public class ThreadPoolJobExecutor extends JobExecutor {
 
   protected ThreadPoolExecutor threadPoolExecutor;
 
+  /**
+   * Fair share of the thread pool per process engine, only used with
+   * {@link #isParallelEngineAcquisition() parallel engine acquisition}.
+   */
+  protected FairShareJobExecutionAdmission executionAdmission;
+
   protected void startExecutingJobs() {
+    if (parallelEngineAcquisition) {
+      executionAdmission = new FairShareJobExecutionAdmission(this, getThreadPoolCapacity());
+    }
     startJobAcquisitionThread();
   }
 
   protected void stopExecutingJobs() {
     stopJobAcquisitionThread();
+    executionAdmission = null;
   }
 
   public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    FairShareJobExecutionAdmission admission = executionAdmission;
+    if (admission != null && !admission.tryAdmit(processEngine.getName())) {
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+      return;
+    }
+
     try {
-      threadPoolExecutor.execute(getExecuteJobsRunnable(jobIds, processEngine));
+      Runnable executeJobsRunnable = getExecuteJobsRunnable(jobIds, processEngine);
+      if (admission != null) {
+        executeJobsRunnable = admission.wrap(processEngine.getName(), executeJobsRunnable);
+      }
+
+      threadPoolExecutor.execute(executeJobsRunnable);
 
     } catch (RejectedExecutionException e) {
 
+      if (admission != null) {
+        admission.release(processEngine.getName());
+      }
+
       logRejectedExecution(processEngine, jobIds.size());
       rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
 
     }
   }
 
+  /**
+   * @return the number of job batches the thread pool can accept
+   * at the same time (executing and queued)
+   */
+  protected int getThreadPoolCapacity() {
+    // unbounded queues report Integer.MAX_VALUE as remaining capacity
+    long capacity = (long) threadPoolExecutor.getMaximumPoolSize()
+        + threadPoolExecutor.getQueue().size()
+        + threadPoolExecutor.getQueue().remainingCapacity();
+    return (int) Math.min(capacity, Integer.MAX_VALUE);
+  }
+
   // getters / setters
 
   public ThreadPoolExecutor getThreadPoolExecutor() {
@@ -60,4 +98,8 @@ public class ThreadPoolJobExecutor extends JobExecutor {
     this.threadPoolExecutor = threadPoolExecutor;
   }
 
+  public FairShareJobExecutionAdmission getExecutionAdmission() {
+    return executionAdmission;
+  }
+
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>{@link JobExecutor} that executes every acquired job batch on its own
+ * virtual thread when running on a JVM that supports virtual threads (Java 21+).
+ * On older JVMs, an unbounded pool of platform threads is used instead.</p>
+ *
+ * <p>Since threads are not a scarce resource anymore, the number of concurrently
+ * executed batches is limited by a semaphore with {@link #getMaxConcurrentJobBatches()}
+ * permits. A batch executes its jobs one after another and uses one database connection
+ * at a time, so the limit should be aligned with the capacity of the datasource rather
+ * than with a number of threads. Batches that exceed the limit are passed to the
+ * {@link RejectedJobsHandler}, just like batches rejected by a full thread pool.</p>
+ *
+ * <p>This allows jobs that block on I/O (e.g. HTTP calls of connectors) to wait
+ * without occupying a platform thread.</p>
+ */
+public class VirtualThreadJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected int maxConcurrentJobBatches = 10;
+
+  protected ExecutorService executorService;
+  protected Semaphore executionPermits;
+
+  /**
+   * Fair share of the concurrent job batches per process engine, only used with
+   * {@link #isParallelEngineAcquisition() parallel engine acquisition}.
+   */
+  protected FairShareJobExecutionAdmission executionAdmission;
+
+  protected void startExecutingJobs() {
+    if (executorService == null || executorService.isShutdown()) {
+      executorService = createExecutorService();
+    }
+
+    executionPermits = new Semaphore(maxConcurrentJobBatches);
+
+    if (parallelEngineAcquisition) {
+      executionAdmission = new FairShareJobExecutionAdmission(this, maxConcurrentJobBatches);
+    }
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+    stopJobAcquisitionThread();
+    executionAdmission = null;
+
+    executorService.shutdown();
+
+    // Waits for 1 minute to finish all currently executing jobs
+    try {
+      if (!executorService.awaitTermination(60L, TimeUnit.SECONDS)) {
+        LOG.timeoutDuringShutdown();
+      }
+    } catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    FairShareJobExecutionAdmission admission = executionAdmission;
+    if (admission != null && !admission.tryAdmit(processEngine.getName())) {
+      rejectJobs(jobIds, processEngine);
+      return;
+    }
+
+    final Semaphore permits = executionPermits;
+    if (!permits.tryAcquire()) {
+      if (admission != null) {
+        admission.release(processEngine.getName());
+      }
+      rejectJobs(jobIds, processEngine);
+      return;
+    }
+
+    try {
+      Runnable executeJobsRunnable = getExecuteJobsRunnable(jobIds, processEngine);
+      if (admission != null) {
+        executeJobsRunnable = admission.wrap(processEngine.getName(), executeJobsRunnable);
+      }
+
+      final Runnable runnable = executeJobsRunnable;
+      executorService.execute(new Runnable() {
+        public void run() {
+          try {
+            runnable.run();
+          }
+          finally {
+            permits.release();
+          }
+        }
+      });
+
+    } catch (RejectedExecutionException e) {
+      permits.release();
+
+      if (admission != null) {
+        admission.release(processEngine.getName());
+      }
+
+      rejectJobs(jobIds, processEngine);
+    }
+  }
+
+  protected void rejectJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    logRejectedExecution(processEngine, jobIds.size());
+    rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread per job batch. The executor
+   * is looked up reflectively, so that the engine can still be built and run on older JVMs.
+   */
+  protected ExecutorService createExecutorService() {
+    Method factoryMethod;
+    try {
+      factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      LOG.virtualThreadsNotSupported(getName());
+      return Executors.newCachedThreadPool();
+    }
+
+    try {
+      return (ExecutorService) factoryMethod.invoke(null);
+    } catch (Exception e) {
+      throw LOG.exceptionWhileCreatingVirtualThreadExecutor(e);
+    }
+  }
+
+  /**
+   * @return the number of job batches that are currently executed
+   */
+  public int getExecutingJobBatches() {
+    Semaphore permits = executionPermits;
+    return permits != null ? maxConcurrentJobBatches - permits.availablePermits() : 0;
+  }
+
+  // getters / setters
+
+  public int getMaxConcurrentJobBatches() {
+    return maxConcurrentJobBatches;
+  }
+
+  /**
+   * Sets the number of job batches that are executed at the same time. Takes
+   * effect when the job executor is started the next time.
+   */
+  public void setMaxConcurrentJobBatches(int maxConcurrentJobBatches) {
+    this.maxConcurrentJobBatches = maxConcurrentJobBatches;
+  }
+
+  public ExecutorService getExecutorService() {
+    return executorService;
+  }
+
+  public void setExecutorService(ExecutorService executorService) {
+    this.executorService = executorService;
+  }
+
+  public FairShareJobExecutionAdmission getExecutionAdmission() {
+    return executionAdmission;
+  }
+
+}
@@ -45,6 +45,7 @@ public abstract class HistoryCleanupHandler implements TransactionListener {
 
         Map<String, Long> report = reportMetrics();
         boolean isRescheduleNow = shouldRescheduleNow();
+        adaptBatchSize();
 
         new HistoryCleanupSchedulerCmd(isRescheduleNow, report, configuration, jobId).execute(commandContext);
 
@@ -59,6 +60,14 @@ public abstract class HistoryCleanupHandler implements TransactionListener {
 
   abstract boolean shouldRescheduleNow();
 
+  /**
+   * Called after the cleanup transaction has been committed to adjust the batch size
+   * of the next run. The adapted size must be stored in the {@link #configuration}.
+   */
+  void adaptBatchSize() {
+    // the batch size is fixed by default
+  }
+
   public HistoryCleanupJobHandlerConfiguration getConfiguration() {
     return configuration;
   }
@@ -20,11 +20,14 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchEntity;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TableDataManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.management.Metrics;
 
@@ -35,7 +38,14 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
 
   protected Map<Class<? extends DbEntity>, DbOperation> deleteOperations = new HashMap<>();
 
+  protected boolean isCleanupPerformed = false;
+  protected long cleanupStartTime;
+  protected long cleanupDurationInMicros = -1;
+
   public void performCleanup() {
+    isCleanupPerformed = true;
+    cleanupStartTime = System.nanoTime();
+
     deleteOperations.putAll(performProcessCleanup());
 
     if (isDmnEnabled()) {
@@ -71,6 +81,19 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
             configuration.getMinuteFrom(), configuration.getMinuteTo(), getBatchSize());
   }
 
+  @Override
+  public void execute(CommandContext commandContext) {
+    if (isCleanupPerformed) {
+      // the delete statements are flushed on commit, so the duration spans until the transaction is committed
+      cleanupDurationInMicros = (System.nanoTime() - cleanupStartTime) / 1000;
+      commandContext.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .recordValue(Metrics.HISTORY_CLEANUP_EXECUTION_TIME, cleanupDurationInMicros);
+    }
+
+    super.execute(commandContext);
+  }
+
   protected Map<String, Long> reportMetrics() {
     Map<String, Long> reports = new HashMap<>();
 
@@ -89,9 +112,36 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
       reports.put(Metrics.HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS, (long) deleteOperationBatch.getRowsAffected());
     }
 
+    if (isTableMetricsEnabled()) {
+      reportTableMetrics(reports);
+    }
+
     return reports;
   }
 
+  protected void reportTableMetrics(Map<String, Long> reports) {
+    TableDataManager tableDataManager = Context
+        .getCommandContext()
+        .getTableDataManager();
+
+    for (DbOperation deleteOperation : deleteOperations.values()) {
+      String tableName = tableDataManager.getTableName(deleteOperation.getEntityType(), false);
+      if (tableName != null) {
+        String metricName = Metrics.HISTORY_CLEANUP_REMOVED_ROWS_PREFIX + tableName.toLowerCase();
+        long rowsAffected = deleteOperation.getRowsAffected();
+
+        Long reportedRows = reports.get(metricName);
+        reports.put(metricName, reportedRows == null ? rowsAffected : reportedRows + rowsAffected);
+      }
+    }
+  }
+
+  protected boolean isTableMetricsEnabled() {
+    return Context
+        .getProcessEngineConfiguration()
+        .isHistoryCleanupTableMetricsEnabled();
+  }
+
   protected boolean isDmnEnabled() {
     return Context
         .getProcessEngineConfiguration()
@@ -110,10 +160,42 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
     return false;
   }
 
+  /**
+   * Halves the batch size if the last run took longer than the configured latency target and
+   * doubles it if the batch was full and the run took less than half of the target.
+   */
+  protected void adaptBatchSize() {
+    ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
+
+    if (!engineConfiguration.isHistoryCleanupBatchSizeAdaptive() || cleanupDurationInMicros < 0) {
+      return;
+    }
+
+    long latencyTargetInMicros = engineConfiguration.getHistoryCleanupBatchLatencyTarget() * 1000;
+    int batchSize = getBatchSize();
+    int nextBatchSize = batchSize;
+
+    if (cleanupDurationInMicros > latencyTargetInMicros) {
+      nextBatchSize = batchSize / 2;
+
+    } else if (cleanupDurationInMicros < latencyTargetInMicros / 2 && shouldRescheduleNow()) {
+      nextBatchSize = batchSize * 2;
+
+    }
+
+    nextBatchSize = Math.max(1, Math.min(nextBatchSize, engineConfiguration.getHistoryCleanupMaxAdaptiveBatchSize()));
+
+    configuration.setBatchSize(nextBatchSize);
+  }
+
   public int getBatchSize() {
-    return Context
-        .getProcessEngineConfiguration()
-        .getHistoryCleanupBatchSize();
+    ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
+
+    if (engineConfiguration.isHistoryCleanupBatchSizeAdaptive() && configuration.getBatchSize() > 0) {
+      return configuration.getBatchSize();
+    }
+
+    return engineConfiguration.getHistoryCleanupBatchSize();
   }
 
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ELException;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.javax.el.ValueReference;
+
+/**
+ * Value expression which is evaluated by a compiled node tree instead of the parse tree.
+ * All operations except {@link #getValue(ELContext)} are delegated to the tree value expression.
+ */
+public final class CompiledValueExpression extends ValueExpression {
+	private static final long serialVersionUID = 1L;
+
+	private final TreeValueExpression expression;
+	private final transient CompiledNode node;
+
+	public CompiledValueExpression(TreeValueExpression expression, CompiledNode node) {
+		this.expression = expression;
+		this.node = node;
+	}
+
+	@Override
+	public Object getValue(ELContext context) throws ELException {
+		Object value = node.eval(expression.getBindings(), context);
+		Class<?> type = expression.getExpectedType();
+		if (type != null) {
+			value = expression.getBindings().convert(value, type);
+		}
+		return value;
+	}
+
+	@Override
+	public Class<?> getType(ELContext context) throws ELException {
+		return expression.getType(context);
+	}
+
+	@Override
+	public boolean isReadOnly(ELContext context) throws ELException {
+		return expression.isReadOnly(context);
+	}
+
+	@Override
+	public void setValue(ELContext context, Object value) throws ELException {
+		expression.setValue(context, value);
+	}
+
+	@Override
+	public ValueReference getValueReference(ELContext context) {
+		return expression.getValueReference(context);
+	}
+
+	@Override
+	public Class<?> getExpectedType() {
+		return expression.getExpectedType();
+	}
+
+	@Override
+	public String getExpressionString() {
+		return expression.getExpressionString();
+	}
+
+	@Override
+	public boolean isLiteralText() {
+		return expression.isLiteralText();
+	}
+
+	public TreeValueExpression getTreeValueExpression() {
+		return expression;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof CompiledValueExpression) {
+			return expression.equals(((CompiledValueExpression) obj).expression);
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return expression.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "CompiledValueExpression(" + expression.getExpressionString() + ")";
+	}
+
+	/**
+	 * The compiled node tree is not serializable, so the tree value expression is serialized instead.
+	 */
+	private Object writeReplace() {
+		return expression;
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent approximate LRU cache.
+ * Entries are distributed over independent segments by the hash of the expression. Lookups
+ * do not lock; they only mark the entry as recently used. Adding an entry locks its segment and,
+ * once the segment is full, removes the segment's least recently used entry.
+ * Other than {@link Cache}, evicted trees are dropped instead of moved to a secondary map.
+ */
+public final class ConcurrentCache implements TreeCache {
+	private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+	private static final int MIN_SEGMENT_SIZE = 16;
+
+	private final Segment[] segments;
+	private final int segmentMask;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * @param size maximum cache size
+	 */
+	public ConcurrentCache(int size) {
+		this(size, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/**
+	 * Constructor.
+	 * @param size maximum cache size
+	 * @param concurrencyLevel maximum number of segments
+	 */
+	public ConcurrentCache(int size, int concurrencyLevel) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive");
+		}
+		int segmentCount = 1;
+		while (segmentCount < concurrencyLevel && segmentCount * 2 * MIN_SEGMENT_SIZE <= size) {
+			segmentCount <<= 1;
+		}
+		this.segments = new Segment[segmentCount];
+		this.segmentMask = segmentCount - 1;
+
+		int segmentSize = size / segmentCount;
+		int remainder = size % segmentCount;
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment(i < remainder ? segmentSize + 1 : segmentSize);
+		}
+	}
+
+	public Tree get(String expression) {
+		Tree tree = segmentFor(expression).get(expression);
+		if (tree == null) {
+			missCount.increment();
+		} else {
+			hitCount.increment();
+		}
+		return tree;
+	}
+
+	public void put(String expression, Tree tree) {
+		segmentFor(expression).put(expression, tree);
+	}
+
+	/**
+	 * @return the number of lookups that found a cached tree
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return the number of lookups that did not find a cached tree
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * @return the number of cached trees
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.entries.size();
+		}
+		return size;
+	}
+
+	private Segment segmentFor(String expression) {
+		int hash = expression.hashCode();
+		hash ^= (hash >>> 16);
+		return segments[hash & segmentMask];
+	}
+
+	private static final class Segment {
+		private final Map<String,Entry> entries = new ConcurrentHashMap<String,Entry>();
+		private final int capacity;
+
+		// advanced on every put; lookups stamp entries with the current value
+		private final AtomicLong clock = new AtomicLong();
+
+		Segment(int capacity) {
+			this.capacity = capacity;
+		}
+
+		Tree get(String expression) {
+			Entry entry = entries.get(expression);
+			if (entry == null) {
+				return null;
+			}
+			long now = clock.get();
+			if (entry.lastAccess != now) {
+				// avoid the write if the entry is already marked
+				entry.lastAccess = now;
+			}
+			return entry.tree;
+		}
+
+		synchronized void put(String expression, Tree tree) {
+			entries.put(expression, new Entry(tree, clock.incrementAndGet()));
+			// entries looked up from now on rank above the added one
+			clock.incrementAndGet();
+			if (entries.size() > capacity) {
+				evictLeastRecentlyUsed(expression);
+			}
+		}
+
+		private void evictLeastRecentlyUsed(String addedExpression) {
+			String eldest = null;
+			long eldestAccess = Long.MAX_VALUE;
+			for (Map.Entry<String,Entry> entry : entries.entrySet()) {
+				if (entry.getValue().lastAccess < eldestAccess && !entry.getKey().equals(addedExpression)) {
+					eldest = entry.getKey();
+					eldestAccess = entry.getValue().lastAccess;
+				}
+			}
+			if (eldest != null) {
+				entries.remove(eldest);
+			}
+		}
+	}
+
+	private static final class Entry {
+		private final Tree tree;
+		private volatile long lastAccess;
+
+		Entry(Tree tree, long lastAccess) {
+			this.tree = tree;
+			this.lastAccess = lastAccess;
+		}
+	}
+}
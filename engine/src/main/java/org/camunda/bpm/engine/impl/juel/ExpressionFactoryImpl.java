@@ -58,6 +58,9 @@ import org.camunda.bpm.engine.impl.juel.Builder.Feature;
  * <li>
  * <code>javax.el.cacheSize</code> - cache size (int, default is 1000)</li>
  * <li>
+ * <code>javax.el.concurrentCache</code> - use a {@link ConcurrentCache} with lock-free lookups
+ * instead of the synchronized {@link Cache} (boolean, default is <code>false</code>).</li>
+ * <li>
  * <code>javax.el.methodInvocations</code> - allow method invocations as in
  * <code>${foo.bar(baz)}</code> (boolean, default is <code>false</code>).</li>
  * <li>
@@ -124,6 +127,11 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 	 */
 	public static final String PROP_CACHE_SIZE = "javax.el.cacheSize";
 
+	/**
+	 * <code>javax.el.concurrentCache</code>
+	 */
+	public static final String PROP_CONCURRENT_CACHE = "javax.el.concurrentCache";
+
 	private final TreeStore store;
 	private final TypeConverter converter;
 
@@ -304,7 +312,8 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 	 * Create the factory's tree store. This implementation creates a new tree store using the
 	 * default builder and cache implementations. The builder and cache are configured using the
 	 * specified properties. The maximum cache size will be as specified unless overridden by
-	 * property <code>javax.el.cacheSize</code>.
+	 * property <code>javax.el.cacheSize</code>. A {@link ConcurrentCache} is used if property
+	 * <code>javax.el.concurrentCache</code> is <code>true</code>.
 	 */
 	protected TreeStore createTreeStore(int defaultCacheSize, Profile profile, Properties properties) {
 		// create builder
@@ -334,7 +343,14 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 				throw new ELException("Cannot parse EL property " + PROP_CACHE_SIZE, e);
 			}
 		}
-		Cache cache = cacheSize > 0 ? new Cache(cacheSize) : null;
+		TreeCache cache = null;
+		if (cacheSize > 0) {
+			if (properties != null && Boolean.valueOf(properties.getProperty(PROP_CONCURRENT_CACHE))) {
+				cache = new ConcurrentCache(cacheSize);
+			} else {
+				cache = new Cache(cacheSize);
+			}
+		}
 
 		return new TreeStore(builder, cache);
 	}
@@ -0,0 +1,365 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+
+/**
+ * Compiles the parse tree of a {@link TreeValueExpression} into a tree of {@link CompiledNode}s.
+ * Compiled nodes evaluate their children directly instead of dispatching through the operators
+ * of the parse tree, fold literals into constants and use primitive arithmetic and comparison
+ * if both operands are simple integer or floating point numbers. All other operands are handled
+ * by {@link NumberOperations} and {@link BooleanOperations}, so the result is the same as the one
+ * of the interpreter. Nodes which are not supported are evaluated by the parse tree itself.
+ */
+public class TreeCompiler {
+
+	/**
+	 * Compile the given expression.
+	 * @param expression the expression to compile
+	 * @return a {@link CompiledValueExpression} or the given expression if it cannot be compiled
+	 */
+	public ValueExpression compile(ValueExpression expression) {
+		if (!(expression instanceof TreeValueExpression)) {
+			return expression;
+		}
+		TreeValueExpression treeExpression = (TreeValueExpression) expression;
+		ExpressionNode root = treeExpression.getNode();
+		if (!(root instanceof AstEval)) {
+			// literal text or composite expression
+			return expression;
+		}
+		CompiledNode node = compile(((AstEval) root).getChild(0));
+		if (node instanceof InterpretedNode) {
+			return expression;
+		}
+		return new CompiledValueExpression(treeExpression, node);
+	}
+
+	protected CompiledNode compile(AstNode node) {
+		if (node instanceof AstNested) {
+			return compile(((AstNested) node).getChild(0));
+		}
+		if (node instanceof AstNumber || node instanceof AstString || node instanceof AstBoolean || node instanceof AstNull) {
+			return new ConstantNode(node.eval(null, null));
+		}
+		if (node instanceof AstIdentifier) {
+			return compileIdentifier((AstIdentifier) node);
+		}
+		if (node instanceof AstBinary) {
+			return compileBinary((AstBinary) node);
+		}
+		if (node instanceof AstUnary) {
+			return compileUnary((AstUnary) node);
+		}
+		if (node instanceof AstChoice) {
+			AstChoice choice = (AstChoice) node;
+			return new ChoiceNode(compile(choice.getChild(0)), compile(choice.getChild(1)), compile(choice.getChild(2)));
+		}
+		return new InterpretedNode(node);
+	}
+
+	/**
+	 * Identifiers are resolved by the {@link ELContext}, so they are interpreted by default.
+	 */
+	protected CompiledNode compileIdentifier(AstIdentifier node) {
+		return new InterpretedNode(node);
+	}
+
+	protected CompiledNode compileBinary(AstBinary node) {
+		AstBinary.Operator operator = node.getOperator();
+		CompiledNode left = compile(node.getChild(0));
+		CompiledNode right = compile(node.getChild(1));
+
+		if (operator == AstBinary.AND) {
+			return new AndNode(left, right);
+		}
+		if (operator == AstBinary.OR) {
+			return new OrNode(left, right);
+		}
+		if (operator == AstBinary.ADD || operator == AstBinary.SUB || operator == AstBinary.MUL) {
+			return new ArithmeticNode((AstBinary.SimpleOperator) operator, left, right);
+		}
+		if (operator == AstBinary.EQ || operator == AstBinary.NE || operator == AstBinary.LT
+				|| operator == AstBinary.LE || operator == AstBinary.GT || operator == AstBinary.GE) {
+			return new ComparisonNode((AstBinary.SimpleOperator) operator, left, right);
+		}
+		if (operator instanceof AstBinary.SimpleOperator) {
+			return new BinaryNode((AstBinary.SimpleOperator) operator, left, right);
+		}
+		return new InterpretedNode(node);
+	}
+
+	protected CompiledNode compileUnary(AstUnary node) {
+		AstUnary.Operator operator = node.getOperator();
+		CompiledNode child = compile(node.getChild(0));
+
+		if (operator == AstUnary.NOT) {
+			return new NotNode(child);
+		}
+		if (operator instanceof AstUnary.SimpleOperator) {
+			return new UnaryNode((AstUnary.SimpleOperator) operator, child);
+		}
+		return new InterpretedNode(node);
+	}
+
+	static boolean isSimpleInteger(Object value) {
+		return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+	}
+
+	static boolean isSimpleNumber(Object value) {
+		return isSimpleInteger(value) || value instanceof Double || value instanceof Float;
+	}
+
+	static Boolean toBoolean(Bindings bindings, Object value) {
+		return value instanceof Boolean ? (Boolean) value : bindings.convert(value, Boolean.class);
+	}
+
+	/**
+	 * Evaluates a node of the parse tree.
+	 */
+	public static class InterpretedNode extends CompiledNode {
+		private final AstNode node;
+
+		public InterpretedNode(AstNode node) {
+			this.node = node;
+		}
+
+		@Override
+		public Object eval(Bindings bindings, ELContext context) {
+			return node.eval(bindings, context);
+		}
+	}
+
+	static class ConstantNode extends CompiledNode {
+		private final Object value;
+
+		ConstantNode(Object value) {
+			this.value = value;
+		}
+
+		@Override
+		public Object eval(Bindings bindings, ELContext context) {
+			return value;
+		}
+	}
+
+	static class AndNode extends CompiledNode {
+		private final CompiledNode left, right;
+
+		AndNode(CompiledNode left, CompiledNode right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public Object eval(Bindings bindings, ELContext context) {
+			Boolean l = toBoolean(bindings, left.eval(bindings, context));
+			return Boolean.TRUE.equals(l) ? toBoolean(bindings, right.eval(bindings, context)) : Boolean.FALSE;
+		}
+	}
+
+	static class OrNode extends CompiledNode {
+		private final CompiledNode left, right;
+
+		OrNode(CompiledNode left, CompiledNode right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public Object eval(Bindings bindings, ELContext context) {
+			Boolean l = toBoolean(bindings, left.eval(bindings, context));
+			return Boolean.TRUE.equals(l) ? Boolean.TRUE : toBoolean(bindings, right.eval(bindings, context));
+		}
+	}
+
+	static class BinaryNode extends CompiledNode {
+		protected final AstBinary.SimpleOperator operator;
+		protected final CompiledNode left, right;
+
+		BinaryNode(AstBinary.SimpleOperator operator, CompiledNode left, CompiledNode right) {
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public Object eval(Bindings bindings, ELContext context) {
+			return apply(bindings, left.eval(bindings, context), right.eval(bindings, context));
+		}
+
+		protected Object apply(Bindings bindings, Object o1, Object o2) {
+			return operator.apply(bindings, o1, o2);
+		}
+	}
+
+	static class ArithmeticNode extends BinaryNode {
+
+		ArithmeticNode(AstBinary.SimpleOperator operator, CompiledNode left, CompiledNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		protected Object apply(Bindings bindings, Object o1, Object o2) {
+			if (isSimpleInteger(o1) && isSimpleInteger(o2)) {
+				long l1 = ((Number) o1).longValue();
+				long l2 = ((Number) o2).longValue();
+				if (operator == AstBinary.ADD) {
+					return l1 + l2;
+				} else if (operator == AstBinary.SUB) {
+					return l1 - l2;
+				} else {
+					return l1 * l2;
+				}
+			}
+			if (isSimpleNumber(o1) && isSimpleNumber(o2)) {
+				double d1 = ((Number) o1).doubleValue();
+				double d2 = ((Number) o2).doubleValue();
+				if (operator == AstBinary.ADD) {
+					return d1 + d2;
+				} else if (operator == AstBinary.SUB) {
+					return d1 - d2;
+				} else {
+					return d1 * d2;
+				}
+			}
+			return super.apply(bindings, o1, o2);
+		}
+	}
+
+	static class ComparisonNode extends BinaryNode {
+
+		ComparisonNode(AstBinary.SimpleOperator operator, CompiledNode left, CompiledNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		protected Object apply(Bindings bindings, Object o1, Object o2) {
+			// identical and null operands are handled by BooleanOperations
+			if (o1 != o2 && o1 != null && o2 != null) {
+				if (isSimpleInteger(o1) && isSimpleInteger(o2)) {
+					return compare(((Number) o1).longValue(), ((Number) o2).longValue());
+				}
+				if (isSimpleNumber(o1) && isSimpleNumber(o2)) {
+					return compare(((Number) o1).doubleValue(), ((Number) o2).doubleValue());
+				}
+				if (o1 instanceof String && o2 instanceof String) {
+					return compare((String) o1, (String) o2);
+				}
+			}
+			return super.apply(bindings, o1, o2);
+		}
+
+		protected Boolean compare(long l1, long l2) {
+			if (operator == AstBinary.EQ) {
+				return l1 == l2;
+			} else if (operator == AstBinary.NE) {
+				return l1 != l2;
+			} else if (operator == AstBinary.LT) {
+				return l1 < l2;
+			} else if (operator == AstBinary.LE) {
+				return l1 <= l2;
+			} else if (operator == AstBinary.GT) {
+				return l1 > l2;
+			} else {
+				return l1 >= l2;
+			}
+		}
+
+		protected Boolean compare(double d1, double d2) {
+			if (operator == AstBinary.EQ) {
+				// same as Double#equals, which is used by the interpreter
+				return Double.doubleToLongBits(d1) == Double.doubleToLongBits(d2);
+			} else if (operator == AstBinary.NE) {
+				return Double.doubleToLongBits(d1) != Double.doubleToLongBits(d2);
+			} else if (operator == AstBinary.LT) {
+				return d1 < d2;
+			} else if (operator == AstBinary.LE) {
+				// the interpreter evaluates 'a <= b' as '!(a > b)'
+				return !(d1 > d2);
+			} else if (operator == AstBinary.GT) {
+				return d1 > d2;
+			} else {
+				return !(d1 < d2);
+			}
+		}
+
+		protected Boolean compare(String s1, String s2) {
+			if (operator == AstBinary.EQ) {
+				return s1.equals(s2);
+			} else if (operator == AstBinary.NE) {
+				return !s1.equals(s2);
+			}
+			int result = s1.compareTo(s2);
+			if (operator == AstBinary.LT) {
+				return result < 0;
+			} else if (operator == AstBinary.LE) {
+				return result <= 0;
+			} else if (operator == AstBinary.GT) {
+				return result > 0;
+			} else {
+				return result >= 0;
+			}
+		}
+	}
+
+	static class NotNode extends CompiledNode {
+		private final CompiledNode child;
+
+		NotNode(CompiledNode child) {
+			this.child = child;
+		}
+
+		@Override
+		public Object eval(Bindings bindings, ELContext context) {
+			return !toBoolean(bindings, child.eval(bindings, context));
+		}
+	}
+
+	static class UnaryNode extends CompiledNode {
+		private final AstUnary.SimpleOperator operator;
+		private final CompiledNode child;
+
+		UnaryNode(AstUnary.SimpleOperator operator, CompiledNode child) {
+			this.operator = operator;
+			this.child = child;
+		}
+
+		@Override
+		public Object eval(Bindings bindings, ELContext context) {
+			return operator.apply(bindings, child.eval(bindings, context));
+		}
+	}
+
+	static class ChoiceNode extends CompiledNode {
+		private final CompiledNode question, yes, no;
+
+		ChoiceNode(CompiledNode question, CompiledNode yes, CompiledNode no) {
+			this.question = question;
+			this.yes = yes;
+			this.no = no;
+		}
+
+		@Override
+		public Object eval(Bindings bindings, ELContext context) {
+			Boolean value = bindings.convert(question.eval(bindings, context), Boolean.class);
+			return value.booleanValue() ? yes.eval(bindings, context) : no.eval(bindings, context);
+		}
+	}
+}
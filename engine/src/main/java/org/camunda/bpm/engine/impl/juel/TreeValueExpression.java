@@ -85,6 +85,14 @@ public final class TreeValueExpression extends org.camunda.bpm.engine.impl.javax
 		return type;
 	}
 
+	ExpressionNode getNode() {
+		return node;
+	}
+
+	Bindings getBindings() {
+		return bindings;
+	}
+
 	@Override
 	public String getExpressionString() {
 		return expr;
@@ -0,0 +1,142 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.MetricHistogram;
+
+/**
+ * Records the distribution of non-negative values (e.g. latencies in microseconds)
+ * in log-linear buckets, similar to an HDR histogram: each power of two is split into
+ * {@value #SUB_BUCKET_COUNT} linear sub buckets, so that every bucket covers a range
+ * of about 3% of its values. Values up to 2^{@value #MAX_EXPONENT} are tracked,
+ * higher values are counted in the last bucket.
+ *
+ * <p>Recording a value does not allocate and does not block. The recorded values are
+ * cleared whenever a reporting interval is completed by {@link #completeInterval()}.</p>
+ *
+ * @see MetricsRegistry#recordValue(String, long)
+ */
+public class Histogram {
+
+  protected static final int SUB_BUCKET_BITS = 5;
+  protected static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  protected static final int MAX_EXPONENT = 47;
+  protected static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+  protected String name;
+
+  protected AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  protected LongAdder sum = new LongAdder();
+  protected AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+  protected AtomicLong max = new AtomicLong(0);
+
+  protected Date intervalStartTime;
+  protected volatile MetricHistogram lastInterval;
+
+  public Histogram(String name) {
+    this.name = name;
+    this.intervalStartTime = ClockUtil.getCurrentTime();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void recordValue(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+
+    buckets.incrementAndGet(getBucketIndex(value));
+    sum.add(value);
+
+    long currentMin = min.get();
+    while (value < currentMin && !min.compareAndSet(currentMin, value)) {
+      currentMin = min.get();
+    }
+
+    long currentMax = max.get();
+    while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+      currentMax = max.get();
+    }
+  }
+
+  /**
+   * Completes the current reporting interval: takes a snapshot of the recorded
+   * values and starts recording a new interval.
+   *
+   * @return the snapshot of the completed interval
+   */
+  public synchronized MetricHistogram completeInterval() {
+    long[] counts = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] = buckets.getAndSet(i, 0);
+    }
+
+    Date intervalEndTime = ClockUtil.getCurrentTime();
+
+    MetricHistogramImpl snapshot = new MetricHistogramImpl(name, intervalStartTime, intervalEndTime,
+        counts, sum.sumThenReset(), min.getAndSet(Long.MAX_VALUE), max.getAndSet(0));
+
+    intervalStartTime = intervalEndTime;
+    lastInterval = snapshot;
+
+    return snapshot;
+  }
+
+  /**
+   * @return the snapshot of the last completed reporting interval or
+   *   <code>null</code> if no interval was completed yet
+   */
+  public MetricHistogram getLastInterval() {
+    return lastInterval;
+  }
+
+  public static int getBucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent > MAX_EXPONENT) {
+      return BUCKET_COUNT - 1;
+    }
+
+    int shift = exponent - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+  }
+
+  /**
+   * @return the highest value which is counted in the bucket with the given index
+   */
+  public static long getBucketUpperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+}
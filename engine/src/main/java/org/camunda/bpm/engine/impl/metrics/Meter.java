@@ -16,17 +16,21 @@
  */
 package org.camunda.bpm.engine.impl.metrics;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * A Meter implementation based on AtomicLong
+ * A Meter implementation based on a striped {@link LongAdder}, so that concurrent
+ * markers do not contend on a single memory location.
  *
  * @author Daniel Meyer
  *
  */
 public class Meter {
 
-  protected AtomicLong counter = new AtomicLong(0);
+  protected LongAdder counter = new LongAdder();
+
+  /** sum of the counter at the time it was last cleared */
+  protected long clearedSum = 0;
 
   protected String name;
 
@@ -35,11 +39,11 @@ public class Meter {
   }
 
   public void mark() {
-    counter.incrementAndGet();
+    counter.increment();
   }
 
   public void markTimes(long times) {
-    counter.addAndGet(times);
+    counter.add(times);
   }
 
   public String getName() {
@@ -50,12 +54,17 @@ public class Meter {
     this.name = name;
   }
 
-  public long getAndClear() {
-    return counter.getAndSet(0);
+  public synchronized long getAndClear() {
+    // the counter itself is never reset: occurrences which are concurrently
+    // marked while summing up are reported with the next invocation instead of being lost
+    long sum = counter.sum();
+    long value = sum - clearedSum;
+    clearedSum = sum;
+    return value;
   }
 
-  public long get() {
-    return counter.get();
+  public synchronized long get() {
+    return counter.sum() - clearedSum;
   }
 
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.management.MetricHistogram;
+
+/**
+ * Immutable snapshot of a {@link Histogram} for one reporting interval.
+ */
+public class MetricHistogramImpl implements MetricHistogram {
+
+  protected String name;
+  protected Date startTime;
+  protected Date endTime;
+
+  protected long[] counts;
+  protected long count;
+  protected long sum;
+  protected long min;
+  protected long max;
+
+  public MetricHistogramImpl(String name, Date startTime, Date endTime, long[] counts, long sum, long min, long max) {
+    this.name = name;
+    this.startTime = startTime;
+    this.endTime = endTime;
+    this.counts = counts;
+    this.sum = sum;
+
+    for (long bucketCount : counts) {
+      count += bucketCount;
+    }
+
+    this.min = count > 0 ? min : 0;
+    this.max = count > 0 ? max : 0;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public Date getStartTime() {
+    return startTime;
+  }
+
+  public Date getEndTime() {
+    return endTime;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getMin() {
+    return min;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public double getMean() {
+    if (count == 0) {
+      return 0;
+    }
+    return (double) sum / count;
+  }
+
+  public long getValueAtPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+
+    double boundedPercentile = Math.min(Math.max(percentile, 0), 100);
+    long targetCount = Math.max(1, (long) Math.ceil(boundedPercentile / 100 * count));
+
+    long cumulativeCount = 0;
+    for (int i = 0; i < counts.length; i++) {
+      cumulativeCount += counts[i];
+      if (cumulativeCount >= targetCount) {
+        return Math.max(min, Math.min(max, Histogram.getBucketUpperBound(i)));
+      }
+    }
+
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "MetricHistogramImpl [name=" + name
+      + ", startTime=" + startTime
+      + ", endTime=" + endTime
+      + ", count=" + count
+      + ", min=" + min
+      + ", max=" + max + "]";
+  }
+
+}
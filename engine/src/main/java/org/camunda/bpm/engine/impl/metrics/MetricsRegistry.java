@@ -26,6 +26,7 @@ import java.util.Map;
 public class MetricsRegistry {
 
   protected Map<String, Meter> meters = new HashMap<String, Meter>();
+  protected Map<String, Histogram> histograms = new HashMap<String, Histogram>();
 
   public Meter getMeterByName(String name) {
     return meters.get(name);
@@ -53,4 +54,26 @@ public class MetricsRegistry {
     return meter;
   }
 
+  public Histogram getHistogramByName(String name) {
+    return histograms.get(name);
+  }
+
+  public Map<String, Histogram> getHistograms() {
+    return histograms;
+  }
+
+  public void recordValue(String name, long value) {
+    Histogram histogram = histograms.get(name);
+
+    if (histogram != null) {
+      histogram.recordValue(value);
+    }
+  }
+
+  public Histogram createHistogram(String name) {
+    Histogram histogram = new Histogram(name);
+    histograms.put(name, histogram);
+    return histogram;
+  }
+
 }
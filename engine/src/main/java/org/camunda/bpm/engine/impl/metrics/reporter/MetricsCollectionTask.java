@@ -24,6 +24,7 @@ import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
@@ -64,6 +65,10 @@ public class MetricsCollectionTask extends TimerTask {
 
   protected void collectMetrics() {
 
+    for (Histogram histogram : metricsRegistry.getHistograms().values()) {
+      histogram.completeInterval();
+    }
+
     final List<MeterLogEntity> logs = new ArrayList<MeterLogEntity>();
     for (Meter meter : metricsRegistry.getMeters().values()) {
       logs.add(new MeterLogEntity(meter.getName(),
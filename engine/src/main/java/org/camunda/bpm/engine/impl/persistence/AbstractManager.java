@@ -52,6 +52,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricIdentityLinkLogMan
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricIncidentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricJobLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ReportManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
@@ -238,6 +239,10 @@ public abstract class AbstractManager implements Session {
     return getSession(TenantManager.class);
   }
 
+  protected PropertyManager getPropertyManager() {
+    return getSession(PropertyManager.class);
+  }
+
   public void close() {
   }
 
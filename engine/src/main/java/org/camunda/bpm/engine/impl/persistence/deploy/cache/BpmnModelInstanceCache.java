@@ -44,7 +44,8 @@ public class BpmnModelInstanceCache extends ModelInstanceCache<BpmnModelInstance
 
   @Override
   protected BpmnModelInstance readModelFromStream(InputStream bpmnResourceInputStream) {
-    return Bpmn.readModelFromStream(bpmnResourceInputStream);
+    boolean includeDiagram = !Context.getProcessEngineConfiguration().isSkipBpmnDiagramInterchange();
+    return Bpmn.readModelFromStream(bpmnResourceInputStream, includeDiagram);
   }
 
   @Override
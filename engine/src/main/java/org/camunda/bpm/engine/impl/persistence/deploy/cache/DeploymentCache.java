@@ -63,8 +63,26 @@ public class DeploymentCache {
     dmnModelInstanceCache = new DmnModelInstanceCache(factory, cacheCapacity, decisionDefinitionCache);
   }
 
+  /**
+   * Enables the {@link LatestDefinitionIndex} for process and decision definitions
+   * so that the latest definition by key is resolved without a database query.
+   *
+   * @param revisionCheckInterval the interval in milliseconds in which the index
+   * is validated against the revision of the deployed definitions
+   */
+  public void enableLatestDefinitionIndex(long revisionCheckInterval) {
+    processDefinitionEntityCache.setLatestDefinitionIndex(new LatestDefinitionIndex(revisionCheckInterval));
+    decisionDefinitionCache.setLatestDefinitionIndex(new LatestDefinitionIndex(revisionCheckInterval));
+  }
+
   public void deploy(final DeploymentEntity deployment) {
     cacheDeployer.deploy(deployment);
+    invalidateLatestDefinitionIndexes();
+  }
+
+  public void invalidateLatestDefinitionIndexes() {
+    processDefinitionEntityCache.invalidateLatestDefinitionIndex();
+    decisionDefinitionCache.invalidateLatestDefinitionIndex();
   }
 
   // PROCESS DEFINITION ////////////////////////////////////////////////////////////////////////////////
@@ -121,6 +139,10 @@ public class DeploymentCache {
     processDefinitionEntityCache.addDefinition(processDefinition);
   }
 
+  public void invalidateLatestProcessDefinitionIndex() {
+    processDefinitionEntityCache.invalidateLatestDefinitionIndex();
+  }
+
   public void removeProcessDefinition(String processDefinitionId) {
     processDefinitionEntityCache.removeDefinitionFromCache(processDefinitionId);
     bpmnModelInstanceCache.remove(processDefinitionId);
@@ -237,6 +259,10 @@ public class DeploymentCache {
     decisionDefinitionCache.addDefinition(decisionDefinition);
   }
 
+  public void invalidateLatestDecisionDefinitionIndex() {
+    decisionDefinitionCache.invalidateLatestDefinitionIndex();
+  }
+
   public void removeDecisionDefinition(String decisionDefinitionId) {
     decisionDefinitionCache.removeDefinitionFromCache(decisionDefinitionId);
     dmnModelInstanceCache.remove(decisionDefinitionId);
@@ -316,6 +342,7 @@ public class DeploymentCache {
       dmnModelInstanceCache.removeAllDefinitionsByDeploymentId(deploymentId);
     }
     removeAllDecisionRequirementsDefinitionsByDeploymentId(deploymentId);
+    invalidateLatestDefinitionIndexes();
   }
 
   protected void removeAllDecisionRequirementsDefinitionsByDeploymentId(String deploymentId) {
@@ -380,6 +407,8 @@ public class DeploymentCache {
       decisionRequirementsDefinitionCache.clear();
     }
 
+    invalidateLatestDefinitionIndexes();
+
     return result;
   }
 
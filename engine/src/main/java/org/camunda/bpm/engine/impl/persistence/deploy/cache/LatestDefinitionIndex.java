@@ -0,0 +1,111 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps a definition key (plus tenant information) to the id of the latest
+ * deployed definition with that key, so that lookups of the latest version
+ * can be answered from the {@link ResourceDefinitionCache} without querying
+ * the database.
+ *
+ * <p>The index is bound to the revision of the <code>definition.revision</code>
+ * property, which is incremented whenever a deployment is created or deleted,
+ * a process definition is deleted or suspended, or the history time to live of
+ * a definition is updated. When the revision changes
+ * (e.g. because another engine of the cluster deployed a definition), all
+ * entries are discarded. The
+ * revision is checked at most once per revision check interval, which is
+ * therefore the maximum time a change made by another engine stays unnoticed.</p>
+ *
+ * <p>Besides definition ids, the index holds negative entries for keys
+ * without a deployed definition.</p>
+ */
+public class LatestDefinitionIndex {
+
+  protected static final String NO_DEFINITION = "";
+
+  protected final long revisionCheckInterval;
+  protected final Map<String, String> definitionIds = new ConcurrentHashMap<String, String>();
+
+  protected volatile String revision;
+  protected volatile long nextRevisionCheck = 0;
+
+  public LatestDefinitionIndex(long revisionCheckInterval) {
+    this.revisionCheckInterval = revisionCheckInterval;
+  }
+
+  public boolean isRevisionCheckDue() {
+    return revision == null || System.currentTimeMillis() >= nextRevisionCheck;
+  }
+
+  /**
+   * Binds the index to the given revision of the deployed definitions.
+   * Discards all entries if the revision differs from the known one.
+   */
+  public synchronized void updateRevision(String currentRevision) {
+    if (revision == null || !revision.equals(currentRevision)) {
+      definitionIds.clear();
+      revision = currentRevision;
+    }
+    nextRevisionCheck = System.currentTimeMillis() + revisionCheckInterval;
+  }
+
+  public String getRevision() {
+    return revision;
+  }
+
+  /**
+   * @return the id of the latest definition, {@link #NO_DEFINITION} if it is known
+   * that no definition exists or <code>null</code> if the key is not indexed
+   */
+  public String getDefinitionId(String indexKey) {
+    return definitionIds.get(indexKey);
+  }
+
+  /**
+   * Adds an entry to the index if the index is still bound to the revision
+   * which was valid before the definition was looked up.
+   *
+   * @param definitionId the id of the latest definition or <code>null</code> if no definition exists
+   */
+  public synchronized void putDefinitionId(String indexKey, String definitionId, String lookupRevision) {
+    if (lookupRevision != null && lookupRevision.equals(revision)) {
+      definitionIds.put(indexKey, definitionId != null ? definitionId : NO_DEFINITION);
+    }
+  }
+
+  public boolean isNoDefinition(String definitionId) {
+    return NO_DEFINITION.equals(definitionId);
+  }
+
+  /**
+   * Discards all entries and enforces a revision check on the next lookup.
+   */
+  public synchronized void invalidate() {
+    definitionIds.clear();
+    revision = null;
+    nextRevisionCheck = 0;
+  }
+
+  public int size() {
+    return definitionIds.size();
+  }
+
+}
@@ -17,6 +17,8 @@
 package org.camunda.bpm.engine.impl.persistence.deploy.cache;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractResourceDefinitionManager;
@@ -24,6 +26,9 @@ import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
 import org.camunda.commons.utils.cache.Cache;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 
@@ -34,6 +39,7 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
 
   protected Cache<String, T> cache;
   protected CacheDeployer cacheDeployer;
+  protected LatestDefinitionIndex latestDefinitionIndex;
 
   public ResourceDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
     this.cache = factory.createCache(cacheCapacity);
@@ -62,21 +68,98 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
    * @throws ProcessEngineException if more than one tenant has a definition with the given key
    */
   public T findDeployedLatestDefinitionByKey(String definitionKey) {
-    T definition = getManager()
-        .findLatestDefinitionByKey(definitionKey);
+    T definition = findLatestDefinition(definitionKey, null, false);
     checkInvalidDefinitionByKey(definitionKey, definition);
-    definition = resolveDefinition(definition);
     return definition;
   }
 
   public T findDeployedLatestDefinitionByKeyAndTenantId(String definitionKey, String tenantId) {
-    T definition = getManager()
-        .findLatestDefinitionByKeyAndTenantId(definitionKey, tenantId);
+    T definition = findLatestDefinition(definitionKey, tenantId, true);
     checkInvalidDefinitionByKeyAndTenantId(definitionKey, tenantId, definition);
-    definition = resolveDefinition(definition);
     return definition;
   }
 
+  /**
+   * @return the resolved latest definition or <code>null</code> if no definition with the given key exists
+   */
+  protected T findLatestDefinition(String definitionKey, String tenantId, boolean isTenantIdSet) {
+    LatestDefinitionIndex index = latestDefinitionIndex;
+    if (index == null) {
+      return resolveLatestDefinition(definitionKey, tenantId, isTenantIdSet);
+    }
+
+    if (index.isRevisionCheckDue()) {
+      index.updateRevision(findLatestDefinitionIndexRevision());
+    }
+    String lookupRevision = index.getRevision();
+
+    String indexKey = createLatestDefinitionIndexKey(definitionKey, tenantId, isTenantIdSet);
+    String definitionId = index.getDefinitionId(indexKey);
+    if (definitionId != null) {
+      if (index.isNoDefinition(definitionId)) {
+        return null;
+      }
+      T cachedDefinition = cache.get(definitionId);
+      if (cachedDefinition != null) {
+        return cachedDefinition;
+      }
+    }
+
+    T definition = resolveLatestDefinition(definitionKey, tenantId, isTenantIdSet);
+    index.putDefinitionId(indexKey, definition != null ? definition.getId() : null, lookupRevision);
+    return definition;
+  }
+
+  protected T resolveLatestDefinition(String definitionKey, String tenantId, boolean isTenantIdSet) {
+    T definition;
+    if (isTenantIdSet) {
+      definition = getManager().findLatestDefinitionByKeyAndTenantId(definitionKey, tenantId);
+    } else {
+      definition = getManager().findLatestDefinitionByKey(definitionKey);
+    }
+
+    if (definition != null) {
+      definition = resolveDefinition(definition);
+    }
+    return definition;
+  }
+
+  /**
+   * The latest definition by key depends on the tenants of the current authentication
+   * if the tenant check is enabled, so they are part of the index key.
+   */
+  protected String createLatestDefinitionIndexKey(String definitionKey, String tenantId, boolean isTenantIdSet) {
+    StringBuilder indexKey = new StringBuilder(definitionKey);
+
+    if (isTenantIdSet) {
+      indexKey.append("|tenant:").append(tenantId);
+
+    } else {
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext.getTenantManager().isTenantCheckEnabled()) {
+        List<String> tenantIds = commandContext.getAuthentication().getTenantIds();
+        indexKey.append("|authTenants:");
+        if (tenantIds != null) {
+          List<String> sortedTenantIds = new ArrayList<String>(tenantIds);
+          Collections.sort(sortedTenantIds);
+          indexKey.append(sortedTenantIds);
+        }
+      }
+    }
+
+    return indexKey.toString();
+  }
+
+  /**
+   * @return the current revision of the deployed definitions or <code>null</code> if the
+   * revision property does not exist; the {@link LatestDefinitionIndex} is discarded
+   * whenever the revision changes
+   */
+  protected String findLatestDefinitionIndexRevision() {
+    Integer revision = Context.getCommandContext().getPropertyManager().findDefinitionRevision();
+    return revision != null ? revision.toString() : null;
+  }
+
   public T findDeployedDefinitionByKeyVersionAndTenantId(final String definitionKey, final Integer definitionVersion, final String tenantId) {
     final CommandContext commandContext = Context.getCommandContext();
     T definition = commandContext.runWithoutAuthorization(new Callable<T>() {
@@ -143,16 +226,47 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
 
   public void removeDefinitionFromCache(String id) {
     cache.remove(id);
+    invalidateLatestDefinitionIndex();
   }
 
   public void clear() {
     cache.clear();
+    invalidateLatestDefinitionIndex();
   }
 
   public Cache<String, T> getCache() {
     return cache;
   }
 
+  public LatestDefinitionIndex getLatestDefinitionIndex() {
+    return latestDefinitionIndex;
+  }
+
+  public void setLatestDefinitionIndex(LatestDefinitionIndex latestDefinitionIndex) {
+    this.latestDefinitionIndex = latestDefinitionIndex;
+  }
+
+  /**
+   * Discards the {@link LatestDefinitionIndex} immediately and again after the current
+   * transaction is committed, so that concurrent lookups cannot restore entries which
+   * are outdated by the changes of the transaction.
+   */
+  public void invalidateLatestDefinitionIndex() {
+    final LatestDefinitionIndex index = latestDefinitionIndex;
+    if (index != null) {
+      index.invalidate();
+
+      CommandContext commandContext = Context.getCommandContext();
+      if (commandContext != null) {
+        commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            index.invalidate();
+          }
+        });
+      }
+    }
+  }
+
   protected abstract AbstractResourceDefinitionManager<T> getManager();
 
   protected abstract void checkInvalidDefinitionId(String definitionId);
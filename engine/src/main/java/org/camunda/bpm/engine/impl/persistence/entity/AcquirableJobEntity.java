@@ -22,6 +22,7 @@ import java.util.Map;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobPriorityProvider;
 
 public class AcquirableJobEntity implements DbEntity, HasDbRevision {
 
@@ -38,6 +39,8 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
 
   protected boolean isExclusive = DEFAULT_EXCLUSIVE;
 
+  protected long priority = DefaultJobPriorityProvider.DEFAULT_PRIORITY;
+
 
   @Override
   public Object getPersistentState() {
@@ -83,6 +86,14 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
     this.duedate = duedate;
   }
 
+  public long getPriority() {
+    return priority;
+  }
+
+  public void setPriority(long priority) {
+    this.priority = priority;
+  }
+
   public String getLockOwner() {
     return lockOwner;
   }
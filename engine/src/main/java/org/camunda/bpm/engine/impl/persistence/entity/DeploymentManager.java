@@ -59,6 +59,8 @@ public class DeploymentManager extends AbstractManager {
       getResourceManager().insertResource(resource);
     }
 
+    getPropertyManager().incrementDefinitionRevision();
+
     Context
       .getProcessEngineConfiguration()
       .getDeploymentCache()
@@ -132,6 +134,7 @@ public class DeploymentManager extends AbstractManager {
 
     deleteAuthorizations(Resources.DEPLOYMENT, deploymentId);
     getDbEntityManager().delete(DeploymentEntity.class, "deleteDeployment", deploymentId);
+    getPropertyManager().incrementDefinitionRevision();
 
   }
 
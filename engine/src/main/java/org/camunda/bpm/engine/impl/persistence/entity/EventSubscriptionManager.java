@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationCandidate;
 import org.camunda.bpm.engine.runtime.EventSubscription;
 import org.camunda.commons.utils.EnsureUtil;
 
@@ -271,6 +272,20 @@ public class EventSubscriptionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectMessageStartEventSubscriptionByName", configureParameterizedQuery(messageName));
   }
 
+  /**
+   * @return the executions of active message event subscriptions with the given message name
+   * which belong to a process instance with one of the given business keys, together with
+   * the business key of the process instance
+   */
+  @SuppressWarnings("unchecked")
+  public List<MessageCorrelationCandidate> findMessageCorrelationCandidates(String messageName, List<String> businessKeys) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("messageName", messageName);
+    parameters.put("businessKeys", businessKeys);
+
+    return getDbEntityManager().selectList("selectMessageCorrelationCandidates", configureParameterizedQuery(parameters));
+  }
+
   /**
    * @return the message start event subscription with the given message name and tenant id
    *
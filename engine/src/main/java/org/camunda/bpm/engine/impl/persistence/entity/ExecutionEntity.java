@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngine;
@@ -48,6 +49,7 @@ import org.camunda.bpm.engine.impl.core.variable.scope.*;
 import org.camunda.bpm.engine.impl.core.variable.scope.VariableStore.VariablesProvider;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.HasDbModificationStamp;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.event.EventType;
@@ -93,7 +95,7 @@ import org.camunda.bpm.model.xml.type.ModelElementType;
  * @author Daniel Meyer
  * @author Falko Menge
  */
-public class ExecutionEntity extends PvmExecutionImpl implements Execution, ProcessInstance, DbEntity, HasDbRevision, HasDbReferences, VariablesProvider<VariableInstanceEntity> {
+public class ExecutionEntity extends PvmExecutionImpl implements Execution, ProcessInstance, DbEntity, HasDbRevision, HasDbReferences, HasDbModificationStamp, VariablesProvider<VariableInstanceEntity> {
 
   private static final long serialVersionUID = 1L;
 
@@ -171,6 +173,11 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
 
   protected int revision = 1;
 
+  /**
+   * counts the changes of the persistent state, see {@link #getModificationStamp()}
+   */
+  protected transient int persistentStateModifications;
+
   /**
    * persisted reference to the processDefinition.
    *
@@ -270,7 +277,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     createdExecution.setSuspensionState(getSuspensionState());
 
     // make created execution start in same activity instance
-    createdExecution.activityInstanceId = activityInstanceId;
+    createdExecution.setActivityInstanceId(activityInstanceId);
 
     // inherit the tenant id from parent execution
     if(tenantId != null) {
@@ -705,7 +712,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
 
   @Override
   public void inactivate() {
-    this.isActive = false;
+    setActive(false);
   }
 
   // executions ///////////////////////////////////////////////////////////////
@@ -769,7 +776,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   public void setProcessDefinitionId(String processDefinitionId) {
-    this.processDefinitionId = processDefinitionId;
+    if (!Objects.equals(this.processDefinitionId, processDefinitionId)) {
+      this.processDefinitionId = processDefinitionId;
+      persistentStateChanged();
+    }
   }
 
   public String getProcessDefinitionId() {
@@ -792,10 +802,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   public void setProcessDefinition(ProcessDefinitionImpl processDefinition) {
     this.processDefinition = processDefinition;
     if (processDefinition != null) {
-      this.processDefinitionId = processDefinition.getId();
+      setProcessDefinitionId(processDefinition.getId());
     }
     else {
-      this.processDefinitionId = null;
+      setProcessDefinitionId(null);
     }
 
   }
@@ -860,10 +870,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   public void setActivity(PvmActivity activity) {
     super.setActivity(activity);
     if (activity != null) {
-      this.activityId = activity.getId();
+      setActivityId(activity.getId());
       this.activityName = (String) activity.getProperty("name");
     } else {
-      this.activityId = null;
+      setActivityId(null);
       this.activityName = null;
     }
 
@@ -916,9 +926,9 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     this.parent = (ExecutionEntity) parent;
 
     if (parent != null) {
-      this.parentId = parent.getId();
+      setParentId(parent.getId());
     } else {
-      this.parentId = null;
+      setParentId(null);
     }
   }
 
@@ -944,10 +954,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     this.superExecution = (ExecutionEntity) superExecution;
 
     if (superExecution != null) {
-      this.superExecutionId = superExecution.getId();
+      setSuperExecutionId(superExecution.getId());
       this.superExecution.setSubProcessInstance(this);
     } else {
-      this.superExecutionId = null;
+      setSuperExecutionId(null);
     }
   }
 
@@ -982,7 +992,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   public void setSuperCaseExecutionId(String superCaseExecutionId) {
-    this.superCaseExecutionId = superCaseExecutionId;
+    if (!Objects.equals(this.superCaseExecutionId, superCaseExecutionId)) {
+      this.superCaseExecutionId = superCaseExecutionId;
+      persistentStateChanged();
+    }
   }
 
   @Override
@@ -996,11 +1009,11 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     this.superCaseExecution = (CaseExecutionEntity) superCaseExecution;
 
     if (superCaseExecution != null) {
-      this.superCaseExecutionId = superCaseExecution.getId();
-      this.caseInstanceId = superCaseExecution.getCaseInstanceId();
+      setSuperCaseExecutionId(superCaseExecution.getId());
+      setCaseInstanceId(superCaseExecution.getCaseInstanceId());
     } else {
-      this.superCaseExecutionId = null;
-      this.caseInstanceId = null;
+      setSuperCaseExecutionId(null);
+      setCaseInstanceId(null);
     }
   }
 
@@ -1321,6 +1334,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
    * multiple roundtrips carrying small chucks of data vs. a single roundtrip
    * carrying more data.
    *
+   * If {@link ProcessEngineConfigurationImpl#isExecutionTreeVariablePrefetchEnabled()},
+   * the variables of all executions are fetched in a single query as well, as long as
+   * more than one execution of the tree has variables that are not loaded yet.
+   *
    */
   protected void ensureExecutionTreeInitialized() {
     List<ExecutionEntity> executions = Context.getCommandContext()
@@ -1337,7 +1354,32 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       }
     }
 
-    processInstance.restoreProcessInstance(executions, null, null, null, null, null, null);
+    Collection<VariableInstanceEntity> variables = null;
+    if (isExecutionTreeVariablePrefetchEnabled() && countUninitializedVariableStores(executions) > 1) {
+      variables = Context.getCommandContext()
+        .getVariableInstanceManager()
+        .findVariableInstancesByProcessInstanceId(processInstanceId);
+    }
+
+    processInstance.restoreProcessInstance(executions, null, variables, null, null, null, null);
+  }
+
+  /**
+   * @return true if the variables of an execution tree should be fetched together with the tree
+   */
+  protected boolean isExecutionTreeVariablePrefetchEnabled() {
+    return Context.getProcessEngineConfiguration().isExecutionTreeVariablePrefetchEnabled();
+  }
+
+  protected static int countUninitializedVariableStores(Collection<ExecutionEntity> executions) {
+    int count = 0;
+    for (ExecutionEntity execution : executions) {
+      // executions known to have no variables are initialized when they are loaded
+      if (!execution.variableStore.isInitialized()) {
+        count++;
+      }
+    }
+    return count;
   }
 
   /**
@@ -1482,6 +1524,19 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     return persistentState;
   }
 
+  @Override
+  protected void persistentStateChanged() {
+    persistentStateModifications++;
+  }
+
+  /**
+   * The cached entity state is derived from the (lazily) loaded child
+   * collections rather than set explicitly, so it is part of the stamp.
+   */
+  public long getModificationStamp() {
+    return ((long) persistentStateModifications << 32) | (getCachedEntityState() & 0xFFFFFFFFL);
+  }
+
   public void insert() {
     Context.getCommandContext().getExecutionManager().insertExecution(this);
   }
@@ -1856,7 +1911,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   public void setParentId(String parentId) {
-    this.parentId = parentId;
+    if (!Objects.equals(this.parentId, parentId)) {
+      this.parentId = parentId;
+      persistentStateChanged();
+    }
   }
 
   public int getRevision() {
@@ -1868,11 +1926,17 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   public void setActivityId(String activityId) {
-    this.activityId = activityId;
+    if (!Objects.equals(this.activityId, activityId)) {
+      this.activityId = activityId;
+      persistentStateChanged();
+    }
   }
 
   public void setSuperExecutionId(String superExecutionId) {
-    this.superExecutionId = superExecutionId;
+    if (!Objects.equals(this.superExecutionId, superExecutionId)) {
+      this.superExecutionId = superExecutionId;
+      persistentStateChanged();
+    }
   }
 
   @Override
@@ -1914,7 +1978,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   public void setSuspensionState(int suspensionState) {
-    this.suspensionState = suspensionState;
+    if (this.suspensionState != suspensionState) {
+      this.suspensionState = suspensionState;
+      persistentStateChanged();
+    }
   }
 
   public boolean isSuspended() {
@@ -18,9 +18,12 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.externaltask.ExternalTask;
 import org.camunda.bpm.engine.impl.Direction;
@@ -46,13 +49,17 @@ public class ExternalTaskManager extends AbstractManager {
 
   public static QueryOrderingProperty EXT_TASK_PRIORITY_ORDERING_PROPERTY = new QueryOrderingProperty(ExternalTaskQueryProperty.PRIORITY, Direction.DESCENDING);
 
+  /** topics of the tasks made available in the current transaction */
+  protected Set<String> availableTopics;
+  protected boolean unknownTopicAvailable;
+
   public ExternalTaskEntity findExternalTaskById(String id) {
     return getDbEntityManager().selectById(ExternalTaskEntity.class, id);
   }
 
   public void insert(ExternalTaskEntity externalTask) {
     getDbEntityManager().insert(externalTask);
-    fireExternalTaskAvailableEvent();
+    fireExternalTaskAvailableEvent(externalTask.getTopicName());
   }
 
   public void delete(ExternalTaskEntity externalTask) {
@@ -151,15 +158,45 @@ public class ExternalTaskManager extends AbstractManager {
   }
 
   public void fireExternalTaskAvailableEvent() {
-    Context.getCommandContext()
-      .getTransactionContext()
-      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
-        @Override
-        public void execute(CommandContext commandContext) {
-          ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
-        }
-      });
-  }
-}
+    fireExternalTaskAvailableEvent(null);
+  }
+
+  /**
+   * Signals waiting long polling requests after the current transaction is committed.
+   * Topics of all tasks made available in the same transaction are collected, so that
+   * subscribers of {@link ProcessEngineImpl#EXT_TASK_TOPIC_NOTIFIER} are notified only
+   * once per transaction.
+   *
+   * @param topicName the topic of the available task, or <code>null</code> if unknown
+   */
+  public void fireExternalTaskAvailableEvent(String topicName) {
+    boolean registerListener = availableTopics == null;
+
+    if (registerListener) {
+      availableTopics = new HashSet<String>();
+    }
 
+    if (topicName != null) {
+      availableTopics.add(topicName);
+    }
+    else {
+      unknownTopicAvailable = true;
+    }
 
+    if (registerListener) {
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          @Override
+          public void execute(CommandContext commandContext) {
+            Set<String> topicNames = unknownTopicAvailable ? Collections.<String>emptySet() : availableTopics;
+            availableTopics = null;
+            unknownTopicAvailable = false;
+
+            ProcessEngineImpl.EXT_TASK_TOPIC_NOTIFIER.notifyListeners(Collections.unmodifiableSet(topicNames));
+            ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
+          }
+        });
+    }
+  }
+}
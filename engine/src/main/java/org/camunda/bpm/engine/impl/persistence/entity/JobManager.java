@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.impl.cfg.TransactionListener;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.*;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -199,9 +200,71 @@ public class JobManager extends AbstractManager {
     // don't apply default sorting
     params.put("applyOrdering", !orderingProperties.isEmpty());
 
+    if (engineConfiguration.isJobExecutorAcquireSkipLocked()) {
+      if (DbSqlSessionFactory.isSkipLockedSupported(engineConfiguration.getDatabaseType(), engineConfiguration.getDatabaseMajorVersion())) {
+        params.put("skipLocked", true);
+      }
+      else if (engineConfiguration.getJobExecutorAcquisitionSlotCount() > 1) {
+        return findNextJobsToExecuteInAcquisitionSlot(params, page, engineConfiguration);
+      }
+    }
+
     return getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
   }
 
+  /**
+   * Selects the jobs of the acquisition slot of this node first. If the slot does not
+   * contain enough jobs, the remaining jobs are selected from all slots so that the jobs
+   * of a slot are still executed if its node is down.
+   */
+  @SuppressWarnings("unchecked")
+  protected List<AcquirableJobEntity> findNextJobsToExecuteInAcquisitionSlot(Map<String, Object> params, Page page, ProcessEngineConfigurationImpl engineConfiguration) {
+    int slotCount = engineConfiguration.getJobExecutorAcquisitionSlotCount();
+    Integer slot = getAcquisitionSlot(engineConfiguration, slotCount);
+    if (slot == null) {
+      // no job executor that owns a slot, select the jobs of all slots
+      return getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
+    }
+    params.put("acquisitionSlotCount", slotCount);
+    params.put("acquisitionSlot", slot);
+
+    List<AcquirableJobEntity> jobs = getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
+
+    if (jobs.size() < page.getMaxResults()) {
+      params.remove("acquisitionSlot");
+      List<AcquirableJobEntity> jobsOfAllSlots = getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
+
+      Set<String> jobIds = new HashSet<>();
+      for (AcquirableJobEntity job : jobs) {
+        jobIds.add(job.getId());
+      }
+
+      jobs = new ArrayList<>(jobs);
+      for (AcquirableJobEntity job : jobsOfAllSlots) {
+        if (jobs.size() < page.getMaxResults() && jobIds.add(job.getId())) {
+          jobs.add(job);
+        }
+      }
+    }
+
+    return jobs;
+  }
+
+  /**
+   * @return the acquisition slot of this node or null if it cannot be determined
+   */
+  protected Integer getAcquisitionSlot(ProcessEngineConfigurationImpl engineConfiguration, int slotCount) {
+    int slot = engineConfiguration.getJobExecutorAcquisitionSlot();
+    if (slot < 0) {
+      JobExecutor jobExecutor = engineConfiguration.getJobExecutor();
+      if (jobExecutor == null || jobExecutor.getLockOwner() == null) {
+        return null;
+      }
+      slot = jobExecutor.getLockOwner().hashCode();
+    }
+    return Math.abs(slot % slotCount);
+  }
+
   @SuppressWarnings("unchecked")
   public List<JobEntity> findJobsByExecutionId(String executionId) {
     return getDbEntityManager().selectList("selectJobsByExecutionId", executionId);
@@ -355,6 +355,7 @@ public class ProcessDefinitionManager extends AbstractManager implements Abstrac
 
     //delete process definition from database
     getDbEntityManager().delete(ProcessDefinitionEntity.class, "deleteProcessDefinitionsById", processDefinitionId);
+    getPropertyManager().incrementDefinitionRevision();
 
     // remove process definition from cache:
     Context
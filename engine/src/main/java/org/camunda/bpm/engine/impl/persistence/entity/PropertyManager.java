@@ -29,6 +29,18 @@ public class PropertyManager extends AbstractManager {
     return getDbEntityManager().selectById(PropertyEntity.class, propertyId);
   }
 
+  /**
+   * @return the revision of the definition revision property or <code>null</code> if it does not exist
+   */
+  public Integer findDefinitionRevision() {
+    return (Integer) getDbEntityManager().selectOne("selectDefinitionRevision", null);
+  }
+
+  public void incrementDefinitionRevision() {
+    // We bump the revision of a special property on every change of the deployed definitions
+    getDbEntityManager().update(PropertyEntity.class, "incrementDefinitionRevisionProperty", null);
+  }
+
   public void acquireExclusiveLock() {
     // We lock a special deployment lock property
     getDbEntityManager().lock("lockDeploymentLockProperty");
@@ -345,7 +345,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
     setCompleteScope(completeScope);
 
-    isActive = false;
+    setActive(false);
     isEnded = true;
 
     if (hasReplacedParent()) {
@@ -410,7 +410,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
     }
 
-    isActive = false;
+    setActive(false);
     isEnded = true;
     isRemoved = true;
 
@@ -694,8 +694,8 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
    */
   public void replace(PvmExecutionImpl execution) {
     // activity instance id handling
-    this.activityInstanceId = execution.getActivityInstanceId();
-    this.isActive = execution.isActive;
+    setActivityInstanceId(execution.getActivityInstanceId());
+    setActive(execution.isActive);
 
     this.replacedBy = null;
     execution.replacedBy = this;
@@ -777,7 +777,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
     PvmActivity activityImpl = activity;
     this.isEnded = false;
-    this.isActive = true;
+    setActive(true);
 
     switch (activityStartBehavior) {
       case CONCURRENT_IN_FLOW_SCOPE:
@@ -890,7 +890,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
     this.skipCustomListeners = skipCustomListeners;
     this.skipIoMapping = skipIoMappings;
-    this.activityInstanceId = null;
+    setActivityInstanceId(null);
     this.isEnded = false;
 
     if (!activityStack.isEmpty()) {
@@ -1007,7 +1007,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
       propagatingExecution = getReplacedBy();
     }
 
-    propagatingExecution.isActive = true;
+    propagatingExecution.setActive(true);
     propagatingExecution.isEnded = false;
 
     if (_transitions.isEmpty()) {
@@ -1026,7 +1026,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
   @Override
   public void inactivate() {
-    this.isActive = false;
+    setActive(false);
   }
 
   // executions ///////////////////////////////////////////////////////////////
@@ -1175,7 +1175,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
   }
 
   public void setCaseInstanceId(String caseInstanceId) {
-    this.caseInstanceId = caseInstanceId;
+    if (!Objects.equals(this.caseInstanceId, caseInstanceId)) {
+      this.caseInstanceId = caseInstanceId;
+      persistentStateChanged();
+    }
   }
 
   // activity /////////////////////////////////////////////////////////////////
@@ -1220,7 +1223,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
   @Override
   public void enterActivityInstance() {
     ActivityImpl activity = getActivity();
-    activityInstanceId = generateActivityInstanceId(activity.getId());
+    setActivityInstanceId(generateActivityInstanceId(activity.getId()));
 
     LOG.debugEnterActivityInstance(this, getParentActivityInstanceId());
 
@@ -1262,7 +1265,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
     if (activityInstanceId != null) {
       LOG.debugLeavesActivityInstance(this, activityInstanceId);
     }
-    activityInstanceId = getParentActivityInstanceId();
+    setActivityInstanceId(getParentActivityInstanceId());
 
     activityInstanceState = ActivityInstanceState.DEFAULT.getStateCode();
     activityInstanceEndListenersFailed = false;
@@ -1280,7 +1283,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
   @Override
   public void setActivityInstanceId(String activityInstanceId) {
-    this.activityInstanceId = activityInstanceId;
+    if (!Objects.equals(this.activityInstanceId, activityInstanceId)) {
+      this.activityInstanceId = activityInstanceId;
+      persistentStateChanged();
+    }
   }
 
   @Override
@@ -1379,7 +1385,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
   @Override
   public void setScope(boolean isScope) {
-    this.isScope = isScope;
+    if (this.isScope != isScope) {
+      this.isScope = isScope;
+      persistentStateChanged();
+    }
   }
 
 
@@ -1661,11 +1670,15 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
   }
 
   public void setSequenceCounter(long sequenceCounter) {
-    this.sequenceCounter = sequenceCounter;
+    if (this.sequenceCounter != sequenceCounter) {
+      this.sequenceCounter = sequenceCounter;
+      persistentStateChanged();
+    }
   }
 
   public void incrementSequenceCounter() {
     sequenceCounter++;
+    persistentStateChanged();
   }
 
   // Getter / Setters ///////////////////////////////////
@@ -1729,7 +1742,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
   @Override
   public void setConcurrent(boolean isConcurrent) {
-    this.isConcurrent = isConcurrent;
+    if (this.isConcurrent != isConcurrent) {
+      this.isConcurrent = isConcurrent;
+      persistentStateChanged();
+    }
   }
 
   @Override
@@ -1739,7 +1755,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
   @Override
   public void setActive(boolean isActive) {
-    this.isActive = isActive;
+    if (this.isActive != isActive) {
+      this.isActive = isActive;
+      persistentStateChanged();
+    }
   }
 
   public void setEnded(boolean isEnded) {
@@ -1798,7 +1817,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
   }
 
   public void setEventScope(boolean isEventScope) {
-    this.isEventScope = isEventScope;
+    if (this.isEventScope != isEventScope) {
+      this.isEventScope = isEventScope;
+      persistentStateChanged();
+    }
   }
 
   public ExecutionStartContext getExecutionStartContext() {
@@ -0,0 +1,74 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+
+public class MessageCorrelationBatchResultImpl implements MessageCorrelationBatchResult {
+
+  protected final String messageName;
+  protected final String businessKey;
+  protected MessageCorrelationResult result;
+  protected RuntimeException exception;
+
+  public MessageCorrelationBatchResultImpl(MessageCorrelationBuilderImpl correlation) {
+    this.messageName = correlation.getMessageName();
+    this.businessKey = correlation.getBusinessKey();
+  }
+
+  public static MessageCorrelationBatchResultImpl correlated(MessageCorrelationBuilderImpl correlation, MessageCorrelationResult result) {
+    MessageCorrelationBatchResultImpl batchResult = new MessageCorrelationBatchResultImpl(correlation);
+    batchResult.result = result;
+    return batchResult;
+  }
+
+  public static MessageCorrelationBatchResultImpl failed(MessageCorrelationBuilderImpl correlation, RuntimeException exception) {
+    MessageCorrelationBatchResultImpl batchResult = new MessageCorrelationBatchResultImpl(correlation);
+    batchResult.exception = exception;
+    return batchResult;
+  }
+
+  public String getMessageName() {
+    return messageName;
+  }
+
+  public String getBusinessKey() {
+    return businessKey;
+  }
+
+  public boolean isCorrelated() {
+    return result != null;
+  }
+
+  public MessageCorrelationResult getResult() {
+    return result;
+  }
+
+  public RuntimeException getException() {
+    return exception;
+  }
+
+  public String toString() {
+    return "MessageCorrelationBatchResultImpl [messageName=" + messageName
+        + ", businessKey=" + businessKey
+        + ", correlated=" + isCorrelated()
+        + ", exception=" + exception + "]";
+  }
+
+}
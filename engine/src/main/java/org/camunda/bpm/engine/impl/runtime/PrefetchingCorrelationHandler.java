@@ -0,0 +1,167 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.CommandLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+
+/**
+ * <p>{@link CorrelationHandler} which resolves the executions of a batch of message
+ * correlations with one query per message name instead of one query per correlation.</p>
+ *
+ * <p>Only correlations by message name and business key are resolved from the prefetched
+ * executions. All other correlations are passed to the wrapped handler.</p>
+ */
+public class PrefetchingCorrelationHandler implements CorrelationHandler {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  protected CorrelationHandler correlationHandler;
+
+  /** message name -> business key -> ids of the waiting executions */
+  protected Map<String, Map<String, List<String>>> prefetchedExecutionIds = new HashMap<String, Map<String, List<String>>>();
+
+  /** message name -> matching start events */
+  protected Map<String, List<CorrelationHandlerResult>> startMessageCorrelations = new HashMap<String, List<CorrelationHandlerResult>>();
+
+  public PrefetchingCorrelationHandler(CorrelationHandler correlationHandler) {
+    this.correlationHandler = correlationHandler;
+  }
+
+  /**
+   * Fetches the waiting executions of all correlations which can be resolved by this handler.
+   */
+  public void prefetch(CommandContext commandContext, List<MessageCorrelationBuilderImpl> correlations) {
+    Map<String, Set<String>> businessKeysByMessageName = new HashMap<String, Set<String>>();
+
+    for (MessageCorrelationBuilderImpl correlation : correlations) {
+      if (isPrefetchable(correlation)) {
+        Set<String> businessKeys = businessKeysByMessageName.get(correlation.getMessageName());
+        if (businessKeys == null) {
+          businessKeys = new LinkedHashSet<String>();
+          businessKeysByMessageName.put(correlation.getMessageName(), businessKeys);
+        }
+        businessKeys.add(correlation.getBusinessKey());
+      }
+    }
+
+    List<String> executionIds = new ArrayList<String>();
+
+    for (Map.Entry<String, Set<String>> entry : businessKeysByMessageName.entrySet()) {
+      Map<String, List<String>> executionIdsByBusinessKey = new HashMap<String, List<String>>();
+      prefetchedExecutionIds.put(entry.getKey(), executionIdsByBusinessKey);
+
+      List<MessageCorrelationCandidate> candidates = commandContext.getEventSubscriptionManager()
+          .findMessageCorrelationCandidates(entry.getKey(), new ArrayList<String>(entry.getValue()));
+
+      for (MessageCorrelationCandidate candidate : candidates) {
+        List<String> candidateExecutionIds = executionIdsByBusinessKey.get(candidate.getBusinessKey());
+        if (candidateExecutionIds == null) {
+          candidateExecutionIds = new ArrayList<String>();
+          executionIdsByBusinessKey.put(candidate.getBusinessKey(), candidateExecutionIds);
+        }
+        candidateExecutionIds.add(candidate.getExecutionId());
+        executionIds.add(candidate.getExecutionId());
+      }
+    }
+
+    if (!executionIds.isEmpty()) {
+      // load the executions into the entity cache
+      commandContext.getExecutionManager().findExecutionsByIds(executionIds);
+    }
+  }
+
+  public CorrelationHandlerResult correlateMessage(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
+    Map<String, List<String>> executionIdsByBusinessKey = prefetchedExecutionIds.get(messageName);
+
+    if (executionIdsByBusinessKey == null || !isPrefetchable(correlationSet)) {
+      return correlationHandler.correlateMessage(commandContext, messageName, correlationSet);
+    }
+
+    List<CorrelationHandlerResult> correlations = new ArrayList<CorrelationHandlerResult>();
+
+    List<String> executionIds = executionIdsByBusinessKey.get(correlationSet.getBusinessKey());
+    if (executionIds != null) {
+      for (String executionId : executionIds) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(executionId);
+        if (execution != null && !commandContext.getDbEntityManager().isDeleted(execution)) {
+          correlations.add(CorrelationHandlerResult.matchedExecution(execution));
+        }
+      }
+    }
+
+    if (correlations.isEmpty()) {
+      correlations = correlateStartMessages(commandContext, messageName, correlationSet);
+
+      if (correlations.size() > 1) {
+        throw LOG.exceptionCorrelateMessageToSingleProcessDefinition(messageName, correlations.size(), correlationSet);
+      }
+
+    } else if (correlations.size() > 1) {
+      throw LOG.exceptionCorrelateMessageToSingleExecution(messageName, correlations.size(), correlationSet);
+    }
+
+    return correlations.isEmpty() ? null : correlations.get(0);
+  }
+
+  public List<CorrelationHandlerResult> correlateMessages(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
+    return correlationHandler.correlateMessages(commandContext, messageName, correlationSet);
+  }
+
+  public List<CorrelationHandlerResult> correlateStartMessages(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
+    if (!isPrefetchable(correlationSet)) {
+      return correlationHandler.correlateStartMessages(commandContext, messageName, correlationSet);
+    }
+
+    // the start events of a message do not depend on the business key
+    List<CorrelationHandlerResult> correlations = startMessageCorrelations.get(messageName);
+    if (correlations == null) {
+      correlations = correlationHandler.correlateStartMessages(commandContext, messageName, correlationSet);
+      startMessageCorrelations.put(messageName, correlations);
+    }
+    return correlations;
+  }
+
+  /**
+   * @return true if the execution of the given correlation can be resolved from prefetched executions
+   */
+  public static boolean isPrefetchable(MessageCorrelationBuilderImpl correlation) {
+    return correlation.getMessageName() != null
+        && !correlation.isStartMessagesOnly()
+        && isPrefetchable(new CorrelationSet(correlation));
+  }
+
+  protected static boolean isPrefetchable(CorrelationSet correlationSet) {
+    return correlationSet.getBusinessKey() != null
+        && correlationSet.getProcessInstanceId() == null
+        && correlationSet.getProcessDefinitionId() == null
+        && correlationSet.getCorrelationKeys() == null
+        && correlationSet.getLocalCorrelationKeys() == null
+        && !correlationSet.isTenantIdSet();
+  }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.impl.scripting;
 
+import java.util.Map;
+
 import javax.script.Bindings;
 import javax.script.Compilable;
 import javax.script.CompiledScript;
@@ -29,6 +31,7 @@ import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
 
 /**
  * A script which is provided as source code.
@@ -46,6 +49,13 @@ public class SourceExecutableScript extends CompiledExecutableScript {
   /** Flag to signal if the script should be compiled */
   protected boolean shouldBeCompiled = true;
 
+  /**
+   * The key of the script in the compiled scripts of a thread-confined script engine
+   * (see {@link ScriptEngineResolver#getThreadConfinedCompiledScripts(ScriptEngine)}).
+   * Replaced if the source changes.
+   */
+  protected Object threadConfinedScriptKey = new Object();
+
   public SourceExecutableScript(String language, String source) {
     super(language);
     scriptSource = source;
@@ -53,6 +63,16 @@ public class SourceExecutableScript extends CompiledExecutableScript {
 
   @Override
   public Object evaluate(ScriptEngine engine, VariableScope variableScope, Bindings bindings) {
+    if (isThreadConfined(engine)) {
+      CompiledScript compiledScript = compileScriptForThreadConfinedEngine(engine);
+      if (compiledScript != null) {
+        return evaluateCompiledScript(compiledScript, variableScope, bindings);
+      }
+      else {
+        return evaluateSource(engine, variableScope, bindings);
+      }
+    }
+
     if (shouldBeCompiled) {
       compileScript(engine);
     }
@@ -61,15 +81,19 @@ public class SourceExecutableScript extends CompiledExecutableScript {
       return super.evaluate(engine, variableScope, bindings);
     }
     else {
-      try {
-        return evaluateScript(engine, bindings);
-      } catch (ScriptException e) {
-        if (e.getCause() instanceof BpmnError) {
-          throw (BpmnError) e.getCause();
-        }
-        String activityIdMessage = getActivityIdExceptionMessage(variableScope);
-        throw new ScriptEvaluationException("Unable to evaluate script" + activityIdMessage + ":" + e.getMessage(), e);
+      return evaluateSource(engine, variableScope, bindings);
+    }
+  }
+
+  protected Object evaluateSource(ScriptEngine engine, VariableScope variableScope, Bindings bindings) {
+    try {
+      return evaluateScript(engine, bindings);
+    } catch (ScriptException e) {
+      if (e.getCause() instanceof BpmnError) {
+        throw (BpmnError) e.getCause();
       }
+      String activityIdMessage = getActivityIdExceptionMessage(variableScope);
+      throw new ScriptEvaluationException("Unable to evaluate script" + activityIdMessage + ":" + e.getMessage(), e);
     }
   }
 
@@ -97,21 +121,44 @@ public class SourceExecutableScript extends CompiledExecutableScript {
     }
   }
 
-  public CompiledScript compile(ScriptEngine scriptEngine, String language, String src) {
-    if(scriptEngine instanceof Compilable && !scriptEngine.getFactory().getLanguageName().equalsIgnoreCase("ecmascript")) {
-      Compilable compilingEngine = (Compilable) scriptEngine;
-
-      try {
-        CompiledScript compiledScript = compilingEngine.compile(src);
+  /**
+   * @return true if the engine is cached for the current thread only
+   * (see {@link ScriptEngineResolver#isEnableThreadConfinement()})
+   */
+  protected boolean isThreadConfined(ScriptEngine engine) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return processEngineConfiguration != null
+        && processEngineConfiguration.isEnableScriptEngineCaching()
+        && processEngineConfiguration.isEnableScriptEngineThreadConfinement()
+        && !ScriptEngineResolver.isThreadSafe(engine);
+  }
 
-        LOG.debugCompiledScriptUsing(language);
+  /**
+   * Compiles the script once per thread-confined script engine.
+   *
+   * @return the compiled script or null if the script cannot be compiled by the engine
+   */
+  protected CompiledScript compileScriptForThreadConfinedEngine(ScriptEngine engine) {
+    if (!(engine instanceof Compilable) || !Context.getProcessEngineConfiguration().isEnableScriptCompilation()) {
+      return null;
+    }
 
-        return compiledScript;
+    Map<Object, CompiledScript> compiledScripts = ScriptEngineResolver.getThreadConfinedCompiledScripts(engine);
+    CompiledScript compiledScript = compiledScripts != null ? compiledScripts.get(threadConfinedScriptKey) : null;
+    if (compiledScript == null) {
+      // JavaScript is compiled as well since neither the engine nor the compiled script is shared between threads
+      compiledScript = compile((Compilable) engine, language, scriptSource);
+      if (compiledScripts != null) {
+        compiledScripts.put(threadConfinedScriptKey, compiledScript);
+      }
+    }
 
-      } catch (ScriptException e) {
-        throw new ScriptCompilationException("Unable to compile script: " + e.getMessage(), e);
+    return compiledScript;
+  }
 
-      }
+  public CompiledScript compile(ScriptEngine scriptEngine, String language, String src) {
+    if(scriptEngine instanceof Compilable && !scriptEngine.getFactory().getLanguageName().equalsIgnoreCase("ecmascript")) {
+      return compile((Compilable) scriptEngine, language, src);
 
     } else {
       // engine does not support compilation
@@ -120,6 +167,20 @@ public class SourceExecutableScript extends CompiledExecutableScript {
 
   }
 
+  protected CompiledScript compile(Compilable compilingEngine, String language, String src) {
+    try {
+      CompiledScript compiledScript = compilingEngine.compile(src);
+
+      LOG.debugCompiledScriptUsing(language);
+
+      return compiledScript;
+
+    } catch (ScriptException e) {
+      throw new ScriptCompilationException("Unable to compile script: " + e.getMessage(), e);
+
+    }
+  }
+
   protected Object evaluateScript(ScriptEngine engine, Bindings bindings) throws ScriptException {
     LOG.debugEvaluatingNonCompiledScript(scriptSource);
     return engine.eval(scriptSource, bindings);
@@ -137,6 +198,7 @@ public class SourceExecutableScript extends CompiledExecutableScript {
    */
   public void setScriptSource(String scriptSource) {
     this.compiledScript = null;
+    this.threadConfinedScriptKey = new Object();
     shouldBeCompiled = true;
     this.scriptSource = scriptSource;
   }
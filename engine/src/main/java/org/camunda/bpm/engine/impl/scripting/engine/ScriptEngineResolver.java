@@ -16,9 +16,13 @@
  */
 package org.camunda.bpm.engine.impl.scripting.engine;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -30,10 +34,37 @@ import javax.script.ScriptEngineManager;
  */
 public class ScriptEngineResolver {
 
+  /**
+   * Attribute of a thread-confined script engine which holds the scripts compiled by the engine.
+   */
+  public static final String THREAD_CONFINED_COMPILED_SCRIPTS_ATTRIBUTE = "#camunda.threadConfinedCompiledScripts";
+
   protected final ScriptEngineManager scriptEngineManager;
 
   protected Map<String, ScriptEngine> cachedEngines = new HashMap<String, ScriptEngine>();
 
+  /**
+   * If true, script engines which are not thread-safe are cached per thread
+   * instead of being created for every script evaluation.
+   */
+  protected boolean enableThreadConfinement = false;
+
+  /**
+   * The engines of every thread (including the scripts compiled by them), so that they
+   * can be released by {@link #clearThreadConfinedEngines()}. Guarded by itself.
+   */
+  protected final Map<Thread, Map<String, ScriptEngine>> threadConfinedEnginesPerThread = new WeakHashMap<Thread, Map<String, ScriptEngine>>();
+
+  protected ThreadLocal<Map<String, ScriptEngine>> threadConfinedEngines = new ThreadLocal<Map<String, ScriptEngine>>() {
+    protected Map<String, ScriptEngine> initialValue() {
+      Map<String, ScriptEngine> engines = new ConcurrentHashMap<String, ScriptEngine>();
+      synchronized (threadConfinedEnginesPerThread) {
+        threadConfinedEnginesPerThread.put(Thread.currentThread(), engines);
+      }
+      return engines;
+    }
+  };
+
   public ScriptEngineResolver(ScriptEngineManager scriptEngineManager) {
     this.scriptEngineManager = scriptEngineManager;
   }
@@ -47,8 +78,50 @@ public class ScriptEngineResolver {
   }
 
 
+  public boolean isEnableThreadConfinement() {
+    return enableThreadConfinement;
+  }
+
+  public void setEnableThreadConfinement(boolean enableThreadConfinement) {
+    this.enableThreadConfinement = enableThreadConfinement;
+  }
+
+  /**
+   * Releases the script engines which are cached for the threads and the scripts compiled by
+   * them. Long-lived threads, e.g. the ones of the job executor, would otherwise keep the
+   * engines (and their class loader) after the resolver is discarded.
+   */
+  public void clearThreadConfinedEngines() {
+    synchronized (threadConfinedEnginesPerThread) {
+      for (Map<String, ScriptEngine> engines : threadConfinedEnginesPerThread.values()) {
+        for (ScriptEngine engine : engines.values()) {
+          Map<Object, CompiledScript> compiledScripts = getThreadConfinedCompiledScripts(engine);
+          if (compiledScripts != null) {
+            compiledScripts.clear();
+          }
+        }
+        engines.clear();
+      }
+    }
+  }
+
+  /**
+   * Returns the scripts compiled by a thread-confined script engine, keyed by the script.
+   * A compiled script is bound to the engine which compiled it, so it cannot be shared
+   * between threads if the script engine is not thread-safe.
+   *
+   * @return the compiled scripts or null if the engine is not confined to a thread
+   */
+  @SuppressWarnings("unchecked")
+  public static Map<Object, CompiledScript> getThreadConfinedCompiledScripts(ScriptEngine scriptEngine) {
+    return (Map<Object, CompiledScript>) scriptEngine.getContext()
+      .getAttribute(THREAD_CONFINED_COMPILED_SCRIPTS_ATTRIBUTE, ScriptContext.ENGINE_SCOPE);
+  }
+
   /**
    * Returns a cached script engine or creates a new script engine if no such engine is currently cached.
+   * If thread confinement is enabled, script engines which are not thread-safe are cached
+   * for the current thread.
    *
    * @param language the language (such as 'groovy' for the script engine)
    * @return the cached engine or null if no script engine can be created for the given language
@@ -60,6 +133,10 @@ public class ScriptEngineResolver {
     if (resolveFromCache) {
       scriptEngine = cachedEngines.get(language);
 
+      if(scriptEngine == null && enableThreadConfinement) {
+        scriptEngine = threadConfinedEngines.get().get(language);
+      }
+
       if(scriptEngine == null) {
         scriptEngine = scriptEngineManager.getEngineByName(language);
 
@@ -72,6 +149,12 @@ public class ScriptEngineResolver {
           if(isCachable(scriptEngine)) {
             cachedEngines.put(language, scriptEngine);
           }
+          else if(enableThreadConfinement) {
+            // the compiled scripts are only weakly referenced by their key, so that they are released with the script
+            Map<Object, CompiledScript> compiledScripts = Collections.synchronizedMap(new WeakHashMap<Object, CompiledScript>());
+            scriptEngine.getContext().setAttribute(THREAD_CONFINED_COMPILED_SCRIPTS_ATTRIBUTE, compiledScripts, ScriptContext.ENGINE_SCOPE);
+            threadConfinedEngines.get().put(language, scriptEngine);
+          }
 
         }
 
@@ -92,6 +175,14 @@ public class ScriptEngineResolver {
    */
   protected boolean isCachable(ScriptEngine scriptEngine) {
     // Check if script-engine supports multithreading. If true it can be cached.
+    return isThreadSafe(scriptEngine);
+  }
+
+  /**
+   * @return true if the script engine declares a threading behavior, i.e.
+   * it can be used by multiple threads concurrently
+   */
+  public static boolean isThreadSafe(ScriptEngine scriptEngine) {
     Object threadingParameter = scriptEngine.getFactory().getParameter("THREADING");
     return threadingParameter != null;
   }
@@ -40,7 +40,9 @@ import org.camunda.bpm.engine.impl.context.Context;
  * This class supports resolving a script engine for a given 'language name' (eg. 'groovy').
  * If the configuration option {@link #enableScriptEngineCaching} is set to true,
  * the class will attempt to cache 'cachable' script engines. We assume a {@link ScriptEngine} is
- * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)})</p>
+ * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)}). If additionally
+ * {@link #enableScriptEngineThreadConfinement} is set to true, script engines which are not threadsafe
+ * are cached per thread.</p>
  *
  * <p><strong>Custom Bindings:</strong> this class supports custom {@link Bindings}
  * implementations through the {@link #scriptBindingsFactory}. See {@link ScriptBindingsFactory}.</p>
@@ -58,6 +60,7 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
   protected ScriptBindingsFactory scriptBindingsFactory;
 
   protected boolean enableScriptEngineCaching = true;
+  protected boolean enableScriptEngineThreadConfinement = false;
 
   public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
     this(new ScriptEngineManager());
@@ -76,6 +79,15 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     this.enableScriptEngineCaching = enableScriptEngineCaching;
   }
 
+  public boolean isEnableScriptEngineThreadConfinement() {
+    return enableScriptEngineThreadConfinement;
+  }
+
+  public void setEnableScriptEngineThreadConfinement(boolean enableScriptEngineThreadConfinement) {
+    this.enableScriptEngineThreadConfinement = enableScriptEngineThreadConfinement;
+    scriptEngineResolver.setEnableThreadConfinement(enableScriptEngineThreadConfinement);
+  }
+
   public ScriptEngineManager getScriptEngineManager() {
     return scriptEngineResolver.getScriptEngineManager();
   }
@@ -184,6 +184,15 @@ public class Parse extends DefaultHandler {
     }
   }
 
+  /**
+   * Allows subclasses to leave elements out of the parsed element tree,
+   * together with all of their children. Skipped elements are still
+   * validated against the schema.
+   */
+  protected boolean isSkippedElement(String uri, String localName) {
+    return false;
+  }
+
   public Element getRootElement() {
     return rootElement;
   }
@@ -34,12 +34,17 @@ public class ParseHandler extends DefaultHandler {
   protected Parse parse;
   protected Locator locator;
   protected Deque<Element> elementStack = new ArrayDeque<>();
+  protected int skippedDepth = 0;
 
   public ParseHandler(Parse parse) {
     this.parse = parse;
   }
 
   public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+    if (skippedDepth > 0 || parse.isSkippedElement(uri, localName)) {
+      skippedDepth++;
+      return;
+    }
     Element element = new Element(uri, localName, qName, attributes, locator);
     if (elementStack.isEmpty()) {
       parse.rootElement = element;
@@ -50,10 +55,17 @@ public class ParseHandler extends DefaultHandler {
   }
 
   public void characters(char[] ch, int start, int length) throws SAXException {
+    if (skippedDepth > 0) {
+      return;
+    }
     elementStack.peek().appendText(String.valueOf(ch, start, length));
   }
 
   public void endElement(String uri, String localName, String qName) throws SAXException {
+    if (skippedDepth > 0) {
+      skippedDepth--;
+      return;
+    }
     elementStack.pop();
   }
 
@@ -25,7 +25,16 @@ import javax.xml.parsers.SAXParserFactory;
  */
 public class Parser {
 
-  protected static SAXParserFactory defaultSaxParserFactory = SAXParserFactory.newInstance();
+  /**
+   * {@link Parse} configures the factory before creating a parser, so each thread
+   * uses its own factory to allow resources to be parsed concurrently.
+   */
+  protected static ThreadLocal<SAXParserFactory> defaultSaxParserFactory = new ThreadLocal<SAXParserFactory>() {
+    @Override
+    protected SAXParserFactory initialValue() {
+      return SAXParserFactory.newInstance();
+    }
+  };
   
   public static final Parser INSTANCE = new Parser();
 
@@ -38,6 +47,6 @@ public class Parser {
   }
 
   protected SAXParserFactory getSaxParserFactory() {
-    return defaultSaxParserFactory;
+    return defaultSaxParserFactory.get();
   }
 }
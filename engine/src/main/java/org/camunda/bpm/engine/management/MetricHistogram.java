@@ -0,0 +1,84 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.management;
+
+import java.util.Date;
+
+/**
+ * Represents the latency distribution of a metric, recorded by this process
+ * engine node within one reporting interval of the metrics reporter.
+ * All values are in microseconds.
+ *
+ * @see Metrics#COMMAND_EXECUTION_TIME
+ * @see Metrics#JOB_EXECUTION_TIME
+ * @see Metrics#DECISION_EVALUATION_TIME
+ */
+public interface MetricHistogram {
+
+  /**
+   * Returns the name of the metric.
+   *
+   * @return the name of the metric
+   */
+  String getName();
+
+  /**
+   * Returns the start of the reporting interval.
+   *
+   * @return the start of the interval
+   */
+  Date getStartTime();
+
+  /**
+   * Returns the end of the reporting interval.
+   *
+   * @return the end of the interval
+   */
+  Date getEndTime();
+
+  /**
+   * Returns the number of values recorded within the interval.
+   *
+   * @return the number of recorded values
+   */
+  long getCount();
+
+  /**
+   * @return the lowest recorded value or 0 if no value was recorded
+   */
+  long getMin();
+
+  /**
+   * @return the highest recorded value or 0 if no value was recorded
+   */
+  long getMax();
+
+  /**
+   * @return the arithmetic mean of the recorded values or 0 if no value was recorded
+   */
+  double getMean();
+
+  /**
+   * Returns the value below or equal to which the given percentage of recorded values fall.
+   * The result is precise up to the resolution of the histogram (about 3% of the value).
+   *
+   * @param percentile the percentile between 0 and 100, e.g. 99.9
+   * @return the value at the given percentile or 0 if no value was recorded
+   */
+  long getValueAtPercentile(double percentile);
+
+}
@@ -67,4 +67,30 @@ public class Metrics {
   public final static String HISTORY_CLEANUP_REMOVED_CASE_INSTANCES = "history-cleanup-removed-case-instances";
   public final static String HISTORY_CLEANUP_REMOVED_DECISION_INSTANCES = "history-cleanup-removed-decision-instances";
   public final static String HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS = "history-cleanup-removed-batch-operations";
+
+  /**
+   * Prefix of the metrics counting the rows removed by history cleanup per table,
+   * followed by the lower case table name without prefix (e.g. <code>history-cleanup-removed-rows-act_hi_actinst</code>).
+   */
+  public final static String HISTORY_CLEANUP_REMOVED_ROWS_PREFIX = "history-cleanup-removed-rows-";
+
+  /**
+   * Histogram of the execution time of commands in microseconds.
+   */
+  public final static String COMMAND_EXECUTION_TIME = "command-execution-time";
+
+  /**
+   * Histogram of the execution time of jobs executed by the job executor in microseconds.
+   */
+  public final static String JOB_EXECUTION_TIME = "job-execution-time";
+
+  /**
+   * Histogram of the evaluation time of decisions in microseconds.
+   */
+  public final static String DECISION_EVALUATION_TIME = "decision-evaluation-time";
+
+  /**
+   * Histogram of the duration of the delete statements of a single history cleanup run in microseconds.
+   */
+  public final static String HISTORY_CLEANUP_EXECUTION_TIME = "history-cleanup-execution-time";
 }
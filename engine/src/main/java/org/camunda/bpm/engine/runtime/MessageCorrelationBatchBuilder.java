@@ -0,0 +1,77 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+
+/**
+ * <p>Fluent builder to correlate a batch of messages. Each message is defined by a
+ * {@link MessageCorrelationBuilder} and correlated to a single execution or process definition,
+ * like {@link MessageCorrelationBuilder#correlateWithResult()} does.</p>
+ *
+ * <p>The messages are correlated in a few transactions. Messages which are correlated by
+ * message name and business key only are resolved with one query per message name and
+ * transaction. Every other message is correlated in a transaction of its own. The outcome
+ * of every message is reported separately, i.e. a message which cannot be correlated does
+ * not affect the other messages of the batch.</p>
+ *
+ * @since 7.13
+ */
+public interface MessageCorrelationBatchBuilder {
+
+  /**
+   * Adds a message to the batch.
+   *
+   * @param correlation the message correlation, created by
+   *          {@link org.camunda.bpm.engine.RuntimeService#createMessageCorrelation(String)}
+   *
+   * @return the builder
+   */
+  MessageCorrelationBatchBuilder correlation(MessageCorrelationBuilder correlation);
+
+  /**
+   * Adds messages to the batch.
+   *
+   * @return the builder
+   */
+  MessageCorrelationBatchBuilder correlations(List<MessageCorrelationBuilder> correlations);
+
+  /**
+   * Sets the maximum number of messages which are correlated in one transaction.
+   * Default is 100.
+   *
+   * @return the builder
+   */
+  MessageCorrelationBatchBuilder transactionSize(int transactionSize);
+
+  /**
+   * Correlates the messages of the batch.
+   *
+   * <p>A message which cannot be correlated, e.g. because no or more than one execution
+   * or process definition matches or because the user has no
+   * {@link Permissions#UPDATE} permission on {@link Resources#PROCESS_INSTANCE}
+   * ({@link AuthorizationException}), is reported as failed result.</p>
+   *
+   * @return one result per message, in the order the messages were added
+   */
+  List<MessageCorrelationBatchResult> correlate();
+
+}
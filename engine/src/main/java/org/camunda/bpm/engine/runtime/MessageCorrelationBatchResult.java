@@ -0,0 +1,52 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+/**
+ * The outcome of a single message of a {@link MessageCorrelationBatchBuilder message correlation batch}.
+ *
+ * @since 7.13
+ */
+public interface MessageCorrelationBatchResult {
+
+  /**
+   * @return the name of the correlated message
+   */
+  String getMessageName();
+
+  /**
+   * @return the business key the message was correlated with
+   */
+  String getBusinessKey();
+
+  /**
+   * @return true if the message was correlated, false if the correlation failed
+   */
+  boolean isCorrelated();
+
+  /**
+   * @return the result of the correlation or <code>null</code> if the correlation failed
+   */
+  MessageCorrelationResult getResult();
+
+  /**
+   * @return the exception which caused the correlation to fail or <code>null</code> if
+   * the message was correlated
+   */
+  RuntimeException getException();
+
+}
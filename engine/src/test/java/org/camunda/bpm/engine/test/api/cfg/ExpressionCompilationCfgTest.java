@@ -0,0 +1,169 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.juel.CompiledValueExpression;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExpressionCompilationCfgTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setExpressionCompilationEnabled(true);
+      return configuration;
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void initServices() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+  }
+
+  @Test
+  public void shouldCompileExpression() {
+    assertTrue(processEngineConfiguration.getExpressionManager()
+        .createValueExpression("${a + b > 2 && !c}") instanceof CompiledValueExpression);
+  }
+
+  @Test
+  public void shouldNotCompileMethodInvocation() {
+    assertTrue(!(processEngineConfiguration.getExpressionManager()
+        .createValueExpression("${execution.getVariable('a')}") instanceof CompiledValueExpression));
+  }
+
+  @Test
+  public void shouldEvaluateArithmetic() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("a", 3);
+    variables.put("b", 4L);
+    variables.put("c", 1.5);
+
+    assertEquals(7L, evaluate("${a + b}", variables));
+    assertEquals(-1L, evaluate("${a - b}", variables));
+    assertEquals(12L, evaluate("${a * b}", variables));
+    assertEquals(4.5, evaluate("${a + c}", variables));
+    assertEquals(5L, evaluate("${a + '2'}", variables));
+  }
+
+  @Test
+  public void shouldEvaluateComparisons() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("a", 3);
+    variables.put("b", 3L);
+    variables.put("c", 2.5);
+    variables.put("s", "abc");
+
+    assertEquals(true, evaluate("${a == b}", variables));
+    assertEquals(false, evaluate("${a != b}", variables));
+    assertEquals(true, evaluate("${c < a}", variables));
+    assertEquals(true, evaluate("${a >= b}", variables));
+    assertEquals(true, evaluate("${s == 'abc'}", variables));
+    assertEquals(true, evaluate("${s < 'abd'}", variables));
+    assertEquals(true, evaluate("${a == '3'}", variables));
+  }
+
+  @Test
+  public void shouldEvaluateLogicalOperators() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("t", true);
+    variables.put("f", false);
+    variables.put("n", null);
+
+    assertEquals(false, evaluate("${t && f}", variables));
+    assertEquals(true, evaluate("${t || f}", variables));
+    assertEquals(true, evaluate("${not f}", variables));
+    assertEquals(true, evaluate("${n == null}", variables));
+    assertEquals("yes", evaluate("${t ? 'yes' : 'no'}", variables));
+    // the right operand is not evaluated
+    assertEquals(false, evaluate("${f && unknown}", variables));
+  }
+
+  @Test
+  public void shouldResolveExecution() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("a", 1);
+
+    assertEquals("process", evaluate("${execution.processDefinitionId != null ? 'process' : 'none'}", variables));
+  }
+
+  @Test
+  public void shouldFailForUnknownVariable() {
+    try {
+      evaluate("${unknown + 1}", new HashMap<String, Object>());
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTrue(e.getMessage().contains("Unknown property used in expression"));
+    }
+  }
+
+  @Test
+  public void shouldReturnNullVariable() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("n", null);
+
+    assertNull(evaluate("${n}", variables));
+  }
+
+  protected Object evaluate(String expression, Map<String, Object> variables) {
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .serviceTask()
+          .camundaExpression(expression)
+          .camundaResultVariable("result")
+        .userTask()
+        .endEvent()
+        .done();
+    testRule.deploy(process);
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+    return runtimeService.getVariable(processInstance.getId(), "result");
+  }
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Calendar;
+import java.util.Date;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.SuspendedEntityInteractionException;
+import org.camunda.bpm.engine.history.HistoricDecisionInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class LatestDefinitionIndexCfgTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setLatestDefinitionIndexEnabled(true);
+      // validate the index on every lookup to observe changes of other engines immediately
+      configuration.setLatestDefinitionIndexCheckInterval(0);
+      return configuration;
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  // shares the database but not the deployment cache
+  @Rule
+  public ProcessEngineRule otherEngineRule = new ProvidedProcessEngineRule();
+
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void initServices() {
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+  }
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldStartLatestVersionAfterRedeployment() {
+    // given
+    testRule.deploy(ProcessModels.ONE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+
+    // when
+    testRule.deploy(ProcessModels.ONE_TASK_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+
+    // then
+    assertEquals(getLatestProcessDefinition().getId(), processInstance.getProcessDefinitionId());
+  }
+
+  @Test
+  public void shouldStartPreviousVersionAfterDeploymentIsDeleted() {
+    // given
+    testRule.deploy(ProcessModels.ONE_TASK_PROCESS);
+    String previousProcessDefinitionId = getLatestProcessDefinition().getId();
+    Deployment deployment = testRule.deploy(ProcessModels.ONE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+
+    // when
+    repositoryService.deleteDeployment(deployment.getId(), true);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+
+    // then
+    assertEquals(previousProcessDefinitionId, processInstance.getProcessDefinitionId());
+  }
+
+  @Test
+  public void shouldFindDefinitionDeployedAfterFailedLookup() {
+    // given
+    try {
+      runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertTrue(e.getMessage().contains("no processes deployed with key '" + ProcessModels.PROCESS_KEY + "'"));
+    }
+
+    // when
+    testRule.deploy(ProcessModels.ONE_TASK_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+
+    // then
+    assertEquals(getLatestProcessDefinition().getId(), processInstance.getProcessDefinitionId());
+  }
+
+  @Test
+  public void shouldNotStartSuspendedDefinition() {
+    // given
+    testRule.deploy(ProcessModels.ONE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+
+    // when
+    repositoryService.suspendProcessDefinitionByKey(ProcessModels.PROCESS_KEY);
+
+    // then
+    try {
+      runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+      fail("exception expected");
+    } catch (SuspendedEntityInteractionException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void shouldNotStartDefinitionSuspendedByOtherEngine() {
+    // given
+    testRule.deploy(ProcessModels.ONE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+
+    // when
+    otherEngineRule.getRepositoryService().suspendProcessDefinitionByKey(ProcessModels.PROCESS_KEY);
+
+    // then the incremented definition revision invalidates the index
+    try {
+      runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+      fail("exception expected");
+    } catch (SuspendedEntityInteractionException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void shouldStartDefinitionRedeployedByOtherEngine() {
+    // given
+    Deployment deployment = testRule.deploy(ProcessModels.ONE_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+
+    // when the deployment is replaced by an equal one, which leaves the
+    // number and the versions of the process definitions unchanged
+    RepositoryService otherRepositoryService = otherEngineRule.getRepositoryService();
+    otherRepositoryService.deleteDeployment(deployment.getId(), true);
+    Deployment otherDeployment = otherRepositoryService.createDeployment()
+        .addModelInstance("process.bpmn", ProcessModels.ONE_TASK_PROCESS)
+        .deploy();
+    otherEngineRule.manageDeployment(otherDeployment);
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(ProcessModels.PROCESS_KEY);
+
+    // then the incremented definition revision invalidates the index
+    ProcessDefinition processDefinition = getLatestProcessDefinition();
+    assertEquals(1, processDefinition.getVersion());
+    assertEquals(otherDeployment.getId(), processDefinition.getDeploymentId());
+    assertEquals(processDefinition.getId(), processInstance.getProcessDefinitionId());
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldStartDefinitionWithUpdatedHistoryTimeToLive() {
+    // given
+    Date now = new Date(1363607000000L);
+    ClockUtil.setCurrentTime(now);
+    testRule.deploy(Bpmn.createExecutableProcess("ttlProcess")
+        .camundaHistoryTimeToLive(5)
+        .startEvent()
+        .endEvent()
+        .done());
+    runtimeService.startProcessInstanceByKey("ttlProcess");
+
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("ttlProcess")
+        .singleResult();
+
+    // when
+    repositoryService.updateProcessDefinitionHistoryTimeToLive(processDefinition.getId(), 10);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("ttlProcess");
+
+    // then the removal time is calculated from the updated history time to live
+    HistoricProcessInstance historicProcessInstance = engineRule.getHistoryService()
+        .createHistoricProcessInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .singleResult();
+    assertEquals(addDays(now, 10), historicProcessInstance.getRemovalTime());
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldEvaluateDefinitionWithUpdatedHistoryTimeToLive() {
+    // given
+    Date now = new Date(1363607000000L);
+    ClockUtil.setCurrentTime(now);
+    testRule.deploy("org/camunda/bpm/engine/test/dmn/deployment/drdDish.dmn11.xml");
+    evaluateDishDecision();
+
+    DecisionDefinition decisionDefinition = repositoryService.createDecisionDefinitionQuery()
+        .decisionDefinitionKey("dish-decision")
+        .singleResult();
+
+    // when
+    Date later = new Date(now.getTime() + 60000L);
+    ClockUtil.setCurrentTime(later);
+    repositoryService.updateDecisionDefinitionHistoryTimeToLive(decisionDefinition.getId(), 10);
+    evaluateDishDecision();
+
+    // then the removal time is calculated from the updated history time to live
+    HistoricDecisionInstance historicDecisionInstance = engineRule.getHistoryService()
+        .createHistoricDecisionInstanceQuery()
+        .decisionDefinitionKey("dish-decision")
+        .evaluatedAfter(later)
+        .singleResult();
+    assertEquals(addDays(later, 10), historicDecisionInstance.getRemovalTime());
+  }
+
+  protected void evaluateDishDecision() {
+    engineRule.getDecisionService().evaluateDecisionTableByKey("dish-decision", Variables.createVariables()
+        .putValue("temperature", 32)
+        .putValue("dayType", "Weekend"));
+  }
+
+  protected Date addDays(Date date, int amount) {
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime(date);
+    calendar.add(Calendar.DATE, amount);
+    return calendar.getTime();
+  }
+
+  protected ProcessDefinition getLatestProcessDefinition() {
+    return repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey(ProcessModels.PROCESS_KEY)
+        .latestVersion()
+        .singleResult();
+  }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+import org.camunda.bpm.engine.impl.db.IdBlock;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrefetchingDbIdGeneratorTest {
+
+  protected PrefetchingDbIdGenerator idGenerator;
+  protected BlockCommandExecutor commandExecutor;
+
+  @Before
+  public void setUp() {
+    commandExecutor = new BlockCommandExecutor();
+
+    idGenerator = new PrefetchingDbIdGenerator();
+    idGenerator.setIdBlockSize(10);
+    idGenerator.setCommandExecutor(commandExecutor);
+  }
+
+  @Test
+  public void shouldGenerateConsecutiveIdsOfBlock() {
+    assertThat(idGenerator.getNextId()).isEqualTo("1");
+    assertThat(idGenerator.getNextId()).isEqualTo("2");
+    assertThat(idGenerator.getNextId()).isEqualTo("3");
+  }
+
+  @Test
+  public void shouldPrefetchNextBlock() throws Exception {
+    // when half of the block is used
+    for (int i = 0; i < 6; i++) {
+      idGenerator.getNextId();
+    }
+
+    // then the next block is fetched in the background
+    long timeout = System.currentTimeMillis() + 5000;
+    while (commandExecutor.fetchedBlocks.get() < 2 && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10);
+    }
+    assertThat(commandExecutor.fetchedBlocks.get()).isEqualTo(2);
+
+    // and used once the current block is exhausted
+    for (int i = 0; i < 4; i++) {
+      idGenerator.getNextId();
+    }
+    assertThat(idGenerator.getNextId()).isEqualTo("11");
+    assertThat(commandExecutor.fetchedBlocks.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldGenerateUniqueIdsConcurrently() throws Exception {
+    final Set<String> ids = Collections.synchronizedSet(new HashSet<String>());
+    final int numThreads = 8;
+    final int idsPerThread = 1000;
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < numThreads; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < idsPerThread; j++) {
+            ids.add(idGenerator.getNextId());
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(ids).hasSize(numThreads * idsPerThread);
+  }
+
+  @Test
+  public void shouldIncreaseBlockSizeUnderLoad() {
+    idGenerator.setMaxIdBlockSize(80);
+    idGenerator.setTargetBlockDurationMillis(60 * 1000);
+
+    for (int i = 0; i < 500; i++) {
+      idGenerator.getNextId();
+    }
+
+    assertThat(idGenerator.getCurrentBlockSize()).isEqualTo(80);
+  }
+
+  @Test
+  public void shouldNotChangeBlockSizeWithoutMaximum() {
+    for (int i = 0; i < 100; i++) {
+      idGenerator.getNextId();
+    }
+
+    assertThat(idGenerator.getCurrentBlockSize()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldFetchNewBlockAfterReset() {
+    idGenerator.getNextId();
+
+    idGenerator.reset();
+    commandExecutor.nextDbId.set(1);
+
+    assertThat(idGenerator.getNextId()).isEqualTo("1");
+  }
+
+  /**
+   * Simulates the id block property of the database.
+   */
+  protected static class BlockCommandExecutor implements CommandExecutor {
+
+    protected AtomicLong nextDbId = new AtomicLong(1);
+    protected AtomicInteger fetchedBlocks = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Command<T> command) {
+      assertThat(command).isInstanceOf(GetNextIdBlockCmd.class);
+      int blockSize = ((GetNextIdBlockCmd) command).getIdBlockSize();
+
+      long nextId = nextDbId.getAndAdd(blockSize);
+      fetchedBlocks.incrementAndGet();
+      return (T) new IdBlock(nextId, nextId + blockSize - 1);
+    }
+  }
+
+}
@@ -20,8 +20,13 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskTopicListener;
 import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
 import org.camunda.bpm.engine.test.ProcessEngineRule;
 import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
@@ -45,6 +50,9 @@ public class ExternalTaskConditionsTest {
   @Mock
   public SingleConsumerCondition condition;
 
+  @Mock
+  public ExternalTaskTopicListener topicListener;
+
   private String deploymentId;
 
   private final BpmnModelInstance testProcess = Bpmn.createExecutableProcess("theProcess")
@@ -53,16 +61,30 @@ public class ExternalTaskConditionsTest {
         .camundaExternalTask("theTopic")
     .done();
 
+  private final BpmnModelInstance parallelTestProcess = Bpmn.createExecutableProcess("theParallelProcess")
+    .startEvent()
+    .parallelGateway("fork")
+    .serviceTask("theTask")
+        .camundaExternalTask("theTopic")
+    .endEvent()
+    .moveToNode("fork")
+    .serviceTask("theOtherTask")
+        .camundaExternalTask("theOtherTopic")
+    .endEvent()
+    .done();
+
   @Before
   public void setUp() {
 
     MockitoAnnotations.initMocks(this);
 
     ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_TOPIC_NOTIFIER.addListener(topicListener);
 
     deploymentId = rule.getRepositoryService()
         .createDeployment()
         .addModelInstance("process.bpmn", testProcess)
+        .addModelInstance("parallelProcess.bpmn", parallelTestProcess)
         .deploy()
         .getId();
   }
@@ -71,6 +93,7 @@ public class ExternalTaskConditionsTest {
   public void tearDown() {
 
     ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_TOPIC_NOTIFIER.removeListener(topicListener);
 
     if (deploymentId != null) {
       rule.getRepositoryService().deleteDeployment(deploymentId, true);
@@ -123,4 +146,48 @@ public class ExternalTaskConditionsTest {
     verify(condition, times(1)).signal();
   }
 
+  @Test
+  public void shouldNotifyTopicListenerOnTaskCreate() {
+
+    // when
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("theProcess");
+
+    // then
+    verify(topicListener, times(1)).onTopicsAvailable(Collections.singleton("theTopic"));
+  }
+
+  @Test
+  public void shouldNotifyTopicListenerOncePerTransaction() {
+
+    // when
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("theParallelProcess");
+
+    // then
+    verify(topicListener, times(1)).onTopicsAvailable(new HashSet<String>(Arrays.asList("theTopic", "theOtherTopic")));
+    verify(condition, times(1)).signal();
+  }
+
+  @Test
+  public void shouldNotifyTopicListenerOnUnlock() {
+
+    // given
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("theProcess");
+
+    reset(topicListener); // clear notification for create
+
+    LockedExternalTask lockedTask = rule.getExternalTaskService().fetchAndLock(1, "theWorker")
+      .topic("theTopic", 10000)
+      .execute()
+      .get(0);
+
+    // when
+    rule.getExternalTaskService().unlock(lockedTask.getId());
+
+    // then
+    verify(topicListener, times(1)).onTopicsAvailable(Collections.singleton("theTopic"));
+  }
+
 }
@@ -47,16 +47,19 @@ import org.camunda.bpm.engine.impl.history.DefaultHistoryRemovalTimeProvider;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandlerConfiguration;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricJobLogEventEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.runtime.Job;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.task.Attachment;
 import org.camunda.bpm.engine.task.Comment;
+import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.engine.test.ProcessEngineRule;
 import org.camunda.bpm.engine.test.RequiredHistoryLevel;
@@ -142,6 +145,8 @@ public class HistoryCleanupRemovalTimeTest {
     engineConfiguration.setHistoryCleanupBatchSize(MAX_BATCH_SIZE);
     engineConfiguration.setHistoryCleanupBatchWindowStartTime(null);
     engineConfiguration.setHistoryCleanupDegreeOfParallelism(1);
+    engineConfiguration.setHistoryCleanupBatchLatencyTarget(0);
+    engineConfiguration.setHistoryCleanupTableMetricsEnabled(false);
 
     engineConfiguration.setBatchOperationHistoryTimeToLive(null);
     engineConfiguration.setBatchOperationsForHistoryCleanup(null);
@@ -176,6 +181,8 @@ public class HistoryCleanupRemovalTimeTest {
       engineConfiguration.setHistoryCleanupBatchSize(MAX_BATCH_SIZE);
       engineConfiguration.setHistoryCleanupBatchWindowStartTime(null);
       engineConfiguration.setHistoryCleanupDegreeOfParallelism(1);
+      engineConfiguration.setHistoryCleanupBatchLatencyTarget(0);
+      engineConfiguration.setHistoryCleanupTableMetricsEnabled(false);
 
       engineConfiguration.setBatchOperationHistoryTimeToLive(null);
       engineConfiguration.setBatchOperationsForHistoryCleanup(null);
@@ -553,6 +560,75 @@ public class HistoryCleanupRemovalTimeTest {
     assertThat(removedProcessInstancesSum, is(2L));
   }
 
+  @Test
+  public void shouldReportTableMetricsForProcessInstanceCleanup() {
+    // given
+    engineConfiguration.setHistoryCleanupTableMetricsEnabled(true);
+
+    testRule.deploy(PROCESS);
+
+    runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+
+    String taskId = historyService.createHistoricTaskInstanceQuery().singleResult().getId();
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    taskService.complete(taskId);
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    // when
+    runHistoryCleanup();
+
+    long removedProcessInstanceRowsSum = managementService.createMetricsQuery()
+      .name(Metrics.HISTORY_CLEANUP_REMOVED_ROWS_PREFIX + "act_hi_procinst")
+      .sum();
+
+    long removedTaskInstanceRowsSum = managementService.createMetricsQuery()
+      .name(Metrics.HISTORY_CLEANUP_REMOVED_ROWS_PREFIX + "act_hi_taskinst")
+      .sum();
+
+    // then
+    assertThat(removedProcessInstanceRowsSum, is(1L));
+    assertThat(removedTaskInstanceRowsSum, is(1L));
+  }
+
+  @Test
+  public void shouldIncreaseBatchSizeBelowLatencyTarget() {
+    // given
+    engineConfiguration.setHistoryCleanupBatchSize(1);
+    engineConfiguration.setHistoryCleanupBatchLatencyTarget(60 * 1000);
+    engineConfiguration.initHistoryCleanup();
+
+    testRule.deploy(PROCESS);
+
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+    }
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    // when
+    List<Job> jobs = runHistoryCleanup();
+
+    // then
+    JobEntity job = (JobEntity) managementService.createJobQuery()
+      .jobId(jobs.get(0).getId())
+      .singleResult();
+
+    HistoryCleanupJobHandlerConfiguration configuration = HistoryCleanupJobHandlerConfiguration
+      .fromJson(JsonUtil.asObject(job.getJobHandlerConfigurationRaw()));
+
+    assertThat(configuration.getBatchSize(), is(2));
+    assertThat(historyService.createHistoricProcessInstanceQuery().count(), is(2L));
+  }
+
   @Test
   public void shouldCleanupActivityInstance() {
     // given
@@ -0,0 +1,167 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.management.MetricHistogram;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MetricHistogramTest {
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setMetricsHistogramsEnabled(true);
+    }
+  };
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ManagementService managementService;
+
+  @Before
+  public void setUp() {
+    managementService = engineRule.getManagementService();
+
+    // start a new reporting interval
+    managementService.reportDbMetricsNow();
+  }
+
+  @Test
+  public void shouldRecordCommandExecutionTime() {
+    // given
+    engineRule.getRuntimeService().createProcessInstanceQuery().list();
+    engineRule.getRepositoryService().createDeploymentQuery().list();
+
+    // when
+    managementService.reportDbMetricsNow();
+
+    // then
+    MetricHistogram histogram = getHistogram(Metrics.COMMAND_EXECUTION_TIME);
+    assertThat(histogram.getCount()).isGreaterThanOrEqualTo(2);
+    assertThat(histogram.getValueAtPercentile(50)).isLessThanOrEqualTo(histogram.getMax());
+    assertThat(histogram.getStartTime()).isBeforeOrEqualsTo(histogram.getEndTime());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  public void shouldRecordJobExecutionTime() {
+    // given
+    engineRule.getRuntimeService().startProcessInstanceByKey("asyncServiceTaskProcess");
+    engineRule.getRuntimeService().startProcessInstanceByKey("asyncServiceTaskProcess");
+    testRule.waitForJobExecutorToProcessAllJobs();
+
+    // when
+    managementService.reportDbMetricsNow();
+
+    // then
+    assertThat(getHistogram(Metrics.JOB_EXECUTION_TIME).getCount()).isEqualTo(2);
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/ExecutedDecisionElementsTest.dmn11.xml")
+  public void shouldRecordDecisionEvaluationTime() {
+    // given
+    engineRule.getDecisionService().evaluateDecisionTableByKey("decision", ExecutedDecisionElementsMetricsTest.VARIABLES);
+
+    // when
+    managementService.reportDbMetricsNow();
+
+    // then
+    assertThat(getHistogram(Metrics.DECISION_EVALUATION_TIME).getCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldComputePercentiles() {
+    // given
+    Histogram histogram = new Histogram("test");
+    for (long value = 1; value <= 1000; value++) {
+      histogram.recordValue(value);
+    }
+
+    // when
+    MetricHistogram snapshot = histogram.completeInterval();
+
+    // then
+    assertThat(snapshot.getCount()).isEqualTo(1000);
+    assertThat(snapshot.getMin()).isEqualTo(1);
+    assertThat(snapshot.getMax()).isEqualTo(1000);
+    assertThat(snapshot.getMean()).isEqualTo(500.5);
+    assertThat(snapshot.getValueAtPercentile(50)).isBetween(500L, 515L);
+    assertThat(snapshot.getValueAtPercentile(99)).isBetween(990L, 1000L);
+    assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(1000);
+  }
+
+  @Test
+  public void shouldStartNewIntervalAfterCompletion() {
+    // given
+    Histogram histogram = new Histogram("test");
+    histogram.recordValue(42);
+    histogram.completeInterval();
+
+    // when
+    MetricHistogram snapshot = histogram.completeInterval();
+
+    // then
+    assertThat(snapshot.getCount()).isEqualTo(0);
+    assertThat(snapshot.getMin()).isEqualTo(0);
+    assertThat(snapshot.getValueAtPercentile(99)).isEqualTo(0);
+    assertThat(histogram.getLastInterval()).isSameAs(snapshot);
+  }
+
+  @Test
+  public void shouldMapValuesToBucketsWithBoundedError() {
+    for (long value : new long[] { 0, 1, 31, 32, 33, 63, 64, 1000, 123456789L, 1L << 40 }) {
+      long upperBound = Histogram.getBucketUpperBound(Histogram.getBucketIndex(value));
+
+      assertThat(upperBound).isGreaterThanOrEqualTo(value);
+      assertThat(upperBound - value).isLessThanOrEqualTo(value / 32);
+    }
+  }
+
+  protected MetricHistogram getHistogram(String name) {
+    List<MetricHistogram> histograms = managementService.getMetricHistograms();
+    for (MetricHistogram histogram : histograms) {
+      if (histogram.getName().equals(name)) {
+        return histogram;
+      }
+    }
+    throw new AssertionError("No histogram recorded for " + name);
+  }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.repository.DeploymentWithDefinitions;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ParallelDeploymentParsingTest {
+
+  protected static final int PROCESS_COUNT = 20;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setParallelDeploymentParsingEnabled(true);
+    }
+  };
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+
+  @Before
+  public void setUp() {
+    repositoryService = engineRule.getRepositoryService();
+  }
+
+  @Test
+  public void shouldDeployProcessDefinitions() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < PROCESS_COUNT; i++) {
+      BpmnModelInstance process = Bpmn.createExecutableProcess("process" + i)
+        .startEvent()
+          .timerWithDuration("PT1H")
+        .userTask()
+        .endEvent()
+        .done();
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", process);
+    }
+
+    // when
+    DeploymentWithDefinitions deployment = testRule.deploy(deploymentBuilder);
+
+    // then
+    List<ProcessDefinition> processDefinitions = deployment.getDeployedProcessDefinitions();
+    assertThat(processDefinitions).hasSize(PROCESS_COUNT);
+    assertThat(repositoryService.createProcessDefinitionQuery().count()).isEqualTo(PROCESS_COUNT);
+
+    // the job declarations of all resources are merged
+    assertThat(engineRule.getManagementService().createJobQuery().timers().count()).isEqualTo(PROCESS_COUNT);
+
+    for (ProcessDefinition processDefinition : processDefinitions) {
+      assertThat(processDefinition.getResourceName()).isEqualTo(processDefinition.getKey() + ".bpmn");
+    }
+  }
+
+  @Test
+  public void shouldDeployDecisionAndCaseDefinitions() {
+    // when
+    testRule.deploy(
+        "org/camunda/bpm/engine/test/api/dmn/Example.dmn",
+        "org/camunda/bpm/engine/test/api/dmn/Another_Example.dmn",
+        "org/camunda/bpm/engine/test/api/cmmn/oneCaseTaskCase.cmmn",
+        "org/camunda/bpm/engine/test/api/cmmn/emptyStageCase.cmmn");
+
+    // then
+    assertThat(repositoryService.createDecisionDefinitionQuery().decisionDefinitionKey("decision").count()).isEqualTo(1);
+    assertThat(repositoryService.createDecisionDefinitionQuery().decisionDefinitionKey("anotherDecision").count()).isEqualTo(1);
+    assertThat(repositoryService.createCaseDefinitionQuery().caseDefinitionKey("oneCaseTaskCase").count()).isEqualTo(1);
+    assertThat(repositoryService.createCaseDefinitionQuery().caseDefinitionKey("emptyStageCase").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldFailDeploymentWithInvalidResource() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment()
+      .addModelInstance("valid.bpmn", Bpmn.createExecutableProcess("valid").startEvent().endEvent().done())
+      .addString("invalid.bpmn", "this is not a BPMN 2.0 model");
+
+    try {
+      // when
+      deploymentBuilder.deploy();
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage()).contains("invalid.bpmn");
+    }
+
+    assertThat(repositoryService.createDeploymentQuery().count()).isEqualTo(0);
+  }
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBatchResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MessageCorrelationBatchTest {
+
+  protected static final BpmnModelInstance WAITING_PROCESS = Bpmn.createExecutableProcess("waiting")
+      .startEvent()
+      .intermediateCatchEvent("catch")
+        .message("payment")
+      .userTask("afterMessage")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance START_PROCESS = Bpmn.createExecutableProcess("started")
+      .startEvent()
+        .message("order")
+      .userTask("afterStart")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance TWO_MESSAGES_PROCESS = Bpmn.createExecutableProcess("twoMessages")
+      .startEvent()
+      .intermediateCatchEvent("catchPayment")
+        .message("payment")
+      .intermediateCatchEvent("catchShipment")
+        .message("shipment")
+      .userTask("afterShipment")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance FAILING_PROCESS = Bpmn.createExecutableProcess("failing")
+      .startEvent()
+      .intermediateCatchEvent("catch")
+        .message("payment")
+      .serviceTask("fail")
+        .camundaExpression("${unknownBean.fail()}")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+
+    testRule.deploy(WAITING_PROCESS, START_PROCESS);
+  }
+
+  @Test
+  public void shouldCorrelateMessagesByBusinessKey() {
+    // given
+    ProcessInstance first = runtimeService.startProcessInstanceByKey("waiting", "key1");
+    ProcessInstance second = runtimeService.startProcessInstanceByKey("waiting", "key2");
+
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .correlation(runtimeService.createMessageCorrelation("payment")
+          .processInstanceBusinessKey("key1")
+          .setVariable("amount", 10))
+      .correlation(runtimeService.createMessageCorrelation("payment")
+          .processInstanceBusinessKey("key2")
+          .setVariable("amount", 20))
+      .correlate();
+
+    // then
+    assertThat(results).hasSize(2);
+    assertThat(results.get(0).isCorrelated()).isTrue();
+    assertThat(results.get(0).getBusinessKey()).isEqualTo("key1");
+    assertThat(results.get(0).getResult().getResultType()).isEqualTo(MessageCorrelationResultType.Execution);
+    assertThat(results.get(0).getResult().getExecution().getProcessInstanceId()).isEqualTo(first.getId());
+    assertThat(results.get(1).isCorrelated()).isTrue();
+    assertThat(results.get(1).getResult().getExecution().getProcessInstanceId()).isEqualTo(second.getId());
+
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterMessage").count()).isEqualTo(2);
+    assertThat(runtimeService.getVariable(first.getId(), "amount")).isEqualTo(10);
+    assertThat(runtimeService.getVariable(second.getId(), "amount")).isEqualTo(20);
+  }
+
+  @Test
+  public void shouldReportMismatchingMessage() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("waiting", "key1");
+
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .correlation(runtimeService.createMessageCorrelation("payment")
+          .processInstanceBusinessKey("unknown"))
+      .correlation(runtimeService.createMessageCorrelation("payment")
+          .processInstanceBusinessKey("key1"))
+      .correlate();
+
+    // then
+    assertThat(results.get(0).isCorrelated()).isFalse();
+    assertThat(results.get(0).getResult()).isNull();
+    assertThat(results.get(0).getException()).isInstanceOf(MismatchingMessageCorrelationException.class);
+
+    assertThat(results.get(1).isCorrelated()).isTrue();
+    assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult()).isNotNull();
+  }
+
+  @Test
+  public void shouldCorrelateStartMessages() {
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .correlation(runtimeService.createMessageCorrelation("order")
+          .processInstanceBusinessKey("order1"))
+      .correlation(runtimeService.createMessageCorrelation("order")
+          .processInstanceBusinessKey("order2"))
+      .correlate();
+
+    // then
+    assertThat(results.get(0).getResult().getResultType()).isEqualTo(MessageCorrelationResultType.ProcessDefinition);
+    assertThat(results.get(0).getResult().getProcessInstance().getBusinessKey()).isEqualTo("order1");
+    assertThat(results.get(1).getResult().getProcessInstance().getBusinessKey()).isEqualTo("order2");
+    assertThat(runtimeService.createProcessInstanceQuery().processDefinitionKey("started").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCorrelateMessagesForSameBusinessKeyInOrder() {
+    // given
+    runtimeService.startProcessInstanceByKey("waiting", "key1");
+
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .correlation(runtimeService.createMessageCorrelation("payment")
+          .processInstanceBusinessKey("key1"))
+      .correlation(runtimeService.createMessageCorrelation("payment")
+          .processInstanceBusinessKey("key1"))
+      .correlate();
+
+    // then the second message does not find a waiting execution anymore
+    assertThat(results.get(0).isCorrelated()).isTrue();
+    assertThat(results.get(1).isCorrelated()).isFalse();
+    assertThat(results.get(1).getException()).isInstanceOf(MismatchingMessageCorrelationException.class);
+  }
+
+  @Test
+  public void shouldCorrelateMessagesInSeveralTransactions() {
+    // given
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("waiting", "key" + i);
+    }
+
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .correlation(runtimeService.createMessageCorrelation("payment").processInstanceBusinessKey("key0"))
+      .correlation(runtimeService.createMessageCorrelation("payment").processInstanceBusinessKey("key1"))
+      .correlation(runtimeService.createMessageCorrelation("payment").processInstanceBusinessKey("key2"))
+      .correlation(runtimeService.createMessageCorrelation("payment").processInstanceBusinessKey("key3"))
+      .correlation(runtimeService.createMessageCorrelation("payment").processInstanceBusinessKey("key4"))
+      .transactionSize(2)
+      .correlate();
+
+    // then
+    assertThat(results).hasSize(5);
+    for (MessageCorrelationBatchResult result : results) {
+      assertThat(result.isCorrelated()).isTrue();
+    }
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterMessage").count()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldCorrelateMessageByBusinessKeyAfterMessageByProcessInstanceId() {
+    // given
+    testRule.deploy(TWO_MESSAGES_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("twoMessages", "key1");
+
+    // when the first message creates the subscription of the second one
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .correlation(runtimeService.createMessageCorrelation("payment")
+          .processInstanceId(processInstance.getId()))
+      .correlation(runtimeService.createMessageCorrelation("shipment")
+          .processInstanceBusinessKey("key1"))
+      .correlate();
+
+    // then
+    assertThat(results.get(0).isCorrelated()).isTrue();
+    assertThat(results.get(1).isCorrelated()).isTrue();
+    assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getTaskDefinitionKey())
+      .isEqualTo("afterShipment");
+  }
+
+  @Test
+  public void shouldCorrelateMessagesOneByOneIfTriggeringFails() {
+    // given
+    testRule.deploy(FAILING_PROCESS);
+    runtimeService.startProcessInstanceByKey("waiting", "key1");
+    ProcessInstance failingInstance = runtimeService.startProcessInstanceByKey("failing", "key2");
+    runtimeService.startProcessInstanceByKey("waiting", "key3");
+
+    // when
+    List<MessageCorrelationBatchResult> results = runtimeService.createMessageCorrelationBatch()
+      .correlation(runtimeService.createMessageCorrelation("payment").processInstanceBusinessKey("key1"))
+      .correlation(runtimeService.createMessageCorrelation("payment").processInstanceBusinessKey("key2"))
+      .correlation(runtimeService.createMessageCorrelation("payment").processInstanceBusinessKey("key3"))
+      .correlate();
+
+    // then the other messages are correlated after the rollback of the transaction
+    assertThat(results).hasSize(3);
+    assertThat(results.get(0).isCorrelated()).isTrue();
+    assertThat(results.get(1).isCorrelated()).isFalse();
+    assertThat(results.get(1).getBusinessKey()).isEqualTo("key2");
+    assertThat(results.get(1).getException()).isNotNull();
+    assertThat(results.get(2).isCorrelated()).isTrue();
+
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterMessage").count()).isEqualTo(2);
+    assertThat(runtimeService.createEventSubscriptionQuery()
+        .processInstanceId(failingInstance.getId())
+        .eventName("payment")
+        .count()).isEqualTo(1);
+  }
+
+}
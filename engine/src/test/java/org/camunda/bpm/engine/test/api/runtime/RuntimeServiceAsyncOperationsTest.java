@@ -108,6 +108,7 @@ public class RuntimeServiceAsyncOperationsTest extends AbstractAsyncOperationsTe
     ProcessEngineConfigurationImpl configuration = engineRule.getProcessEngineConfiguration();
     configuration.setBatchJobsPerSeed(defaultBatchJobsPerSeed);
     configuration.setInvocationsPerBatchJob(defaultInvocationsPerBatchJob);
+    configuration.setBatchIdChunkingEnabled(false);
   }
 
   @Deployment(resources = {
@@ -156,6 +157,51 @@ public class RuntimeServiceAsyncOperationsTest extends AbstractAsyncOperationsTe
     }
   }
 
+  @Deployment(resources = {
+      "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml"})
+  @Test
+  public void testDeleteProcessInstancesAsyncWithChunkedIds() throws Exception {
+    // given
+    ProcessEngineConfigurationImpl configuration = engineRule.getProcessEngineConfiguration();
+    configuration.setBatchIdChunkingEnabled(true);
+    configuration.setBatchJobsPerSeed(2);
+    configuration.setInvocationsPerBatchJob(1);
+    List<String> processIds = startTestProcesses(9);
+
+    // when
+    Batch batch = runtimeService.deleteProcessInstancesAsync(processIds, null, TESTING_INSTANCE_DELETE);
+
+    createAndExecuteSeedJobs(batch.getSeedJobDefinitionId(), 5);
+    executeBatchJobs(batch);
+
+    // then
+    assertHistoricTaskDeletionPresent(processIds, TESTING_INSTANCE_DELETE, testRule);
+    assertHistoricBatchExists(testRule);
+    assertProcessInstancesAreDeleted();
+  }
+
+  @Deployment(resources = {
+      "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml"})
+  @Test
+  public void testDeleteBatchWithChunkedIds() throws Exception {
+    // given
+    ProcessEngineConfigurationImpl configuration = engineRule.getProcessEngineConfiguration();
+    configuration.setBatchIdChunkingEnabled(true);
+    configuration.setBatchJobsPerSeed(2);
+    configuration.setInvocationsPerBatchJob(1);
+    List<String> processIds = startTestProcesses(6);
+
+    Batch batch = runtimeService.deleteProcessInstancesAsync(processIds, null, TESTING_INSTANCE_DELETE);
+    executeSeedJob(batch);
+
+    // when
+    managementService.deleteBatch(batch.getId(), true);
+
+    // then the remaining id chunks are removed together with the batch
+    assertNull(managementService.createBatchQuery().singleResult());
+    assertEquals(6, runtimeService.createProcessInstanceQuery().count());
+  }
+
   @Deployment(resources = {
       "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml"})
   @Test
@@ -0,0 +1,154 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.runtime.Execution;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExecutionTreeVariablePrefetchTest {
+
+  protected static final BpmnModelInstance PARALLEL_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .parallelGateway("fork")
+      .userTask("taskA")
+      .endEvent()
+      .moveToNode("fork")
+      .userTask("taskB")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setExecutionTreeVariablePrefetchEnabled(true);
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+
+  protected String executionIdA;
+  protected String executionIdB;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    testRule.deploy(PARALLEL_PROCESS);
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.setVariable(processInstance.getId(), "global", "global");
+
+    Execution executionA = runtimeService.createExecutionQuery().activityId("taskA").singleResult();
+    Execution executionB = runtimeService.createExecutionQuery().activityId("taskB").singleResult();
+    executionIdA = executionA.getId();
+    executionIdB = executionB.getId();
+    runtimeService.setVariableLocal(executionIdA, "varA", "a");
+    runtimeService.setVariableLocal(executionIdB, "varB", "b");
+  }
+
+  @Test
+  public void shouldFetchVariablesOfExecutionTreeInOneQuery() {
+    List<String> cachedVariableNames = engineRule.getProcessEngineConfiguration()
+        .getCommandExecutorTxRequired()
+        .execute(new Command<List<String>>() {
+          public List<String> execute(CommandContext commandContext) {
+            ExecutionEntity executionA = commandContext.getExecutionManager().findExecutionById(executionIdA);
+
+            // when resolving a variable of the parent scope
+            assertThat(executionA.getVariable("global")).isEqualTo("global");
+
+            // then the variables of the sibling execution are loaded as well
+            List<String> variableNames = new ArrayList<>();
+            for (VariableInstanceEntity variable : commandContext.getDbEntityManager().getCachedEntitiesByType(VariableInstanceEntity.class)) {
+              variableNames.add(variable.getName());
+            }
+            return variableNames;
+          }
+        });
+
+    assertThat(cachedVariableNames).containsOnly("global", "varA", "varB");
+  }
+
+  @Test
+  public void shouldDistributeVariablesToScopes() {
+    engineRule.getProcessEngineConfiguration()
+        .getCommandExecutorTxRequired()
+        .execute(new Command<Void>() {
+          public Void execute(CommandContext commandContext) {
+            ExecutionEntity executionA = commandContext.getExecutionManager().findExecutionById(executionIdA);
+            ExecutionEntity executionB = commandContext.getExecutionManager().findExecutionById(executionIdB);
+
+            assertThat(executionA.getVariables()).containsOnlyKeys("global", "varA");
+            assertThat(executionA.getVariablesLocal()).containsOnlyKeys("varA");
+            assertThat(executionB.getVariables()).containsOnlyKeys("global", "varB");
+            assertThat(executionB.getVariablesLocal()).containsOnlyKeys("varB");
+            assertThat(executionA.getProcessInstance().getVariablesLocal()).containsOnlyKeys("global");
+            return null;
+          }
+        });
+  }
+
+  @Test
+  public void shouldUpdatePrefetchedVariables() {
+    // when
+    engineRule.getProcessEngineConfiguration()
+        .getCommandExecutorTxRequired()
+        .execute(new Command<Void>() {
+          public Void execute(CommandContext commandContext) {
+            ExecutionEntity executionA = commandContext.getExecutionManager().findExecutionById(executionIdA);
+            executionA.setVariable("global", "updated");
+
+            ExecutionEntity executionB = commandContext.getExecutionManager().findExecutionById(executionIdB);
+            executionB.setVariableLocal("varB", "updated");
+            return null;
+          }
+        });
+
+    // then
+    assertThat(runtimeService.getVariable(executionIdA, "global")).isEqualTo("updated");
+    assertThat(runtimeService.getVariableLocal(executionIdA, "varA")).isEqualTo("a");
+    assertThat(runtimeService.getVariableLocal(executionIdB, "varB")).isEqualTo("updated");
+  }
+
+}
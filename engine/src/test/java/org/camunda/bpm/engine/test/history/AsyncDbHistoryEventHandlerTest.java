@@ -0,0 +1,257 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.handler.AsyncDbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+public class AsyncDbHistoryEventHandlerTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent("start")
+      .userTask("task")
+      .endEvent("end")
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration
+          .setAsyncHistoryEventHandlerEnabled(true)
+          .setAsyncHistoryEventBatchSize(3);
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected AsyncDbHistoryEventHandler handler;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected IdentityService identityService;
+
+  @Before
+  public void setUp() {
+    handler = engineRule.getProcessEngineConfiguration().getAsyncDbHistoryEventHandler();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    identityService = engineRule.getIdentityService();
+
+    testRule.deploy(PROCESS);
+  }
+
+  @After
+  public void awaitHistory() throws InterruptedException {
+    awaitWritten();
+  }
+
+  @Test
+  public void shouldWriteHistoryAfterCommit() throws InterruptedException {
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    awaitWritten();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getId()).isEqualTo(processInstance.getId());
+    assertThat(historicProcessInstance.getEndTime()).isNull();
+
+    HistoricActivityInstance startEvent = historyService.createHistoricActivityInstanceQuery().activityId("start").singleResult();
+    assertThat(startEvent.getStartTime()).isNotNull();
+    assertThat(startEvent.getEndTime()).isNotNull();
+  }
+
+  @Test
+  public void shouldKeepStartOfProcessInstanceEndedInSameTransaction() throws InterruptedException {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("shortProcess")
+        .startEvent("shortStart")
+        .endEvent("shortEnd")
+        .done());
+    identityService.setAuthenticatedUserId("kermit");
+
+    // when
+    try {
+      runtimeService.startProcessInstanceByKey("shortProcess");
+    } finally {
+      identityService.clearAuthentication();
+    }
+    awaitWritten();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+        .processDefinitionKey("shortProcess")
+        .singleResult();
+    assertThat(historicProcessInstance.getStartUserId()).isEqualTo("kermit");
+    assertThat(historicProcessInstance.getStartActivityId()).isEqualTo("shortStart");
+    assertThat(historicProcessInstance.getEndActivityId()).isEqualTo("shortEnd");
+    assertThat(historicProcessInstance.getStartTime()).isNotNull();
+    assertThat(historicProcessInstance.getEndTime()).isNotNull();
+    assertThat(historicProcessInstance.getDurationInMillis()).isNotNull();
+  }
+
+  @Test
+  public void shouldAddRemovalTimeOfEndedProcessInstance() throws InterruptedException {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("shortProcess")
+        .camundaHistoryTimeToLive(5)
+        .startEvent("shortStart")
+        .endEvent("shortEnd")
+        .done());
+
+    // when the process instance ends before the writer thread wrote any of its events
+    runtimeService.startProcessInstanceByKey("shortProcess");
+    awaitWritten();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+        .processDefinitionKey("shortProcess")
+        .singleResult();
+    assertThat(historicProcessInstance.getRemovalTime()).isNotNull();
+
+    HistoricActivityInstance startEvent = historyService.createHistoricActivityInstanceQuery().activityId("shortStart").singleResult();
+    assertThat(startEvent.getRemovalTime()).isEqualTo(historicProcessInstance.getRemovalTime());
+  }
+
+  @Test
+  public void shouldAddRemovalTimeOfStartedProcessInstance() throws InterruptedException {
+    // given
+    ProcessEngineConfigurationImpl configuration = engineRule.getProcessEngineConfiguration();
+    configuration.setHistoryRemovalTimeStrategy(ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_START);
+    testRule.deploy(Bpmn.createExecutableProcess("ttlProcess")
+        .camundaHistoryTimeToLive(5)
+        .startEvent("ttlStart")
+        .userTask("ttlTask")
+        .done());
+
+    // when the activities start before the writer thread wrote the process instance
+    try {
+      runtimeService.startProcessInstanceByKey("ttlProcess");
+      awaitWritten();
+    } finally {
+      configuration.setHistoryRemovalTimeStrategy(ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END);
+    }
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+        .processDefinitionKey("ttlProcess")
+        .singleResult();
+    assertThat(historicProcessInstance.getRemovalTime()).isNotNull();
+
+    HistoricActivityInstance task = historyService.createHistoricActivityInstanceQuery().activityId("ttlTask").singleResult();
+    assertThat(task.getRemovalTime()).isEqualTo(historicProcessInstance.getRemovalTime());
+  }
+
+  @Test
+  public void shouldWriteUpdatesOfLaterTransactions() throws InterruptedException {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+    awaitWritten();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getStartTime()).isNotNull();
+    assertThat(historicProcessInstance.getEndTime()).isNotNull();
+
+    HistoricActivityInstance task = historyService.createHistoricActivityInstanceQuery().activityId("task").singleResult();
+    assertThat(task.getStartTime()).isNotNull();
+    assertThat(task.getEndTime()).isNotNull();
+    assertThat(task.getDurationInMillis()).isNotNull();
+  }
+
+  @Test
+  public void shouldWriteEventsOfManyTransactions() throws InterruptedException {
+    // given
+    for (int i = 0; i < 10; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+    awaitWritten();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(10);
+    assertThat(historyService.createHistoricActivityInstanceQuery().finished().count()).isEqualTo(30);
+  }
+
+  @Test
+  public void shouldDiscardEventsOfRolledBackTransaction() throws InterruptedException {
+    // when
+    try {
+      engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          runtimeService.startProcessInstanceByKey("process");
+          throw new ProcessEngineException("expected");
+        }
+      });
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // expected
+    }
+    awaitWritten();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isZero();
+  }
+
+  protected void awaitWritten() throws InterruptedException {
+    assertThat(handler.awaitWritten(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+}
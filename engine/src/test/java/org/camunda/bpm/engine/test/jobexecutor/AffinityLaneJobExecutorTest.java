@@ -0,0 +1,213 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobBatch;
+import org.camunda.bpm.engine.impl.jobexecutor.AffinityLaneJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AffinityLaneJobExecutorTest {
+
+  protected ControllableAffinityLaneJobExecutor jobExecutor;
+  protected ProcessEngineImpl processEngine;
+  protected List<String> rejectedJobIds;
+
+  @Before
+  public void setUp() {
+    processEngine = mock(ProcessEngineImpl.class);
+    when(processEngine.getName()).thenReturn("engine");
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(mock(ProcessEngineConfigurationImpl.class));
+
+    rejectedJobIds = Collections.synchronizedList(new ArrayList<String>());
+
+    jobExecutor = new ControllableAffinityLaneJobExecutor();
+    jobExecutor.setLaneCount(4);
+    jobExecutor.setLaneQueueSize(1);
+    jobExecutor.setRejectedJobsHandler(new RejectedJobsHandler() {
+      public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+        rejectedJobIds.addAll(jobIds);
+      }
+    });
+    jobExecutor.startExecuting();
+  }
+
+  @After
+  public void tearDown() {
+    jobExecutor.proceed();
+    jobExecutor.stopExecuting();
+  }
+
+  @Test
+  public void shouldRouteBatchesOfProcessInstanceToSameLane() {
+    // given
+    AcquiredJobBatch firstBatch = batch("job1", "processInstance");
+    AcquiredJobBatch secondBatch = batch("job2", "processInstance");
+
+    // then
+    assertThat(jobExecutor.getLane(firstBatch)).isEqualTo(jobExecutor.getLane(secondBatch));
+  }
+
+  @Test
+  public void shouldExecuteBatchesOfProcessInstanceOnSameThread() {
+    // given
+    jobExecutor.proceed();
+
+    // when
+    for (int i = 0; i < 5; i++) {
+      jobExecutor.executeJobs(batch("job" + i, "processInstance"), processEngine);
+      jobExecutor.awaitExecutedJobs(i + 1);
+    }
+
+    // then
+    assertThat(jobExecutor.getExecutionThreads()).hasSize(1);
+    assertThat(rejectedJobIds).isEmpty();
+  }
+
+  @Test
+  public void shouldRejectBatchIfLaneIsFull() {
+    // given the lane's thread is busy and its queue is full
+    jobExecutor.executeJobs(batch("job1", "processInstance"), processEngine);
+    jobExecutor.awaitExecutionStarted();
+    jobExecutor.executeJobs(batch("job2", "processInstance"), processEngine);
+
+    // when
+    jobExecutor.executeJobs(batch("job3", "processInstance"), processEngine);
+
+    // then
+    assertThat(rejectedJobIds).containsExactly("job3");
+  }
+
+  @Test
+  public void shouldRejectBatchAfterStop() {
+    // given
+    jobExecutor.proceed();
+    jobExecutor.stopExecuting();
+
+    // when a late batch arrives from the acquisition thread
+    jobExecutor.executeJobs(batch("job1", "processInstance"), processEngine);
+
+    // then
+    assertThat(rejectedJobIds).containsExactly("job1");
+  }
+
+  protected AcquiredJobBatch batch(String jobId, String processInstanceId) {
+    AcquirableJobEntity job = new AcquirableJobEntity();
+    job.setId(jobId);
+    job.setProcessInstanceId(processInstanceId);
+
+    AcquiredJobBatch batch = new AcquiredJobBatch();
+    batch.addJob(job);
+    return batch;
+  }
+
+  /**
+   * Records the executing threads; batches block until {@link #proceed()} is called.
+   */
+  public static class ControllableAffinityLaneJobExecutor extends AffinityLaneJobExecutor {
+
+    protected CountDownLatch executionStartedLatch = new CountDownLatch(1);
+    protected CountDownLatch proceedLatch = new CountDownLatch(1);
+    protected Set<Thread> executionThreads = Collections.synchronizedSet(new HashSet<Thread>());
+    protected List<String> executedJobIds = Collections.synchronizedList(new ArrayList<String>());
+
+    public void startExecuting() {
+      startExecutingJobs();
+    }
+
+    public void stopExecuting() {
+      if (lanes != null) {
+        stopExecutingJobs();
+      }
+    }
+
+    protected void startJobAcquisitionThread() {
+      // jobs are submitted by the test
+    }
+
+    protected void stopJobAcquisitionThread() {
+      // jobs are submitted by the test
+    }
+
+    public Runnable getExecuteJobsRunnable(final List<String> jobIds, ProcessEngineImpl processEngine) {
+      return new Runnable() {
+        public void run() {
+          executionThreads.add(Thread.currentThread());
+          executionStartedLatch.countDown();
+
+          try {
+            proceedLatch.await(10, TimeUnit.SECONDS);
+          }
+          catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+
+          executedJobIds.addAll(jobIds);
+        }
+      };
+    }
+
+    public void awaitExecutionStarted() {
+      try {
+        assertThat(executionStartedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+      }
+      catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    public void awaitExecutedJobs(int numJobs) {
+      long deadline = System.currentTimeMillis() + 10000;
+      while (executedJobIds.size() < numJobs && System.currentTimeMillis() < deadline) {
+        try {
+          Thread.sleep(10);
+        }
+        catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+      }
+      assertThat(executedJobIds).hasSize(numJobs);
+    }
+
+    public void proceed() {
+      proceedLatch.countDown();
+    }
+
+    public Set<Thread> getExecutionThreads() {
+      return executionThreads;
+    }
+  }
+
+}
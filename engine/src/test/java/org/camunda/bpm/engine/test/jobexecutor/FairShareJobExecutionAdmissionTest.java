@@ -0,0 +1,104 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.FairShareJobExecutionAdmission;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FairShareJobExecutionAdmissionTest {
+
+  protected JobExecutor jobExecutor;
+  protected FairShareJobExecutionAdmission admission;
+
+  @Before
+  public void setUp() {
+    jobExecutor = new DefaultJobExecutor();
+    jobExecutor.getProcessEngines().add(mockEngine("engine1"));
+    jobExecutor.getProcessEngines().add(mockEngine("engine2"));
+
+    admission = new FairShareJobExecutionAdmission(jobExecutor, 4);
+  }
+
+  @Test
+  public void shouldAdmitBatchesWithinShare() {
+    assertThat(admission.tryAdmit("engine1")).isTrue();
+    assertThat(admission.tryAdmit("engine1")).isTrue();
+    assertThat(admission.tryAdmit("engine2")).isTrue();
+    assertThat(admission.tryAdmit("engine2")).isTrue();
+
+    assertThat(admission.getSubmittedBatches()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldRejectBatchBeyondShareIfOtherEngineNeedsCapacity() {
+    assertThat(admission.tryAdmit("engine1")).isTrue();
+    assertThat(admission.tryAdmit("engine1")).isTrue();
+
+    // the remaining capacity is reserved for engine2
+    assertThat(admission.tryAdmit("engine1")).isFalse();
+    assertThat(admission.tryAdmit("engine2")).isTrue();
+  }
+
+  @Test
+  public void shouldAdmitBatchAfterRelease() {
+    assertThat(admission.tryAdmit("engine1")).isTrue();
+    assertThat(admission.tryAdmit("engine1")).isTrue();
+    assertThat(admission.tryAdmit("engine1")).isFalse();
+
+    admission.release("engine1");
+
+    assertThat(admission.tryAdmit("engine1")).isTrue();
+  }
+
+  @Test
+  public void shouldUseFullCapacityForSingleEngine() {
+    jobExecutor.getProcessEngines().remove(1);
+
+    for (int i = 0; i < 4; i++) {
+      assertThat(admission.tryAdmit("engine1")).isTrue();
+    }
+    assertThat(admission.tryAdmit("engine1")).isFalse();
+  }
+
+  @Test
+  public void shouldReleaseAdmissionAfterExecution() {
+    assertThat(admission.tryAdmit("engine1")).isTrue();
+
+    admission.wrap("engine1", new Runnable() {
+      public void run() {
+        // execute nothing
+      }
+    }).run();
+
+    assertThat(admission.getSubmittedBatches()).isEqualTo(0);
+  }
+
+  protected ProcessEngineImpl mockEngine(String name) {
+    ProcessEngineImpl processEngine = mock(ProcessEngineImpl.class);
+    when(processEngine.getName()).thenReturn(name);
+    return processEngine;
+  }
+
+}
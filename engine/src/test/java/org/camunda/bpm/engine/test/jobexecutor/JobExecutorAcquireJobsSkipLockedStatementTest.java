@@ -0,0 +1,124 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.ibatis.builder.xml.XMLConfigBuilder;
+import org.apache.ibatis.session.Configuration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.junit.Test;
+
+/**
+ * Renders the job acquisition statement for the databases which can skip locked jobs.
+ */
+public class JobExecutorAcquireJobsSkipLockedStatementTest {
+
+  @Test
+  public void shouldSkipLockedJobsOnPostgres() {
+    String sql = renderNextJobsToExecute(DbSqlSessionFactory.POSTGRES, true);
+
+    assertTrue(sql, sql.endsWith("order by RES.PRIORITY_ desc LIMIT ? OFFSET ? FOR UPDATE SKIP LOCKED"));
+  }
+
+  @Test
+  public void shouldSkipLockedJobsOnMysql() {
+    String sql = renderNextJobsToExecute(DbSqlSessionFactory.MYSQL, true);
+
+    assertTrue(sql, sql.endsWith("order by RES.PRIORITY_ desc LIMIT ? OFFSET ? FOR UPDATE SKIP LOCKED"));
+  }
+
+  @Test
+  public void shouldSkipLockedJobsOnMssql() {
+    String sql = renderNextJobsToExecute(DbSqlSessionFactory.MSSQL, true);
+
+    // the table hint only locks the selected rows if it is not applied within the paging
+    assertTrue(sql, sql.startsWith("select TOP (?) RES.ID_,"));
+    assertTrue(sql, sql.contains(" from ACT_RU_JOB RES WITH (UPDLOCK, READPAST, ROWLOCK) where "));
+    assertTrue(sql, sql.endsWith("order by RES.PRIORITY_ desc"));
+    assertFalse(sql, sql.contains("row_number()"));
+  }
+
+  @Test
+  public void shouldNotSkipLockedJobsIfDisabled() {
+    for (String databaseType : new String[] {DbSqlSessionFactory.POSTGRES, DbSqlSessionFactory.MYSQL, DbSqlSessionFactory.MSSQL}) {
+      String sql = renderNextJobsToExecute(databaseType, false);
+
+      assertFalse(sql, sql.contains("SKIP LOCKED"));
+      assertFalse(sql, sql.contains("READPAST"));
+    }
+  }
+
+  @Test
+  public void shouldSupportSkipLockedDependingOnDatabaseVersion() {
+    assertTrue(DbSqlSessionFactory.isSkipLockedSupported(DbSqlSessionFactory.POSTGRES, null));
+    assertTrue(DbSqlSessionFactory.isSkipLockedSupported(DbSqlSessionFactory.MSSQL, null));
+    assertTrue(DbSqlSessionFactory.isSkipLockedSupported(DbSqlSessionFactory.MYSQL, 8));
+
+    assertFalse(DbSqlSessionFactory.isSkipLockedSupported(DbSqlSessionFactory.MYSQL, 5));
+    assertFalse(DbSqlSessionFactory.isSkipLockedSupported(DbSqlSessionFactory.MYSQL, null));
+    assertFalse(DbSqlSessionFactory.isSkipLockedSupported(DbSqlSessionFactory.MARIADB, 10));
+    assertFalse(DbSqlSessionFactory.isSkipLockedSupported(DbSqlSessionFactory.H2, null));
+  }
+
+  protected String renderNextJobsToExecute(String databaseType, boolean skipLocked) {
+    Properties properties = new Properties();
+    properties.put("prefix", "");
+    ProcessEngineConfigurationImpl.initSqlSessionFactoryProperties(properties, "", databaseType);
+
+    InputStream inputStream = ReflectUtil.getResourceAsStream(ProcessEngineConfigurationImpl.DEFAULT_MYBATIS_MAPPING_FILE);
+    try {
+      Configuration configuration = new XMLConfigBuilder(new InputStreamReader(inputStream), "", properties).parse();
+
+      DbSqlSessionFactory dbSqlSessionFactory = new DbSqlSessionFactory(false);
+      dbSqlSessionFactory.setDatabaseType(databaseType);
+      String statement = dbSqlSessionFactory.mapStatement("selectNextJobsToExecute");
+
+      Map<String, Object> params = new HashMap<>();
+      params.put("now", new Date());
+      params.put("alwaysSetDueDate", false);
+      params.put("deploymentAware", false);
+      params.put("historyCleanupEnabled", true);
+      params.put("orderingProperties", Collections.singletonList(JobManager.JOB_PRIORITY_ORDERING_PROPERTY));
+      params.put("applyOrdering", true);
+      params.put("skipLocked", skipLocked);
+
+      ListQueryParameterObject parameter = new ListQueryParameterObject(params, 0, 3);
+      parameter.setDatabaseType(databaseType);
+
+      String sql = configuration.getMappedStatement(statement).getBoundSql(parameter).getSql();
+      return sql.replaceAll("\\s+", " ").trim();
+    } finally {
+      IoUtil.closeSilently(inputStream);
+    }
+  }
+
+}
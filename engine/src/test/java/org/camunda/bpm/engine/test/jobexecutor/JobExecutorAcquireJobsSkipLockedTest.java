@@ -0,0 +1,170 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeFalse;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.test.Deployment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobExecutorAcquireJobsSkipLockedTest extends AbstractJobExecutorAcquireJobsTest {
+
+  protected static final int SLOT_COUNT = 2;
+
+  @Before
+  public void prepareProcessEngineConfiguration() {
+    configuration.setJobExecutorAcquireSkipLocked(true);
+  }
+
+  @After
+  public void resetProcessEngineConfiguration() {
+    configuration.setJobExecutorAcquireSkipLocked(false);
+    configuration.setJobExecutorAcquisitionSlotCount(0);
+    configuration.setJobExecutorAcquisitionSlot(-1);
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/jobPrioProcess.bpmn20.xml")
+  public void shouldAcquireAllJobs() {
+    // given
+    startProcess("jobPrioProcess", "task1", 20);
+
+    // when
+    List<AcquirableJobEntity> acquirableJobs = findAcquirableJobs();
+
+    // then
+    assertEquals(20, acquirableJobs.size());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/jobPrioProcess.bpmn20.xml")
+  public void shouldAcquireJobsOfAcquisitionSlotFirst() {
+    assumeSlotPartitioning();
+
+    // given
+    configuration.setJobExecutorAcquisitionSlotCount(SLOT_COUNT);
+    startProcess("jobPrioProcess", "task1", 20);
+
+    for (int slot = 0; slot < SLOT_COUNT; slot++) {
+      configuration.setJobExecutorAcquisitionSlot(slot);
+
+      // when
+      List<AcquirableJobEntity> acquirableJobs = findAcquirableJobs();
+
+      // then all jobs are acquired, the jobs of the slot first
+      assertEquals(20, acquirableJobs.size());
+
+      boolean jobOfOtherSlotAcquired = false;
+      for (AcquirableJobEntity job : acquirableJobs) {
+        if (getAcquisitionSlot(job) == slot) {
+          assertFalse(jobOfOtherSlotAcquired);
+        }
+        else {
+          jobOfOtherSlotAcquired = true;
+        }
+      }
+    }
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/jobPrioProcess.bpmn20.xml")
+  public void shouldOnlyAcquireJobsOfAcquisitionSlot() {
+    assumeSlotPartitioning();
+
+    // given
+    configuration.setJobExecutorAcquisitionSlotCount(SLOT_COUNT);
+    startProcess("jobPrioProcess", "task1", 20);
+
+    for (int slot = 0; slot < SLOT_COUNT; slot++) {
+      configuration.setJobExecutorAcquisitionSlot(slot);
+
+      // when
+      List<AcquirableJobEntity> acquirableJobs = findAcquirableJobs(3);
+
+      // then
+      assertEquals(3, acquirableJobs.size());
+      for (AcquirableJobEntity job : acquirableJobs) {
+        assertEquals(slot, getAcquisitionSlot(job));
+      }
+    }
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/jobPrioProcess.bpmn20.xml")
+  public void shouldAcquireJobsOfAllSlotsWithoutJobExecutor() {
+    assumeSlotPartitioning();
+
+    // given
+    configuration.setJobExecutorAcquisitionSlotCount(SLOT_COUNT);
+    startProcess("jobPrioProcess", "task1", 20);
+
+    JobExecutor jobExecutor = configuration.getJobExecutor();
+    configuration.setJobExecutor(null);
+
+    try {
+      // when
+      List<AcquirableJobEntity> acquirableJobs = findAcquirableJobs();
+
+      // then
+      assertEquals(20, acquirableJobs.size());
+    }
+    finally {
+      configuration.setJobExecutor(jobExecutor);
+    }
+  }
+
+  protected List<AcquirableJobEntity> findAcquirableJobs(final int numberOfJobs) {
+    return configuration.getCommandExecutorTxRequired().execute(new Command<List<AcquirableJobEntity>>() {
+
+      @Override
+      public List<AcquirableJobEntity> execute(CommandContext commandContext) {
+        return commandContext
+          .getJobManager()
+          .findNextJobsToExecute(new Page(0, numberOfJobs));
+      }
+    });
+  }
+
+  /**
+   * Jobs are only partitioned into slots if the database cannot skip locked jobs.
+   */
+  protected void assumeSlotPartitioning() {
+    assumeFalse(DbSqlSessionFactory.isSkipLockedSupported(configuration.getDatabaseType(), configuration.getDatabaseMajorVersion()));
+  }
+
+  /**
+   * Same calculation as in the acquisition query.
+   */
+  protected int getAcquisitionSlot(AcquirableJobEntity job) {
+    String id = job.getProcessInstanceId() != null ? job.getProcessInstanceId() : job.getId();
+    int key = id.charAt(id.length() - 1) + 10 * id.charAt(id.length() - 2);
+    return key % SLOT_COUNT;
+  }
+
+}
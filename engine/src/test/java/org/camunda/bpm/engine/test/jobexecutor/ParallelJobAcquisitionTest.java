@@ -0,0 +1,132 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import java.text.DateFormat.Field;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngines;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.EngineJobAcquisitionRunnable;
+import org.camunda.bpm.engine.impl.jobexecutor.ParallelJobAcquisitionRunnable;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelJobAcquisitionTest {
+
+  private static final String RESOURCE_BASE = ParallelJobAcquisitionTest.class.getPackage().getName().replace(".", "/");
+  private static final String PROCESS_RESOURCE = RESOURCE_BASE + "/IntermediateTimerEventTest.testCatchingTimerEvent.bpmn20.xml";
+
+  private DefaultJobExecutor jobExecutor = new DefaultJobExecutor();
+  private List<ProcessEngine> createdProcessEngines = new ArrayList<>();
+
+  @Before
+  public void enableParallelEngineAcquisition() {
+    jobExecutor.setParallelEngineAcquisition(true);
+  }
+
+  @After
+  public void stopJobExecutor() {
+    jobExecutor.shutdown();
+  }
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @After
+  public void closeProcessEngines() {
+    Iterator<ProcessEngine> iterator = createdProcessEngines.iterator();
+    while (iterator.hasNext()) {
+      ProcessEngine processEngine = iterator.next();
+      processEngine.close();
+      ProcessEngines.unregister(processEngine);
+      iterator.remove();
+    }
+  }
+
+  @Test
+  public void testExecuteJobsForTwoEnginesWithSeparateAcquisitions() {
+    ProcessEngine engine1 = createProcessEngine("engine1");
+    ProcessEngine engine2 = createProcessEngine("engine2");
+
+    // stop the acquisition
+    jobExecutor.shutdown();
+
+    engine1.getRepositoryService().createDeployment()
+      .addClasspathResource(PROCESS_RESOURCE)
+      .deploy();
+    engine2.getRepositoryService().createDeployment()
+      .addClasspathResource(PROCESS_RESOURCE)
+      .deploy();
+
+    engine1.getRuntimeService().startProcessInstanceByKey("intermediateTimerEventExample");
+    engine2.getRuntimeService().startProcessInstanceByKey("intermediateTimerEventExample");
+
+    Assert.assertEquals(1, engine1.getManagementService().createJobQuery().count());
+    Assert.assertEquals(1, engine2.getManagementService().createJobQuery().count());
+
+    Calendar calendar = Calendar.getInstance();
+    calendar.add(Field.DAY_OF_YEAR.getCalendarField(), 6);
+    ClockUtil.setCurrentTime(calendar.getTime());
+
+    jobExecutor.start();
+
+    new SequentialJobAcquisitionTest().waitForJobExecutorToProcessAllJobs(10000, 100, jobExecutor, engine1.getManagementService(), false);
+    new SequentialJobAcquisitionTest().waitForJobExecutorToProcessAllJobs(10000, 100, jobExecutor, engine2.getManagementService(), false);
+
+    // each engine is served by its own acquisition
+    ParallelJobAcquisitionRunnable acquisitionRunnable = (ParallelJobAcquisitionRunnable) jobExecutor.getAcquireJobsRunnable();
+    EngineJobAcquisitionRunnable engine1Acquisition = acquisitionRunnable.getEngineAcquisitionRunnable(engine1.getName());
+    EngineJobAcquisitionRunnable engine2Acquisition = acquisitionRunnable.getEngineAcquisitionRunnable(engine2.getName());
+
+    Assert.assertNotNull(engine1Acquisition);
+    Assert.assertNotNull(engine2Acquisition);
+    Assert.assertNotSame(engine1Acquisition.getAcquisitionContext(), engine2Acquisition.getAcquisitionContext());
+
+    Assert.assertNotNull(jobExecutor.getExecutionAdmission());
+    Assert.assertEquals(jobExecutor.getMaxPoolSize() + jobExecutor.getQueueSize(), jobExecutor.getExecutionAdmission().getCapacity());
+
+    jobExecutor.shutdown();
+
+    Assert.assertEquals(0, engine1.getManagementService().createJobQuery().count());
+    Assert.assertEquals(0, engine2.getManagementService().createJobQuery().count());
+  }
+
+  protected ProcessEngine createProcessEngine(String name) {
+    StandaloneProcessEngineConfiguration engineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    engineConfiguration.setProcessEngineName(getClass().getName() + "-" + name);
+    engineConfiguration.setJdbcUrl("jdbc:h2:mem:parallel-acquisition-" + name);
+    engineConfiguration.setJobExecutorActivate(false);
+    engineConfiguration.setJobExecutor(jobExecutor);
+    engineConfiguration.setDbMetricsReporterActivate(false);
+    ProcessEngine engine = engineConfiguration.buildProcessEngine();
+    createdProcessEngines.add(engine);
+    return engine;
+  }
+
+}
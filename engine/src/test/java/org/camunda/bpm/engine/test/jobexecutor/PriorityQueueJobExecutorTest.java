@@ -0,0 +1,205 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobBatch;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.PriorityQueueJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PriorityQueueJobExecutorTest {
+
+  protected ControllablePriorityQueueJobExecutor jobExecutor;
+  protected ProcessEngineImpl processEngine;
+  protected List<String> rejectedJobIds;
+
+  @Before
+  public void setUp() throws Exception {
+    processEngine = mock(ProcessEngineImpl.class);
+    when(processEngine.getName()).thenReturn("engine");
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(mock(ProcessEngineConfigurationImpl.class));
+
+    rejectedJobIds = Collections.synchronizedList(new ArrayList<String>());
+
+    jobExecutor = new ControllablePriorityQueueJobExecutor();
+    jobExecutor.setPoolSize(1);
+    jobExecutor.setQueueSize(2);
+    jobExecutor.setRejectedJobsHandler(new RejectedJobsHandler() {
+      public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+        rejectedJobIds.addAll(jobIds);
+      }
+    });
+    jobExecutor.startExecuting();
+
+    // occupy the only execution thread
+    jobExecutor.executeJobs(batch("blocking", 0, null), processEngine);
+    jobExecutor.awaitExecutionStarted();
+  }
+
+  @After
+  public void tearDown() {
+    jobExecutor.proceed();
+    jobExecutor.stopExecuting();
+  }
+
+  @Test
+  public void shouldExecuteBatchesByPriority() {
+    // given
+    jobExecutor.executeJobs(batch("low", 1, null), processEngine);
+    jobExecutor.executeJobs(batch("high", 10, null), processEngine);
+
+    // when
+    jobExecutor.proceed();
+    jobExecutor.stopExecuting();
+
+    // then
+    assertThat(jobExecutor.getExecutedJobIds()).containsExactly("blocking", "high", "low");
+  }
+
+  @Test
+  public void shouldExecuteBatchesOfSamePriorityByDuedate() {
+    // given
+    jobExecutor.executeJobs(batch("later", 1, new Date(2000)), processEngine);
+    jobExecutor.executeJobs(batch("earlier", 1, new Date(1000)), processEngine);
+
+    // when
+    jobExecutor.proceed();
+    jobExecutor.stopExecuting();
+
+    // then
+    assertThat(jobExecutor.getExecutedJobIds()).containsExactly("blocking", "earlier", "later");
+  }
+
+  @Test
+  public void shouldReplaceLowestRankedBatchIfQueueIsFull() {
+    // given
+    jobExecutor.executeJobs(batch("low", 1, null), processEngine);
+    jobExecutor.executeJobs(batch("medium", 5, null), processEngine);
+    assertThat(jobExecutor.getRemainingCapacity()).isEqualTo(0);
+
+    // when
+    jobExecutor.executeJobs(batch("high", 10, null), processEngine);
+
+    // then
+    assertThat(rejectedJobIds).containsExactly("low");
+    assertThat(jobExecutor.getQueueDepth()).isEqualTo(2);
+
+    jobExecutor.proceed();
+    jobExecutor.stopExecuting();
+
+    assertThat(jobExecutor.getExecutedJobIds()).containsExactly("blocking", "high", "medium");
+  }
+
+  @Test
+  public void shouldRejectLowerRankedBatchIfQueueIsFull() {
+    // given
+    jobExecutor.executeJobs(batch("medium", 5, null), processEngine);
+    jobExecutor.executeJobs(batch("high", 10, null), processEngine);
+
+    // when
+    jobExecutor.executeJobs(batch("low", 1, null), processEngine);
+
+    // then
+    assertThat(rejectedJobIds).containsExactly("low");
+  }
+
+  protected AcquiredJobBatch batch(String jobId, long priority, Date duedate) {
+    AcquirableJobEntity job = new AcquirableJobEntity();
+    job.setId(jobId);
+    job.setPriority(priority);
+    job.setDuedate(duedate);
+
+    AcquiredJobBatch batch = new AcquiredJobBatch();
+    batch.addJob(job);
+    return batch;
+  }
+
+  /**
+   * Records the executed job ids; the first batch blocks the execution
+   * until {@link #proceed()} is called.
+   */
+  public static class ControllablePriorityQueueJobExecutor extends PriorityQueueJobExecutor {
+
+    protected CountDownLatch executionStartedLatch = new CountDownLatch(1);
+    protected CountDownLatch proceedLatch = new CountDownLatch(1);
+    protected List<String> executedJobIds = Collections.synchronizedList(new ArrayList<String>());
+
+    public void startExecuting() {
+      startExecutingJobs();
+    }
+
+    public void stopExecuting() {
+      if (!threadPoolExecutor.isShutdown()) {
+        stopExecutingJobs();
+      }
+    }
+
+    protected void startJobAcquisitionThread() {
+      // jobs are submitted by the test
+    }
+
+    protected void stopJobAcquisitionThread() {
+      // jobs are submitted by the test
+    }
+
+    public Runnable getExecuteJobsRunnable(final List<String> jobIds, ProcessEngineImpl processEngine) {
+      return new Runnable() {
+        public void run() {
+          executedJobIds.addAll(jobIds);
+          executionStartedLatch.countDown();
+
+          try {
+            proceedLatch.await(10, TimeUnit.SECONDS);
+          }
+          catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      };
+    }
+
+    public void awaitExecutionStarted() throws InterruptedException {
+      assertThat(executionStartedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    public void proceed() {
+      proceedLatch.countDown();
+    }
+
+    public List<String> getExecutedJobIds() {
+      return executedJobIds;
+    }
+  }
+
+}
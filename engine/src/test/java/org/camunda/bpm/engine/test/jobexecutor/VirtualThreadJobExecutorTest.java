@@ -0,0 +1,178 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class VirtualThreadJobExecutorTest {
+
+  protected ControllableVirtualThreadJobExecutor jobExecutor;
+  protected ProcessEngineImpl processEngine;
+  protected List<String> rejectedJobIds;
+
+  @Before
+  public void setUp() {
+    processEngine = mock(ProcessEngineImpl.class);
+    when(processEngine.getName()).thenReturn("engine");
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(mock(ProcessEngineConfigurationImpl.class));
+
+    rejectedJobIds = Collections.synchronizedList(new ArrayList<String>());
+
+    jobExecutor = new ControllableVirtualThreadJobExecutor();
+    jobExecutor.setMaxConcurrentJobBatches(2);
+    jobExecutor.setRejectedJobsHandler(new RejectedJobsHandler() {
+      public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+        rejectedJobIds.addAll(jobIds);
+      }
+    });
+    jobExecutor.startExecuting();
+  }
+
+  @After
+  public void tearDown() {
+    jobExecutor.proceed();
+    jobExecutor.stopExecuting();
+  }
+
+  @Test
+  public void shouldRejectBatchesBeyondConcurrencyLimit() {
+    // when
+    jobExecutor.executeJobs(Collections.singletonList("job1"), processEngine);
+    jobExecutor.executeJobs(Collections.singletonList("job2"), processEngine);
+    jobExecutor.executeJobs(Collections.singletonList("job3"), processEngine);
+
+    // then
+    assertThat(jobExecutor.getExecutingJobBatches()).isEqualTo(2);
+    assertThat(rejectedJobIds).containsExactly("job3");
+  }
+
+  @Test
+  public void shouldReleasePermitAfterExecution() throws Exception {
+    // given
+    jobExecutor.executeJobs(Collections.singletonList("job1"), processEngine);
+    jobExecutor.executeJobs(Collections.singletonList("job2"), processEngine);
+
+    // when
+    jobExecutor.proceed();
+    jobExecutor.awaitTwoExecutedBatches();
+
+    jobExecutor.executeJobs(Collections.singletonList("job3"), processEngine);
+
+    // then
+    assertThat(rejectedJobIds).isEmpty();
+  }
+
+  @Test
+  public void shouldReleasePermitIfExecutionFails() throws Exception {
+    // given
+    jobExecutor.failExecution();
+    jobExecutor.proceed();
+
+    jobExecutor.executeJobs(Collections.singletonList("job1"), processEngine);
+    jobExecutor.executeJobs(Collections.singletonList("job2"), processEngine);
+    jobExecutor.awaitTwoExecutedBatches();
+
+    // when
+    jobExecutor.executeJobs(Collections.singletonList("job3"), processEngine);
+
+    // then
+    assertThat(rejectedJobIds).isEmpty();
+  }
+
+  /**
+   * Executes batches with runnables that block until {@link #proceed()} is called
+   * and does not acquire jobs itself.
+   */
+  public static class ControllableVirtualThreadJobExecutor extends VirtualThreadJobExecutor {
+
+    protected CountDownLatch proceedLatch = new CountDownLatch(1);
+    protected CountDownLatch executedLatch = new CountDownLatch(2);
+    protected volatile boolean failExecution = false;
+
+    public void startExecuting() {
+      startExecutingJobs();
+    }
+
+    public void stopExecuting() {
+      stopExecutingJobs();
+    }
+
+    protected void startJobAcquisitionThread() {
+      // jobs are submitted by the test
+    }
+
+    protected void stopJobAcquisitionThread() {
+      // jobs are submitted by the test
+    }
+
+    public Runnable getExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine) {
+      return new Runnable() {
+        public void run() {
+          try {
+            proceedLatch.await(10, TimeUnit.SECONDS);
+
+            if (failExecution) {
+              throw new RuntimeException("expected exception");
+            }
+          }
+          catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          finally {
+            executedLatch.countDown();
+          }
+        }
+      };
+    }
+
+    public void proceed() {
+      proceedLatch.countDown();
+    }
+
+    public void failExecution() {
+      failExecution = true;
+    }
+
+    public void awaitTwoExecutedBatches() throws InterruptedException {
+      assertThat(executedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+
+      // the permit is released after the runnable has completed
+      long deadline = System.currentTimeMillis() + 10000;
+      while (getExecutingJobBatches() > 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+    }
+  }
+
+}
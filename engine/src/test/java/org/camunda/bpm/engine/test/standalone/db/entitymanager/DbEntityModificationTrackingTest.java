@@ -0,0 +1,141 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.entitymanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DbEntityModificationTrackingTest {
+
+  protected DbEntityCache entityCache;
+  protected ExecutionEntity execution;
+
+  @Before
+  public void setUp() {
+    entityCache = new DbEntityCache();
+    entityCache.setModificationTracking(true);
+
+    execution = new ExecutionEntity();
+    execution.setId("101");
+    execution.setActivityInstanceId("activityInstance");
+    entityCache.putPersistent(execution);
+  }
+
+  @Test
+  public void shouldNotBeDirtyAfterLoad() {
+    assertThat(getCachedEntity(execution).isDirty()).isFalse();
+  }
+
+  @Test
+  public void shouldBeDirtyAfterModification() {
+    // when
+    execution.setActivityInstanceId("otherActivityInstance");
+
+    // then
+    assertThat(getCachedEntity(execution).isDirty()).isTrue();
+  }
+
+  @Test
+  public void shouldBeDirtyAfterModificationWithoutSetter() {
+    // when
+    execution.inactivate();
+
+    // then
+    assertThat(getCachedEntity(execution).isDirty()).isTrue();
+  }
+
+  @Test
+  public void shouldNotBeDirtyAfterSettingSameValue() {
+    // when
+    execution.setActivityInstanceId("activityInstance");
+    execution.setActive(execution.isActive());
+    execution.setSuspensionState(SuspensionState.ACTIVE.getStateCode());
+
+    // then
+    assertThat(getCachedEntity(execution).isDirty()).isFalse();
+  }
+
+  @Test
+  public void shouldNotBeDirtyAfterNewCopy() {
+    // given
+    execution.setSequenceCounter(10);
+    CachedDbEntity cachedEntity = getCachedEntity(execution);
+
+    // when
+    cachedEntity.makeCopy();
+
+    // then
+    assertThat(cachedEntity.isDirty()).isFalse();
+  }
+
+  @Test
+  public void shouldBeDirtyWhenForced() {
+    // given
+    CachedDbEntity cachedEntity = getCachedEntity(execution);
+
+    // when
+    cachedEntity.forceSetDirty();
+
+    // then
+    assertThat(cachedEntity.isDirty()).isTrue();
+  }
+
+  @Test
+  public void shouldFallBackToPersistentStateForUntrackedEntity() {
+    // given
+    TaskEntity task = new TaskEntity();
+    task.setId("102");
+    entityCache.putPersistent(task);
+    CachedDbEntity cachedEntity = getCachedEntity(task);
+    assertThat(cachedEntity.isDirty()).isFalse();
+
+    // when
+    task.setNameWithoutCascade("aTask");
+
+    // then
+    assertThat(cachedEntity.isDirty()).isTrue();
+  }
+
+  @Test
+  public void shouldCompareModificationStampOnlyIfEnabled() {
+    // given
+    entityCache.setModificationTracking(false);
+    ExecutionEntity otherExecution = new ExecutionEntity();
+    otherExecution.setId("103");
+    entityCache.putPersistent(otherExecution);
+
+    // when
+    otherExecution.setActive(false);
+    otherExecution.setActive(true);
+
+    // then the persistent state is compared
+    assertThat(getCachedEntity(otherExecution).isDirty()).isFalse();
+  }
+
+  protected CachedDbEntity getCachedEntity(DbEntity entity) {
+    return entityCache.getCachedEntity(entity);
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.entitymanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DbFlushBatchSizeTest {
+
+  protected PartitioningDbEntityManager entityManager;
+
+  @Before
+  public void setUp() {
+    entityManager = new PartitioningDbEntityManager();
+  }
+
+  @Test
+  public void shouldPartitionByDefaultBatchSize() {
+    // given
+    entityManager.setFlushBatchSize(2);
+    List<DbOperation> operations = new ArrayList<>();
+    operations.addAll(createInserts(ExecutionEntity.class, 3));
+    operations.addAll(createInserts(VariableInstanceEntity.class, 2));
+
+    // when
+    List<List<DbOperation>> batches = entityManager.partitionForFlush(operations);
+
+    // then
+    assertThat(getSizes(batches)).containsExactly(2, 2, 1);
+  }
+
+  @Test
+  public void shouldPartitionByEntityTypeBatchSize() {
+    // given
+    entityManager.setFlushBatchSize(2);
+    entityManager.setFlushBatchSize(HistoricActivityInstanceEventEntity.class, 5);
+    List<DbOperation> operations = new ArrayList<>();
+    operations.addAll(createInserts(HistoricActivityInstanceEventEntity.class, 6));
+    operations.addAll(createInserts(ExecutionEntity.class, 3));
+
+    // when
+    List<List<DbOperation>> batches = entityManager.partitionForFlush(operations);
+
+    // then
+    // a mixed batch is limited by the smaller batch size of the execution entity
+    assertThat(getSizes(batches)).containsExactly(5, 2, 2);
+  }
+
+  @Test
+  public void shouldApplyBatchSizeOfSuperClass() {
+    // given
+    entityManager.setFlushBatchSize(1);
+    entityManager.setFlushBatchSize(HistoryEvent.class, 10);
+    List<DbOperation> operations = createInserts(HistoricActivityInstanceEventEntity.class, 4);
+
+    // when
+    List<List<DbOperation>> batches = entityManager.partitionForFlush(operations);
+
+    // then
+    assertThat(batches).hasSize(1);
+    assertThat(batches.get(0)).containsExactlyElementsOf(operations);
+  }
+
+  protected List<Integer> getSizes(List<List<DbOperation>> batches) {
+    List<Integer> sizes = new ArrayList<>();
+    for (List<DbOperation> batch : batches) {
+      sizes.add(batch.size());
+    }
+    return sizes;
+  }
+
+  protected List<DbOperation> createInserts(Class<? extends DbEntity> entityType, int count) {
+    List<DbOperation> operations = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      DbEntityOperation operation = new DbEntityOperation();
+      operation.setEntityType(entityType);
+      operation.setOperationType(DbOperationType.INSERT);
+      operations.add(operation);
+    }
+    return operations;
+  }
+
+  public static class PartitioningDbEntityManager extends DbEntityManager {
+
+    protected Map<Class<?>, Integer> batchSizes = new HashMap<>();
+
+    public PartitioningDbEntityManager() {
+      super(new TestIdGenerator(), null);
+      flushBatchSizePerEntityType = batchSizes;
+    }
+
+    public void setFlushBatchSize(int flushBatchSize) {
+      this.flushBatchSize = flushBatchSize;
+    }
+
+    public void setFlushBatchSize(Class<?> entityType, int flushBatchSize) {
+      batchSizes.put(entityType, flushBatchSize);
+    }
+
+    @Override
+    public List<List<DbOperation>> partitionForFlush(List<DbOperation> operations) {
+      return super.partitionForFlush(operations);
+    }
+  }
+
+}
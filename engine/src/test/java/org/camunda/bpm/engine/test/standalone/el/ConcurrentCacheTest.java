@@ -0,0 +1,128 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.Cache;
+import org.camunda.bpm.engine.impl.juel.ConcurrentCache;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.camunda.bpm.engine.impl.juel.TreeStore;
+import org.junit.Test;
+
+public class ConcurrentCacheTest {
+
+  protected Builder builder = new Builder();
+
+  @Test
+  public void shouldCountHitsAndMisses() {
+    ConcurrentCache cache = new ConcurrentCache(10);
+    Tree tree = builder.build("${a}");
+
+    assertThat(cache.get("${a}")).isNull();
+    cache.put("${a}", tree);
+
+    assertThat(cache.get("${a}")).isSameAs(tree);
+    assertThat(cache.get("${a}")).isSameAs(tree);
+    assertThat(cache.getHitCount()).isEqualTo(2);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntry() {
+    ConcurrentCache cache = new ConcurrentCache(2);
+    cache.put("${a}", builder.build("${a}"));
+    cache.put("${b}", builder.build("${b}"));
+
+    // when
+    cache.get("${a}");
+    cache.put("${c}", builder.build("${c}"));
+
+    // then
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("${a}")).isNotNull();
+    assertThat(cache.get("${b}")).isNull();
+    assertThat(cache.get("${c}")).isNotNull();
+  }
+
+  @Test
+  public void shouldNotExceedSizeUnderConcurrentAccess() throws Exception {
+    final ConcurrentCache cache = new ConcurrentCache(100);
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 8; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < 1000; j++) {
+            String expression = "${v" + (j % 300) + "}";
+            if (cache.get(expression) == null) {
+              cache.put(expression, builder.build(expression));
+            }
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(cache.size()).isLessThanOrEqualTo(100);
+    assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(8000);
+  }
+
+  @Test
+  public void shouldSelectConcurrentCacheByProperty() {
+    Properties properties = new Properties();
+    properties.setProperty(ExpressionFactoryImpl.PROP_CONCURRENT_CACHE, "true");
+
+    TreeStoreCapturingExpressionFactory factory = new TreeStoreCapturingExpressionFactory(properties);
+
+    assertThat(factory.treeStore.getCache()).isInstanceOf(ConcurrentCache.class);
+  }
+
+  @Test
+  public void shouldUseSynchronizedCacheByDefault() {
+    TreeStoreCapturingExpressionFactory factory = new TreeStoreCapturingExpressionFactory(new Properties());
+
+    assertThat(factory.treeStore.getCache()).isInstanceOf(Cache.class);
+  }
+
+  protected static class TreeStoreCapturingExpressionFactory extends ExpressionFactoryImpl {
+
+    protected TreeStore treeStore;
+
+    public TreeStoreCapturingExpressionFactory(Properties properties) {
+      super(properties);
+    }
+
+    @Override
+    protected TreeStore createTreeStore(int defaultCacheSize, Profile profile, Properties properties) {
+      treeStore = super.createTreeStore(defaultCacheSize, profile, properties);
+      return treeStore;
+    }
+  }
+
+}
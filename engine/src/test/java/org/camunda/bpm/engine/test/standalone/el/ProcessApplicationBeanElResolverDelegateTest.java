@@ -0,0 +1,111 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.camunda.bpm.application.impl.EmbeddedProcessApplication;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.el.ProcessApplicationBeanElResolverDelegate;
+import org.camunda.bpm.engine.impl.javax.el.ELResolver;
+import org.camunda.bpm.engine.impl.juel.SimpleContext;
+import org.junit.Test;
+
+public class ProcessApplicationBeanElResolverDelegateTest {
+
+  protected TestElResolverDelegate resolver = new TestElResolverDelegate();
+
+  @Test
+  public void shouldReturnSameResolverForSameClass() {
+    // when
+    ELResolver delegate = resolver.getElResolverDelegate(new ArrayList<Object>());
+
+    // then
+    assertThat(delegate).isNotNull();
+    assertThat(resolver.getElResolverDelegate(new ArrayList<Object>())).isSameAs(delegate);
+  }
+
+  @Test
+  public void shouldReturnDifferentResolverForDifferentClass() {
+    // when
+    ELResolver delegate = resolver.getElResolverDelegate(new ArrayList<Object>());
+
+    // then
+    assertThat(resolver.getElResolverDelegate(new HashMap<Object, Object>())).isNotSameAs(delegate);
+  }
+
+  @Test
+  public void shouldResolveNullBase() {
+    // given
+    SimpleContext context = new SimpleContext();
+
+    // when
+    ELResolver delegate = resolver.getElResolverDelegate(null);
+    Object value = resolver.getValue(context, null, "size");
+
+    // then
+    assertThat(delegate).isNotNull();
+    assertThat(value).isNull();
+    assertThat(context.isPropertyResolved()).isFalse();
+  }
+
+  @Test
+  public void shouldResolveProperty() {
+    // given
+    SimpleContext context = new SimpleContext();
+
+    // when
+    Object value = resolver.getValue(context, new ArrayList<Object>(), "empty");
+
+    // then
+    assertThat(value).isEqualTo(true);
+    assertThat(context.isPropertyResolved()).isTrue();
+  }
+
+  @Test
+  public void shouldUseResolverOfProcessApplication() {
+    // given
+    EmbeddedProcessApplication processApplication = new EmbeddedProcessApplication();
+    Context.setCurrentProcessApplication(processApplication.getReference());
+
+    try {
+      // when
+      ELResolver delegate = resolver.getElResolverDelegate(new ArrayList<Object>());
+
+      // then
+      assertThat(delegate).isSameAs(processApplication.getBeanElResolver());
+      assertThat(resolver.getElResolverDelegate(null)).isSameAs(processApplication.getBeanElResolver());
+
+    } finally {
+      Context.removeCurrentProcessApplication();
+    }
+
+    // and the resolver of the class is used outside of the process application
+    assertThat(resolver.getElResolverDelegate(new ArrayList<Object>())).isNotSameAs(processApplication.getBeanElResolver());
+  }
+
+  public static class TestElResolverDelegate extends ProcessApplicationBeanElResolverDelegate {
+
+    public ELResolver getElResolverDelegate(Object base) {
+      return super.getElResolverDelegate(base);
+    }
+  }
+
+}
@@ -18,13 +18,17 @@ package org.camunda.bpm.engine.test.standalone.scripting;
 
 import java.util.concurrent.Callable;
 
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
 
 import org.camunda.bpm.application.ProcessApplicationInterface;
 import org.camunda.bpm.application.impl.EmbeddedProcessApplication;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.scripting.SourceExecutableScript;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.repository.ProcessApplicationDeployment;
@@ -37,6 +41,7 @@ public class ScriptEngineCachingTest extends PluggableProcessEngineTestCase {
 
   protected static final String PROCESS_PATH = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml";
   protected static final String SCRIPT_LANGUAGE = "groovy";
+  protected static final String NON_THREAD_SAFE_SCRIPT_LANGUAGE = "javascript";
 
   public void testGlobalCachingOfScriptEngine() {
     // when
@@ -160,6 +165,112 @@ public class ScriptEngineCachingTest extends PluggableProcessEngineTestCase {
     processEngineConfiguration.setEnableFetchScriptEngineFromProcessApplication(true);
   }
 
+  public void testNoThreadConfinementOfNonThreadSafeScriptEngineByDefault() {
+    // when
+    ScriptEngine engine = getScriptEngine(NON_THREAD_SAFE_SCRIPT_LANGUAGE);
+
+    // then
+    assertNotNull(engine);
+    assertFalse(engine.equals(getScriptEngine(NON_THREAD_SAFE_SCRIPT_LANGUAGE)));
+  }
+
+  public void testThreadConfinementOfNonThreadSafeScriptEngine() throws Exception {
+    // given
+    processEngineConfiguration.setEnableScriptEngineThreadConfinement(true);
+    getScriptingEngines().setEnableScriptEngineThreadConfinement(true);
+
+    try {
+      // when
+      ScriptEngine engine = getScriptEngine(NON_THREAD_SAFE_SCRIPT_LANGUAGE);
+
+      final ScriptEngine[] engineOfOtherThread = new ScriptEngine[1];
+      Thread otherThread = new Thread(new Runnable() {
+        public void run() {
+          engineOfOtherThread[0] = getScriptEngine(NON_THREAD_SAFE_SCRIPT_LANGUAGE);
+        }
+      });
+      otherThread.start();
+      otherThread.join();
+
+      // then the engine is cached for the current thread only
+      assertNotNull(engine);
+      assertEquals(engine, getScriptEngine(NON_THREAD_SAFE_SCRIPT_LANGUAGE));
+      assertNotNull(engineOfOtherThread[0]);
+      assertFalse(engine.equals(engineOfOtherThread[0]));
+
+    } finally {
+      processEngineConfiguration.setEnableScriptEngineThreadConfinement(false);
+      getScriptingEngines().setEnableScriptEngineThreadConfinement(false);
+    }
+  }
+
+  public void testCompileScriptForThreadConfinedEngine() {
+    // given
+    processEngineConfiguration.setEnableScriptEngineThreadConfinement(true);
+    getScriptingEngines().setEnableScriptEngineThreadConfinement(true);
+    final ThreadConfinedSourceExecutableScript script = new ThreadConfinedSourceExecutableScript(NON_THREAD_SAFE_SCRIPT_LANGUAGE, "1 + 1");
+
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          ScriptEngine engine = getScriptingEngines().getScriptEngineForLanguage(NON_THREAD_SAFE_SCRIPT_LANGUAGE);
+
+          // when
+          Object result = script.evaluate(engine, null, engine.createBindings());
+          CompiledScript compiledScript = script.getThreadConfinedCompiledScript(engine);
+          script.evaluate(engine, null, engine.createBindings());
+
+          // then the script is compiled once for the engine of the thread
+          assertEquals(2, ((Number) result).intValue());
+          assertNotNull(compiledScript);
+          assertEquals(engine, compiledScript.getEngine());
+          assertSame(compiledScript, script.getThreadConfinedCompiledScript(engine));
+          return null;
+        }
+      });
+
+    } finally {
+      processEngineConfiguration.setEnableScriptEngineThreadConfinement(false);
+      getScriptingEngines().setEnableScriptEngineThreadConfinement(false);
+    }
+  }
+
+  public void testClearThreadConfinedScriptEngines() {
+    // given
+    processEngineConfiguration.setEnableScriptEngineThreadConfinement(true);
+    final ScriptEngineResolver resolver = new ScriptEngineResolver(new ScriptEngineManager());
+    resolver.setEnableThreadConfinement(true);
+    final ScriptEngine engine = resolver.getScriptEngine(NON_THREAD_SAFE_SCRIPT_LANGUAGE, true);
+    final ThreadConfinedSourceExecutableScript script = new ThreadConfinedSourceExecutableScript(NON_THREAD_SAFE_SCRIPT_LANGUAGE, "1 + 1");
+
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          script.evaluate(engine, null, engine.createBindings());
+          CompiledScript compiledScript = script.getThreadConfinedCompiledScript(engine);
+
+          // when
+          resolver.clearThreadConfinedEngines();
+
+          // then
+          assertNotNull(engine);
+          assertFalse(engine.equals(resolver.getScriptEngine(NON_THREAD_SAFE_SCRIPT_LANGUAGE, true)));
+
+          // and the previously compiled script is recompiled
+          assertNotNull(compiledScript);
+          assertNull(script.getThreadConfinedCompiledScript(engine));
+          script.evaluate(engine, null, engine.createBindings());
+          assertNotNull(script.getThreadConfinedCompiledScript(engine));
+          assertNotSame(compiledScript, script.getThreadConfinedCompiledScript(engine));
+          return null;
+        }
+      });
+
+    } finally {
+      processEngineConfiguration.setEnableScriptEngineThreadConfinement(false);
+    }
+  }
+
   protected ScriptingEngines getScriptingEngines() {
     return processEngineConfiguration.getScriptingEngines();
   }
@@ -188,4 +299,15 @@ public class ScriptEngineCachingTest extends PluggableProcessEngineTestCase {
       });
   }
 
+  public static class ThreadConfinedSourceExecutableScript extends SourceExecutableScript {
+
+    public ThreadConfinedSourceExecutableScript(String language, String source) {
+      super(language, source);
+    }
+
+    public CompiledScript getThreadConfinedCompiledScript(ScriptEngine engine) {
+      return ScriptEngineResolver.getThreadConfinedCompiledScripts(engine).get(threadConfinedScriptKey);
+    }
+  }
+
 }
@@ -131,6 +131,22 @@ public class Bpmn {
     return INSTANCE.doReadModelFromInputStream(stream);
   }
 
+  /**
+   * Allows reading a {@link BpmnModelInstance} from an {@link InputStream}.
+   * If the diagram is not included, the BPMNDI elements are skipped while
+   * streaming the input, which considerably reduces the memory footprint of
+   * the model instance. Such a model instance contains no shapes or edges,
+   * and attribute defaults of the schema are not written into its document.
+   *
+   * @param stream the {@link InputStream} to read the {@link BpmnModelInstance} from
+   * @param includeDiagram true to read the diagram interchange elements as well
+   * @return the model read
+   * @throws ModelParseException if the model cannot be read
+   */
+  public static BpmnModelInstance readModelFromStream(InputStream stream, boolean includeDiagram) {
+    return INSTANCE.doReadModelFromInputStream(stream, includeDiagram);
+  }
+
   /**
    * Allows writing a {@link BpmnModelInstance} to a File. It will be
    * validated before writing.
@@ -249,6 +265,15 @@ public class Bpmn {
     return bpmnParser.parseModelFromStream(is);
   }
 
+  protected BpmnModelInstance doReadModelFromInputStream(InputStream is, boolean includeDiagram) {
+    if (includeDiagram) {
+      return doReadModelFromInputStream(is);
+    }
+    else {
+      return bpmnParser.parseModelFromStreamWithoutDiagram(is);
+    }
+  }
+
   protected void doWriteModelToFile(File file, BpmnModelInstance modelInstance) {
     OutputStream os = null;
     try {
@@ -17,9 +17,12 @@
 package org.camunda.bpm.model.bpmn.impl;
 
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.BPMN20_NS;
+import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.BPMNDI_NS;
 import static org.camunda.bpm.model.bpmn.impl.BpmnModelConstants.BPMN_20_SCHEMA_LOCATION;
 
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
 
 import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.xml.impl.ModelImpl;
@@ -43,6 +46,9 @@ public class BpmnParser extends AbstractModelParser {
 
   private static final String W3C_XML_SCHEMA = "http://www.w3.org/2001/XMLSchema";
 
+  /** DC and DI elements are only nested inside of BPMNDI elements */
+  protected static final Collection<String> DIAGRAM_NAMESPACES = Collections.singleton(BPMNDI_NS);
+
   public BpmnParser() {
     this.schemaFactory = SchemaFactory.newInstance(W3C_XML_SCHEMA);
     addSchema(BPMN20_NS, createSchema(BPMN_20_SCHEMA_LOCATION, BpmnParser.class.getClassLoader()));
@@ -65,6 +71,20 @@ public class BpmnParser extends AbstractModelParser {
     return (BpmnModelInstanceImpl) super.parseModelFromStream(inputStream);
   }
 
+  @Override
+  public BpmnModelInstanceImpl parseModelFromStream(InputStream inputStream, Collection<String> skippedNamespaceUris) {
+    return (BpmnModelInstanceImpl) super.parseModelFromStream(inputStream, skippedNamespaceUris);
+  }
+
+  /**
+   * Parses the model without its diagram interchange (BPMNDI) elements, which
+   * usually make up the largest part of a modeled process but carry no
+   * execution semantics.
+   */
+  public BpmnModelInstanceImpl parseModelFromStreamWithoutDiagram(InputStream inputStream) {
+    return parseModelFromStream(inputStream, DIAGRAM_NAMESPACES);
+  }
+
   @Override
   public BpmnModelInstanceImpl getEmptyModel() {
     return (BpmnModelInstanceImpl) super.getEmptyModel();
@@ -245,6 +245,39 @@ public class BpmnDiTest {
     flowEdge.getWaypoints().add(endWaypoint);
   }
 
+  @Test
+  public void shouldSkipDiagramWhenReadingWithoutDiagram() {
+    modelInstance = Bpmn.readModelFromStream(getClass().getResourceAsStream(getClass().getSimpleName() + ".xml"), false);
+
+    assertThat(modelInstance.getModelElementsByType(BpmnDiagram.class)).isEmpty();
+    assertThat(modelInstance.getModelElementsByType(BpmnShape.class)).isEmpty();
+    assertThat(modelInstance.getModelElementsByType(Waypoint.class)).isEmpty();
+
+    ServiceTask task = modelInstance.getModelElementById(SERVICE_TASK_ID);
+    assertThat(task).isNotNull();
+    assertThat(task.getDiagramElement()).isNull();
+    assertThat(task.getIncoming()).hasSize(1);
+
+    SequenceFlow flow = modelInstance.getModelElementById(SEQUENCE_FLOW_ID + 3);
+    assertThat(flow.getSource()).isNotNull();
+    assertThat(flow.getTarget()).isNotNull();
+
+    Participant readParticipant = modelInstance.getModelElementById(PARTICIPANT_ID + 1);
+    assertThat(readParticipant.getProcess().getId()).isEqualTo(PROCESS_ID + 1);
+  }
+
+  @Test
+  public void shouldReadSameModelWithoutDiagram() {
+    BpmnModelInstance withoutDiagram = Bpmn.readModelFromStream(getClass().getResourceAsStream(getClass().getSimpleName() + ".xml"), false);
+
+    assertThat(withoutDiagram.getModelElementsByType(FlowNode.class))
+      .hasSameSizeAs(modelInstance.getModelElementsByType(FlowNode.class));
+    assertThat(withoutDiagram.getModelElementsByType(SequenceFlow.class))
+      .hasSameSizeAs(modelInstance.getModelElementsByType(SequenceFlow.class));
+
+    Bpmn.validateModel(withoutDiagram);
+  }
+
   @After
   public void validateModel() {
     Bpmn.validateModel(modelInstance);
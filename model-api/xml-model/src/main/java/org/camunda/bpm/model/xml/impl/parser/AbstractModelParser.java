@@ -19,12 +19,14 @@ package org.camunda.bpm.model.xml.impl.parser;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
@@ -47,6 +49,7 @@ public abstract class AbstractModelParser {
   protected static final String JAXP_ACCESS_EXTERNAL_SCHEMA_ALL = "all";
 
   private final DocumentBuilderFactory documentBuilderFactory;
+  private final XMLInputFactory xmlInputFactory;
   protected SchemaFactory schemaFactory;
   protected Map<String, Schema> schemas = new HashMap<>();
 
@@ -54,6 +57,10 @@ public abstract class AbstractModelParser {
     DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
     configureFactory(dbf);
     this.documentBuilderFactory = dbf;
+
+    XMLInputFactory xif = XMLInputFactory.newInstance();
+    configureFactory(xif);
+    this.xmlInputFactory = xif;
   }
 
   /**
@@ -69,6 +76,18 @@ public abstract class AbstractModelParser {
     enableSecureProcessing(dbf);
   }
 
+  /**
+   * allows subclasses to configure the {@link XMLInputFactory} used by the
+   * streaming parse path.
+   * @param xif the factory to configure
+   */
+  protected void configureFactory(XMLInputFactory xif) {
+    xif.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    // the streaming path never resolves DTDs or external entities
+    xif.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    xif.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
   /**
    * Configures the DocumentBuilderFactory in a way, that it is protected against XML External Entity Attacks.
    * If the implementing parser does not support one or multiple features, the failed feature is ignored.
@@ -136,6 +155,24 @@ public abstract class AbstractModelParser {
 
   }
 
+  /**
+   * Parses the model with a streaming StAX reader instead of a DOM parser.
+   * Elements of the given namespaces are dropped while reading, including
+   * their children, so they are never materialized in memory. The reduced
+   * document is validated against the schema afterwards, which requires the
+   * skipped elements to be optional there.
+   *
+   * @param inputStream the input stream to parse
+   * @param skippedNamespaceUris the namespaces of the elements to skip
+   * @return the model instance without the skipped elements
+   */
+  public ModelInstance parseModelFromStream(InputStream inputStream, Collection<String> skippedNamespaceUris) {
+    DomDocument document = DomUtil.parseInputStream(documentBuilderFactory, xmlInputFactory, inputStream, skippedNamespaceUris);
+
+    validateModel(document);
+    return createModelInstance(document);
+  }
+
   public ModelInstance getEmptyModel() {
     DomDocument document = null;
 
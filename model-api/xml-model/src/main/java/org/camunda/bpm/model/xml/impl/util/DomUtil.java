@@ -23,6 +23,7 @@ import org.camunda.bpm.model.xml.impl.instance.DomElementImpl;
 import org.camunda.bpm.model.xml.instance.DomDocument;
 import org.camunda.bpm.model.xml.instance.DomElement;
 import org.camunda.bpm.model.xml.instance.ModelElementInstance;
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -30,12 +31,18 @@ import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
+import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -250,4 +257,151 @@ public final class DomUtil {
     }
   }
 
+
+  /**
+   * Create a new DOM document from the input stream by pulling it through a
+   * StAX reader. Elements which belong to one of the skipped namespaces are
+   * not added to the document, together with their complete subtree, so that
+   * they never occupy memory. Unqualified <code>id</code> attributes are
+   * registered as DOM ID attributes, as no schema is applied while reading.
+   *
+   * @param documentBuilderFactory the factory to create the empty DOM document
+   * @param xmlInputFactory the factory to create the StAX reader
+   * @param inputStream the input stream to parse
+   * @param skippedNamespaceUris the namespaces of the elements to skip
+   * @return the new DOM document
+   * @throws ModelParseException if a parsing or IO error is triggered
+   */
+  public static DomDocument parseInputStream(DocumentBuilderFactory documentBuilderFactory, XMLInputFactory xmlInputFactory,
+                                             InputStream inputStream, Collection<String> skippedNamespaceUris) {
+    DocumentBuilder documentBuilder;
+    try {
+      synchronized(documentBuilderFactory) {
+        documentBuilder = documentBuilderFactory.newDocumentBuilder();
+      }
+    } catch (ParserConfigurationException e) {
+      throw new ModelParseException("ParserConfigurationException while parsing input stream", e);
+    }
+
+    XMLStreamReader reader = null;
+    try {
+      reader = xmlInputFactory.createXMLStreamReader(inputStream);
+      Document document = documentBuilder.newDocument();
+      Node currentNode = document;
+      int skippedDepth = 0;
+
+      while (reader.hasNext()) {
+        int event = reader.next();
+        switch (event) {
+          case XMLStreamConstants.START_ELEMENT:
+            if (skippedDepth > 0 || skippedNamespaceUris.contains(reader.getNamespaceURI())) {
+              skippedDepth++;
+            }
+            else {
+              Element element = createElement(document, reader);
+              currentNode.appendChild(element);
+              currentNode = element;
+            }
+            break;
+
+          case XMLStreamConstants.END_ELEMENT:
+            if (skippedDepth > 0) {
+              skippedDepth--;
+            }
+            else {
+              currentNode = currentNode.getParentNode();
+            }
+            break;
+
+          case XMLStreamConstants.CHARACTERS:
+          case XMLStreamConstants.SPACE:
+            if (skippedDepth == 0 && currentNode != document) {
+              currentNode.appendChild(document.createTextNode(reader.getText()));
+            }
+            break;
+
+          case XMLStreamConstants.CDATA:
+            if (skippedDepth == 0 && currentNode != document) {
+              currentNode.appendChild(document.createCDATASection(reader.getText()));
+            }
+            break;
+
+          case XMLStreamConstants.COMMENT:
+            if (skippedDepth == 0) {
+              currentNode.appendChild(document.createComment(reader.getText()));
+            }
+            break;
+
+          case XMLStreamConstants.PROCESSING_INSTRUCTION:
+            if (skippedDepth == 0) {
+              currentNode.appendChild(document.createProcessingInstruction(reader.getPITarget(), reader.getPIData()));
+            }
+            break;
+
+          default:
+            // document boundaries, DTDs and entity declarations are not part of the model
+        }
+      }
+
+      return new DomDocumentImpl(document);
+
+    } catch (XMLStreamException e) {
+      throw new ModelParseException("XMLStreamException while parsing input stream", e);
+
+    } finally {
+      closeSilently(reader);
+
+    }
+  }
+
+  private static Element createElement(Document document, XMLStreamReader reader) {
+    Element element = document.createElementNS(emptyToNull(reader.getNamespaceURI()),
+      getPrefixedName(reader.getPrefix(), reader.getLocalName()));
+
+    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+      String prefix = reader.getNamespacePrefix(i);
+      String name = prefix == null || prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix;
+      element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, name, reader.getNamespaceURI(i));
+    }
+
+    for (int i = 0; i < reader.getAttributeCount(); i++) {
+      String namespaceUri = emptyToNull(reader.getAttributeNamespace(i));
+      String localName = reader.getAttributeLocalName(i);
+      element.setAttributeNS(namespaceUri, getPrefixedName(reader.getAttributePrefix(i), localName), reader.getAttributeValue(i));
+      if (namespaceUri == null && "id".equals(localName)) {
+        element.setIdAttributeNS(null, localName, true);
+      }
+    }
+
+    return element;
+  }
+
+  private static String getPrefixedName(String prefix, String localName) {
+    if (prefix == null || prefix.isEmpty()) {
+      return localName;
+    }
+    else {
+      return prefix + ":" + localName;
+    }
+  }
+
+  private static String emptyToNull(String value) {
+    if (value == null || value.isEmpty()) {
+      return null;
+    }
+    else {
+      return value;
+    }
+  }
+
+  private static void closeSilently(XMLStreamReader reader) {
+    if (reader != null) {
+      try {
+        reader.close();
+      } catch (XMLStreamException e) {
+        // ignore
+      }
+    }
+  }
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.microbenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Acquires jobs from a table of executable jobs. The lock of the acquired jobs is
+ * released in the same transaction so that every invocation finds the same jobs. As a
+ * consequence no update is flushed and the benchmark measures the acquisition query
+ * and the locking of the jobs in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AcquireJobsBenchmark {
+
+  @Param({"1000"})
+  public int numberOfJobs;
+
+  @Param({"3", "30"})
+  public int jobsPerAcquisition;
+
+  protected JobExecutor jobExecutor;
+
+  @Setup
+  public void createJobs(ProcessEngineState processEngineState) {
+    BpmnModelInstance model = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${true}")
+        .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+    RepositoryService repositoryService = processEngineState.getProcessEngine().getRepositoryService();
+    repositoryService.createDeployment()
+      .addModelInstance("process.bpmn", model)
+      .deploy();
+
+    RuntimeService runtimeService = processEngineState.getProcessEngine().getRuntimeService();
+    for (int i = 0; i < numberOfJobs; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    jobExecutor = processEngineState.getConfiguration().getJobExecutor();
+  }
+
+  @Benchmark
+  public AcquiredJobs acquireJobs(ProcessEngineState processEngineState) {
+    return processEngineState.execute(new Command<AcquiredJobs>() {
+      public AcquiredJobs execute(CommandContext commandContext) {
+        AcquiredJobs acquiredJobs = new AcquireJobsCmd(jobExecutor, jobsPerAcquisition).execute(commandContext);
+
+        for (AcquirableJobEntity job : commandContext.getDbEntityManager().getCachedEntitiesByType(AcquirableJobEntity.class)) {
+          job.setLockOwner(null);
+          job.setLockExpirationTime(null);
+        }
+
+        return acquiredJobs;
+      }
+    });
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.microbenchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses a generated process model with the BPMN parser of the engine, as done when
+ * deploying the model. The model is not persisted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BpmnParseBenchmark {
+
+  @Param({"100", "1000"})
+  public int numberOfActivities;
+
+  protected byte[] model;
+  protected BpmnParser bpmnParser;
+  protected DeploymentEntity deployment;
+
+  @Setup
+  public void createModel(ProcessEngineState processEngineState) {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process")
+      .startEvent();
+
+    for (int i = 0; i < numberOfActivities; i++) {
+      if (i % 2 == 0) {
+        builder = builder.serviceTask("serviceTask" + i)
+          .camundaExpression("${true}")
+          .camundaAsyncBefore();
+      }
+      else {
+        builder = builder.userTask("userTask" + i)
+          .camundaAssignee("${assignee}");
+      }
+    }
+
+    model = Bpmn.convertToString(builder.endEvent().done()).getBytes();
+
+    for (Deployer deployer : processEngineState.getConfiguration().getDeployers()) {
+      if (deployer instanceof BpmnDeployer) {
+        bpmnParser = ((BpmnDeployer) deployer).getBpmnParser();
+      }
+    }
+
+    deployment = new DeploymentEntity();
+    deployment.setId("deployment");
+  }
+
+  @Benchmark
+  public BpmnParse parse(ProcessEngineState processEngineState) {
+    return processEngineState.execute(new Command<BpmnParse>() {
+      public BpmnParse execute(CommandContext commandContext) {
+        return bpmnParser.createParse()
+          .sourceInputStream(new ByteArrayInputStream(model))
+          .deployment(deployment)
+          .name("process.bpmn")
+          .execute();
+      }
+    });
+  }
+
+}
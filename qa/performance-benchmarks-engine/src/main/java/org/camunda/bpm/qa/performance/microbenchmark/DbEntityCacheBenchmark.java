@@ -0,0 +1,84 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.microbenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Fills a new entity cache as done when loading entities in a command and looks up
+ * the cached entities by id.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbEntityCacheBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int numberOfEntities;
+
+  protected ExecutionEntity[] executions;
+  protected DbEntityCache filledCache;
+
+  @Setup
+  public void createEntities() {
+    executions = new ExecutionEntity[numberOfEntities];
+    for (int i = 0; i < numberOfEntities; i++) {
+      executions[i] = new ExecutionEntity();
+      executions[i].setId("execution-" + i);
+    }
+
+    filledCache = new DbEntityCache();
+    for (ExecutionEntity execution : executions) {
+      filledCache.putPersistent(execution);
+    }
+  }
+
+  @Benchmark
+  public DbEntityCache putPersistent() {
+    DbEntityCache cache = new DbEntityCache();
+    for (ExecutionEntity execution : executions) {
+      cache.putPersistent(execution);
+    }
+    return cache;
+  }
+
+  @Benchmark
+  public void get(Blackhole blackhole) {
+    for (ExecutionEntity execution : executions) {
+      blackhole.consume(filledCache.get(ExecutionEntity.class, execution.getId()));
+    }
+  }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.microbenchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Calculates the flush of a command which inserts a tree of executions with variables
+ * and updates tasks. Every execution references an execution with a greater id so that
+ * the inserts must be reordered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DbOperationManagerBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int numberOfEntities;
+
+  protected DbOperationManager operationManager;
+
+  @Setup
+  public void createOperations() {
+    operationManager = new DbOperationManager();
+
+    for (int i = 0; i < numberOfEntities; i++) {
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId(id("execution", i));
+      if (i + 1 < numberOfEntities) {
+        execution.setParentId(id("execution", i + 1));
+      }
+      operationManager.addOperation(createOperation(DbOperationType.INSERT, execution));
+
+      VariableInstanceEntity variable = new VariableInstanceEntity();
+      variable.setId(id("variable", i));
+      operationManager.addOperation(createOperation(DbOperationType.INSERT, variable));
+
+      TaskEntity task = new TaskEntity();
+      task.setId(id("task", i));
+      operationManager.addOperation(createOperation(DbOperationType.UPDATE, task));
+    }
+  }
+
+  @Benchmark
+  public List<DbOperation> calculateFlush() {
+    return operationManager.calculateFlush();
+  }
+
+  protected DbEntityOperation createOperation(DbOperationType type, DbEntity entity) {
+    DbEntityOperation operation = new DbEntityOperation();
+    operation.setOperationType(type);
+    operation.setEntity(entity);
+
+    if (entity instanceof ExecutionEntity) {
+      String parentId = ((ExecutionEntity) entity).getParentId();
+      if (parentId != null) {
+        operation.setFlushRelevantEntityReferences(Collections.singleton(parentId));
+      }
+    }
+
+    return operation;
+  }
+
+  protected String id(String prefix, int index) {
+    return String.format("%s-%06d", prefix, index);
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.microbenchmark;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluates a decision table with 100 rules, once by testing every rule and once using the
+ * decision table index. The inputs cycle through all rules of the table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecisionTableEvaluationBenchmark {
+
+  public static final String DMN = "org/camunda/bpm/qa/performance/microbenchmark/DecisionTableEvaluationBenchmark.dmn";
+
+  public static final int NUMBER_OF_RULES = 100;
+
+  @Param({"false", "true"})
+  public boolean decisionTableIndex;
+
+  protected DmnEngine dmnEngine;
+  protected DmnDecision decision;
+
+  protected VariableMap[] inputs;
+  protected int nextInput;
+
+  @Setup
+  public void parseDecision() {
+    dmnEngine = new DefaultDmnEngineConfiguration()
+      .enableDecisionTableIndex(decisionTableIndex)
+      .buildEngine();
+
+    InputStream inputStream = getClass().getClassLoader().getResourceAsStream(DMN);
+    decision = dmnEngine.parseDecision("decision", inputStream);
+
+    inputs = new VariableMap[NUMBER_OF_RULES];
+    for (int i = 0; i < NUMBER_OF_RULES; i++) {
+      inputs[i] = Variables.createVariables()
+        .putValue("region", "R" + (i % 10))
+        .putValue("amount", (i / 10) * 100 + 50);
+    }
+  }
+
+  @Benchmark
+  public DmnDecisionTableResult evaluate() {
+    VariableMap variables = inputs[nextInput];
+    nextInput = (nextInput + 1) % NUMBER_OF_RULES;
+    return dmnEngine.evaluateDecisionTable(decision, variables);
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.microbenchmark;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ExpressionFactory;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.SimpleContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses a JUEL expression with each of the tree caches. Run with <code>-t</code> to
+ * measure the caches under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionParseBenchmark {
+
+  public static final String EXPRESSION = "${amount > 100 && status == 'open' ? priority + 1 : priority}";
+
+  @Param({"none", "synchronized", "concurrent"})
+  public String cache;
+
+  protected ExpressionFactory expressionFactory;
+  protected ELContext parsingContext;
+
+  @Setup
+  public void setUp() {
+    Properties properties = new Properties();
+    if ("none".equals(cache)) {
+      properties.setProperty(ExpressionFactoryImpl.PROP_CACHE_SIZE, "0");
+    }
+    else if ("concurrent".equals(cache)) {
+      properties.setProperty(ExpressionFactoryImpl.PROP_CONCURRENT_CACHE, "true");
+    }
+    expressionFactory = new ExpressionFactoryImpl(properties);
+    parsingContext = new SimpleContext();
+  }
+
+  @Benchmark
+  public ValueExpression parse() {
+    return expressionFactory.createValueExpression(parsingContext, EXPRESSION, Object.class);
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.microbenchmark;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Provides a process engine on an in-memory H2 database for the duration of a benchmark trial.
+ */
+@State(Scope.Benchmark)
+public class ProcessEngineState {
+
+  protected ProcessEngineImpl processEngine;
+
+  @Setup(Level.Trial)
+  public void buildProcessEngine() {
+    ProcessEngineConfigurationImpl configuration = new StandaloneInMemProcessEngineConfiguration();
+    configuration
+      .setProcessEngineName("benchmark")
+      .setJdbcUrl("jdbc:h2:mem:camunda-benchmark")
+      .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP)
+      .setJobExecutorActivate(false)
+      .setMetricsEnabled(false)
+      .setDbMetricsReporterActivate(false);
+
+    processEngine = (ProcessEngineImpl) configuration.buildProcessEngine();
+  }
+
+  @TearDown(Level.Trial)
+  public void closeProcessEngine() {
+    processEngine.close();
+  }
+
+  public ProcessEngineImpl getProcessEngine() {
+    return processEngine;
+  }
+
+  public ProcessEngineConfigurationImpl getConfiguration() {
+    return processEngine.getProcessEngineConfiguration();
+  }
+
+  public <T> T execute(Command<T> command) {
+    return getConfiguration().getCommandExecutorTxRequired().execute(command);
+  }
+
+}
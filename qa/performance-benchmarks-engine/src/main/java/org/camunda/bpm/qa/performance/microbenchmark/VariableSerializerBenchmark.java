@@ -0,0 +1,176 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.microbenchmark;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.variable.serializer.ByteArrayValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.DateValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.IntegerValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.JavaObjectSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.StringValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.ValueFields;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.Variables.SerializationDataFormats;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes a variable value to the value fields of a variable instance and reads it back
+ * with the serializer the engine uses for the value type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariableSerializerBenchmark {
+
+  @Param({"string", "integer", "date", "bytes", "object"})
+  public String valueType;
+
+  protected TypedValue value;
+  protected TypedValueSerializer<TypedValue> serializer;
+  protected SimpleValueFields valueFields;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void createValue() {
+    if ("string".equals(valueType)) {
+      value = Variables.stringValue("a string value of moderate length");
+      serializer = (TypedValueSerializer) new StringValueSerializer();
+    }
+    else if ("integer".equals(valueType)) {
+      value = Variables.integerValue(42);
+      serializer = (TypedValueSerializer) new IntegerValueSerializer();
+    }
+    else if ("date".equals(valueType)) {
+      value = Variables.dateValue(new Date());
+      serializer = (TypedValueSerializer) new DateValueSerializer();
+    }
+    else if ("bytes".equals(valueType)) {
+      value = Variables.byteArrayValue(new byte[1024]);
+      serializer = (TypedValueSerializer) new ByteArrayValueSerializer();
+    }
+    else if ("object".equals(valueType)) {
+      value = Variables.objectValue(createOrder())
+        .serializationDataFormat(SerializationDataFormats.JAVA)
+        .create();
+      serializer = (TypedValueSerializer) new JavaObjectSerializer();
+    }
+    else {
+      throw new IllegalArgumentException("Unknown value type " + valueType);
+    }
+
+    valueFields = new SimpleValueFields();
+  }
+
+  @Benchmark
+  public TypedValue roundTrip() {
+    serializer.writeValue(value, valueFields);
+    return serializer.readValue(valueFields, true, false);
+  }
+
+  protected Order createOrder() {
+    Order order = new Order();
+    order.id = "order-1";
+    order.amount = 1234.5;
+    for (int i = 0; i < 10; i++) {
+      order.items.add("item-" + i);
+    }
+    return order;
+  }
+
+  public static class Order implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected String id;
+    protected double amount;
+    protected List<String> items = new ArrayList<String>();
+  }
+
+  protected static class SimpleValueFields implements ValueFields {
+
+    protected String textValue;
+    protected String textValue2;
+    protected Long longValue;
+    protected Double doubleValue;
+    protected byte[] byteArrayValue;
+
+    public String getName() {
+      return "variable";
+    }
+
+    public String getTextValue() {
+      return textValue;
+    }
+
+    public void setTextValue(String textValue) {
+      this.textValue = textValue;
+    }
+
+    public String getTextValue2() {
+      return textValue2;
+    }
+
+    public void setTextValue2(String textValue2) {
+      this.textValue2 = textValue2;
+    }
+
+    public Long getLongValue() {
+      return longValue;
+    }
+
+    public void setLongValue(Long longValue) {
+      this.longValue = longValue;
+    }
+
+    public Double getDoubleValue() {
+      return doubleValue;
+    }
+
+    public void setDoubleValue(Double doubleValue) {
+      this.doubleValue = doubleValue;
+    }
+
+    public byte[] getByteArrayValue() {
+      return byteArrayValue;
+    }
+
+    public void setByteArrayValue(byte[] bytes) {
+      this.byteArrayValue = bytes;
+    }
+  }
+
+}